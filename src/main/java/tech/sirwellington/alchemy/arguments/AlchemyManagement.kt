@@ -0,0 +1,223 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe
+import java.lang.management.ManagementFactory
+import javax.management.JMException
+import javax.management.ObjectName
+import javax.management.StandardMBean
+
+/**
+ * Publishes live [AssertionStatistics] over JMX, as an [AssertionStatisticsMXBean] named [OBJECT_NAME].
+ *
+ * Nothing happens until [install] is called: the platform MBean server is only looked up then, and
+ * assertions are only counted while the bean is installed.
+ *
+ * ```
+ * AlchemyManagement.install()
+ * ```
+ *
+ * @author SirWellington
+ */
+@ThreadSafe
+object AlchemyManagement
+{
+
+    const val OBJECT_NAME = "tech.sirwellington.alchemy:type=AssertionStatistics"
+
+    @Volatile
+    private var installed: Installation? = null
+
+    private class Installation(val statistics: AssertionStatistics, val bean: AssertionStatisticsMXBean)
+
+    @JvmStatic
+    val isInstalled: Boolean
+        get() = installed != null
+
+    /**
+     * The statistics behind the bean, or `null` if it isn't installed.
+     */
+    @JvmStatic
+    val statistics: AssertionStatistics?
+        get() = installed?.statistics
+
+    /**
+     * Starts counting assertions, and registers the bean with the platform MBean server.
+     * Calling it again returns the bean already installed.
+     *
+     * @throws IllegalStateException If the bean could not be registered; for example, because another
+     *                               class loader already registered one.
+     */
+    @JvmStatic
+    @Synchronized
+    fun install(): AssertionStatisticsMXBean
+    {
+        installed?.let { return it.bean }
+
+        val statistics = AssertionStatistics()
+        val bean = AssertionStatisticsBean(statistics)
+
+        try
+        {
+            val server = ManagementFactory.getPlatformMBeanServer()
+            server.registerMBean(StandardMBean(bean, AssertionStatisticsMXBean::class.java, true), ObjectName(OBJECT_NAME))
+        }
+        catch (ex: JMException)
+        {
+            throw IllegalStateException("could not register $OBJECT_NAME", ex)
+        }
+
+        AlchemyMetrics.register(statistics)
+        installed = Installation(statistics, bean)
+
+        return bean
+    }
+
+    /**
+     * Stops counting assertions, and unregisters the bean.
+     *
+     * @return true if it was installed.
+     */
+    @JvmStatic
+    @Synchronized
+    fun uninstall(): Boolean
+    {
+        val installation = installed ?: return false
+
+        AlchemyMetrics.unregister(installation.statistics)
+        installed = null
+
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(ObjectName(OBJECT_NAME))
+        }
+        catch (ex: JMException)
+        {
+            throw IllegalStateException("could not unregister $OBJECT_NAME", ex)
+        }
+
+        return true
+    }
+}
+
+@ThreadSafe
+internal class AssertionStatisticsBean(private val statistics: AssertionStatistics) : AssertionStatisticsMXBean
+{
+
+    override fun getAssertionNames(): Array<String>
+    {
+        return statistics.snapshot().map { it.assertionName }.toTypedArray()
+    }
+
+    override fun getTotalEvaluations(): Long
+    {
+        return statistics.snapshot().map { it.checks }.sum()
+    }
+
+    override fun getTotalFailures(): Long
+    {
+        return statistics.snapshot().map { it.failures }.sum()
+    }
+
+    override fun getTotalUnexpectedExceptions(): Long
+    {
+        return statistics.snapshot().map { it.unexpectedExceptions }.sum()
+    }
+
+    override fun evaluationsOf(@NonEmpty assertionName: String): Long
+    {
+        return statistics.snapshotOf(assertionName)?.checks ?: 0L
+    }
+
+    override fun failuresOf(@NonEmpty assertionName: String): Long
+    {
+        return statistics.snapshotOf(assertionName)?.failures ?: 0L
+    }
+
+    override fun unexpectedExceptionsOf(@NonEmpty assertionName: String): Long
+    {
+        return statistics.snapshotOf(assertionName)?.unexpectedExceptions ?: 0L
+    }
+
+    override fun report(): Array<String>
+    {
+        return statistics.snapshot().map { snapshot ->
+            with(snapshot)
+            {
+                "$assertionName: checks=$checks failures=$failures unexpected=$unexpectedExceptions " +
+                "mean=${meanNanos.toLong()}ns p99=${p99Nanos}ns max=${maxNanos}ns"
+            }
+        }.toTypedArray()
+    }
+
+    override fun resetCounters()
+    {
+        statistics.reset()
+    }
+
+    override fun isLoggingEnabled(): Boolean = AssertionPolicies.isLoggingEnabled()
+
+    override fun setLoggingEnabled(enabled: Boolean)
+    {
+        AssertionPolicies.setLoggingEnabled(enabled)
+    }
+
+    override fun getLogIntervalMillis(): Long = AssertionPolicies.getLogIntervalMillis()
+
+    override fun setLogIntervalMillis(intervalMillis: Long)
+    {
+        AssertionPolicies.setLogIntervalMillis(intervalMillis)
+    }
+
+    override fun getTimingSampleEvery(): Int = AssertionPolicies.getTimingSampleEvery()
+
+    override fun setTimingSampleEvery(sampleEvery: Int)
+    {
+        AssertionPolicies.setTimingSampleEvery(sampleEvery)
+    }
+
+    override fun isStackTracesEnabled(): Boolean = AssertionPolicies.isStackTracesEnabled()
+
+    override fun setStackTracesEnabled(enabled: Boolean)
+    {
+        AssertionPolicies.setStackTracesEnabled(enabled)
+    }
+
+    override fun getDisabledCategories(): Array<String>
+    {
+        return AssertionCategory.values().filterNot { it.isEnabled }.map { it.name }.toTypedArray()
+    }
+
+    override fun disableCategory(@NonEmpty category: String)
+    {
+        categoryNamed(category).disable()
+    }
+
+    override fun enableCategory(@NonEmpty category: String)
+    {
+        categoryNamed(category).enable()
+    }
+
+    private fun categoryNamed(name: String): AssertionCategory
+    {
+        val category = AssertionCategory.values().firstOrNull { it.name.equals(name.trim(), ignoreCase = true) }
+        checkThat(category != null, "unknown category: $name")
+
+        return category!!
+    }
+}
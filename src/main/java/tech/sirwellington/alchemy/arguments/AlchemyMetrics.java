@@ -0,0 +1,186 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.sirwellington.alchemy.arguments;
+
+import java.util.Arrays;
+
+import tech.sirwellington.alchemy.annotations.access.NonInstantiable;
+import tech.sirwellington.alchemy.annotations.arguments.Required;
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe;
+
+import static tech.sirwellington.alchemy.arguments.Checks.checkNotNull;
+
+/**
+ * Holds the {@link AssertionMetrics} that assertions report to.
+ * <p>
+ * Until one is registered, checking an assertion costs one extra volatile read: the clock is not read, and
+ * assertions are not named.
+ *
+ * <pre>
+ *
+ * AssertionStatistics statistics = new AssertionStatistics();
+ * AlchemyMetrics.register(statistics);
+ * ...
+ * statistics.snapshot();
+ *
+ * </pre>
+ *
+ * @author SirWellington
+ */
+@NonInstantiable
+@ThreadSafe
+public final class AlchemyMetrics
+{
+
+    private static final AssertionMetrics[] NONE = new AssertionMetrics[0];
+
+    /**
+     * Copied on write, so that reading it never takes a lock.
+     */
+    private static volatile AssertionMetrics[] sinks = NONE;
+
+    private static final ClassValue<String> NAMES = new ClassValue<String>()
+    {
+        @Override
+        protected String computeValue(Class<?> type)
+        {
+            return nameOfClass(type.getName());
+        }
+    };
+
+    AlchemyMetrics() throws IllegalAccessException
+    {
+        throw new IllegalAccessException("cannot instantiate");
+    }
+
+    /**
+     * Starts reporting assertions to {@code metrics}. Registering the same instance twice has no effect.
+     */
+    public static synchronized void register(@Required AssertionMetrics metrics)
+    {
+        checkNotNull(metrics, "metrics cannot be null");
+
+        if (isRegistered(metrics))
+        {
+            return;
+        }
+
+        AssertionMetrics[] updated = Arrays.copyOf(sinks, sinks.length + 1);
+        updated[sinks.length] = metrics;
+        sinks = updated;
+    }
+
+    /**
+     * Stops reporting assertions to {@code metrics}.
+     *
+     * @return true if it was registered.
+     */
+    public static synchronized boolean unregister(@Required AssertionMetrics metrics)
+    {
+        checkNotNull(metrics, "metrics cannot be null");
+
+        if (!isRegistered(metrics))
+        {
+            return false;
+        }
+
+        AssertionMetrics[] updated = new AssertionMetrics[sinks.length - 1];
+        int next = 0;
+
+        for (AssertionMetrics sink : sinks)
+        {
+            if (sink != metrics)
+            {
+                updated[next++] = sink;
+            }
+        }
+
+        sinks = updated;
+
+        return true;
+    }
+
+    public static boolean isRegistered(@Required AssertionMetrics metrics)
+    {
+        for (AssertionMetrics sink : sinks)
+        {
+            if (sink == metrics)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Names an assertion after the function that created it. For example, an assertion returned by
+     * {@code nonEmptyString()} is named {@code StringAssertions.nonEmptyString}. Names are cached per class.
+     * <p>
+     * A {@link NamedAssertion}, such as a memoized or sampled assertion, is named after what it wraps instead.
+     */
+    public static String nameOf(@Required AlchemyAssertion<?> assertion)
+    {
+        checkNotNull(assertion, "assertion cannot be null");
+
+        if (assertion instanceof NamedAssertion)
+        {
+            return ((NamedAssertion) assertion).metricsName();
+        }
+
+        return NAMES.get(assertion.getClass());
+    }
+
+    static AssertionMetrics[] sinks()
+    {
+        return sinks;
+    }
+
+    /**
+     * Turns a class name like {@code a.b.StringAssertions$nonEmptyString$1} into
+     * {@code StringAssertions.nonEmptyString}, by dropping the package, lambda suffixes, and numbered
+     * anonymous classes.
+     */
+    static String nameOfClass(String className)
+    {
+        String name = className.substring(className.lastIndexOf('.') + 1);
+
+        int lambda = name.indexOf("$$Lambda");
+        if (lambda > 0)
+        {
+            name = name.substring(0, lambda);
+        }
+
+        StringBuilder result = new StringBuilder(name.length());
+
+        for (String part : name.split("\\$"))
+        {
+            if (part.isEmpty() || Character.isDigit(part.charAt(0)))
+            {
+                continue;
+            }
+
+            if (result.length() > 0)
+            {
+                result.append('.');
+            }
+
+            result.append(part);
+        }
+
+        return result.length() > 0 ? result.toString() : name;
+    }
+
+}
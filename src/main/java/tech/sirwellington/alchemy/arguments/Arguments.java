@@ -16,11 +16,15 @@
 package tech.sirwellington.alchemy.arguments;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 import tech.sirwellington.alchemy.annotations.access.NonInstantiable;
 import tech.sirwellington.alchemy.annotations.arguments.Optional;
+import tech.sirwellington.alchemy.annotations.arguments.Required;
 import tech.sirwellington.alchemy.annotations.designs.FluidAPIDesign;
 
+import static tech.sirwellington.alchemy.arguments.Checks.checkNotNull;
+
 /**
  * This is the main entry-point for the Library.
  * <br></br>
@@ -65,4 +69,46 @@ public final class Arguments
 
         return AssertionBuilderImpl.checkThat(listOfArguments);
     }
+
+    /**
+     * Checks {@code argument} only while {@code category} is {@linkplain AssertionCategory#isEnabled() enabled}.
+     * While it is disabled, the assertions passed to the returned builder are not checked.
+     */
+    public static <Argument> AssertionBuilder<Argument, FailedAssertionException> checkThat(@Required AssertionCategory category,
+                                                                                        @Optional Argument argument)
+    {
+        checkNotNull(category, "category cannot be null");
+
+        if (!category.isEnabled())
+        {
+            return DisabledAssertionBuilder.instance();
+        }
+
+        return checkThat(argument);
+    }
+
+    /**
+     * Like {@link #checkThat(AssertionCategory, Object)}, but the argument is only computed while
+     * {@code category} is enabled, for arguments that are expensive to build.
+     *
+     * <pre>
+     *
+     * checkThat(DEFENSIVE, () -> index.snapshot())
+     *      .is(collectionWithoutNulls());
+     *
+     * </pre>
+     */
+    public static <Argument> AssertionBuilder<Argument, FailedAssertionException> checkThat(@Required AssertionCategory category,
+                                                                                        @Required Supplier<Argument> argument)
+    {
+        checkNotNull(category, "category cannot be null");
+        checkNotNull(argument, "argument supplier cannot be null");
+
+        if (!category.isEnabled())
+        {
+            return DisabledAssertionBuilder.instance();
+        }
+
+        return checkThat(argument.get());
+    }
 }
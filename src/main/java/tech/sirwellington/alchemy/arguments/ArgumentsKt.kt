@@ -16,6 +16,7 @@
 package tech.sirwellington.alchemy.arguments
 
 import tech.sirwellington.alchemy.annotations.arguments.Optional
+import java.util.function.Supplier
 
 
 /**
@@ -32,4 +33,20 @@ fun <Argument : Any?> checkThat(@Optional argument: Argument): AssertionBuilder<
 fun <Argument : Any?> checkThat(@Optional argument: Argument, vararg others: Argument): AssertionBuilder<Argument, FailedAssertionException>
 {
     return Arguments.checkThat(argument, *others)
-}
\ No newline at end of file
+}
+
+/**
+ * Kotlin shortcut for [Arguments.checkThat], checked only while [category] is enabled.
+ */
+fun <Argument : Any?> checkThat(category: AssertionCategory, @Optional argument: Argument): AssertionBuilder<Argument, FailedAssertionException>
+{
+    return Arguments.checkThat(category, argument)
+}
+
+/**
+ * Kotlin shortcut for [Arguments.checkThat], where [argument] is only computed while [category] is enabled.
+ */
+fun <Argument : Any?> checkThat(category: AssertionCategory, argument: () -> Argument): AssertionBuilder<Argument, FailedAssertionException>
+{
+    return Arguments.checkThat(category, Supplier(argument))
+}
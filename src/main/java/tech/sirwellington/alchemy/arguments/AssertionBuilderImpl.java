@@ -15,6 +15,7 @@
 package tech.sirwellington.alchemy.arguments;
 
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +39,7 @@ final class AssertionBuilderImpl<Argument, Ex extends Throwable> implements Asse
 {
 
     private final static Logger LOG = LoggerFactory.getLogger(AssertionBuilderImpl.class);
+    private final static ThrottledLog THROTTLED_LOG = new ThrottledLog(LOG);
 
     private final AlchemyAssertion<Argument> assertion;
     private final ExceptionMapper<Ex> exceptionMapper;
@@ -125,12 +127,19 @@ final class AssertionBuilderImpl<Argument, Ex extends Throwable> implements Asse
         Checks.checkState(assertion != null, "no assertion found");
         Checks.checkState(exceptionMapper != null, "no exceptionMapper found");
 
+        AssertionMetrics[] sinks = AlchemyMetrics.sinks();
+        boolean timed = sinks.length > 0 && shouldTime();
+        long start = timed ? System.nanoTime() : 0L;
+
         FailedAssertionException caught = null;
+        boolean unexpected = false;
+        Argument current = null;
 
         try
         {
             for (Argument argument : arguments)
             {
+                current = argument;
                 assertion.check(argument);
             }
         }
@@ -144,7 +153,14 @@ final class AssertionBuilderImpl<Argument, Ex extends Throwable> implements Asse
         }
         catch (RuntimeException ex)
         {
-            handleUnexpectedException(ex);
+            caught = wrapUnexpectedException(ex);
+            unexpected = true;
+        }
+
+        if (sinks.length > 0)
+        {
+            long nanos = timed ? System.nanoTime() - start : AssertionMetrics.NOT_TIMED;
+            recordMetrics(sinks, nanos, current, caught, unexpected);
         }
 
         if (exceptionOccurred(caught))
@@ -159,15 +175,54 @@ final class AssertionBuilderImpl<Argument, Ex extends Throwable> implements Asse
         return caught != null;
     }
 
-    private void handleUnexpectedException(RuntimeException ex) throws Ex
+    private static boolean shouldTime()
+    {
+        int sampleEvery = AssertionPolicies.getTimingSampleEvery();
+
+        //A random draw, rather than a shared counter, keeps threads from contending on a cache line
+        return sampleEvery == 1 || ThreadLocalRandom.current().nextInt(sampleEvery) == 0;
+    }
+
+    private FailedAssertionException wrapUnexpectedException(RuntimeException ex)
+    {
+        THROTTLED_LOG.warn("Assertion {} threw an unexpected exception. Only FailedAssertionExceptions are acceptable for Assertions",
+                           AlchemyMetrics.nameOf(assertion),
+                           ex);
+
+        return new FailedAssertionException("wrapping unexpected exception", ex);
+    }
+
+    private void recordMetrics(AssertionMetrics[] sinks,
+                               long nanos,
+                               Argument argument,
+                               FailedAssertionException caught,
+                               boolean unexpected)
     {
-        LOG.warn("Assertion {} threw an unexpected exception. Only {} Exceptions are acceptable for Assertions.",
-                 assertion,
-                 FailedAssertionException.class.getSimpleName(),
-                 ex);
+        String name = AlchemyMetrics.nameOf(assertion);
 
-        FailedAssertionException wrappedException = new FailedAssertionException("wrapping unexpected exception", ex);
-        handleFailedAssertion(wrappedException);
+        for (AssertionMetrics sink : sinks)
+        {
+            //A broken sink should not break the caller's validation
+            try
+            {
+                if (caught == null)
+                {
+                    sink.recordPass(name, nanos);
+                }
+                else if (unexpected)
+                {
+                    sink.recordUnexpectedException(name, nanos, argument, caught, exceptionMapper);
+                }
+                else
+                {
+                    sink.recordFailure(name, nanos, argument, caught, exceptionMapper);
+                }
+            }
+            catch (RuntimeException ex)
+            {
+                THROTTLED_LOG.warn("Metrics failed to record assertion {}", name, ex);
+            }
+        }
     }
 
     private void handleFailedAssertion(FailedAssertionException caught) throws Ex
@@ -180,7 +235,9 @@ final class AssertionBuilderImpl<Argument, Ex extends Throwable> implements Asse
         }
         else
         {
-            LOG.warn("Exception Mapper did not return a throwable. Swallowing exception", caught);
+            THROTTLED_LOG.warn("Exception Mapper did not return a throwable for assertion {}. Swallowing exception",
+                               AlchemyMetrics.nameOf(assertion),
+                               caught);
         }
     }
 
@@ -0,0 +1,222 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.sirwellington.alchemy.arguments;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MutableCallSite;
+
+import tech.sirwellington.alchemy.annotations.arguments.Required;
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe;
+
+import static tech.sirwellington.alchemy.arguments.Checks.checkNotNull;
+import static tech.sirwellington.alchemy.arguments.Checks.checkThat;
+
+/**
+ * Categories of checks that can be turned off while the application runs; for example, to shed defensive
+ * checks on internal data during an incident.
+ *
+ * <pre>
+ *
+ * checkThat(DEFENSIVE, () -> computeExpensiveSnapshot())
+ *      .is(collectionWithoutNulls());
+ *
+ * DEFENSIVE.disable();
+ *
+ * </pre>
+ * <p>
+ * Each category's state is the target of a {@link MutableCallSite}, which the JIT compiles as a constant.
+ * While a category is on, checking whether it is on costs nothing; turning it off recompiles the code that
+ * depends on it, after which its checks cost nothing either.
+ *
+ * @author SirWellington
+ * @see Arguments#checkThat(AssertionCategory, Object)
+ */
+@ThreadSafe
+public enum AssertionCategory
+{
+    /**
+     * Checks that guard correctness. These are always on, and cannot be disabled.
+     */
+    CRITICAL,
+
+    /**
+     * Ordinary argument checks.
+     */
+    STANDARD,
+
+    /**
+     * Checks on data that should already be valid, such as internal state, that are kept just in case.
+     */
+    DEFENSIVE,
+
+    /**
+     * Checks that only help while debugging.
+     */
+    DEBUG;
+
+    /*
+     * One call site per category, so that each is a constant of its own. An array or an instance field would
+     * not be trusted by the JIT.
+     */
+    private static final MutableCallSite STANDARD_SITE = newSite();
+    private static final MutableCallSite DEFENSIVE_SITE = newSite();
+    private static final MutableCallSite DEBUG_SITE = newSite();
+
+    private static final MethodHandle STANDARD_ENABLED = STANDARD_SITE.dynamicInvoker();
+    private static final MethodHandle DEFENSIVE_ENABLED = DEFENSIVE_SITE.dynamicInvoker();
+    private static final MethodHandle DEBUG_ENABLED = DEBUG_SITE.dynamicInvoker();
+
+    public boolean isEnabled()
+    {
+        try
+        {
+            if (this == STANDARD)
+            {
+                return (boolean) STANDARD_ENABLED.invokeExact();
+            }
+
+            if (this == DEFENSIVE)
+            {
+                return (boolean) DEFENSIVE_ENABLED.invokeExact();
+            }
+
+            if (this == DEBUG)
+            {
+                return (boolean) DEBUG_ENABLED.invokeExact();
+            }
+
+            return true;
+        }
+        catch (Throwable ex)
+        {
+            //A constant method handle cannot throw
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public void enable()
+    {
+        setEnabled(true);
+    }
+
+    /**
+     * Turns off the checks in this category, until it is {@linkplain #enable() enabled} again.
+     *
+     * @throws IllegalArgumentException If this is {@link #CRITICAL}.
+     */
+    public void disable()
+    {
+        checkThat(this != CRITICAL, "critical checks cannot be disabled");
+
+        setEnabled(false);
+    }
+
+    /**
+     * Returns an assertion that checks {@code assertion} only while this category is enabled, and passes
+     * otherwise.
+     */
+    public <T> AlchemyAssertion<T> tag(@Required AlchemyAssertion<T> assertion)
+    {
+        checkNotNull(assertion, "assertion cannot be null");
+
+        if (this == CRITICAL)
+        {
+            return assertion;
+        }
+
+        return new TaggedAssertion<>(this, assertion);
+    }
+
+    /**
+     * Enables every category.
+     */
+    public static void enableAll()
+    {
+        for (AssertionCategory category : values())
+        {
+            category.enable();
+        }
+    }
+
+    private synchronized void setEnabled(boolean enabled)
+    {
+        MutableCallSite site = siteOf(this);
+
+        if (site == null)
+        {
+            return;
+        }
+
+        site.setTarget(MethodHandles.constant(boolean.class, enabled));
+        //Makes the change visible to threads running code compiled against the old target
+        MutableCallSite.syncAll(new MutableCallSite[] { site });
+    }
+
+    private static MutableCallSite siteOf(AssertionCategory category)
+    {
+        switch (category)
+        {
+            case STANDARD:
+                return STANDARD_SITE;
+            case DEFENSIVE:
+                return DEFENSIVE_SITE;
+            case DEBUG:
+                return DEBUG_SITE;
+            default:
+                return null;
+        }
+    }
+
+    private static MutableCallSite newSite()
+    {
+        return new MutableCallSite(MethodHandles.constant(boolean.class, true));
+    }
+
+    /**
+     * Named after the assertion it wraps, so that metrics don't count every tagged assertion as one.
+     */
+    private static final class TaggedAssertion<T> implements AlchemyAssertion<T>, NamedAssertion
+    {
+
+        private final AssertionCategory category;
+        private final AlchemyAssertion<T> assertion;
+        private final String metricsName;
+
+        TaggedAssertion(AssertionCategory category, AlchemyAssertion<T> assertion)
+        {
+            this.category = category;
+            this.assertion = assertion;
+            this.metricsName = AlchemyMetrics.nameOf(assertion);
+        }
+
+        @Override
+        public void check(T argument) throws FailedAssertionException
+        {
+            if (category.isEnabled())
+            {
+                assertion.check(argument);
+            }
+        }
+
+        @Override
+        public String metricsName()
+        {
+            return metricsName;
+        }
+
+    }
+
+}
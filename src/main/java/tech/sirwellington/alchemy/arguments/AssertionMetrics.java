@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.sirwellington.alchemy.arguments;
+
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty;
+import tech.sirwellington.alchemy.annotations.arguments.Optional;
+import tech.sirwellington.alchemy.annotations.arguments.Required;
+import tech.sirwellington.alchemy.annotations.designs.patterns.StrategyPattern;
+
+import static tech.sirwellington.alchemy.annotations.designs.patterns.StrategyPattern.Role.INTERFACE;
+
+/**
+ * {@code AssertionMetrics} receive the outcome and duration of each assertion checked through
+ * {@link Arguments#checkThat(Object)}. Register one with {@link AlchemyMetrics#register(AssertionMetrics)} to
+ * send these to a metrics library, such as Micrometer or a Prometheus client.
+ * <p>
+ * Methods are called on the thread that checked the assertion, right after it ran, so implementations
+ * must be thread-safe, and should be fast. Exceptions thrown by an implementation are logged and ignored.
+ * <p>
+ * When {@linkplain AssertionPolicies#setTimingSampleEvery(int) timing is sampled}, checks that weren't timed
+ * report a duration of {@link #NOT_TIMED}.
+ *
+ * @author SirWellington
+ * @see AssertionStatistics
+ */
+@StrategyPattern(role = INTERFACE)
+public interface AssertionMetrics
+{
+
+    /**
+     * The duration reported for a check that wasn't timed.
+     */
+    long NOT_TIMED = -1L;
+
+    /**
+     * Called when an assertion passes for all of its arguments.
+     *
+     * @param assertionName The name of the assertion, as given by {@link AlchemyMetrics#nameOf(AlchemyAssertion)}.
+     * @param nanos         How long the assertion took, or {@link #NOT_TIMED}.
+     */
+    void recordPass(@NonEmpty String assertionName, long nanos);
+
+    /**
+     * Called when an assertion fails.
+     *
+     * @param assertionName   The name of the assertion, as given by {@link AlchemyMetrics#nameOf(AlchemyAssertion)}.
+     * @param nanos           How long the assertion took, or {@link #NOT_TIMED}.
+     * @param argument        The argument that failed.
+     * @param failure         The failure, before it is mapped to the caller's exception.
+     * @param exceptionMapper The mapper that will turn the failure into the caller's exception.
+     */
+    void recordFailure(@NonEmpty String assertionName,
+                       long nanos,
+                       @Optional Object argument,
+                       @Required FailedAssertionException failure,
+                       @Required ExceptionMapper<?> exceptionMapper);
+
+    /**
+     * Called when an assertion throws an exception other than a {@link FailedAssertionException}, which usually
+     * means the assertion has a bug. Implementations that don't tell these apart from ordinary failures can
+     * forward to {@link #recordFailure(String, long, Object, FailedAssertionException, ExceptionMapper)}.
+     *
+     * @param failure The failure that wraps the unexpected exception as its {@linkplain Throwable#getCause() cause}.
+     */
+    void recordUnexpectedException(@NonEmpty String assertionName,
+                                   long nanos,
+                                   @Optional Object argument,
+                                   @Required FailedAssertionException failure,
+                                   @Required ExceptionMapper<?> exceptionMapper);
+
+}
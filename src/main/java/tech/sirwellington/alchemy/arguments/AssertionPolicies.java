@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.sirwellington.alchemy.arguments;
+
+import tech.sirwellington.alchemy.annotations.access.NonInstantiable;
+import tech.sirwellington.alchemy.annotations.arguments.Positive;
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe;
+
+import static tech.sirwellington.alchemy.arguments.Checks.checkThat;
+
+/**
+ * Policies that control the overhead of checking assertions, and that may be changed while the application
+ * runs; for example, through {@link AlchemyManagement}.
+ * <ul>
+ * <li><b>Logging:</b> whether unexpected exceptions thrown by assertions, and failures swallowed by an
+ * {@link ExceptionMapper}, are logged, and how often. Each warning is logged at most once per
+ * {@linkplain #getLogIntervalMillis() interval} for each assertion; repeats are summarized instead.</li>
+ * <li><b>Timing:</b> how often a check is timed for the registered {@link AssertionMetrics}. Every check is
+ * still counted, but only about 1 in {@link #getTimingSampleEvery()} reads the clock.</li>
+ * <li><b>Stack traces:</b> whether a {@link FailedAssertionException} captures its stack trace. Capturing it
+ * is most of the cost of a failure, so turning this off helps services that reject a flood of bad input.</li>
+ * </ul>
+ *
+ * @author SirWellington
+ */
+@NonInstantiable
+@ThreadSafe
+public final class AssertionPolicies
+{
+
+    public static final long DEFAULT_LOG_INTERVAL_MILLIS = 10_000L;
+
+    private static volatile boolean loggingEnabled = true;
+    private static volatile long logIntervalMillis = DEFAULT_LOG_INTERVAL_MILLIS;
+    private static volatile int timingSampleEvery = 1;
+    private static volatile boolean stackTracesEnabled = true;
+
+    AssertionPolicies() throws IllegalAccessException
+    {
+        throw new IllegalAccessException("cannot instantiate");
+    }
+
+    public static boolean isLoggingEnabled()
+    {
+        return loggingEnabled;
+    }
+
+    public static void setLoggingEnabled(boolean enabled)
+    {
+        loggingEnabled = enabled;
+    }
+
+    /**
+     * @return How long repeats of a warning are suppressed, after it is logged. {@code 0} means warnings are
+     *         never suppressed.
+     */
+    public static long getLogIntervalMillis()
+    {
+        return logIntervalMillis;
+    }
+
+    public static void setLogIntervalMillis(long intervalMillis)
+    {
+        checkThat(intervalMillis >= 0, "intervalMillis must be >= 0");
+
+        logIntervalMillis = intervalMillis;
+    }
+
+    /**
+     * @return How often checks are timed. {@code 1} means every check is timed.
+     */
+    public static int getTimingSampleEvery()
+    {
+        return timingSampleEvery;
+    }
+
+    /**
+     * Times about 1 in every {@code sampleEvery} checks. Checks that aren't timed are reported to
+     * {@link AssertionMetrics} with a duration of {@link AssertionMetrics#NOT_TIMED}.
+     */
+    public static void setTimingSampleEvery(@Positive int sampleEvery)
+    {
+        checkThat(sampleEvery > 0, "sampleEvery must be > 0");
+
+        timingSampleEvery = sampleEvery;
+    }
+
+    public static boolean isStackTracesEnabled()
+    {
+        return stackTracesEnabled;
+    }
+
+    /**
+     * Changes whether new {@link FailedAssertionException FailedAssertionExceptions} capture a stack trace.
+     * Exceptions created by a custom {@link ExceptionMapper} are not affected.
+     */
+    public static void setStackTracesEnabled(boolean enabled)
+    {
+        stackTracesEnabled = enabled;
+    }
+
+    /**
+     * Restores the default policies: logging on and throttled, every check timed, and stack traces captured.
+     */
+    public static void reset()
+    {
+        loggingEnabled = true;
+        logIntervalMillis = DEFAULT_LOG_INTERVAL_MILLIS;
+        timingSampleEvery = 1;
+        stackTracesEnabled = true;
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty
+import tech.sirwellington.alchemy.annotations.arguments.Optional
+import tech.sirwellington.alchemy.annotations.concurrency.Immutable
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * The default [AssertionMetrics]: counts passes, failures and unexpected exceptions, and keeps a
+ * [LatencyHistogram], for each assertion by name. Counters are [LongAdder]s, so threads checking the same
+ * assertion don't contend. Checks that weren't timed are counted, but left out of the latencies.
+ *
+ * ```
+ * val statistics = AssertionStatistics()
+ * AlchemyMetrics.register(statistics)
+ *
+ * statistics.snapshot().forEach { println(it) }
+ * ```
+ *
+ * @author SirWellington
+ */
+@ThreadSafe
+class AssertionStatistics : AssertionMetrics
+{
+
+    /**
+     * The statistics of one assertion at a point in time. Durations are in nanoseconds.
+     * [failures] include the [unexpectedExceptions].
+     */
+    @Immutable
+    data class Snapshot(val assertionName: String,
+                        val passes: Long,
+                        val failures: Long,
+                        val unexpectedExceptions: Long,
+                        val meanNanos: Double,
+                        val p50Nanos: Long,
+                        val p99Nanos: Long,
+                        val p999Nanos: Long,
+                        val maxNanos: Long)
+    {
+        val checks: Long
+            get() = passes + failures
+
+        val failureRate: Double
+            get() = if (checks == 0L) 0.0 else failures.toDouble() / checks
+    }
+
+    private class Entry
+    {
+        val passes = LongAdder()
+        val failures = LongAdder()
+        val unexpectedExceptions = LongAdder()
+        val latencies = LatencyHistogram()
+    }
+
+    private val entries = ConcurrentHashMap<String, Entry>()
+
+    override fun recordPass(@NonEmpty assertionName: String, nanos: Long)
+    {
+        val entry = entryFor(assertionName)
+        entry.passes.increment()
+        recordLatency(entry, nanos)
+    }
+
+    override fun recordFailure(@NonEmpty assertionName: String,
+                               nanos: Long,
+                               @Optional argument: Any?,
+                               failure: FailedAssertionException,
+                               exceptionMapper: ExceptionMapper<*>)
+    {
+        val entry = entryFor(assertionName)
+        entry.failures.increment()
+        recordLatency(entry, nanos)
+    }
+
+    override fun recordUnexpectedException(@NonEmpty assertionName: String,
+                                           nanos: Long,
+                                           @Optional argument: Any?,
+                                           failure: FailedAssertionException,
+                                           exceptionMapper: ExceptionMapper<*>)
+    {
+        val entry = entryFor(assertionName)
+        entry.failures.increment()
+        entry.unexpectedExceptions.increment()
+        recordLatency(entry, nanos)
+    }
+
+    /**
+     * @return The statistics of each assertion seen so far, ordered by name.
+     */
+    fun snapshot(): List<Snapshot>
+    {
+        return entries.keys.sorted().mapNotNull(this::snapshotOf)
+    }
+
+    /**
+     * @return The statistics of one assertion, or `null` if it hasn't been checked.
+     */
+    fun snapshotOf(@NonEmpty assertionName: String): Snapshot?
+    {
+        val entry = entries[assertionName] ?: return null
+        val latencies = entry.latencies
+
+        return Snapshot(assertionName = assertionName,
+                        passes = entry.passes.sum(),
+                        failures = entry.failures.sum(),
+                        unexpectedExceptions = entry.unexpectedExceptions.sum(),
+                        meanNanos = latencies.mean(),
+                        p50Nanos = latencies.valueAtPercentile(50.0),
+                        p99Nanos = latencies.valueAtPercentile(99.0),
+                        p999Nanos = latencies.valueAtPercentile(99.9),
+                        maxNanos = latencies.max())
+    }
+
+    /**
+     * @return The latency histogram of one assertion, or `null` if it hasn't been checked.
+     */
+    fun latenciesOf(@NonEmpty assertionName: String): LatencyHistogram?
+    {
+        return entries[assertionName]?.latencies
+    }
+
+    fun reset()
+    {
+        entries.clear()
+    }
+
+    private fun recordLatency(entry: Entry, nanos: Long)
+    {
+        if (nanos != AssertionMetrics.NOT_TIMED)
+        {
+            entry.latencies.record(nanos)
+        }
+    }
+
+    private fun entryFor(assertionName: String): Entry
+    {
+        //A plain read first, since computeIfAbsent locks even when the key is present
+        return entries[assertionName] ?: entries.computeIfAbsent(assertionName) { Entry() }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.sirwellington.alchemy.arguments;
+
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty;
+
+/**
+ * The management interface installed by {@link AlchemyManagement}, for watching assertions and tuning their
+ * {@linkplain AssertionPolicies policies} from JConsole, VisualVM, or any other JMX client, while the
+ * application runs.
+ *
+ * @author SirWellington
+ */
+public interface AssertionStatisticsMXBean
+{
+
+    /**
+     * @return The names of the assertions checked since the counters were last reset, in order.
+     */
+    String[] getAssertionNames();
+
+    long getTotalEvaluations();
+
+    long getTotalFailures();
+
+    long getTotalUnexpectedExceptions();
+
+    /**
+     * @return How many times the assertion was checked, or 0 if it hasn't been.
+     */
+    long evaluationsOf(@NonEmpty String assertionName);
+
+    /**
+     * @return How many times the assertion failed, including unexpected exceptions.
+     */
+    long failuresOf(@NonEmpty String assertionName);
+
+    /**
+     * @return How many times the assertion threw an exception other than a {@link FailedAssertionException}.
+     */
+    long unexpectedExceptionsOf(@NonEmpty String assertionName);
+
+    /**
+     * @return One line per assertion, with its counts and latencies.
+     */
+    String[] report();
+
+    void resetCounters();
+
+    boolean isLoggingEnabled();
+
+    void setLoggingEnabled(boolean enabled);
+
+    /**
+     * @see AssertionPolicies#setLogIntervalMillis(long)
+     */
+    long getLogIntervalMillis();
+
+    void setLogIntervalMillis(long intervalMillis);
+
+    /**
+     * @see AssertionPolicies#setTimingSampleEvery(int)
+     */
+    int getTimingSampleEvery();
+
+    void setTimingSampleEvery(int sampleEvery);
+
+    /**
+     * @see AssertionPolicies#setStackTracesEnabled(boolean)
+     */
+    boolean isStackTracesEnabled();
+
+    void setStackTracesEnabled(boolean enabled);
+
+    /**
+     * @return The names of the {@linkplain AssertionCategory categories} that are disabled.
+     */
+    String[] getDisabledCategories();
+
+    /**
+     * @param category The name of an {@link AssertionCategory}, such as {@code DEFENSIVE}.
+     * @see AssertionCategory#disable()
+     */
+    void disableCategory(@NonEmpty String category);
+
+    void enableCategory(@NonEmpty String category);
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.sirwellington.alchemy.arguments;
+
+import tech.sirwellington.alchemy.annotations.access.Internal;
+import tech.sirwellington.alchemy.annotations.concurrency.Immutable;
+import tech.sirwellington.alchemy.annotations.designs.FluidAPIDesign;
+
+/**
+ * The {@link AssertionBuilder} returned for a {@linkplain AssertionCategory#disable() disabled category}. It
+ * checks nothing, and since it is shared and stateless, costs nothing to return.
+ *
+ * @author SirWellington
+ */
+@FluidAPIDesign
+@Immutable
+@Internal
+@SuppressWarnings("unchecked")
+final class DisabledAssertionBuilder implements AssertionBuilder<Object, RuntimeException>
+{
+
+    private static final DisabledAssertionBuilder INSTANCE = new DisabledAssertionBuilder();
+
+    private DisabledAssertionBuilder()
+    {
+    }
+
+    static <Argument, Ex extends Throwable> AssertionBuilder<Argument, Ex> instance()
+    {
+        return (AssertionBuilder<Argument, Ex>) (AssertionBuilder<?, ?>) INSTANCE;
+    }
+
+    @Override
+    public AssertionBuilder<Object, RuntimeException> usingMessage(String message)
+    {
+        return this;
+    }
+
+    @Override
+    public <Ex extends Throwable> AssertionBuilder<Object, Ex> throwing(ExceptionMapper<Ex> exceptionMapper)
+    {
+        return instance();
+    }
+
+    @Override
+    public <Ex extends Throwable> AssertionBuilder<Object, Ex> throwing(Class<Ex> exceptionClass)
+    {
+        return instance();
+    }
+
+    @Override
+    public AssertionBuilder<Object, RuntimeException> is(AlchemyAssertion<Object> assertion)
+    {
+        return this;
+    }
+
+    @Override
+    public AssertionBuilder<Object, RuntimeException> isA(AlchemyAssertion<Object> assertion)
+    {
+        return this;
+    }
+
+    @Override
+    public AssertionBuilder<Object, RuntimeException> are(AlchemyAssertion<Object> assertion)
+    {
+        return this;
+    }
+
+}
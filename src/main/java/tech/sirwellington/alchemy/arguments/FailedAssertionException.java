@@ -54,6 +54,21 @@ public class FailedAssertionException extends IllegalArgumentException
         return message;
     }
 
+    /**
+     * Skips capturing the stack trace when {@linkplain AssertionPolicies#setStackTracesEnabled(boolean) stack
+     * traces are disabled}.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace()
+    {
+        if (!AssertionPolicies.isStackTracesEnabled())
+        {
+            return this;
+        }
+
+        return super.fillInStackTrace();
+    }
+
     @Internal
     void changeMessage(String message)
     {
@@ -0,0 +1,354 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty
+import tech.sirwellington.alchemy.annotations.arguments.Optional
+import tech.sirwellington.alchemy.annotations.arguments.Positive
+import tech.sirwellington.alchemy.annotations.concurrency.Immutable
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLongArray
+import java.util.concurrent.atomic.LongAdder
+import java.util.concurrent.locks.ReentrantLock
+
+/**
+ * An [AssertionMetrics] that finds the arguments rejected most often, and the assertions that reject them,
+ * such as when a bot floods an endpoint with the same bad input:
+ *
+ * ```
+ * val heavyHitters = FailureHeavyHitters(topK = 10)
+ * AlchemyMetrics.register(heavyHitters)
+ * ...
+ * heavyHitters.topAssertions(5)
+ * heavyHitters.topValuesOf("StringAssertions.validEmailAddress")
+ * ```
+ *
+ * Each assertion gets a Count-Min sketch of its failed arguments, and a list of its [topK] values. The sketch
+ * is updated with atomic increments, and the list is only locked when a value's count could place it in the
+ * list, so failures from many threads rarely wait on each other. Counts are estimates: they are never
+ * too low, and are too high by at most a small fraction of all failures.
+ *
+ * Memory is fixed, however many distinct values fail: at most [maxAssertions] assertions are tracked, each with
+ * a `width × depth` sketch, and values are kept as Strings of at most [maxValueLength] characters.
+ *
+ * @author SirWellington
+ */
+@ThreadSafe
+class FailureHeavyHitters
+@JvmOverloads
+@Throws(IllegalArgumentException::class)
+constructor(@Positive val topK: Int = 10,
+            @Positive width: Int = 1024,
+            @Positive val depth: Int = 4,
+            @Positive val maxAssertions: Int = 128,
+            @Positive val maxValueLength: Int = 100) : AssertionMetrics
+{
+
+    /**
+     * An argument, as a String, and about how many times it failed.
+     */
+    @Immutable
+    data class HeavyHitter(val value: String, val estimatedCount: Long)
+
+    /**
+     * The width of each row of the sketches, rounded up to a power of two.
+     */
+    val width: Int
+
+    private val trackers = ConcurrentHashMap<String, Tracker>()
+
+    init
+    {
+        checkThat(topK > 0, "topK must be > 0")
+        checkThat(width > 0 && width <= 1 shl 24, "width must be between 1 and 2^24")
+        checkThat(depth in 1..SEEDS.size, "depth must be between 1 and ${SEEDS.size}")
+        checkThat(maxAssertions > 0, "maxAssertions must be > 0")
+        checkThat(maxValueLength > 0, "maxValueLength must be > 0")
+
+        this.width = Integer.highestOneBit(width - 1).shl(1).coerceAtLeast(1)
+    }
+
+    override fun recordPass(@NonEmpty assertionName: String, nanos: Long)
+    {
+    }
+
+    override fun recordFailure(@NonEmpty assertionName: String,
+                               nanos: Long,
+                               @Optional argument: Any?,
+                               failure: FailedAssertionException,
+                               exceptionMapper: ExceptionMapper<*>)
+    {
+        val tracker = trackerFor(assertionName) ?: return
+
+        tracker.add(valueOf(argument))
+    }
+
+    override fun recordUnexpectedException(@NonEmpty assertionName: String,
+                                           nanos: Long,
+                                           @Optional argument: Any?,
+                                           failure: FailedAssertionException,
+                                           exceptionMapper: ExceptionMapper<*>)
+    {
+        recordFailure(assertionName, nanos, argument, failure, exceptionMapper)
+    }
+
+    /**
+     * @return The assertions with the most failures, most first.
+     */
+    @Throws(IllegalArgumentException::class)
+    fun topAssertions(@Positive limit: Int): List<HeavyHitter>
+    {
+        checkThat(limit > 0, "limit must be > 0")
+
+        return trackers.entries
+                .map { HeavyHitter(it.key, it.value.failures.sum()) }
+                .sortedByDescending { it.estimatedCount }
+                .take(limit)
+    }
+
+    /**
+     * @return The values that failed an assertion most often, most first, or an empty list if the assertion
+     * hasn't failed.
+     */
+    fun topValuesOf(@NonEmpty assertionName: String): List<HeavyHitter>
+    {
+        return trackers[assertionName]?.top() ?: listOf()
+    }
+
+    /**
+     * @return The top values of each assertion that has failed.
+     */
+    fun topValues(): Map<String, List<HeavyHitter>>
+    {
+        return trackers.entries.associate { it.key to it.value.top() }
+    }
+
+    /**
+     * @return About how many times a value failed an assertion.
+     */
+    fun estimatedCountOf(@NonEmpty assertionName: String, @Optional value: Any?): Long
+    {
+        return trackers[assertionName]?.estimate(valueOf(value)) ?: 0
+    }
+
+    fun reset()
+    {
+        trackers.clear()
+    }
+
+    private fun trackerFor(assertionName: String): Tracker?
+    {
+        val existing = trackers[assertionName]
+
+        if (existing != null || trackers.size >= maxAssertions)
+        {
+            return existing
+        }
+
+        return trackers.computeIfAbsent(assertionName) { Tracker() }
+    }
+
+    /**
+     * Describes an argument in at most [maxValueLength] characters. Collections, maps, and arrays are written
+     * out element by element, so that a large one isn't turned into a String in full only to be cut short.
+     */
+    private fun valueOf(argument: Any?): String
+    {
+        if (argument is CharSequence)
+        {
+            return argument.subSequence(0, Math.min(argument.length, maxValueLength)).toString()
+        }
+
+        val builder = StringBuilder()
+        append(builder, argument)
+        builder.setLength(Math.min(builder.length, maxValueLength))
+
+        return builder.toString()
+    }
+
+    private fun append(builder: StringBuilder, value: Any?)
+    {
+        when (value)
+        {
+            is Collection<*> -> appendAll(builder, value, value.iterator(), '[', ']')
+            is Array<*> -> appendAll(builder, value, value.iterator(), '[', ']')
+            is Map<*, *> -> appendAll(builder, value, value.entries.iterator(), '{', '}')
+            is Map.Entry<*, *> ->
+            {
+                append(builder, value.key)
+                builder.append('=')
+                append(builder, value.value)
+            }
+            is CharSequence -> builder.append(value, 0, Math.max(0, Math.min(value.length, maxValueLength - builder.length)))
+            else -> builder.append(value)
+        }
+    }
+
+    /**
+     * Writes elements the way [java.util.AbstractCollection.toString] does, stopping once [maxValueLength] is reached.
+     */
+    private fun appendAll(builder: StringBuilder, container: Any, elements: Iterator<*>, open: Char, close: Char)
+    {
+        builder.append(open)
+
+        var first = true
+
+        while (elements.hasNext() && builder.length < maxValueLength)
+        {
+            if (!first)
+            {
+                builder.append(", ")
+            }
+
+            first = false
+
+            val element = elements.next()
+
+            if (element === container)
+            {
+                builder.append("(this Collection)")
+            }
+            else
+            {
+                append(builder, element)
+            }
+        }
+
+        builder.append(close)
+    }
+
+    /**
+     * The sketch and top values of one assertion.
+     */
+    private inner class Tracker
+    {
+        val failures = LongAdder()
+
+        private val counts = AtomicLongArray(width * depth)
+
+        private val lock = ReentrantLock()
+        private val top = HashMap<String, Long>(topK * 2)
+
+        /** The lowest count in [top] once it is full, so most values can be turned away without locking. */
+        @Volatile
+        private var threshold = 0L
+
+        fun add(value: String)
+        {
+            failures.increment()
+
+            val hash = hashOf(value)
+            var estimate = Long.MAX_VALUE
+
+            for (row in 0 until depth)
+            {
+                estimate = Math.min(estimate, counts.incrementAndGet(indexOf(hash, row)))
+            }
+
+            //A value that misses the lock is still counted in the sketch, and gets another chance next time
+            if (estimate > threshold && lock.tryLock())
+            {
+                try
+                {
+                    offer(value, estimate)
+                }
+                finally
+                {
+                    lock.unlock()
+                }
+            }
+        }
+
+        fun estimate(value: String): Long
+        {
+            val hash = hashOf(value)
+            var estimate = Long.MAX_VALUE
+
+            for (row in 0 until depth)
+            {
+                estimate = Math.min(estimate, counts.get(indexOf(hash, row)))
+            }
+
+            return estimate
+        }
+
+        fun top(): List<HeavyHitter>
+        {
+            lock.lock()
+
+            try
+            {
+                return top.entries
+                        .map { HeavyHitter(it.key, it.value) }
+                        .sortedByDescending { it.estimatedCount }
+            }
+            finally
+            {
+                lock.unlock()
+            }
+        }
+
+        private fun offer(value: String, estimate: Long)
+        {
+            top[value] = estimate
+
+            if (top.size > topK)
+            {
+                val lowest = top.entries.minBy { it.value }!!
+                top.remove(lowest.key)
+            }
+
+            if (top.size == topK)
+            {
+                threshold = top.values.min() ?: 0
+            }
+        }
+
+        /**
+         * A 64-bit FNV-1a hash. Deriving every row from the 32-bit [String.hashCode] would make values that
+         * collide there collide in every row, so the extra rows wouldn't separate them.
+         */
+        private fun hashOf(value: String): Long
+        {
+            var hash = -0x340d631b7bdddcdbL
+
+            for (i in 0 until value.length)
+            {
+                hash = (hash xor value[i].toLong()) * 0x100000001b3L
+            }
+
+            return hash
+        }
+
+        private fun indexOf(hash: Long, row: Int): Int
+        {
+            //The finalizer of MurmurHash3, so that each row's seed scatters the hash independently
+            var mixed = hash xor SEEDS[row]
+            mixed = (mixed xor (mixed ushr 33)) * -0xae502812aa7333L
+            mixed = (mixed xor (mixed ushr 33)) * -0x3b314601e57a13adL
+            mixed = mixed xor (mixed ushr 33)
+
+            return row * width + (mixed.toInt() and (width - 1))
+        }
+    }
+
+    private companion object
+    {
+        private val SEEDS = longArrayOf(0x243F6A8885A308D3L, 0x13198A2E03707344L, 0x2A4093822299F31DL, 0x082EFA98EC4E6C89L,
+                                        0x452821E638D01377L, 0x3E5466CF34E90C6CL, -0x3f530e5bd3a6e6f6L, 0x1337DEADBEEFL)
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import org.slf4j.LoggerFactory
+import tech.sirwellington.alchemy.annotations.arguments.Required
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe
+import java.lang.reflect.Method
+import java.lang.reflect.Proxy
+import java.time.Duration
+
+/**
+ * Emits JDK Flight Recorder events for assertions checked through [Arguments.checkThat]:
+ *
+ * + [FAILED_EVENT] for each failed assertion, with the assertion's name, the type of the argument, and the
+ *   exception mapper that handled it.
+ * + [SLOW_EVENT] for each assertion that took longer than a threshold.
+ *
+ * ```
+ * FlightRecorderEvents.enable(Duration.ofMillis(5))
+ * ```
+ *
+ * The event types are defined at runtime through `jdk.jfr.EventFactory`, so this library doesn't need JFR to
+ * build, and still runs on JVMs without it. Events are only collected while a recording is running; the rest
+ * of the time nothing is registered with [AlchemyMetrics], and checking assertions costs nothing extra.
+ *
+ * @author SirWellington
+ */
+@ThreadSafe
+object FlightRecorderEvents
+{
+    const val FAILED_EVENT = "tech.sirwellington.alchemy.AssertionFailed"
+    const val SLOW_EVENT = "tech.sirwellington.alchemy.SlowAssertion"
+
+    private val LOG = LoggerFactory.getLogger(FlightRecorderEvents::class.java)
+
+    @Volatile
+    private var sink: Sink? = null
+    private var listener: Any? = null
+
+    /**
+     * Whether this JVM has the JFR APIs, which were added in Java 9, and back-ported to 8u262.
+     */
+    @JvmStatic
+    val isAvailable: Boolean by lazy { Jfr.load() != null }
+
+    @JvmStatic
+    val isEnabled: Boolean
+        get() = sink != null
+
+    /**
+     * Starts emitting events whenever a recording is running. Calling this again replaces the threshold.
+     *
+     * @param slowThreshold Assertions that take at least this long emit [SLOW_EVENT]. Defaults to 1 millisecond.
+     *
+     * @return false if this JVM doesn't support JFR.
+     */
+    @JvmStatic
+    @JvmOverloads
+    @Synchronized
+    @Throws(IllegalArgumentException::class)
+    fun enable(@Required slowThreshold: Duration = Duration.ofMillis(1)): Boolean
+    {
+        checkNotNull(slowThreshold, "slowThreshold cannot be null")
+        checkThat(!slowThreshold.isNegative, "slowThreshold cannot be negative")
+
+        val jfr = Jfr.load() ?: return false
+
+        disable()
+
+        try
+        {
+            sink = Sink(failed = jfr.defineEvent(FAILED_EVENT, "Assertion Failed",
+                                                 "An Alchemy assertion rejected an argument",
+                                                 EventField("assertion", "Assertion", String::class.java),
+                                                 EventField("argumentType", "Argument Type", String::class.java),
+                                                 EventField("exceptionMapper", "Exception Mapper", String::class.java),
+                                                 EventField("message", "Message", String::class.java),
+                                                 EventField("elapsed", "Elapsed", Long::class.javaPrimitiveType!!, isTimespan = true)),
+
+                        slow = jfr.defineEvent(SLOW_EVENT, "Slow Assertion",
+                                               "An Alchemy assertion took longer than its threshold",
+                                               EventField("assertion", "Assertion", String::class.java),
+                                               EventField("elapsed", "Elapsed", Long::class.javaPrimitiveType!!, isTimespan = true),
+                                               EventField("passed", "Passed", Boolean::class.javaPrimitiveType!!)),
+
+                        slowThresholdNanos = slowThreshold.toNanos())
+
+            listener = jfr.addRecordingListener { updateRegistration() }
+            updateRegistration()
+            return true
+        }
+        catch (ex: ReflectiveOperationException)
+        {
+            LOG.warn("Could not define Flight Recorder events", ex)
+            disable()
+            return false
+        }
+    }
+
+    /**
+     * Stops emitting events.
+     */
+    @JvmStatic
+    @Synchronized
+    fun disable()
+    {
+        listener?.let { Jfr.load()?.removeRecordingListener(it) }
+        sink?.let { AlchemyMetrics.unregister(it) }
+
+        listener = null
+        sink = null
+    }
+
+    /**
+     * Registers the events' sink while any recording is running, and unregisters it otherwise.
+     *
+     * This runs on Flight Recorder's threads, so it doesn't lock this object, in case [enable] is waiting on
+     * Flight Recorder at the same time.
+     */
+    private fun updateRegistration()
+    {
+        val sink = this.sink ?: return
+
+        if (Jfr.load()?.isRecording() == true)
+        {
+            AlchemyMetrics.register(sink)
+
+            //In case it was disabled in the meantime
+            if (this.sink !== sink)
+            {
+                AlchemyMetrics.unregister(sink)
+            }
+        }
+        else
+        {
+            AlchemyMetrics.unregister(sink)
+        }
+    }
+
+    /**
+     * @return A short description of an exception mapper, for [FAILED_EVENT].
+     */
+    internal fun nameOfMapper(exceptionMapper: ExceptionMapper<*>): String
+    {
+        return when
+        {
+            exceptionMapper === ExceptionMapper.IDENTITY -> "IDENTITY"
+            exceptionMapper is DynamicExceptionSupplier<*> -> exceptionMapper.exceptionClass.name
+            else -> AlchemyMetrics.nameOfClass(exceptionMapper.javaClass.name)
+        }
+    }
+
+    private class Sink(private val failed: EventType,
+                       private val slow: EventType,
+                       private val slowThresholdNanos: Long) : AssertionMetrics
+    {
+        override fun recordPass(assertionName: String, nanos: Long)
+        {
+            if (nanos >= slowThresholdNanos && slow.isEnabled())
+            {
+                slow.commit(assertionName, nanos, true)
+            }
+        }
+
+        override fun recordFailure(assertionName: String,
+                                   nanos: Long,
+                                   argument: Any?,
+                                   failure: FailedAssertionException,
+                                   exceptionMapper: ExceptionMapper<*>)
+        {
+            if (failed.isEnabled())
+            {
+                failed.commit(assertionName,
+                              argument?.javaClass?.name ?: "null",
+                              nameOfMapper(exceptionMapper),
+                              failure.message,
+                              nanos)
+            }
+
+            if (nanos >= slowThresholdNanos && slow.isEnabled())
+            {
+                slow.commit(assertionName, nanos, false)
+            }
+        }
+
+        override fun recordUnexpectedException(assertionName: String,
+                                               nanos: Long,
+                                               argument: Any?,
+                                               failure: FailedAssertionException,
+                                               exceptionMapper: ExceptionMapper<*>)
+        {
+            recordFailure(assertionName, nanos, argument, failure, exceptionMapper)
+        }
+    }
+
+    private class EventField(val name: String, val label: String, val type: Class<*>, val isTimespan: Boolean = false)
+
+    /**
+     * An event type made by `jdk.jfr.EventFactory`.
+     */
+    private class EventType(private val jfr: Jfr, private val factory: Any, private val type: Any)
+    {
+        fun isEnabled(): Boolean
+        {
+            return invoking { jfr.isEnabled.invoke(type) as Boolean }
+        }
+
+        fun commit(vararg values: Any?)
+        {
+            invoking {
+
+                val event = jfr.newEvent.invoke(factory)
+
+                values.forEachIndexed { index, value -> jfr.set.invoke(event, index, value) }
+
+                jfr.commit.invoke(event)
+            }
+        }
+
+        /**
+         * Reflection throws checked exceptions, which callers of [AssertionMetrics] don't expect.
+         */
+        private inline fun <T> invoking(block: () -> T): T
+        {
+            try
+            {
+                return block()
+            }
+            catch (ex: ReflectiveOperationException)
+            {
+                throw IllegalStateException("Could not emit Flight Recorder event", ex)
+            }
+        }
+    }
+
+    /**
+     * The parts of `jdk.jfr` that are used, looked up by reflection.
+     */
+    private class Jfr private constructor()
+    {
+        private val annotationElement = Class.forName("jdk.jfr.AnnotationElement")
+        private val valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor")
+        private val eventFactory = Class.forName("jdk.jfr.EventFactory")
+        private val event = Class.forName("jdk.jfr.Event")
+        private val flightRecorder = Class.forName("jdk.jfr.FlightRecorder")
+        private val listenerType = Class.forName("jdk.jfr.FlightRecorderListener")
+        private val recording = Class.forName("jdk.jfr.Recording")
+
+        val newEvent: Method = eventFactory.getMethod("newEvent")
+        val set: Method = event.getMethod("set", Int::class.javaPrimitiveType, Any::class.java)
+        val commit: Method = event.getMethod("commit")
+        val isEnabled: Method = Class.forName("jdk.jfr.EventType").getMethod("isEnabled")
+
+        fun defineEvent(name: String, label: String, description: String, vararg fields: EventField): EventType
+        {
+            val annotations = listOf(annotation("Name", name),
+                                     annotation("Label", label),
+                                     annotation("Description", description),
+                                     annotation("Category", arrayOf("Alchemy", "Arguments")))
+
+            val descriptors = fields.map { field ->
+
+                val fieldAnnotations = mutableListOf(annotation("Label", field.label))
+
+                if (field.isTimespan)
+                {
+                    fieldAnnotations.add(annotation("Timespan", "NANOSECONDS"))
+                }
+
+                valueDescriptor.getConstructor(Class::class.java, String::class.java, List::class.java)
+                        .newInstance(field.type, field.name, fieldAnnotations)
+            }
+
+            val factory = eventFactory.getMethod("create", List::class.java, List::class.java)
+                    .invoke(null, annotations, descriptors)
+
+            return EventType(this, factory, eventFactory.getMethod("getEventType").invoke(factory))
+        }
+
+        fun isRecording(): Boolean
+        {
+            //Asking for the recorder would start it, so check whether something else already has
+            if (flightRecorder.getMethod("isInitialized").invoke(null) != true)
+            {
+                return false
+            }
+
+            val recorder = flightRecorder.getMethod("getFlightRecorder").invoke(null)
+            val recordings = flightRecorder.getMethod("getRecordings").invoke(recorder) as List<*>
+            val getState = recording.getMethod("getState")
+
+            return recordings.any { getState.invoke(it).toString() == "RUNNING" }
+        }
+
+        fun addRecordingListener(onChange: () -> Unit): Any
+        {
+            val listener = Proxy.newProxyInstance(FlightRecorderEvents::class.java.classLoader, arrayOf(listenerType)) { proxy, method, args ->
+
+                when (method.name)
+                {
+                    "recordingStateChanged" -> onChange()
+                    "hashCode" -> return@newProxyInstance System.identityHashCode(proxy)
+                    "equals" -> return@newProxyInstance proxy === args?.get(0)
+                    "toString" -> return@newProxyInstance "FlightRecorderEvents.listener"
+                }
+
+                null
+            }
+
+            flightRecorder.getMethod("addListener", listenerType).invoke(null, listener)
+            return listener
+        }
+
+        fun removeRecordingListener(listener: Any)
+        {
+            flightRecorder.getMethod("removeListener", listenerType).invoke(null, listener)
+        }
+
+        private fun annotation(simpleName: String, value: Any): Any
+        {
+            val type = Class.forName("jdk.jfr.$simpleName")
+
+            return annotationElement.getConstructor(Class::class.java, Any::class.java).newInstance(type, value)
+        }
+
+        companion object
+        {
+            private val INSTANCE: Jfr? by lazy {
+
+                try
+                {
+                    Jfr()
+                }
+                catch (ex: ReflectiveOperationException)
+                {
+                    null
+                }
+                catch (ex: LinkageError)
+                {
+                    null
+                }
+            }
+
+            fun load(): Jfr? = INSTANCE
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe
+import java.util.concurrent.atomic.AtomicLongArray
+import java.util.concurrent.atomic.LongAccumulator
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * A lock-free histogram of durations, in nanoseconds, in the style of HdrHistogram.
+ *
+ * Values are grouped by their power of two, and each power of two is split into 32 equal sub-buckets, so a
+ * value is kept to within about 3%, however large it is. Durations above [MAX_TRACKABLE_NANOS] (about 36
+ * minutes) are counted as that. Recording takes a few atomic increments, and never allocates.
+ *
+ * @author SirWellington
+ */
+@ThreadSafe
+class LatencyHistogram
+{
+    private val counts = AtomicLongArray(BUCKET_COUNT)
+    private val sum = LongAdder()
+    private val max = LongAccumulator(Math::max, 0)
+
+    fun record(nanos: Long)
+    {
+        val value = nanos.coerceIn(0, MAX_TRACKABLE_NANOS)
+
+        counts.incrementAndGet(indexOf(value))
+        sum.add(value)
+        max.accumulate(value)
+    }
+
+    fun count(): Long
+    {
+        var count = 0L
+
+        for (i in 0 until BUCKET_COUNT)
+        {
+            count += counts.get(i)
+        }
+
+        return count
+    }
+
+    fun max(): Long
+    {
+        return max.get()
+    }
+
+    fun mean(): Double
+    {
+        val count = count()
+        return if (count == 0L) 0.0 else sum.sum().toDouble() / count
+    }
+
+    /**
+     * @param percentile Between 0 and 100, such as `99.9`.
+     *
+     * @return The highest duration the given percentage of recorded durations are at or below, to within the
+     * precision of the histogram, or `0` if nothing was recorded.
+     */
+    @Throws(IllegalArgumentException::class)
+    fun valueAtPercentile(percentile: Double): Long
+    {
+        checkThat(percentile in 0.0..100.0, "percentile must be between 0 and 100")
+
+        val count = count()
+
+        if (count == 0L)
+        {
+            return 0
+        }
+
+        val target = Math.max(1L, Math.ceil(percentile / 100.0 * count).toLong())
+        var seen = 0L
+
+        for (i in 0 until BUCKET_COUNT)
+        {
+            seen += counts.get(i)
+
+            if (seen >= target)
+            {
+                return Math.min(highestValueAt(i), max())
+            }
+        }
+
+        return max()
+    }
+
+    /**
+     * Clears the histogram. Durations recorded at the same time may be partly kept.
+     */
+    fun reset()
+    {
+        for (i in 0 until BUCKET_COUNT)
+        {
+            counts.set(i, 0)
+        }
+
+        sum.reset()
+        max.reset()
+    }
+
+    override fun toString(): String
+    {
+        return "LatencyHistogram{count=${count()}, p50=${valueAtPercentile(50.0)}, p99=${valueAtPercentile(99.0)}, max=${max()}}"
+    }
+
+    companion object
+    {
+        const val MAX_TRACKABLE_NANOS = (1L shl 41) - 1
+
+        private const val SUB_BUCKET_BITS = 5
+        private const val SUB_BUCKETS = 1 shl SUB_BUCKET_BITS
+        private const val BUCKET_COUNT = (41 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS
+
+        /**
+         * Values below 32 get a bucket each. Above that, the top 5 bits of a value pick its sub-bucket within
+         * its power of two.
+         */
+        internal fun indexOf(value: Long): Int
+        {
+            if (value < SUB_BUCKETS)
+            {
+                return value.toInt()
+            }
+
+            val exponent = 63 - java.lang.Long.numberOfLeadingZeros(value)
+            val subBucket = (value ushr (exponent - SUB_BUCKET_BITS)).toInt() - SUB_BUCKETS
+
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket
+        }
+
+        internal fun highestValueAt(index: Int): Long
+        {
+            if (index < SUB_BUCKETS)
+            {
+                return index.toLong()
+            }
+
+            val exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1
+            val subBucket = (index % SUB_BUCKETS + SUB_BUCKETS).toLong()
+            val width = 1L shl (exponent - SUB_BUCKET_BITS)
+
+            return subBucket * width + width - 1
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import tech.sirwellington.alchemy.annotations.arguments.Optional
+import tech.sirwellington.alchemy.annotations.arguments.Positive
+import tech.sirwellington.alchemy.annotations.arguments.Required
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe
+import java.math.BigDecimal
+import java.math.BigInteger
+import java.net.URI
+import java.time.Duration
+import java.time.Instant
+import java.time.LocalDate
+import java.time.LocalDateTime
+import java.time.LocalTime
+import java.time.OffsetDateTime
+import java.time.ZonedDateTime
+import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.atomic.LongAdder
+import java.util.concurrent.locks.ReentrantLock
+
+/**
+ * Remembers whether arguments passed or failed an expensive assertion, such as a URL or a heavy regular
+ * expression, that is checked against the same values over and over.
+ *
+ * ```
+ * val validCallback = memoized(validURL(), 10_000)
+ *
+ * checkThat(callbackUrl).isA(validCallback)
+ * ```
+ *
+ * Only arguments of immutable types are remembered: strings, boxed primitives, enums, and common immutable
+ * value types like [BigDecimal], [UUID], [URI] and `java.time` values. Other arguments are always checked.
+ * The [assertion] must give the same verdict for equal arguments.
+ *
+ * A remembered failure is re-thrown as a new [FailedAssertionException] with the same message, without
+ * capturing a stack trace; the original failure is its [cause][Throwable.cause].
+ *
+ * The cache holds up to [maxEntries] verdicts. When full, a new verdict replaces the least frequently used
+ * of a few randomly sampled ones, and frequencies are halved periodically so that verdicts that used to be
+ * popular can age out. Hits take no locks; misses only add their verdict if no other thread is adding one.
+ *
+ * @author SirWellington
+ */
+@ThreadSafe
+class MemoizedAssertion<T> private constructor(private val assertion: AlchemyAssertion<T>,
+                                               @Positive val maxEntries: Int) : AlchemyAssertion<T>, NamedAssertion
+{
+
+    /**
+     * The name of the memoized assertion, as given by [AlchemyMetrics.nameOf].
+     */
+    private val assertionName: String = AlchemyMetrics.nameOf(assertion)
+
+    /**
+     * A remembered verdict. A `null` failure means the argument passed. The message is copied, since the
+     * builder may change the failure's message after it is remembered.
+     */
+    private class Entry(val argument: Any, val failure: FailedAssertionException?, val slot: Int)
+    {
+        val message: String? = failure?.message
+
+        /**
+         * Not atomic: increments lost to races only make the estimate a little low.
+         */
+        @Volatile
+        var frequency = 1
+    }
+
+    private val entries = ConcurrentHashMap<Any, Entry>()
+
+    /**
+     * Every entry, by slot, so that eviction can sample entries at random. Guarded by [lock].
+     */
+    private val slots = arrayOfNulls<Entry>(maxEntries)
+    private var size = 0
+    private var additionsSinceDecay = 0
+    private val lock = ReentrantLock()
+
+    private val hits = LongAdder()
+    private val misses = LongAdder()
+
+    val hitCount: Long
+        get() = hits.sum()
+
+    /**
+     * Checks of immutable arguments that weren't remembered, and so were checked.
+     */
+    val missCount: Long
+        get() = misses.sum()
+
+    val hitRate: Double
+        get()
+        {
+            val hits = hits.sum()
+            val total = hits + misses.sum()
+            return if (total == 0L) 0.0 else hits.toDouble() / total
+        }
+
+    /**
+     * How many verdicts are remembered.
+     */
+    val cachedVerdicts: Int
+        get() = entries.size
+
+    @Throws(FailedAssertionException::class)
+    override fun check(@Optional argument: T)
+    {
+        if (argument == null || !isImmutable(argument))
+        {
+            assertion.check(argument)
+            return
+        }
+
+        val key: Any = argument
+        val entry = entries.get(key)
+
+        if (entry != null)
+        {
+            hits.increment()
+            entry.frequency += 1
+
+            val failure = entry.failure ?: return
+            throw CachedFailedAssertionException(entry.message, failure)
+        }
+
+        misses.increment()
+
+        try
+        {
+            assertion.check(argument)
+        }
+        catch (ex: FailedAssertionException)
+        {
+            remember(key, ex)
+            throw ex
+        }
+
+        remember(key, null)
+    }
+
+    fun clear()
+    {
+        lock.lock()
+
+        try
+        {
+            entries.clear()
+            slots.fill(null)
+            size = 0
+            additionsSinceDecay = 0
+            hits.reset()
+            misses.reset()
+        }
+        finally
+        {
+            lock.unlock()
+        }
+    }
+
+    override fun metricsName(): String
+    {
+        return assertionName
+    }
+
+    override fun toString(): String
+    {
+        return "MemoizedAssertion{assertion=$assertionName, maxEntries=$maxEntries}"
+    }
+
+    private fun remember(argument: Any, failure: FailedAssertionException?)
+    {
+        //Other threads are already adding; skipping this verdict is cheaper than waiting
+        if (!lock.tryLock())
+        {
+            return
+        }
+
+        try
+        {
+            if (entries.containsKey(argument))
+            {
+                return
+            }
+
+            val slot = if (size < maxEntries) size++ else evict()
+            val entry = Entry(argument, failure, slot)
+
+            slots[slot] = entry
+            entries[argument] = entry
+
+            additionsSinceDecay += 1
+            if (additionsSinceDecay >= maxEntries * DECAY_AFTER)
+            {
+                decay()
+            }
+        }
+        finally
+        {
+            lock.unlock()
+        }
+    }
+
+    /**
+     * Removes the least frequently used of a few sampled entries.
+     *
+     * @return The slot it used.
+     */
+    private fun evict(): Int
+    {
+        val random = ThreadLocalRandom.current()
+        var victim = slots[random.nextInt(maxEntries)]!!
+
+        repeat(EVICTION_SAMPLES - 1) {
+
+            val candidate = slots[random.nextInt(maxEntries)]!!
+
+            if (candidate.frequency < victim.frequency)
+            {
+                victim = candidate
+            }
+        }
+
+        entries.remove(victim.argument)
+        return victim.slot
+    }
+
+    private fun decay()
+    {
+        additionsSinceDecay = 0
+
+        for (i in 0 until size)
+        {
+            val entry = slots[i]!!
+            entry.frequency = entry.frequency shr 1
+        }
+    }
+
+    /**
+     * Thrown instead of a remembered failure. Filling in a stack trace is most of the cost of a failure, and
+     * the original failure, kept as the cause, already has one.
+     */
+    private class CachedFailedAssertionException(message: String?,
+                                                 failure: FailedAssertionException) : FailedAssertionException(message, failure)
+    {
+        override fun fillInStackTrace(): Throwable
+        {
+            return this
+        }
+    }
+
+    companion object
+    {
+        private const val EVICTION_SAMPLES = 8
+        private const val DECAY_AFTER = 10
+
+        private val IMMUTABLE_TYPES = setOf<Class<*>>(String::class.java,
+                                                      java.lang.Integer::class.java,
+                                                      java.lang.Long::class.java,
+                                                      java.lang.Short::class.java,
+                                                      java.lang.Byte::class.java,
+                                                      java.lang.Character::class.java,
+                                                      java.lang.Boolean::class.java,
+                                                      java.lang.Double::class.java,
+                                                      java.lang.Float::class.java,
+                                                      BigInteger::class.java,
+                                                      BigDecimal::class.java,
+                                                      UUID::class.java,
+                                                      URI::class.java,
+                                                      Instant::class.java,
+                                                      Duration::class.java,
+                                                      LocalDate::class.java,
+                                                      LocalTime::class.java,
+                                                      LocalDateTime::class.java,
+                                                      OffsetDateTime::class.java,
+                                                      ZonedDateTime::class.java)
+
+        /**
+         * @param maxEntries How many verdicts to remember, at most.
+         */
+        @JvmStatic
+        @Throws(IllegalArgumentException::class)
+        fun <T> of(@Required assertion: AlchemyAssertion<T>, @Positive maxEntries: Int): MemoizedAssertion<T>
+        {
+            checkNotNull(assertion, "assertion cannot be null")
+            checkThat(maxEntries > 0, "maxEntries must be > 0")
+
+            return MemoizedAssertion(assertion, maxEntries)
+        }
+
+        private fun isImmutable(argument: Any): Boolean
+        {
+            return argument.javaClass in IMMUTABLE_TYPES || argument is Enum<*>
+        }
+    }
+}
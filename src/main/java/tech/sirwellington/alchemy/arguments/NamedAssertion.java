@@ -0,0 +1,35 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.sirwellington.alchemy.arguments;
+
+import tech.sirwellington.alchemy.annotations.access.Internal;
+
+/**
+ * Implemented by assertions that wrap others, such as {@link MemoizedAssertion} and {@link SampledAssertion},
+ * so that {@link AlchemyMetrics#nameOf(AlchemyAssertion)} names them after what they check, rather than after
+ * the wrapper's own class.
+ *
+ * @author SirWellington
+ */
+@Internal
+public interface NamedAssertion
+{
+
+    /**
+     * @return The name to report this assertion under, such as the name of the assertion it wraps.
+     */
+    String metricsName();
+
+}
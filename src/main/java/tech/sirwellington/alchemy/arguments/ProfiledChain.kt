@@ -0,0 +1,236 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty
+import tech.sirwellington.alchemy.annotations.arguments.Optional
+import tech.sirwellington.alchemy.annotations.arguments.Positive
+import tech.sirwellington.alchemy.annotations.arguments.Required
+import tech.sirwellington.alchemy.annotations.concurrency.Immutable
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * A chain of assertions, like [combine][tech.sirwellington.alchemy.arguments.assertions.combine], that
+ * measures how long each step takes, to show which steps of a long chain are worth reordering or dropping:
+ *
+ * ```
+ * val validRegistration = ProfiledChain.of("registration", 100,
+ *                                          notNull(),
+ *                                          validEmailAddress(),
+ *                                          ...)
+ *
+ * checkThat(email).isA(validRegistration)
+ * ...
+ * println(validRegistration.report())
+ * ```
+ *
+ * Only every [sampleEvery]th check on each thread is timed, with one call to [System.nanoTime] per step; the
+ * rest run the steps as [combine][tech.sirwellington.alchemy.arguments.assertions.combine] does. Counting
+ * checks per thread costs a thread-local lookup and increment on every check, but no shared writes.
+ * Steps after a failed step don't run, so later steps may have fewer samples.
+ *
+ * @author SirWellington
+ */
+@ThreadSafe
+class ProfiledChain<T> private constructor(@NonEmpty val name: String,
+                                           @Positive val sampleEvery: Int,
+                                           private val steps: Array<AlchemyAssertion<T>>) : AlchemyAssertion<T>, NamedAssertion
+{
+
+    /**
+     * Metrics report the chain under its [name].
+     */
+    override fun metricsName(): String
+    {
+        return name
+    }
+
+    /**
+     * The profile of a chain, with its steps ordered from the most total time to the least.
+     */
+    @Immutable
+    data class Report(val chainName: String,
+                      val sampledChecks: Long,
+                      val steps: List<StepReport>)
+    {
+        override fun toString(): String
+        {
+            val report = StringBuilder("Chain [$chainName]: $sampledChecks sampled checks")
+
+            steps.forEachIndexed { rank, step ->
+
+                report.append(String.format("%n%3d. %-50s %5.1f%%  mean %,dns  p99 %,dns  samples %,d  failures %,d",
+                                            rank + 1,
+                                            "${step.assertionName} (step ${step.position})",
+                                            step.shareOfTime * 100,
+                                            step.meanNanos.toLong(),
+                                            step.p99Nanos,
+                                            step.samples,
+                                            step.failures))
+            }
+
+            return report.toString()
+        }
+    }
+
+    /**
+     * The profile of one step.
+     *
+     * @property position Where the step is in the chain, starting at 1.
+     * @property shareOfTime The fraction of the chain's sampled time spent in this step.
+     */
+    @Immutable
+    data class StepReport(val position: Int,
+                          val assertionName: String,
+                          val samples: Long,
+                          val failures: Long,
+                          val totalNanos: Long,
+                          val meanNanos: Double,
+                          val p99Nanos: Long,
+                          val shareOfTime: Double)
+
+    private val names = Array(steps.size) { AlchemyMetrics.nameOf(steps[it]) }
+    private val latencies = Array(steps.size) { LatencyHistogram() }
+    private val totals = Array(steps.size) { LongAdder() }
+    private val failures = Array(steps.size) { LongAdder() }
+    private val sampledChecks = LongAdder()
+
+    /**
+     * Counts checks per thread to decide which to sample, so that threads don't contend on one counter.
+     */
+    private val counters = ThreadLocal.withInitial { IntArray(1) }
+
+    @Throws(FailedAssertionException::class)
+    override fun check(@Optional argument: T)
+    {
+        if (!shouldSample())
+        {
+            for (step in steps)
+            {
+                step.check(argument)
+            }
+
+            return
+        }
+
+        sampledChecks.increment()
+
+        for (i in steps.indices)
+        {
+            val start = System.nanoTime()
+
+            try
+            {
+                steps[i].check(argument)
+            }
+            catch (ex: RuntimeException)
+            {
+                failures[i].increment()
+                throw ex
+            }
+            finally
+            {
+                val elapsed = System.nanoTime() - start
+                latencies[i].record(elapsed)
+                totals[i].add(elapsed)
+            }
+        }
+    }
+
+    private fun shouldSample(): Boolean
+    {
+        val counter = counters.get()
+        counter[0] += 1
+
+        if (counter[0] < sampleEvery)
+        {
+            return false
+        }
+
+        counter[0] = 0
+        return true
+    }
+
+    fun report(): Report
+    {
+        val totalNanos = totals.map { it.sum() }
+        val chainNanos = totalNanos.sum()
+
+        val steps = steps.indices.map { i ->
+
+            StepReport(position = i + 1,
+                       assertionName = names[i],
+                       samples = latencies[i].count(),
+                       failures = failures[i].sum(),
+                       totalNanos = totalNanos[i],
+                       meanNanos = latencies[i].mean(),
+                       p99Nanos = latencies[i].valueAtPercentile(99.0),
+                       shareOfTime = if (chainNanos == 0L) 0.0 else totalNanos[i].toDouble() / chainNanos)
+        }
+
+        return Report(name, sampledChecks.sum(), steps.sortedByDescending { it.totalNanos })
+    }
+
+    fun reset()
+    {
+        latencies.forEach { it.reset() }
+        totals.forEach { it.reset() }
+        failures.forEach { it.reset() }
+        sampledChecks.reset()
+    }
+
+    override fun toString(): String
+    {
+        return "ProfiledChain{name=$name, steps=${steps.size}, sampleEvery=$sampleEvery}"
+    }
+
+    companion object
+    {
+        const val DEFAULT_SAMPLE_EVERY = 100
+
+        /**
+         * @param name Names the chain in its report.
+         * @param sampleEvery How often to time a check. `1` times every check.
+         */
+        @JvmStatic
+        @Throws(IllegalArgumentException::class)
+        fun <T> of(@NonEmpty name: String,
+                   @Positive sampleEvery: Int,
+                   @Required first: AlchemyAssertion<T>,
+                   vararg others: AlchemyAssertion<T>): ProfiledChain<T>
+        {
+            checkNotNull(first, "the first AlchemyAssertion cannot be null")
+
+            return of(name, listOf(first) + others, sampleEvery)
+        }
+
+        @JvmStatic
+        @JvmOverloads
+        @Throws(IllegalArgumentException::class)
+        fun <T> of(@NonEmpty name: String,
+                   @Required steps: List<AlchemyAssertion<T>?>,
+                   @Positive sampleEvery: Int = DEFAULT_SAMPLE_EVERY): ProfiledChain<T>
+        {
+            checkThat(!isNullOrEmpty(name), "name cannot be empty")
+            checkThat(!isNullOrEmpty(steps), "steps cannot be empty")
+            checkThat(steps.all { it != null }, "steps cannot contain null")
+            checkThat(sampleEvery > 0, "sampleEvery must be > 0")
+
+            return ProfiledChain(name, sampleEvery, steps.filterNotNull().toTypedArray())
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import tech.sirwellington.alchemy.annotations.arguments.Optional
+import tech.sirwellington.alchemy.annotations.arguments.Positive
+import tech.sirwellington.alchemy.annotations.arguments.Required
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Checks an expensive assertion on only some calls, and passes the rest. This trades catching every bad
+ * argument for catching drift: a sampled failure still fails, and is counted, so the failure rate of the
+ * arguments can be estimated.
+ *
+ * ```
+ * val validIndex = SampledAssertion.fraction(collectionContainingAll(...), 0.01)
+ *
+ * checkThat(index).isA(validIndex)
+ * ...
+ * validIndex.estimatedFailureRate
+ * ```
+ *
+ * To check part of every collection instead, use
+ * [sampleOfElements][tech.sirwellington.alchemy.arguments.assertions.sampleOfElements].
+ *
+ * @author SirWellington
+ */
+@ThreadSafe
+class SampledAssertion<T> private constructor(private val assertion: AlchemyAssertion<T>,
+                                              private val fraction: Double,
+                                              private val sampleEvery: Int) : AlchemyAssertion<T>, NamedAssertion
+{
+
+    /**
+     * The name of the sampled assertion, as given by [AlchemyMetrics.nameOf].
+     */
+    val assertionName: String = AlchemyMetrics.nameOf(assertion)
+
+    override fun metricsName(): String
+    {
+        return assertionName
+    }
+
+    private val calls = LongAdder()
+    private val sampled = LongAdder()
+    private val failures = LongAdder()
+
+    /**
+     * Counts calls per thread for [everyNth], so that threads don't contend on one counter.
+     */
+    private val counters = ThreadLocal.withInitial { IntArray(1) }
+
+    val totalCalls: Long
+        get() = calls.sum()
+
+    val sampledChecks: Long
+        get() = sampled.sum()
+
+    val sampledFailures: Long
+        get() = failures.sum()
+
+    /**
+     * The fraction of sampled checks that failed, which estimates the failure rate of all calls.
+     */
+    val estimatedFailureRate: Double
+        get()
+        {
+            val checks = sampled.sum()
+            return if (checks == 0L) 0.0 else failures.sum().toDouble() / checks
+        }
+
+    @Throws(FailedAssertionException::class)
+    override fun check(@Optional argument: T)
+    {
+        calls.increment()
+
+        if (!shouldSample())
+        {
+            return
+        }
+
+        sampled.increment()
+
+        try
+        {
+            assertion.check(argument)
+        }
+        catch (ex: RuntimeException)
+        {
+            failures.increment()
+            throw ex
+        }
+    }
+
+    fun reset()
+    {
+        calls.reset()
+        sampled.reset()
+        failures.reset()
+    }
+
+    override fun toString(): String
+    {
+        val mode = if (sampleEvery > 0) "every=$sampleEvery" else "fraction=$fraction"
+        return "SampledAssertion{assertion=$assertionName, $mode}"
+    }
+
+    private fun shouldSample(): Boolean
+    {
+        if (sampleEvery > 0)
+        {
+            val counter = counters.get()
+            counter[0] += 1
+
+            if (counter[0] < sampleEvery)
+            {
+                return false
+            }
+
+            counter[0] = 0
+            return true
+        }
+
+        return ThreadLocalRandom.current().nextDouble() < fraction
+    }
+
+    companion object
+    {
+
+        /**
+         * Checks [assertion] on a random [fraction] of calls.
+         *
+         * @param fraction Between 0, exclusive, and 1, inclusive. `0.01` checks about 1 call in 100.
+         */
+        @JvmStatic
+        @Throws(IllegalArgumentException::class)
+        fun <T> fraction(@Required assertion: AlchemyAssertion<T>, fraction: Double): SampledAssertion<T>
+        {
+            checkNotNull(assertion, "assertion cannot be null")
+            checkThat(fraction > 0.0 && fraction <= 1.0, "fraction must be in (0, 1]")
+
+            return SampledAssertion(assertion, fraction, sampleEvery = 0)
+        }
+
+        /**
+         * Checks [assertion] on every [n]th call made by each thread.
+         */
+        @JvmStatic
+        @Throws(IllegalArgumentException::class)
+        fun <T> everyNth(@Required assertion: AlchemyAssertion<T>, @Positive n: Int): SampledAssertion<T>
+        {
+            checkNotNull(assertion, "assertion cannot be null")
+            checkThat(n > 0, "n must be > 0")
+
+            return SampledAssertion(assertion, fraction = 1.0, sampleEvery = n)
+        }
+    }
+}
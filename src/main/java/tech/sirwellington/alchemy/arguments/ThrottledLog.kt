@@ -0,0 +1,222 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import org.slf4j.Logger
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty
+import tech.sirwellington.alchemy.annotations.arguments.Optional
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Logs warnings about assertions without flooding the log when bad input floods in.
+ *
+ * The first warning for each message and assertion is logged in full. Repeats within the
+ * [log interval][AssertionPolicies.getLogIntervalMillis] are only counted, and a background reporter logs
+ * how many were suppressed:
+ *
+ * ```
+ * Assertion StringAssertions.nonEmptyString threw an unexpected exception: 1,204 suppressed in the last 10s
+ * ```
+ *
+ * The reporter is a daemon thread, started when a warning is first suppressed. Once there is nothing left
+ * to report, it stops scheduling reports, and its thread exits after idling for 30 seconds.
+ *
+ * @author SirWellington
+ */
+@ThreadSafe
+internal class ThrottledLog @JvmOverloads constructor(private val logger: Logger,
+                                                    private val clock: () -> Long = { System.nanoTime() })
+{
+
+    private class Entry
+    {
+        val lastLogged = AtomicLong(Long.MIN_VALUE)
+        val suppressed = LongAdder()
+    }
+
+    /**
+     * Keyed by message, then by assertion name. Messages are constants, so each lookup hashes a name.
+     */
+    private val entries = ConcurrentHashMap<String, ConcurrentHashMap<String, Entry>>()
+
+    private val reporting = AtomicBoolean(false)
+
+    @Volatile
+    private var lastReport = clock()
+
+    /**
+     * @param message       The warning, with a `{}` where the assertion name goes.
+     * @param assertionName The name of the assertion, as given by [AlchemyMetrics.nameOf].
+     * @param error         Logged with its stack trace, when the warning isn't suppressed.
+     */
+    fun warn(@NonEmpty message: String, @NonEmpty assertionName: String, @Optional error: Throwable?)
+    {
+        if (!AssertionPolicies.isLoggingEnabled())
+        {
+            return
+        }
+
+        val intervalNanos = TimeUnit.MILLISECONDS.toNanos(AssertionPolicies.getLogIntervalMillis())
+
+        if (intervalNanos == 0L)
+        {
+            logger.warn(message, assertionName, error)
+            return
+        }
+
+        val entry = entryFor(message, assertionName)
+        val now = clock()
+        val last = entry.lastLogged.get()
+
+        if ((last == Long.MIN_VALUE || now - last >= intervalNanos) && entry.lastLogged.compareAndSet(last, now))
+        {
+            logger.warn(message, assertionName, error)
+            return
+        }
+
+        entry.suppressed.increment()
+        startReporter()
+    }
+
+    /**
+     * Logs a summary of each warning suppressed since the last report.
+     *
+     * @return How many summaries were logged.
+     */
+    fun report(): Int
+    {
+        val now = clock()
+        val elapsed = durationOf(now - lastReport)
+        lastReport = now
+
+        var summaries = 0
+
+        entries.forEach { message, byAssertion ->
+            byAssertion.forEach { assertionName, entry ->
+
+                val suppressed = entry.suppressed.sumThenReset()
+
+                if (suppressed > 0)
+                {
+                    summaries += 1
+                    logger.warn("$message: {} suppressed in the last {}",
+                                assertionName,
+                                String.format("%,d", suppressed),
+                                elapsed)
+                }
+            }
+        }
+
+        return summaries
+    }
+
+    private fun durationOf(nanos: Long): String
+    {
+        val millis = TimeUnit.NANOSECONDS.toMillis(nanos)
+
+        return if (millis < 1_000) "${millis}ms" else "${TimeUnit.MILLISECONDS.toSeconds(millis)}s"
+    }
+
+    private fun entryFor(message: String, assertionName: String): Entry
+    {
+        //Plain reads first, since computeIfAbsent locks even when the key is present
+        val byAssertion = entries[message] ?: entries.computeIfAbsent(message) { ConcurrentHashMap() }
+
+        return byAssertion[assertionName] ?: byAssertion.computeIfAbsent(assertionName) { Entry() }
+    }
+
+    private fun startReporter()
+    {
+        if (reporting.get() || !reporting.compareAndSet(false, true))
+        {
+            return
+        }
+
+        lastReport = clock()
+        scheduleReport()
+    }
+
+    private fun scheduleReport()
+    {
+        val delay = Math.max(AssertionPolicies.getLogIntervalMillis(), MIN_REPORT_DELAY_MILLIS)
+
+        REPORTER.schedule({ reportAndReschedule() }, delay, TimeUnit.MILLISECONDS)
+    }
+
+    private fun reportAndReschedule()
+    {
+        val summaries = try
+        {
+            report()
+        }
+        catch (ex: RuntimeException)
+        {
+            logger.error("Failed to report suppressed warnings", ex)
+            0
+        }
+
+        if (summaries > 0)
+        {
+            scheduleReport()
+        }
+        else
+        {
+            //Nothing was suppressed for a whole interval; the next suppressed warning starts it again
+            reporting.set(false)
+
+            //A warning suppressed between the report and clearing the flag would otherwise wait for the next one
+            if (hasSuppressed())
+            {
+                startReporter()
+            }
+        }
+    }
+
+    private fun hasSuppressed(): Boolean
+    {
+        return entries.values.any { byAssertion -> byAssertion.values.any { it.suppressed.sum() > 0 } }
+    }
+
+    private companion object
+    {
+        const val MIN_REPORT_DELAY_MILLIS = 100L
+        const val REPORTER_KEEP_ALIVE_SECONDS = 30L
+
+        /**
+         * Shared by every [ThrottledLog], and only started when the first report is scheduled. Its thread
+         * exits when it has been idle for a while, and is started again by the next report.
+         */
+        val REPORTER: ScheduledExecutorService by lazy {
+
+            val executor = ScheduledThreadPoolExecutor(1) { runnable ->
+                val thread = Thread(runnable, "alchemy-arguments-log-reporter")
+                thread.isDaemon = true
+                thread
+            }
+
+            executor.setKeepAliveTime(REPORTER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS)
+            executor.allowCoreThreadTimeOut(true)
+            executor
+        }
+    }
+}
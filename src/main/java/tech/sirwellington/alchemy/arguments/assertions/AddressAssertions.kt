@@ -18,8 +18,13 @@
 package tech.sirwellington.alchemy.arguments.assertions
 
 
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty
 import tech.sirwellington.alchemy.arguments.AlchemyAssertion
+import tech.sirwellington.alchemy.arguments.FailedAssertionException
+import tech.sirwellington.alchemy.arguments.checkNotNull
+import tech.sirwellington.alchemy.arguments.checkNotNullOrEmpty
 import tech.sirwellington.alchemy.arguments.checkThat
+import java.util.Locale
 
 
 /**
@@ -29,6 +34,7 @@ import tech.sirwellington.alchemy.arguments.checkThat
  * You will find checks for:
  * <pre>
  * + Zip Codes
+ * + Postal Codes of other countries
  * + States
  * + Countries
  * </pre>
@@ -46,10 +52,12 @@ fun validZipCode(): AlchemyAssertion<String>
 {
     return AlchemyAssertion { zip ->
 
-        checkThat(zip)
-                .usingMessage("zip must consist of 4-5 characters")
-                .isA(stringWithLengthGreaterThanOrEqualTo(4))
-                .isA(stringWithLengthLessThanOrEqualTo(5))
+        notNull<Any>().check(zip)
+
+        if (zip.length < 4 || zip.length > 5)
+        {
+            throw FailedAssertionException("zip must consist of 4-5 characters")
+        }
     }
 }
 
@@ -69,9 +77,82 @@ fun validZipCodeString(): AlchemyAssertion<String>
     return AlchemyAssertion { zip ->
 
         nonEmptyString().check(zip)
-        integerString().check(zip)
-        stringWithLength(5)
 
-        validZipCode().check(zip)
+        if (!PostalCodes.matchesAnyFormat(PostalCodes.US_ZIP_CODE, zip))
+        {
+            throw FailedAssertionException("Expected a 5-digit zip code, but was [$zip]")
+        }
+    }
+}
+
+/**
+ * Checks that a String is a valid postal code for a country, according to the formats of that country.
+ * For example, `validPostalCode("US")` accepts both `90012` and `90012-1234`, and
+ * `validPostalCode("GB")` accepts `SW1A 1AA`.
+ *
+ * Letters are accepted in either case, and the separating space is optional where countries use one.
+ * Supported countries are:
+ * AR, AT, AU, BE, BR, CA, CH, CN, CZ, DE, DK, ES, FI, FR, GB, IE, IN, IT, JP, KR, MX, NL, NO, NZ, PL, PT, RU, SE, US, ZA.
+ *
+ * @param countryCode The ISO 3166 alpha-2 code of the country, such as `US` or `DE`. `UK` is accepted as an alias of `GB`.
+ *
+ * @throws IllegalArgumentException If the country is not supported.
+ */
+@Throws(IllegalArgumentException::class)
+fun validPostalCode(@NonEmpty countryCode: String): AlchemyAssertion<String>
+{
+    checkNotNullOrEmpty(countryCode, "countryCode cannot be empty")
+
+    var country = countryCode.trim().toUpperCase(Locale.ROOT)
+
+    if (country == "UK")
+    {
+        country = "GB"
+    }
+
+    val formats = PostalCodes.formatsOf(country)
+    checkNotNull(formats, "Unsupported country: $countryCode")
+
+    return AlchemyAssertion { postalCode ->
+
+        notNull<Any>().check(postalCode)
+
+        if (!PostalCodes.matchesAnyFormat(formats!!, postalCode))
+        {
+            throw FailedAssertionException("Invalid postal code for $country: [$postalCode]")
+        }
+    }
+}
+
+/**
+ * Checks that a String is a US zip code (or ZIP+4) whose 3-digit prefix is assigned to the given state.
+ * This catches addresses where the zip code and the state do not agree.
+ *
+ * @param state The two-letter USPS code of the state, such as `CA` or `NY`. `DC`, `PR` and `VI` are included.
+ *
+ * @throws IllegalArgumentException If the state is not recognized.
+ */
+@Throws(IllegalArgumentException::class)
+fun zipCodeInState(@NonEmpty state: String): AlchemyAssertion<String>
+{
+    checkNotNullOrEmpty(state, "state cannot be empty")
+
+    val expectedState = state.trim().toUpperCase(Locale.ROOT)
+    val expectedIndex = PostalCodes.indexOfState(expectedState)
+    checkThat(expectedIndex >= 0, "Unknown state: $state")
+
+    return AlchemyAssertion { zip ->
+
+        notNull<Any>().check(zip)
+
+        if (!PostalCodes.matchesAnyFormat(PostalCodes.US_ZIP_CODE_OR_ZIP_PLUS_4, zip))
+        {
+            throw FailedAssertionException("Invalid zip code: [$zip]")
+        }
+
+        if (PostalCodes.stateIndexOf(zip) != expectedIndex)
+        {
+            throw FailedAssertionException("Zip code [$zip] is not in $expectedState")
+        }
     }
 }
@@ -18,9 +18,11 @@
 package tech.sirwellington.alchemy.arguments.assertions
 
 import tech.sirwellington.alchemy.annotations.arguments.Optional
+import tech.sirwellington.alchemy.annotations.arguments.Positive
 import tech.sirwellington.alchemy.annotations.arguments.Required
 import tech.sirwellington.alchemy.arguments.AlchemyAssertion
 import tech.sirwellington.alchemy.arguments.FailedAssertionException
+import tech.sirwellington.alchemy.arguments.MemoizedAssertion
 import tech.sirwellington.alchemy.arguments.checkNotNull
 
 /**
@@ -287,4 +289,22 @@ fun <T> combine(@Required first: AlchemyAssertion<T>, vararg others: AlchemyAsse
             assertion.check(argument)
         }
     }
-}
\ No newline at end of file
+}
+
+/**
+ * Remembers the verdicts of an expensive [assertion] for up to [maxEntries] arguments, so that checking
+ * the same value again doesn't run it again:
+ *
+ * ```
+ * val validTenantDomain = memoized(validHostname(), 1_000)
+ *
+ * checkThat(domain).isA(validTenantDomain)
+ * ```
+ *
+ * @see MemoizedAssertion
+ */
+@Throws(IllegalArgumentException::class)
+fun <T> memoized(@Required assertion: AlchemyAssertion<T>, @Positive maxEntries: Int): MemoizedAssertion<T>
+{
+    return MemoizedAssertion.of(assertion, maxEntries)
+}
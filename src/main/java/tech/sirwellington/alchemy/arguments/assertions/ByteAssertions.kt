@@ -0,0 +1,441 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+@file:JvmName("ByteAssertions")
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty
+import tech.sirwellington.alchemy.annotations.arguments.Positive
+import tech.sirwellington.alchemy.annotations.arguments.Required
+import tech.sirwellington.alchemy.arguments.AlchemyAssertion
+import tech.sirwellington.alchemy.arguments.FailedAssertionException
+import tech.sirwellington.alchemy.arguments.checkNotNull
+import tech.sirwellington.alchemy.arguments.checkThat
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
+
+/**
+ * Assertions on binary payloads, as `byte[]` or [ByteBuffer].
+ *
+ * [ByteBuffer] assertions look at the bytes between the buffer's position and limit. They work on both
+ * heap and direct buffers, without copying, and leave the position of the buffer unchanged.
+ *
+ * @author SirWellington
+ */
+
+private const val CHECKSUM_SIZE = 4
+
+/**
+ * Asserts that a byte array is not null and not empty.
+ */
+fun nonEmptyByteArray(): AlchemyAssertion<ByteArray>
+{
+    return AlchemyAssertion { array ->
+
+        notNull<Any>().check(array)
+
+        if (array.isEmpty())
+        {
+            throw FailedAssertionException("Byte array is empty")
+        }
+    }
+}
+
+/**
+ * Asserts that a byte array has at most [maxSize] bytes.
+ *
+ * @param maxSize The maximum size, inclusive.
+ *
+ * @see byteArrayWithSizeBetween
+ */
+@Throws(IllegalArgumentException::class)
+fun byteArrayWithSizeAtMost(@Positive maxSize: Int): AlchemyAssertion<ByteArray>
+{
+    checkThat(maxSize >= 0, "maxSize must be >= 0")
+
+    return AlchemyAssertion { array ->
+
+        notNull<Any>().check(array)
+
+        if (array.size > maxSize)
+        {
+            throw FailedAssertionException("Expected at most [$maxSize] bytes, but was [${array.size}]")
+        }
+    }
+}
+
+/**
+ * Asserts that a byte array has between [minSize] and [maxSize] bytes, inclusive.
+ */
+@Throws(IllegalArgumentException::class)
+fun byteArrayWithSizeBetween(@Positive minSize: Int, @Positive maxSize: Int): AlchemyAssertion<ByteArray>
+{
+    checkThat(minSize >= 0, "minSize must be >= 0")
+    checkThat(minSize <= maxSize, "minSize must be <= maxSize")
+
+    return AlchemyAssertion { array ->
+
+        notNull<Any>().check(array)
+
+        if (array.size < minSize || array.size > maxSize)
+        {
+            throw FailedAssertionException("Expected between [$minSize] and [$maxSize] bytes, but was [${array.size}]")
+        }
+    }
+}
+
+/**
+ * Asserts that a [ByteBuffer] has between [minSize] and [maxSize] bytes remaining, inclusive.
+ */
+@Throws(IllegalArgumentException::class)
+fun byteBufferWithRemainingBetween(@Positive minSize: Int, @Positive maxSize: Int): AlchemyAssertion<ByteBuffer>
+{
+    checkThat(minSize >= 0, "minSize must be >= 0")
+    checkThat(minSize <= maxSize, "minSize must be <= maxSize")
+
+    return AlchemyAssertion { buffer ->
+
+        notNull<Any>().check(buffer)
+
+        val remaining = buffer.remaining()
+
+        if (remaining < minSize || remaining > maxSize)
+        {
+            throw FailedAssertionException("Expected between [$minSize] and [$maxSize] bytes, but was [$remaining]")
+        }
+    }
+}
+
+/**
+ * Asserts that a byte array begins with a "magic number", such as the `%PDF` of a PDF file,
+ * or the `0x89 P N G` of a PNG image.
+ *
+ * @param magic The expected first bytes. The array is copied.
+ */
+@Throws(IllegalArgumentException::class)
+fun byteArrayStartingWith(@NonEmpty magic: ByteArray): AlchemyAssertion<ByteArray>
+{
+    checkNotNull(magic, "magic cannot be null")
+    checkThat(magic.isNotEmpty(), "magic cannot be empty")
+
+    val expected = magic.copyOf()
+
+    return AlchemyAssertion { array ->
+
+        notNull<Any>().check(array)
+
+        if (!startsWith(ByteBuffer.wrap(array), expected))
+        {
+            throw FailedAssertionException("Byte array does not begin with the expected ${expected.size} bytes")
+        }
+    }
+}
+
+/**
+ * Asserts that the remaining bytes of a [ByteBuffer] begin with a "magic number".
+ *
+ * @see byteArrayStartingWith
+ */
+@Throws(IllegalArgumentException::class)
+fun byteBufferStartingWith(@NonEmpty magic: ByteArray): AlchemyAssertion<ByteBuffer>
+{
+    checkNotNull(magic, "magic cannot be null")
+    checkThat(magic.isNotEmpty(), "magic cannot be empty")
+
+    val expected = magic.copyOf()
+
+    return AlchemyAssertion { buffer ->
+
+        notNull<Any>().check(buffer)
+
+        if (!startsWith(buffer, expected))
+        {
+            throw FailedAssertionException("ByteBuffer does not begin with the expected ${expected.size} bytes")
+        }
+    }
+}
+
+/**
+ * Asserts that the last 4 bytes of a byte array hold the checksum of the bytes before them.
+ *
+ * @param algorithm The checksum to compute.
+ * @param byteOrder The order the checksum is stored in. Defaults to big-endian.
+ *
+ * @see byteBufferWithTrailingChecksum
+ */
+@JvmOverloads
+@Throws(IllegalArgumentException::class)
+fun byteArrayWithTrailingChecksum(@Required algorithm: ChecksumAlgorithm,
+                                  @Required byteOrder: ByteOrder = ByteOrder.BIG_ENDIAN): AlchemyAssertion<ByteArray>
+{
+    checkNotNull(algorithm, "algorithm cannot be null")
+    checkNotNull(byteOrder, "byteOrder cannot be null")
+
+    return AlchemyAssertion { array ->
+
+        notNull<Any>().check(array)
+
+        checkTrailingChecksum(algorithm, byteOrder, array, 0, array.size)
+    }
+}
+
+/**
+ * Asserts that a slice of a byte array ends with the checksum of the rest of the slice. This is useful
+ * for checking one record within a larger payload, without copying it out.
+ *
+ * @param offset    Where the slice begins.
+ * @param length    The size of the slice, including its 4-byte checksum.
+ * @param byteOrder The order the checksum is stored in. Defaults to big-endian.
+ */
+@JvmOverloads
+@Throws(IllegalArgumentException::class)
+fun byteArrayWithTrailingChecksum(@Required algorithm: ChecksumAlgorithm,
+                                  @Positive offset: Int,
+                                  @Positive length: Int,
+                                  @Required byteOrder: ByteOrder = ByteOrder.BIG_ENDIAN): AlchemyAssertion<ByteArray>
+{
+    checkNotNull(algorithm, "algorithm cannot be null")
+    checkNotNull(byteOrder, "byteOrder cannot be null")
+    checkThat(offset >= 0, "offset must be >= 0")
+    checkThat(length >= CHECKSUM_SIZE, "length must be >= $CHECKSUM_SIZE")
+
+    return AlchemyAssertion { array ->
+
+        notNull<Any>().check(array)
+
+        if (array.size - length < offset)
+        {
+            throw FailedAssertionException("Expected at least [${offset.toLong() + length}] bytes, but was [${array.size}]")
+        }
+
+        checkTrailingChecksum(algorithm, byteOrder, array, offset, length)
+    }
+}
+
+/**
+ * Asserts that the last 4 remaining bytes of a [ByteBuffer] hold the checksum of the remaining bytes before them.
+ * Use [ByteBuffer.slice] or [ByteBuffer.wrap] to check part of a larger buffer.
+ *
+ * @param algorithm The checksum to compute.
+ * @param byteOrder The order the checksum is stored in. Defaults to big-endian.
+ */
+@JvmOverloads
+@Throws(IllegalArgumentException::class)
+fun byteBufferWithTrailingChecksum(@Required algorithm: ChecksumAlgorithm,
+                                   @Required byteOrder: ByteOrder = ByteOrder.BIG_ENDIAN): AlchemyAssertion<ByteBuffer>
+{
+    checkNotNull(algorithm, "algorithm cannot be null")
+    checkNotNull(byteOrder, "byteOrder cannot be null")
+
+    return AlchemyAssertion { buffer ->
+
+        notNull<Any>().check(buffer)
+
+        if (buffer.remaining() < CHECKSUM_SIZE)
+        {
+            throw FailedAssertionException("Expected at least [$CHECKSUM_SIZE] bytes, but was [${buffer.remaining()}]")
+        }
+
+        val checksumPosition = buffer.limit() - CHECKSUM_SIZE
+        val expected = buffer.duplicate().order(byteOrder).getInt(checksumPosition)
+
+        val payload = buffer.duplicate()
+        payload.limit(checksumPosition)
+        val actual = algorithm.checksumOf(payload)
+
+        if (actual != expected)
+        {
+            throw FailedAssertionException("Expected $algorithm of [${toHex(expected)}], but was [${toHex(actual)}]")
+        }
+    }
+}
+
+/**
+ * Asserts that a byte array holds well-formed UTF-8, without decoding it.
+ *
+ * @see byteBufferWithValidUtf8
+ */
+fun byteArrayWithValidUtf8(): AlchemyAssertion<ByteArray>
+{
+    return AlchemyAssertion { array ->
+
+        notNull<Any>().check(array)
+
+        checkUtf8(ByteBuffer.wrap(array), 0, 0, Int.MAX_VALUE)
+    }
+}
+
+/**
+ * Asserts that the remaining bytes of a [ByteBuffer] are well-formed UTF-8, without decoding them.
+ */
+fun byteBufferWithValidUtf8(): AlchemyAssertion<ByteBuffer>
+{
+    return AlchemyAssertion { buffer ->
+
+        notNull<Any>().check(buffer)
+
+        checkUtf8(buffer, 0, 0, Int.MAX_VALUE)
+    }
+}
+
+/**
+ * Asserts that a byte array holds well-formed UTF-8, of between [minLength] and [maxLength] code points, inclusive.
+ * This is the byte-level equivalent of [stringWithLengthBetween], except that characters outside of the
+ * Basic Multilingual Plane count once. Scanning stops as soon as [maxLength] is exceeded.
+ */
+@Throws(IllegalArgumentException::class)
+fun byteArrayWithUtf8LengthBetween(@Positive minLength: Int, @Positive maxLength: Int): AlchemyAssertion<ByteArray>
+{
+    checkThat(minLength >= 0, "minLength must be >= 0")
+    checkThat(minLength <= maxLength, "minLength must be <= maxLength")
+
+    return AlchemyAssertion { array ->
+
+        notNull<Any>().check(array)
+
+        checkUtf8(ByteBuffer.wrap(array), 0, minLength, maxLength)
+    }
+}
+
+/**
+ * Asserts that the remaining bytes of a [ByteBuffer] are well-formed UTF-8, of between [minLength] and [maxLength]
+ * code points, inclusive.
+ *
+ * @see byteArrayWithUtf8LengthBetween
+ */
+@Throws(IllegalArgumentException::class)
+fun byteBufferWithUtf8LengthBetween(@Positive minLength: Int, @Positive maxLength: Int): AlchemyAssertion<ByteBuffer>
+{
+    checkThat(minLength >= 0, "minLength must be >= 0")
+    checkThat(minLength <= maxLength, "minLength must be <= maxLength")
+
+    return AlchemyAssertion { buffer ->
+
+        notNull<Any>().check(buffer)
+
+        checkUtf8(buffer, 0, minLength, maxLength)
+    }
+}
+
+/**
+ * Asserts that a byte array holds well-formed UTF-8, with no control characters: none of `U+0000` to `U+001F`,
+ * `U+007F`, or `U+0080` to `U+009F`. Note that this includes tabs and line breaks.
+ */
+fun byteArrayWithNoControlCharacters(): AlchemyAssertion<ByteArray>
+{
+    return AlchemyAssertion { array ->
+
+        notNull<Any>().check(array)
+
+        checkUtf8(ByteBuffer.wrap(array), Utf8.REJECT_CONTROLS, 0, Int.MAX_VALUE)
+    }
+}
+
+/**
+ * @see byteArrayWithNoControlCharacters
+ */
+fun byteBufferWithNoControlCharacters(): AlchemyAssertion<ByteBuffer>
+{
+    return AlchemyAssertion { buffer ->
+
+        notNull<Any>().check(buffer)
+
+        checkUtf8(buffer, Utf8.REJECT_CONTROLS, 0, Int.MAX_VALUE)
+    }
+}
+
+/**
+ * Asserts that every byte of a byte array is ASCII (`0x00` to `0x7F`).
+ */
+fun byteArrayWithOnlyAscii(): AlchemyAssertion<ByteArray>
+{
+    return AlchemyAssertion { array ->
+
+        notNull<Any>().check(array)
+
+        checkUtf8(ByteBuffer.wrap(array), Utf8.ASCII_ONLY, 0, Int.MAX_VALUE)
+    }
+}
+
+/**
+ * Asserts that every remaining byte of a [ByteBuffer] is ASCII (`0x00` to `0x7F`).
+ */
+fun byteBufferWithOnlyAscii(): AlchemyAssertion<ByteBuffer>
+{
+    return AlchemyAssertion { buffer ->
+
+        notNull<Any>().check(buffer)
+
+        checkUtf8(buffer, Utf8.ASCII_ONLY, 0, Int.MAX_VALUE)
+    }
+}
+
+private fun checkUtf8(buffer: ByteBuffer, options: Int, minLength: Int, maxLength: Int)
+{
+    val length = Utf8.scan(buffer, options, maxLength)
+
+    when
+    {
+        length == Utf8.MALFORMED -> throw FailedAssertionException("Bytes are not well-formed UTF-8")
+        length == Utf8.CONTROL_CHARACTER -> throw FailedAssertionException("Bytes contain a control character")
+        length == Utf8.NOT_ASCII -> throw FailedAssertionException("Bytes contain a non-ASCII character")
+        length > maxLength -> throw FailedAssertionException("Expected at most [$maxLength] characters, but there are more")
+        length < minLength -> throw FailedAssertionException("Expected at least [$minLength] characters, but was [$length]")
+    }
+}
+
+private fun checkTrailingChecksum(algorithm: ChecksumAlgorithm, byteOrder: ByteOrder, array: ByteArray, offset: Int, length: Int)
+{
+    if (length < CHECKSUM_SIZE)
+    {
+        throw FailedAssertionException("Expected at least [$CHECKSUM_SIZE] bytes, but was [$length]")
+    }
+
+    val checksumOffset = offset + length - CHECKSUM_SIZE
+    val expected = ByteBuffer.wrap(array).order(byteOrder).getInt(checksumOffset)
+    val actual = algorithm.checksumOf(array, offset, length - CHECKSUM_SIZE)
+
+    if (actual != expected)
+    {
+        throw FailedAssertionException("Expected $algorithm of [${toHex(expected)}], but was [${toHex(actual)}]")
+    }
+}
+
+private fun startsWith(buffer: ByteBuffer, expected: ByteArray): Boolean
+{
+    if (buffer.remaining() < expected.size)
+    {
+        return false
+    }
+
+    val position = buffer.position()
+
+    for (i in expected.indices)
+    {
+        if (buffer.get(position + i) != expected[i])
+        {
+            return false
+        }
+    }
+
+    return true
+}
+
+private fun toHex(checksum: Int): String
+{
+    return String.format("%08x", checksum)
+}
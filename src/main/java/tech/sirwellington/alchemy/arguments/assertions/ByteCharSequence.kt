@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import tech.sirwellington.alchemy.annotations.access.Internal
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadUnsafe
+import java.nio.ByteBuffer
+
+/**
+ * A [CharSequence] view over a range of bytes, where each byte is one character (ISO-8859-1).
+ * ASCII text reads exactly as it would from a String, without decoding or copying anything.
+ *
+ * The range can be moved with [reset], so one view can be reused for every field of a file.
+ *
+ * @author SirWellington
+ */
+@Internal
+@ThreadUnsafe
+internal class ByteCharSequence(private val buffer: ByteBuffer) : CharSequence
+{
+
+    private var start = 0
+    private var end = 0
+
+    fun reset(start: Int, end: Int): ByteCharSequence
+    {
+        this.start = start
+        this.end = end
+        return this
+    }
+
+    override val length: Int
+        get() = end - start
+
+    override fun get(index: Int): Char
+    {
+        if (index < 0 || index >= length)
+        {
+            throw IndexOutOfBoundsException("index: $index, length: $length")
+        }
+
+        return (buffer.get(start + index).toInt() and 0xFF).toChar()
+    }
+
+    override fun subSequence(startIndex: Int, endIndex: Int): CharSequence
+    {
+        if (startIndex < 0 || endIndex > length || startIndex > endIndex)
+        {
+            throw IndexOutOfBoundsException("start: $startIndex, end: $endIndex, length: $length")
+        }
+
+        return ByteCharSequence(buffer).reset(start + startIndex, start + endIndex)
+    }
+
+    /**
+     * Decodes the bytes as UTF-8.
+     */
+    fun decodeUtf8(): String
+    {
+        val bytes = ByteArray(length)
+
+        for (i in bytes.indices)
+        {
+            bytes[i] = buffer.get(start + i)
+        }
+
+        return String(bytes, Charsets.UTF_8)
+    }
+
+    override fun toString(): String
+    {
+        val characters = CharArray(length)
+
+        for (i in characters.indices)
+        {
+            characters[i] = get(i)
+        }
+
+        return String(characters)
+    }
+}
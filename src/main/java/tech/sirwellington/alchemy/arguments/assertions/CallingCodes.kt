@@ -0,0 +1,413 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import tech.sirwellington.alchemy.annotations.access.Internal
+import tech.sirwellington.alchemy.annotations.concurrency.Immutable
+
+/**
+ * The table and matcher behind [validE164PhoneNumber] and [phoneNumberForRegion].
+ *
+ * Each country calling code is listed with the range of lengths of its national significant numbers,
+ * and the ISO 3166 regions that use it. Non-geographic codes, such as `+800`, use the region `001`.
+ *
+ * Calling codes are prefix-free, so they are kept in a digit trie with at most three levels.
+ * A number is checked in a single pass: the trie is walked over the first digits, and the
+ * rest of the digits are counted.
+ *
+ * @author SirWellington
+ */
+@Internal
+@Immutable
+internal object CallingCodes
+{
+
+    /** E.164 numbers have at most 15 digits, including the calling code. */
+    const val MAX_DIGITS = 15
+
+    private const val NON_GEOGRAPHIC = "001"
+
+    private val PLANS = listOf(
+            //Zone 1: The North American Numbering Plan
+            plan(1, 10, 10, "US", "CA", "AG", "AI", "AS", "BB", "BM", "BS", "DM", "DO", "GD", "GU", "JM", "KN",
+                 "KY", "LC", "MP", "MS", "PR", "SX", "TC", "TT", "VC", "VG", "VI"),
+
+            //Zone 2: Africa and the North Atlantic
+            plan(20, 8, 10, "EG"),
+            plan(211, 9, 9, "SS"),
+            plan(212, 9, 9, "MA", "EH"),
+            plan(213, 8, 9, "DZ"),
+            plan(216, 8, 8, "TN"),
+            plan(218, 8, 9, "LY"),
+            plan(220, 7, 7, "GM"),
+            plan(221, 9, 9, "SN"),
+            plan(222, 8, 8, "MR"),
+            plan(223, 8, 8, "ML"),
+            plan(224, 8, 9, "GN"),
+            plan(225, 8, 10, "CI", leadingZero = true),
+            plan(226, 8, 8, "BF"),
+            plan(227, 8, 8, "NE"),
+            plan(228, 8, 8, "TG"),
+            plan(229, 8, 10, "BJ"),
+            plan(230, 7, 8, "MU"),
+            plan(231, 7, 9, "LR"),
+            plan(232, 8, 8, "SL"),
+            plan(233, 9, 9, "GH"),
+            plan(234, 7, 10, "NG"),
+            plan(235, 8, 8, "TD"),
+            plan(236, 8, 8, "CF"),
+            plan(237, 9, 9, "CM"),
+            plan(238, 7, 7, "CV"),
+            plan(239, 7, 7, "ST"),
+            plan(240, 9, 9, "GQ"),
+            plan(241, 7, 8, "GA"),
+            plan(242, 9, 9, "CG", leadingZero = true),
+            plan(243, 7, 9, "CD"),
+            plan(244, 9, 9, "AO"),
+            plan(245, 7, 9, "GW"),
+            plan(246, 7, 7, "IO"),
+            plan(247, 4, 5, "AC"),
+            plan(248, 7, 7, "SC"),
+            plan(249, 9, 9, "SD"),
+            plan(250, 9, 9, "RW"),
+            plan(251, 9, 9, "ET"),
+            plan(252, 7, 9, "SO"),
+            plan(253, 8, 8, "DJ"),
+            plan(254, 9, 10, "KE"),
+            plan(255, 9, 9, "TZ"),
+            plan(256, 9, 9, "UG"),
+            plan(257, 8, 8, "BI"),
+            plan(258, 8, 9, "MZ"),
+            plan(260, 9, 9, "ZM"),
+            plan(261, 9, 9, "MG"),
+            plan(262, 9, 9, "RE", "YT"),
+            plan(263, 5, 10, "ZW"),
+            plan(264, 8, 9, "NA"),
+            plan(265, 7, 9, "MW"),
+            plan(266, 8, 8, "LS"),
+            plan(267, 7, 8, "BW"),
+            plan(268, 8, 8, "SZ"),
+            plan(269, 7, 7, "KM"),
+            plan(27, 9, 9, "ZA"),
+            plan(290, 4, 5, "SH", "TA"),
+            plan(291, 7, 7, "ER"),
+            plan(297, 7, 7, "AW"),
+            plan(298, 6, 6, "FO"),
+            plan(299, 6, 6, "GL"),
+
+            //Zones 3 and 4: Europe
+            plan(30, 10, 10, "GR"),
+            plan(31, 9, 9, "NL"),
+            plan(32, 8, 9, "BE"),
+            plan(33, 9, 9, "FR"),
+            plan(34, 9, 9, "ES"),
+            plan(350, 8, 8, "GI"),
+            plan(351, 9, 9, "PT"),
+            plan(352, 4, 11, "LU"),
+            plan(353, 7, 9, "IE"),
+            plan(354, 7, 9, "IS"),
+            plan(355, 8, 9, "AL"),
+            plan(356, 8, 8, "MT"),
+            plan(357, 8, 8, "CY"),
+            plan(358, 5, 12, "FI", "AX"),
+            plan(359, 7, 9, "BG"),
+            plan(36, 8, 9, "HU"),
+            plan(370, 8, 8, "LT"),
+            plan(371, 8, 8, "LV"),
+            plan(372, 7, 8, "EE"),
+            plan(373, 8, 8, "MD"),
+            plan(374, 8, 8, "AM"),
+            plan(375, 9, 10, "BY"),
+            plan(376, 6, 9, "AD"),
+            plan(377, 8, 9, "MC"),
+            plan(378, 6, 10, "SM"),
+            plan(380, 9, 9, "UA"),
+            plan(381, 6, 12, "RS"),
+            plan(382, 8, 8, "ME"),
+            plan(383, 8, 8, "XK"),
+            plan(385, 8, 9, "HR"),
+            plan(386, 8, 8, "SI"),
+            plan(387, 8, 9, "BA"),
+            plan(389, 8, 8, "MK"),
+            plan(39, 6, 11, "IT", "VA", leadingZero = true),
+            plan(40, 9, 9, "RO"),
+            plan(41, 9, 9, "CH"),
+            plan(420, 9, 9, "CZ"),
+            plan(421, 9, 9, "SK"),
+            plan(423, 7, 9, "LI"),
+            plan(43, 4, 13, "AT"),
+            plan(44, 7, 10, "GB", "GG", "IM", "JE"),
+            plan(45, 8, 8, "DK"),
+            plan(46, 7, 13, "SE"),
+            plan(47, 5, 8, "NO", "SJ"),
+            plan(48, 9, 9, "PL"),
+            plan(49, 5, 13, "DE"),
+
+            //Zone 5: Central and South America
+            plan(500, 5, 5, "FK"),
+            plan(501, 7, 7, "BZ"),
+            plan(502, 8, 8, "GT"),
+            plan(503, 8, 8, "SV"),
+            plan(504, 8, 8, "HN"),
+            plan(505, 8, 8, "NI"),
+            plan(506, 8, 8, "CR"),
+            plan(507, 7, 8, "PA"),
+            plan(508, 6, 6, "PM"),
+            plan(509, 8, 8, "HT"),
+            plan(51, 8, 9, "PE"),
+            plan(52, 10, 10, "MX"),
+            plan(53, 6, 8, "CU"),
+            plan(54, 10, 11, "AR"),
+            plan(55, 10, 11, "BR"),
+            plan(56, 9, 9, "CL"),
+            plan(57, 10, 10, "CO"),
+            plan(58, 10, 10, "VE"),
+            plan(590, 9, 9, "GP", "BL", "MF"),
+            plan(591, 8, 8, "BO"),
+            plan(592, 7, 7, "GY"),
+            plan(593, 8, 9, "EC"),
+            plan(594, 9, 9, "GF"),
+            plan(595, 9, 9, "PY"),
+            plan(596, 9, 9, "MQ"),
+            plan(597, 6, 7, "SR"),
+            plan(598, 8, 8, "UY"),
+            plan(599, 7, 8, "CW", "BQ"),
+
+            //Zone 6: Southeast Asia and Oceania
+            plan(60, 8, 10, "MY"),
+            plan(61, 9, 9, "AU", "CX", "CC"),
+            plan(62, 8, 12, "ID"),
+            plan(63, 8, 10, "PH"),
+            plan(64, 8, 10, "NZ"),
+            plan(65, 8, 8, "SG"),
+            plan(66, 8, 9, "TH"),
+            plan(670, 7, 8, "TL"),
+            plan(672, 6, 6, "NF"),
+            plan(673, 7, 7, "BN"),
+            plan(674, 7, 7, "NR"),
+            plan(675, 7, 8, "PG"),
+            plan(676, 5, 7, "TO"),
+            plan(677, 5, 7, "SB"),
+            plan(678, 5, 7, "VU"),
+            plan(679, 7, 7, "FJ"),
+            plan(680, 7, 7, "PW"),
+            plan(681, 6, 6, "WF"),
+            plan(682, 5, 5, "CK"),
+            plan(683, 4, 7, "NU"),
+            plan(685, 5, 7, "WS"),
+            plan(686, 5, 8, "KI"),
+            plan(687, 6, 6, "NC"),
+            plan(688, 5, 7, "TV"),
+            plan(689, 8, 8, "PF"),
+            plan(690, 4, 7, "TK"),
+            plan(691, 7, 7, "FM"),
+            plan(692, 7, 7, "MH"),
+
+            //Zone 7: Russia and Kazakhstan
+            plan(7, 10, 10, "RU", "KZ"),
+
+            //Zone 8: East Asia and global services
+            plan(800, 8, 8, NON_GEOGRAPHIC),
+            plan(808, 8, 8, NON_GEOGRAPHIC),
+            plan(81, 9, 10, "JP"),
+            plan(82, 8, 11, "KR"),
+            plan(84, 9, 10, "VN"),
+            plan(850, 8, 10, "KP"),
+            plan(852, 8, 8, "HK"),
+            plan(853, 8, 8, "MO"),
+            plan(855, 8, 9, "KH"),
+            plan(856, 8, 10, "LA"),
+            plan(86, 9, 11, "CN"),
+            plan(870, 9, 9, NON_GEOGRAPHIC),
+            plan(878, 12, 12, NON_GEOGRAPHIC),
+            plan(880, 8, 10, "BD"),
+            plan(881, 9, 10, NON_GEOGRAPHIC),
+            plan(882, 7, 12, NON_GEOGRAPHIC),
+            plan(883, 9, 12, NON_GEOGRAPHIC),
+            plan(886, 8, 9, "TW"),
+            plan(888, 11, 11, NON_GEOGRAPHIC),
+
+            //Zone 9: West, Central, and South Asia
+            plan(90, 10, 10, "TR"),
+            plan(91, 10, 10, "IN"),
+            plan(92, 9, 10, "PK"),
+            plan(93, 9, 9, "AF"),
+            plan(94, 9, 9, "LK"),
+            plan(95, 7, 10, "MM"),
+            plan(960, 7, 7, "MV"),
+            plan(961, 7, 8, "LB"),
+            plan(962, 8, 9, "JO"),
+            plan(963, 8, 9, "SY"),
+            plan(964, 8, 10, "IQ"),
+            plan(965, 8, 8, "KW"),
+            plan(966, 9, 9, "SA"),
+            plan(967, 7, 9, "YE"),
+            plan(968, 8, 8, "OM"),
+            plan(970, 8, 9, "PS"),
+            plan(971, 8, 9, "AE"),
+            plan(972, 8, 9, "IL"),
+            plan(973, 8, 8, "BH"),
+            plan(974, 8, 8, "QA"),
+            plan(975, 7, 8, "BT"),
+            plan(976, 8, 8, "MN"),
+            plan(977, 8, 10, "NP"),
+            plan(979, 9, 9, NON_GEOGRAPHIC),
+            plan(98, 10, 10, "IR"),
+            plan(992, 9, 9, "TJ"),
+            plan(993, 8, 8, "TM"),
+            plan(994, 9, 9, "AZ"),
+            plan(995, 9, 9, "GE"),
+            plan(996, 9, 9, "KG"),
+            plan(998, 9, 9, "UZ"))
+
+    private val MIN_LENGTHS = ByteArray(PLANS.size) { PLANS[it].minLength.toByte() }
+    private val MAX_LENGTHS = ByteArray(PLANS.size) { PLANS[it].maxLength.toByte() }
+    private val LEADING_ZEROS = BooleanArray(PLANS.size) { PLANS[it].leadingZero }
+
+    private val REGIONS: Set<String> = PLANS.flatMap { it.regions }.toSet()
+
+    /**
+     * The digit trie, with ten slots per node. A positive slot points to the next node,
+     * a negative slot holds `-(1 + the index of the plan)`, and `0` is unassigned.
+     */
+    private val TRIE: IntArray = buildTrie()
+
+    val regions: Set<String>
+        get() = REGIONS
+
+    /**
+     * @param region An upper-case, ISO 3166 alpha-2 region code, or `001` for non-geographic numbers.
+     *
+     * @return true if the calling code at [plan] is used by the [region].
+     */
+    fun isInRegion(plan: Int, region: String): Boolean
+    {
+        return region in PLANS[plan].regions
+    }
+
+    /**
+     * Checks that a number is in E.164 form: a `+`, a known calling code, and a national
+     * number of a valid length for that code, with no spaces or punctuation.
+     *
+     * @return The index of the calling code of the number, or `-1` if it is invalid.
+     */
+    fun planOfNumber(number: CharSequence): Int
+    {
+        if (number.length < 2 || number[0] != '+')
+        {
+            return -1
+        }
+
+        var node = 0
+        var position = 1
+        var plan = -1
+
+        while (plan < 0)
+        {
+            if (position >= number.length)
+            {
+                return -1
+            }
+
+            val digit = number[position] - '0'
+
+            if (digit < 0 || digit > 9)
+            {
+                return -1
+            }
+
+            val slot = TRIE[node * 10 + digit]
+
+            when
+            {
+                slot > 0 -> node = slot
+                slot < 0 -> plan = -slot - 1
+                else -> return -1
+            }
+
+            position += 1
+        }
+
+        val nationalStart = position
+
+        if (nationalStart < number.length && number[nationalStart] == '0' && !LEADING_ZEROS[plan])
+        {
+            return -1
+        }
+
+        for (i in nationalStart until number.length)
+        {
+            if (number[i] !in '0'..'9')
+            {
+                return -1
+            }
+        }
+
+        val nationalLength = number.length - nationalStart
+        val totalDigits = number.length - 1
+
+        if (nationalLength < MIN_LENGTHS[plan] || nationalLength > MAX_LENGTHS[plan] || totalDigits > MAX_DIGITS)
+        {
+            return -1
+        }
+
+        return plan
+    }
+
+    private fun buildTrie(): IntArray
+    {
+        //A root, plus at most one node for each one or two digit prefix
+        val trie = IntArray(10 * (1 + 10 + 100))
+        var nodes = 1
+
+        PLANS.forEachIndexed { index, plan ->
+
+            val digits = plan.code.toString()
+            var node = 0
+
+            for (i in 0 until digits.length - 1)
+            {
+                val slot = node * 10 + (digits[i] - '0')
+                check(trie[slot] >= 0) { "Calling code ${plan.code} overlaps a shorter code" }
+
+                if (trie[slot] == 0)
+                {
+                    trie[slot] = nodes
+                    nodes += 1
+                }
+
+                node = trie[slot]
+            }
+
+            val slot = node * 10 + (digits.last() - '0')
+            check(trie[slot] == 0) { "Calling code ${plan.code} overlaps another code" }
+            trie[slot] = -(index + 1)
+        }
+
+        return trie.copyOf(nodes * 10)
+    }
+
+    private fun plan(code: Int, minLength: Int, maxLength: Int, vararg regions: String, leadingZero: Boolean = false): Plan
+    {
+        return Plan(code, minLength, maxLength, regions.toList(), leadingZero)
+    }
+
+    private class Plan(val code: Int,
+                       val minLength: Int,
+                       val maxLength: Int,
+                       val regions: List<String>,
+                       val leadingZero: Boolean)
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import java.nio.ByteBuffer
+import java.util.zip.Adler32
+import java.util.zip.CRC32
+
+/**
+ * The checksums that [ByteAssertions][byteArrayWithTrailingChecksum] can verify.
+ * Each produces a 32-bit value.
+ *
+ * @author SirWellington
+ */
+enum class ChecksumAlgorithm
+{
+    /**
+     * The CRC-32 used by zip, gzip, and PNG, computed by [java.util.zip.CRC32].
+     */
+    CRC32
+    {
+        override fun checksumOf(array: ByteArray, offset: Int, length: Int): Int
+        {
+            val crc = CRC32()
+            crc.update(array, offset, length)
+            return crc.value.toInt()
+        }
+
+        override fun checksumOf(buffer: ByteBuffer): Int
+        {
+            val crc = CRC32()
+            crc.update(buffer)
+            return crc.value.toInt()
+        }
+    },
+
+    /**
+     * The Castagnoli CRC-32C used by iSCSI, ext4, and many storage formats.
+     */
+    CRC32C
+    {
+        override fun checksumOf(array: ByteArray, offset: Int, length: Int): Int
+        {
+            return Crc32c.checksumOf(array, offset, length)
+        }
+
+        override fun checksumOf(buffer: ByteBuffer): Int
+        {
+            return Crc32c.checksumOf(buffer)
+        }
+    },
+
+    /**
+     * The Adler-32 used by zlib, computed by [java.util.zip.Adler32].
+     */
+    ADLER32
+    {
+        override fun checksumOf(array: ByteArray, offset: Int, length: Int): Int
+        {
+            val adler = Adler32()
+            adler.update(array, offset, length)
+            return adler.value.toInt()
+        }
+
+        override fun checksumOf(buffer: ByteBuffer): Int
+        {
+            val adler = Adler32()
+            adler.update(buffer)
+            return adler.value.toInt()
+        }
+    };
+
+    internal abstract fun checksumOf(array: ByteArray, offset: Int, length: Int): Int
+
+    /**
+     * Computes the checksum of the remaining bytes of the [buffer], moving its position to its limit.
+     */
+    internal abstract fun checksumOf(buffer: ByteBuffer): Int
+}
@@ -0,0 +1,468 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+@file:JvmName("ChecksumAssertions")
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty
+import tech.sirwellington.alchemy.annotations.arguments.Required
+import tech.sirwellington.alchemy.arguments.AlchemyAssertion
+import tech.sirwellington.alchemy.arguments.FailedAssertionException
+import tech.sirwellington.alchemy.arguments.checkNotNull
+import tech.sirwellington.alchemy.arguments.checkThat
+import java.util.Arrays
+
+
+/**
+ * Assertions on identifiers that carry a check digit, such as card numbers, IBANs, ISBNs, and barcodes.
+ *
+ * Each check is a single pass over the [CharSequence], without allocating. Identifiers must be in their
+ * compact, electronic form: without spaces or hyphens. Since some of these identifiers are sensitive,
+ * failure messages do not include the argument.
+ *
+ * @author SirWellington
+ */
+
+private const val MIN_CARD_LENGTH = 12
+private const val MAX_CARD_LENGTH = 19
+
+/** The number of leading digits of a card number that BIN ranges are compared against. */
+private const val BIN_DIGITS = 8
+
+private const val MIN_IBAN_LENGTH = 15
+private const val MAX_IBAN_LENGTH = 34
+
+/**
+ * The length of the IBANs of each country in the IBAN registry, indexed by the two letters of the country.
+ * Countries that are not listed only have to fall within [MIN_IBAN_LENGTH] and [MAX_IBAN_LENGTH].
+ */
+private val IBAN_LENGTHS = ByteArray(26 * 26).apply {
+
+    val lengths = "AD24 AE23 AL28 AT20 AZ28 BA20 BE16 BG22 BH22 BR29 BY28 CH21 CR22 CY28 CZ24 DE22 DK18 DO28 " +
+                  "EE20 EG29 ES24 FI18 FO18 FR27 GB22 GE22 GI23 GL18 GR27 GT28 HR21 HU28 IE22 IL23 IQ23 IS26 " +
+                  "IT27 JO30 KW30 KZ20 LB28 LC32 LI21 LT20 LU20 LV21 MC27 MD24 ME22 MK19 MR27 MT31 MU30 NL18 " +
+                  "NO15 PK24 PL28 PS29 PT25 QA29 RO24 RS22 SA24 SC31 SE24 SI19 SK24 SM27 ST25 SV28 TL23 TN24 " +
+                  "TR26 UA29 VA22 VG24 XK20"
+
+    lengths.split(' ').forEach { entry ->
+        this[(entry[0] - 'A') * 26 + (entry[1] - 'A')] = entry.substring(2).toByte()
+    }
+}
+
+/**
+ * Checks that a number passes the [Luhn](https://en.wikipedia.org/wiki/Luhn_algorithm) (mod-10) check,
+ * as used by payment cards and many other identifiers. The number must contain only ASCII digits.
+ *
+ * @see validCardNumber
+ */
+fun <S : CharSequence> validLuhnNumber(): AlchemyAssertion<S>
+{
+    return AlchemyAssertion { number ->
+
+        notNull<Any>().check(number)
+
+        if (number.length < 2 || !passesLuhn(number))
+        {
+            throw FailedAssertionException("Number fails the Luhn check")
+        }
+    }
+}
+
+/**
+ * Checks that a payment card number has 12-19 digits, and passes the Luhn check.
+ *
+ * @see cardNumberInBinRanges
+ */
+fun <S : CharSequence> validCardNumber(): AlchemyAssertion<S>
+{
+    return AlchemyAssertion { number ->
+
+        notNull<Any>().check(number)
+
+        if (number.length < MIN_CARD_LENGTH || number.length > MAX_CARD_LENGTH || !passesLuhn(number))
+        {
+            throw FailedAssertionException("Invalid card number")
+        }
+    }
+}
+
+/**
+ * Checks that a payment card number is valid, and that its Bank Identification Number (BIN) falls in one
+ * of the given ranges, such as the card networks or issuers that are accepted.
+ *
+ * The ranges are merged into a sorted table once, so each check is a binary search.
+ *
+ * @param binRanges Each range is either a prefix, such as `4` or `51`, or two prefixes of the same length
+ *                  separated by a hyphen, such as `2221-2720`. Prefixes can have up to 8 digits.
+ *
+ * @throws IllegalArgumentException If the ranges are empty or invalid.
+ *
+ * @see validCardNumber
+ */
+@Throws(IllegalArgumentException::class)
+fun <S : CharSequence> cardNumberInBinRanges(@NonEmpty binRanges: Collection<String>): AlchemyAssertion<S>
+{
+    checkNotNull(binRanges, "BIN ranges cannot be null")
+    checkThat(binRanges.isNotEmpty(), "BIN ranges cannot be empty")
+
+    val ranges = BinRanges.of(binRanges)
+
+    return AlchemyAssertion { number ->
+
+        validCardNumber<S>().check(number)
+
+        if (!ranges.contains(number))
+        {
+            throw FailedAssertionException("Card number is not in any of the accepted BIN ranges")
+        }
+    }
+}
+
+/**
+ * @see cardNumberInBinRanges
+ */
+@Throws(IllegalArgumentException::class)
+fun <S : CharSequence> cardNumberInBinRanges(@Required first: String, vararg others: String): AlchemyAssertion<S>
+{
+    return cardNumberInBinRanges(listOf(first) + others)
+}
+
+/**
+ * Checks that an International Bank Account Number is valid: two upper-case country letters, two check digits,
+ * and an alphanumeric account number, with the length registered for the country. The check digits are
+ * verified with an incremental mod-97 over the characters, instead of building a large number.
+ *
+ * Use the electronic format, without spaces, such as `GB82WEST12345698765432`.
+ */
+fun <S : CharSequence> validIBAN(): AlchemyAssertion<S>
+{
+    return AlchemyAssertion { iban ->
+
+        notNull<Any>().check(iban)
+
+        if (!isValidIban(iban))
+        {
+            throw FailedAssertionException("Invalid IBAN")
+        }
+    }
+}
+
+/**
+ * Checks that a String is a valid 10-digit ISBN, where the last character may be an `X`.
+ *
+ * @see validISBN13
+ * @see validISBN
+ */
+fun <S : CharSequence> validISBN10(): AlchemyAssertion<S>
+{
+    return AlchemyAssertion { isbn ->
+
+        notNull<Any>().check(isbn)
+
+        if (!isValidIsbn10(isbn))
+        {
+            throw FailedAssertionException("Invalid ISBN-10: [$isbn]")
+        }
+    }
+}
+
+/**
+ * Checks that a String is a valid 13-digit ISBN: an EAN-13 in the `978` or `979` ranges.
+ *
+ * @see validISBN10
+ * @see validISBN
+ */
+fun <S : CharSequence> validISBN13(): AlchemyAssertion<S>
+{
+    return AlchemyAssertion { isbn ->
+
+        notNull<Any>().check(isbn)
+
+        if (!isValidIsbn13(isbn))
+        {
+            throw FailedAssertionException("Invalid ISBN-13: [$isbn]")
+        }
+    }
+}
+
+/**
+ * Checks that a String is either a valid ISBN-10 or ISBN-13.
+ */
+fun <S : CharSequence> validISBN(): AlchemyAssertion<S>
+{
+    return AlchemyAssertion { isbn ->
+
+        notNull<Any>().check(isbn)
+
+        if (!isValidIsbn10(isbn) && !isValidIsbn13(isbn))
+        {
+            throw FailedAssertionException("Invalid ISBN: [$isbn]")
+        }
+    }
+}
+
+/**
+ * Checks that a String is a valid 13-digit European Article Number (EAN-13 or GTIN-13) barcode.
+ *
+ * @see validEAN8
+ * @see validUPC
+ */
+fun <S : CharSequence> validEAN13(): AlchemyAssertion<S>
+{
+    return gs1Assertion(13, "EAN-13")
+}
+
+/**
+ * Checks that a String is a valid 8-digit European Article Number (EAN-8) barcode.
+ *
+ * @see validEAN13
+ */
+fun <S : CharSequence> validEAN8(): AlchemyAssertion<S>
+{
+    return gs1Assertion(8, "EAN-8")
+}
+
+/**
+ * Checks that a String is a valid 12-digit Universal Product Code (UPC-A) barcode.
+ *
+ * @see validEAN13
+ */
+fun <S : CharSequence> validUPC(): AlchemyAssertion<S>
+{
+    return gs1Assertion(12, "UPC")
+}
+
+private fun <S : CharSequence> gs1Assertion(length: Int, name: String): AlchemyAssertion<S>
+{
+    return AlchemyAssertion { code ->
+
+        notNull<Any>().check(code)
+
+        if (code.length != length || !passesGs1(code))
+        {
+            throw FailedAssertionException("Invalid $name: [$code]")
+        }
+    }
+}
+
+private fun passesLuhn(number: CharSequence): Boolean
+{
+    var sum = 0
+    var doubled = false
+
+    for (i in number.length - 1 downTo 0)
+    {
+        var digit = number[i] - '0'
+
+        if (digit < 0 || digit > 9)
+        {
+            return false
+        }
+
+        if (doubled)
+        {
+            digit *= 2
+
+            if (digit > 9)
+            {
+                digit -= 9
+            }
+        }
+
+        sum += digit
+        doubled = !doubled
+    }
+
+    return sum % 10 == 0
+}
+
+/**
+ * The GS1 check shared by EAN and UPC codes: from the right, digits are weighted 1, 3, 1, 3...,
+ * including the check digit, and the sum must be a multiple of 10.
+ */
+private fun passesGs1(code: CharSequence): Boolean
+{
+    var sum = 0
+    var weight = 1
+
+    for (i in code.length - 1 downTo 0)
+    {
+        val digit = code[i] - '0'
+
+        if (digit < 0 || digit > 9)
+        {
+            return false
+        }
+
+        sum += digit * weight
+        weight = 4 - weight
+    }
+
+    return sum % 10 == 0
+}
+
+private fun isValidIsbn10(isbn: CharSequence): Boolean
+{
+    if (isbn.length != 10)
+    {
+        return false
+    }
+
+    //The sum of each digit, weighted by 10 down to 1, must be a multiple of 11
+    var sum = 0
+
+    for (i in 0 until 10)
+    {
+        val character = isbn[i]
+
+        val value = when
+        {
+            character in '0'..'9' -> character - '0'
+            character == 'X' && i == 9 -> 10
+            else -> return false
+        }
+
+        sum += value * (10 - i)
+    }
+
+    return sum % 11 == 0
+}
+
+private fun isValidIsbn13(isbn: CharSequence): Boolean
+{
+    if (isbn.length != 13 || isbn[0] != '9' || isbn[1] != '7' || (isbn[2] != '8' && isbn[2] != '9'))
+    {
+        return false
+    }
+
+    return passesGs1(isbn)
+}
+
+private fun isValidIban(iban: CharSequence): Boolean
+{
+    val length = iban.length
+
+    if (length < MIN_IBAN_LENGTH || length > MAX_IBAN_LENGTH)
+    {
+        return false
+    }
+
+    val first = iban[0]
+    val second = iban[1]
+
+    if (first !in 'A'..'Z' || second !in 'A'..'Z' || iban[2] !in '0'..'9' || iban[3] !in '0'..'9')
+    {
+        return false
+    }
+
+    val registeredLength = IBAN_LENGTHS[(first - 'A') * 26 + (second - 'A')].toInt()
+
+    if (registeredLength != 0 && registeredLength != length)
+    {
+        return false
+    }
+
+    //The country and check digits are moved to the end, and each letter counts as two digits (A = 10)
+    var remainder = 0
+
+    for (step in 0 until length)
+    {
+        val character = iban[(step + 4) % length]
+
+        remainder = when (character)
+        {
+            in '0'..'9' -> (remainder * 10 + (character - '0')) % 97
+            in 'A'..'Z' -> (remainder * 100 + (character - 'A' + 10)) % 97
+            else -> return false
+        }
+    }
+
+    return remainder == 1
+}
+
+/**
+ * A sorted, merged table of BIN ranges, with each bound padded to [BIN_DIGITS] digits.
+ */
+private class BinRanges(private val starts: LongArray, private val ends: LongArray)
+{
+
+    /**
+     * @param number A card number with at least [BIN_DIGITS] digits, which has already been validated.
+     */
+    fun contains(number: CharSequence): Boolean
+    {
+        var bin = 0L
+
+        for (i in 0 until BIN_DIGITS)
+        {
+            bin = bin * 10 + (number[i] - '0')
+        }
+
+        //The last range that starts at or before the BIN
+        val index = Arrays.binarySearch(starts, bin)
+        val range = if (index >= 0) index else -index - 2
+
+        return range >= 0 && bin <= ends[range]
+    }
+
+    companion object
+    {
+
+        fun of(binRanges: Collection<String>): BinRanges
+        {
+            val bounds = binRanges.map { range ->
+
+                checkNotNull(range, "BIN range cannot be null")
+
+                val separator = range.indexOf('-')
+                val low = if (separator < 0) range else range.substring(0, separator)
+                val high = if (separator < 0) range else range.substring(separator + 1)
+
+                checkThat(isBinPrefix(low) && isBinPrefix(high), "Invalid BIN range: [$range]")
+                checkThat(low.length == high.length, "BIN range bounds must have the same length: [$range]")
+
+                val start = low.padEnd(BIN_DIGITS, '0').toLong()
+                val end = high.padEnd(BIN_DIGITS, '9').toLong()
+                checkThat(start <= end, "BIN range is backwards: [$range]")
+
+                start to end
+            }
+
+            val starts = ArrayList<Long>()
+            val ends = ArrayList<Long>()
+
+            bounds.sortedBy { it.first }.forEach { (start, end) ->
+
+                if (starts.isNotEmpty() && start <= ends.last() + 1)
+                {
+                    ends[ends.size - 1] = Math.max(ends.last(), end)
+                }
+                else
+                {
+                    starts.add(start)
+                    ends.add(end)
+                }
+            }
+
+            return BinRanges(starts.toLongArray(), ends.toLongArray())
+        }
+
+        private fun isBinPrefix(prefix: String): Boolean
+        {
+            return prefix.length in 1..BIN_DIGITS && prefix.all { it in '0'..'9' }
+        }
+    }
+}
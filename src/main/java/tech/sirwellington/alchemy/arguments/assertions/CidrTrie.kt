@@ -0,0 +1,246 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import tech.sirwellington.alchemy.annotations.access.Internal
+import tech.sirwellington.alchemy.annotations.concurrency.Immutable
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe
+import tech.sirwellington.alchemy.arguments.checkThat
+
+/**
+ * A path-compressed binary radix trie of address prefixes (CIDR ranges), of up to 128 bits.
+ *
+ * Each node stores the full prefix that leads to it, so runs of single-child nodes collapse into one.
+ * Once built, the nodes are flattened into parallel arrays, and a lookup walks at most one node per bit
+ * of the address, without allocating.
+ *
+ * Keys are given as their high and low 64 bits. Shorter keys, such as IPv4 addresses, are left-aligned
+ * into the high bits.
+ *
+ * @author SirWellington
+ */
+@Internal
+@Immutable
+@ThreadSafe
+internal class CidrTrie private constructor(private val highs: LongArray,
+                                            private val lows: LongArray,
+                                            private val lengths: IntArray,
+                                            private val zeroChildren: IntArray,
+                                            private val oneChildren: IntArray,
+                                            private val terminals: BooleanArray)
+{
+
+    val isEmpty: Boolean
+        get() = highs.isEmpty()
+
+    /**
+     * @return true if any prefix in the trie contains the key.
+     */
+    fun containsPrefixOf(high: Long, low: Long): Boolean
+    {
+        var node = if (isEmpty) NONE else 0
+
+        while (node != NONE)
+        {
+            val length = lengths[node]
+
+            if (commonPrefixLength(highs[node], lows[node], high, low) < length)
+            {
+                return false
+            }
+
+            if (terminals[node])
+            {
+                return true
+            }
+
+            node = if (bitAt(high, low, length) == 0) zeroChildren[node] else oneChildren[node]
+        }
+
+        return false
+    }
+
+    /**
+     * Builds a [CidrTrie]. Not thread-safe.
+     */
+    class Builder(private val maxLength: Int)
+    {
+        private var root: Node? = null
+        private var size = 0
+
+        init
+        {
+            checkThat(maxLength in 1..128, "maxLength must be in [1, 128]")
+        }
+
+        fun add(high: Long, low: Long, length: Int): Builder
+        {
+            checkThat(length in 0..maxLength, "prefix length must be in [0, $maxLength]")
+
+            root = insert(root, maskHigh(high, length), maskLow(low, length), length)
+            return this
+        }
+
+        fun build(): CidrTrie
+        {
+            val highs = LongArray(size)
+            val lows = LongArray(size)
+            val lengths = IntArray(size)
+            val zeroChildren = IntArray(size)
+            val oneChildren = IntArray(size)
+            val terminals = BooleanArray(size)
+            var next = 0
+
+            //Number the nodes in pre-order, so that the root is at index 0
+            fun flatten(node: Node?): Int
+            {
+                if (node == null)
+                {
+                    return NONE
+                }
+
+                val index = next
+                next += 1
+
+                highs[index] = node.high
+                lows[index] = node.low
+                lengths[index] = node.length
+                terminals[index] = node.terminal
+                zeroChildren[index] = flatten(node.zero)
+                oneChildren[index] = flatten(node.one)
+
+                return index
+            }
+
+            flatten(root)
+
+            return CidrTrie(highs, lows, lengths, zeroChildren, oneChildren, terminals)
+        }
+
+        private fun insert(node: Node?, high: Long, low: Long, length: Int): Node
+        {
+            if (node == null)
+            {
+                return newNode(high, low, length, terminal = true)
+            }
+
+            val common = minOf(commonPrefixLength(node.high, node.low, high, low), node.length, length)
+
+            if (common == node.length)
+            {
+                if (length == node.length)
+                {
+                    node.terminal = true
+                }
+                else if (bitAt(high, low, node.length) == 0)
+                {
+                    node.zero = insert(node.zero, high, low, length)
+                }
+                else
+                {
+                    node.one = insert(node.one, high, low, length)
+                }
+
+                return node
+            }
+
+            //The new prefix diverges from this node, or is shorter than it; split the path
+            val split = newNode(maskHigh(high, common), maskLow(low, common), common, terminal = common == length)
+
+            split.attach(node)
+
+            if (common < length)
+            {
+                split.attach(newNode(high, low, length, terminal = true))
+            }
+
+            return split
+        }
+
+        private fun newNode(high: Long, low: Long, length: Int, terminal: Boolean): Node
+        {
+            size += 1
+            return Node(high, low, length, terminal)
+        }
+    }
+
+    private class Node(val high: Long, val low: Long, val length: Int, var terminal: Boolean)
+    {
+        var zero: Node? = null
+        var one: Node? = null
+
+        fun attach(child: Node)
+        {
+            if (bitAt(child.high, child.low, length) == 0)
+            {
+                zero = child
+            }
+            else
+            {
+                one = child
+            }
+        }
+    }
+
+    private companion object
+    {
+        const val NONE = -1
+
+        fun bitAt(high: Long, low: Long, index: Int): Int
+        {
+            return if (index < 64)
+            {
+                ((high ushr (63 - index)) and 1L).toInt()
+            }
+            else
+            {
+                ((low ushr (127 - index)) and 1L).toInt()
+            }
+        }
+
+        fun commonPrefixLength(firstHigh: Long, firstLow: Long, secondHigh: Long, secondLow: Long): Int
+        {
+            val high = firstHigh xor secondHigh
+
+            if (high != 0L)
+            {
+                return java.lang.Long.numberOfLeadingZeros(high)
+            }
+
+            return 64 + java.lang.Long.numberOfLeadingZeros(firstLow xor secondLow)
+        }
+
+        fun maskHigh(high: Long, length: Int): Long
+        {
+            return when
+            {
+                length <= 0 -> 0L
+                length >= 64 -> high
+                else -> high and (-1L shl (64 - length))
+            }
+        }
+
+        fun maskLow(low: Long, length: Int): Long
+        {
+            return when
+            {
+                length <= 64 -> 0L
+                length >= 128 -> low
+                else -> low and (-1L shl (128 - length))
+            }
+        }
+    }
+}
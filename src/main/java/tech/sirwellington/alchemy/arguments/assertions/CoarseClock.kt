@@ -0,0 +1,126 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe
+import tech.sirwellington.alchemy.arguments.checkNotNull
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneId
+import java.time.ZoneOffset
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit.MILLISECONDS
+
+/**
+ * A [Clock] that trades precision for speed. Instead of reading the system time on each call,
+ * it returns a cached [Instant] that a background daemon thread refreshes every millisecond.
+ *
+ * This is intended for high-throughput time assertions, where the margin-of-error of an assertion
+ * is much larger than a millisecond. For example:
+ *
+ * ```
+ * checkThat(timestamp).isA(inThePast(CoarseClock.systemUTC()))
+ * ```
+ *
+ * The background thread is only started once a [CoarseClock] is first used.
+ *
+ * @author SirWellington
+ */
+@ThreadSafe
+class CoarseClock private constructor(private val zone: ZoneId) : Clock()
+{
+
+    override fun getZone(): ZoneId
+    {
+        return zone
+    }
+
+    override fun withZone(zone: ZoneId): Clock
+    {
+        checkNotNull(zone, "zone cannot be null")
+
+        return if (zone == this.zone) this else CoarseClock(zone)
+    }
+
+    override fun instant(): Instant
+    {
+        return Ticker.now
+    }
+
+    override fun millis(): Long
+    {
+        return Ticker.now.toEpochMilli()
+    }
+
+    override fun equals(other: Any?): Boolean
+    {
+        return other is CoarseClock && other.zone == zone
+    }
+
+    override fun hashCode(): Int
+    {
+        return zone.hashCode() + 1
+    }
+
+    override fun toString(): String
+    {
+        return "CoarseClock[$zone]"
+    }
+
+    companion object
+    {
+        private val UTC = CoarseClock(ZoneOffset.UTC)
+
+        /**
+         * @return A [CoarseClock] in the UTC time-zone.
+         */
+        @JvmStatic
+        fun systemUTC(): CoarseClock
+        {
+            return UTC
+        }
+
+        /**
+         * @return A [CoarseClock] in the default time-zone of the system.
+         */
+        @JvmStatic
+        fun systemDefaultZone(): CoarseClock
+        {
+            return CoarseClock(ZoneId.systemDefault())
+        }
+    }
+
+    /**
+     * Holds the cached time, and starts refreshing it the first time it is accessed.
+     */
+    private object Ticker
+    {
+        @Volatile
+        var now: Instant = Instant.now()
+            private set
+
+        init
+        {
+            val executor = Executors.newSingleThreadScheduledExecutor { runnable ->
+                val thread = Thread(runnable, "alchemy-coarse-clock")
+                thread.isDaemon = true
+                thread
+            }
+
+            executor.scheduleAtFixedRate({ now = Instant.now() }, 1, 1, MILLISECONDS)
+        }
+    }
+}
@@ -26,6 +26,11 @@ import tech.sirwellington.alchemy.arguments.FailedAssertionException
 import tech.sirwellington.alchemy.arguments.checkNotNull
 import tech.sirwellington.alchemy.arguments.checkThat
 import java.util.Arrays
+import java.util.RandomAccess
+import java.util.Spliterator
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.RecursiveTask
 
 
 /**
@@ -375,3 +380,480 @@ fun <C : Collection<*>> collectionOfSize(@Positive size: Int): AlchemyAssertion<
     }
 }
 
+
+/**
+ * Asserts that an [Iterable] has at most [maxSize] elements. Unlike [collectionOfSize], the
+ * [Iterable] does not have to be materialized: iteration stops as soon as the limit is exceeded.
+ * A [Collection] is checked using its [size][Collection.size] instead.
+ *
+ * @param maxSize The maximum number of elements allowed, inclusive.
+ *
+ * @see iterableWithSizeAtLeast
+ * @see iterableWithSizeBetween
+ */
+@Throws(IllegalArgumentException::class)
+fun <I : Iterable<*>> iterableWithSizeAtMost(@Positive maxSize: Int): AlchemyAssertion<I>
+{
+    checkThat(maxSize >= 0, "size must be >= 0")
+
+    return AlchemyAssertion { iterable ->
+
+        notNull<Any>().check(iterable)
+
+        if (countUpTo(iterable, maxSize + 1L) > maxSize)
+        {
+            throw FailedAssertionException("Expected Iterable with at most [$maxSize] elements, but it has more")
+        }
+    }
+}
+
+/**
+ * Asserts that an [Iterable] has at least [minSize] elements. Iteration stops as soon as
+ * [minSize] elements have been seen.
+ *
+ * @param minSize The minimum number of elements required, inclusive.
+ *
+ * @see iterableWithSizeAtMost
+ * @see iterableWithSizeBetween
+ */
+@Throws(IllegalArgumentException::class)
+fun <I : Iterable<*>> iterableWithSizeAtLeast(@Positive minSize: Int): AlchemyAssertion<I>
+{
+    checkThat(minSize >= 0, "size must be >= 0")
+
+    return AlchemyAssertion { iterable ->
+
+        notNull<Any>().check(iterable)
+
+        val count = countUpTo(iterable, minSize.toLong())
+
+        if (count < minSize)
+        {
+            throw FailedAssertionException("Expected Iterable with at least [$minSize] elements, but it has [$count]")
+        }
+    }
+}
+
+/**
+ * Asserts that an [Iterable] has between [minSize] and [maxSize] elements, inclusive.
+ * Iteration stops as soon as [maxSize] is exceeded.
+ *
+ * @see iterableWithSizeAtMost
+ * @see iterableWithSizeAtLeast
+ */
+@Throws(IllegalArgumentException::class)
+fun <I : Iterable<*>> iterableWithSizeBetween(@Positive minSize: Int, @Positive maxSize: Int): AlchemyAssertion<I>
+{
+    checkThat(minSize >= 0, "size must be >= 0")
+    checkThat(minSize <= maxSize, "minSize must be <= maxSize")
+
+    return AlchemyAssertion { iterable ->
+
+        notNull<Any>().check(iterable)
+
+        val count = countUpTo(iterable, maxSize + 1L)
+
+        if (count < minSize || count > maxSize)
+        {
+            throw FailedAssertionException("Expected Iterable with size between [$minSize] and [$maxSize]")
+        }
+    }
+}
+
+/**
+ * Asserts that a [Spliterator] has at most [maxSize] elements. If the [Spliterator] is
+ * [SIZED][Spliterator.SIZED], its exact size is used and no elements are consumed. Otherwise,
+ * elements are consumed until the limit is exceeded.
+ *
+ * To check a [java.util.stream.Stream], use its [spliterator][java.util.stream.Stream.spliterator].
+ *
+ * @see iterableWithSizeAtMost
+ */
+@Throws(IllegalArgumentException::class)
+fun <E> spliteratorWithSizeAtMost(@Positive maxSize: Int): AlchemyAssertion<Spliterator<E>>
+{
+    checkThat(maxSize >= 0, "size must be >= 0")
+
+    return AlchemyAssertion { spliterator ->
+
+        notNull<Any>().check(spliterator)
+
+        if (countUpTo(spliterator, maxSize + 1L) > maxSize)
+        {
+            throw FailedAssertionException("Expected Spliterator with at most [$maxSize] elements, but it has more")
+        }
+    }
+}
+
+/**
+ * Asserts that a [Spliterator] has at least [minSize] elements. If the [Spliterator] is
+ * [SIZED][Spliterator.SIZED], its exact size is used and no elements are consumed.
+ *
+ * @see iterableWithSizeAtLeast
+ */
+@Throws(IllegalArgumentException::class)
+fun <E> spliteratorWithSizeAtLeast(@Positive minSize: Int): AlchemyAssertion<Spliterator<E>>
+{
+    checkThat(minSize >= 0, "size must be >= 0")
+
+    return AlchemyAssertion { spliterator ->
+
+        notNull<Any>().check(spliterator)
+
+        val count = countUpTo(spliterator, minSize.toLong())
+
+        if (count < minSize)
+        {
+            throw FailedAssertionException("Expected Spliterator with at least [$minSize] elements, but it has [$count]")
+        }
+    }
+}
+
+/**
+ * Asserts that a [Spliterator] has between [minSize] and [maxSize] elements, inclusive.
+ * If the [Spliterator] is [SIZED][Spliterator.SIZED], its exact size is used and no elements are consumed.
+ *
+ * @see iterableWithSizeBetween
+ */
+@Throws(IllegalArgumentException::class)
+fun <E> spliteratorWithSizeBetween(@Positive minSize: Int, @Positive maxSize: Int): AlchemyAssertion<Spliterator<E>>
+{
+    checkThat(minSize >= 0, "size must be >= 0")
+    checkThat(minSize <= maxSize, "minSize must be <= maxSize")
+
+    return AlchemyAssertion { spliterator ->
+
+        notNull<Any>().check(spliterator)
+
+        val count = countUpTo(spliterator, maxSize + 1L)
+
+        if (count < minSize || count > maxSize)
+        {
+            throw FailedAssertionException("Expected Spliterator with size between [$minSize] and [$maxSize]")
+        }
+    }
+}
+
+/**
+ * Counts the elements of the [iterable], stopping once [limit] is reached.
+ */
+private fun countUpTo(iterable: Iterable<*>, limit: Long): Long
+{
+    if (iterable is Collection<*>)
+    {
+        return iterable.size.toLong()
+    }
+
+    val iterator = iterable.iterator()
+    var count = 0L
+
+    while (count < limit && iterator.hasNext())
+    {
+        iterator.next()
+        count += 1
+    }
+
+    return count
+}
+
+/**
+ * Counts the elements of the [spliterator], stopping once [limit] is reached.
+ * [SIZED][Spliterator.SIZED] spliterators report their size without advancing.
+ */
+private fun <E> countUpTo(spliterator: Spliterator<E>, limit: Long): Long
+{
+    val exactSize = spliterator.exactSizeIfKnown
+
+    if (exactSize >= 0)
+    {
+        return exactSize
+    }
+
+    var count = 0L
+
+    while (count < limit && spliterator.tryAdvance { })
+    {
+        count += 1
+    }
+
+    return count
+}
+
+/**
+ * Asserts that [sampleSize] randomly chosen elements of a collection pass the [assertion], instead of
+ * checking all of them. Collections with at most [sampleSize] elements are checked in full.
+ *
+ * [RandomAccess] lists are sampled by index, with replacement, so only the sampled elements are read.
+ * Other collections are iterated once, choosing each element with just the probability needed to choose
+ * exactly [sampleSize] of them, so the [assertion] still runs only [sampleSize] times.
+ *
+ * @see tech.sirwellington.alchemy.arguments.SampledAssertion
+ */
+@Throws(IllegalArgumentException::class)
+fun <E, C : Collection<E>> sampleOfElements(@Positive sampleSize: Int, @Required assertion: AlchemyAssertion<E>): AlchemyAssertion<C>
+{
+    checkThat(sampleSize > 0, "sampleSize must be > 0")
+    checkNotNull(assertion, "assertion cannot be null")
+
+    return AlchemyAssertion { collection ->
+
+        notNull<Any>().check(collection)
+
+        val size = collection.size
+        val random = ThreadLocalRandom.current()
+
+        when
+        {
+            size <= sampleSize -> collection.forEachIndexed { index, element -> checkElement(assertion, index, element) }
+
+            collection is List<*> && collection is RandomAccess ->
+            {
+                @Suppress("UNCHECKED_CAST")
+                val list = collection as List<E>
+
+                repeat(sampleSize) {
+                    val index = random.nextInt(size)
+                    checkElement(assertion, index, list[index])
+                }
+            }
+
+            else ->
+            {
+                var needed = sampleSize
+                var index = 0
+                val iterator = collection.iterator()
+
+                //Stops as soon as the sample is complete, rather than walking the rest of the collection
+                while (needed > 0 && iterator.hasNext())
+                {
+                    val element = iterator.next()
+
+                    //Chooses this element with probability (needed / remaining)
+                    if (random.nextInt(size - index) < needed)
+                    {
+                        needed -= 1
+                        checkElement(assertion, index, element)
+                    }
+
+                    index += 1
+                }
+            }
+        }
+    }
+}
+
+private fun <E> checkElement(assertion: AlchemyAssertion<E>, index: Int, element: E)
+{
+    try
+    {
+        assertion.check(element)
+    }
+    catch (ex: FailedAssertionException)
+    {
+        throw FailedAssertionException("Element at [$index] failed: ${ex.message}", ex)
+    }
+}
+
+/**
+ * Lists at or above this size are checked for order in parallel, using the
+ * [common pool][ForkJoinPool.commonPool].
+ */
+internal const val PARALLEL_SORT_CHECK_THRESHOLD = 8_192
+
+/**
+ * Asserts that a [List] is sorted in ascending order, according to the [comparator].
+ * Equal adjacent elements are allowed; use [strictlySorted] to disallow them.
+ *
+ * Large [RandomAccess] lists are checked in parallel on the [common pool][ForkJoinPool.commonPool].
+ *
+ * @param comparator Determines the expected order of the elements.
+ *
+ * @see sortedDescending
+ * @see strictlySorted
+ */
+@Throws(IllegalArgumentException::class)
+fun <E> sortedAscending(@Required comparator: Comparator<in E>): AlchemyAssertion<List<E>>
+{
+    checkNotNull(comparator, "comparator cannot be null")
+
+    return AlchemyAssertion { list ->
+
+        notNull<Any>().check(list)
+
+        val index = indexOfFirstUnorderedPair(list, comparator, strict = false)
+
+        if (index >= 0)
+        {
+            throw FailedAssertionException("Expected List sorted in ascending order, but element at [${index + 1}] is out of order: ${list[index]} -> ${list[index + 1]}")
+        }
+    }
+}
+
+/**
+ * Asserts that a [List] of [Comparable] elements is sorted in ascending order.
+ *
+ * @see sortedAscending
+ */
+fun <E : Comparable<E>> sortedAscending(): AlchemyAssertion<List<E>>
+{
+    return sortedAscending(naturalOrder<E>())
+}
+
+/**
+ * Asserts that a [List] is sorted in descending order, according to the [comparator].
+ * Equal adjacent elements are allowed.
+ *
+ * Large [RandomAccess] lists are checked in parallel on the [common pool][ForkJoinPool.commonPool].
+ *
+ * @param comparator Determines the natural order of the elements. The list is expected to be in its reverse.
+ *
+ * @see sortedAscending
+ */
+@Throws(IllegalArgumentException::class)
+fun <E> sortedDescending(@Required comparator: Comparator<in E>): AlchemyAssertion<List<E>>
+{
+    checkNotNull(comparator, "comparator cannot be null")
+
+    val reversed = Comparator<E> { first, second -> comparator.compare(second, first) }
+
+    return AlchemyAssertion { list ->
+
+        notNull<Any>().check(list)
+
+        val index = indexOfFirstUnorderedPair(list, reversed, strict = false)
+
+        if (index >= 0)
+        {
+            throw FailedAssertionException("Expected List sorted in descending order, but element at [${index + 1}] is out of order: ${list[index]} -> ${list[index + 1]}")
+        }
+    }
+}
+
+/**
+ * Asserts that a [List] of [Comparable] elements is sorted in descending order.
+ *
+ * @see sortedDescending
+ */
+fun <E : Comparable<E>> sortedDescending(): AlchemyAssertion<List<E>>
+{
+    return sortedDescending(naturalOrder<E>())
+}
+
+/**
+ * Asserts that a [List] is sorted in strictly ascending order, according to the [comparator].
+ * Unlike [sortedAscending], no two adjacent elements may compare as equal, so the list
+ * also cannot contain duplicates.
+ *
+ * To check for a strictly descending order, pass in a [reversed][Comparator.reversed] comparator.
+ *
+ * @param comparator Determines the expected order of the elements.
+ *
+ * @see sortedAscending
+ */
+@Throws(IllegalArgumentException::class)
+fun <E> strictlySorted(@Required comparator: Comparator<in E>): AlchemyAssertion<List<E>>
+{
+    checkNotNull(comparator, "comparator cannot be null")
+
+    return AlchemyAssertion { list ->
+
+        notNull<Any>().check(list)
+
+        val index = indexOfFirstUnorderedPair(list, comparator, strict = true)
+
+        if (index >= 0)
+        {
+            throw FailedAssertionException("Expected List strictly sorted, but element at [${index + 1}] is out of order: ${list[index]} -> ${list[index + 1]}")
+        }
+    }
+}
+
+/**
+ * Asserts that a [List] of [Comparable] elements is sorted in strictly ascending order.
+ *
+ * @see strictlySorted
+ */
+fun <E : Comparable<E>> strictlySorted(): AlchemyAssertion<List<E>>
+{
+    return strictlySorted(naturalOrder<E>())
+}
+
+/**
+ * @return The index `i` of the first pair `(list[i], list[i + 1])` that is out of order, or `-1` if the list is sorted.
+ */
+private fun <E> indexOfFirstUnorderedPair(list: List<E>, comparator: Comparator<in E>, strict: Boolean): Int
+{
+    if (list.size < 2)
+    {
+        return -1
+    }
+
+    if (list is RandomAccess && list.size >= PARALLEL_SORT_CHECK_THRESHOLD)
+    {
+        return ForkJoinPool.commonPool().invoke(UnorderedPairSearch(list, comparator, strict, 0, list.size - 1))
+    }
+
+    val iterator = list.iterator()
+    var previous = iterator.next()
+    var index = 0
+
+    while (iterator.hasNext())
+    {
+        val current = iterator.next()
+
+        if (outOfOrder(comparator, previous, current, strict))
+        {
+            return index
+        }
+
+        previous = current
+        index += 1
+    }
+
+    return -1
+}
+
+private fun <E> outOfOrder(comparator: Comparator<in E>, first: E, second: E, strict: Boolean): Boolean
+{
+    val comparison = comparator.compare(first, second)
+    return if (strict) comparison >= 0 else comparison > 0
+}
+
+/**
+ * Searches the pairs `[from, to)` of a [RandomAccess] list for the first one that is out of order.
+ * Each pair spans two adjacent elements, so the boundary between two chunks is covered by the
+ * last pair of the left chunk.
+ */
+private class UnorderedPairSearch<E>(private val list: List<E>,
+                                     private val comparator: Comparator<in E>,
+                                     private val strict: Boolean,
+                                     private val from: Int,
+                                     private val to: Int) : RecursiveTask<Int>()
+{
+
+    override fun compute(): Int
+    {
+        if (to - from <= PARALLEL_SORT_CHECK_THRESHOLD)
+        {
+            for (i in from until to)
+            {
+                if (outOfOrder(comparator, list[i], list[i + 1], strict))
+                {
+                    return i
+                }
+            }
+
+            return -1
+        }
+
+        val middle = (from + to) ushr 1
+        val left = UnorderedPairSearch(list, comparator, strict, from, middle)
+        val right = UnorderedPairSearch(list, comparator, strict, middle, to)
+
+        left.fork()
+        val rightResult = right.compute()
+        val leftResult = left.join()
+
+        return if (leftResult >= 0) leftResult else rightResult
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import tech.sirwellington.alchemy.annotations.access.Internal
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe
+import java.lang.invoke.LambdaMetafactory
+import java.lang.invoke.MethodHandles
+import java.lang.invoke.MethodType
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.util.function.BiConsumer
+import java.util.function.Supplier
+import java.util.zip.Checksum
+
+/**
+ * CRC-32C (Castagnoli). On Java 9 and later this delegates to `java.util.zip.CRC32C`, which the JVM
+ * compiles to the CPU's CRC32 instructions. This library is still compiled for older versions of Java, so the
+ * class is looked up once, when this is first used, and older runtimes fall back to a table-driven implementation.
+ *
+ * The fallback uses "slicing-by-8": eight lookup tables let it consume eight bytes per step,
+ * read as a single little-endian `long` from direct buffers.
+ *
+ * @author SirWellington
+ */
+@Internal
+@ThreadSafe
+internal object Crc32c
+{
+
+    /** The reversed Castagnoli polynomial. */
+    private const val POLYNOMIAL = 0x82F63B78.toInt()
+
+    private val TABLES = Array(8) { IntArray(256) }.apply {
+
+        for (value in 0 until 256)
+        {
+            var crc = value
+
+            for (bit in 0 until 8)
+            {
+                crc = if (crc and 1 != 0) (crc ushr 1) xor POLYNOMIAL else crc ushr 1
+            }
+
+            this[0][value] = crc
+        }
+
+        for (value in 0 until 256)
+        {
+            for (slice in 1 until 8)
+            {
+                val previous = this[slice - 1][value]
+                this[slice][value] = (previous ushr 8) xor this[0][previous and 0xFF]
+            }
+        }
+    }
+
+    /** Creates a `java.util.zip.CRC32C`, or is `null` before Java 9. */
+    private val PLATFORM_FACTORY: Supplier<Checksum>?
+
+    /** Calls `Checksum.update(ByteBuffer)`, which was also added in Java 9. */
+    private val PLATFORM_UPDATE_BUFFER: BiConsumer<Checksum, ByteBuffer>?
+
+    init
+    {
+        var factory: Supplier<Checksum>? = null
+        var updateBuffer: BiConsumer<Checksum, ByteBuffer>? = null
+
+        try
+        {
+            //Spinning lambdas, as the compiler would, makes each call a plain interface call that the JIT can inline
+            val lookup = MethodHandles.lookup()
+            val type = Class.forName("java.util.zip.CRC32C")
+            val voidType = Void.TYPE
+
+            val constructor = lookup.findConstructor(type, MethodType.methodType(voidType))
+            @Suppress("UNCHECKED_CAST")
+            factory = LambdaMetafactory.metafactory(lookup,
+                                                   "get",
+                                                   MethodType.methodType(Supplier::class.java),
+                                                   MethodType.methodType(Any::class.java),
+                                                   constructor,
+                                                   MethodType.methodType(type))
+                    .target.invokeWithArguments() as Supplier<Checksum>
+
+            val update = lookup.findVirtual(Checksum::class.java, "update", MethodType.methodType(voidType, ByteBuffer::class.java))
+            @Suppress("UNCHECKED_CAST")
+            updateBuffer = LambdaMetafactory.metafactory(lookup,
+                                                        "accept",
+                                                        MethodType.methodType(BiConsumer::class.java),
+                                                        MethodType.methodType(voidType, Any::class.java, Any::class.java),
+                                                        update,
+                                                        update.type())
+                    .target.invokeWithArguments() as BiConsumer<Checksum, ByteBuffer>
+        }
+        catch (ex: Exception)
+        {
+            //Before Java 9; the tables are used instead
+        }
+
+        PLATFORM_FACTORY = factory
+        PLATFORM_UPDATE_BUFFER = updateBuffer
+    }
+
+    fun checksumOf(array: ByteArray, offset: Int, length: Int): Int
+    {
+        val factory = PLATFORM_FACTORY
+
+        if (factory != null)
+        {
+            val checksum = factory.get()
+            checksum.update(array, offset, length)
+            return checksum.value.toInt()
+        }
+
+        var crc = -1
+        var i = offset
+        val end = offset + length
+
+        while (end - i >= 8)
+        {
+            crc = step(crc,
+                       (array[i].toInt() and 0xFF) or
+                       ((array[i + 1].toInt() and 0xFF) shl 8) or
+                       ((array[i + 2].toInt() and 0xFF) shl 16) or
+                       ((array[i + 3].toInt() and 0xFF) shl 24),
+                       (array[i + 4].toInt() and 0xFF) or
+                       ((array[i + 5].toInt() and 0xFF) shl 8) or
+                       ((array[i + 6].toInt() and 0xFF) shl 16) or
+                       ((array[i + 7].toInt() and 0xFF) shl 24))
+            i += 8
+        }
+
+        while (i < end)
+        {
+            crc = (crc ushr 8) xor TABLES[0][(crc xor array[i].toInt()) and 0xFF]
+            i += 1
+        }
+
+        return crc.inv()
+    }
+
+    /**
+     * Computes the checksum of the remaining bytes of the [buffer], moving its position to its limit.
+     */
+    fun checksumOf(buffer: ByteBuffer): Int
+    {
+        if (buffer.hasArray())
+        {
+            val crc = checksumOf(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining())
+            buffer.position(buffer.limit())
+            return crc
+        }
+
+        val factory = PLATFORM_FACTORY
+        val updateBuffer = PLATFORM_UPDATE_BUFFER
+
+        if (factory != null && updateBuffer != null)
+        {
+            val checksum = factory.get()
+            updateBuffer.accept(checksum, buffer)
+            return checksum.value.toInt()
+        }
+
+        val order = buffer.order()
+        buffer.order(ByteOrder.LITTLE_ENDIAN)
+
+        var crc = -1
+
+        while (buffer.remaining() >= 8)
+        {
+            val word = buffer.long
+            crc = step(crc, word.toInt(), (word ushr 32).toInt())
+        }
+
+        while (buffer.hasRemaining())
+        {
+            crc = (crc ushr 8) xor TABLES[0][(crc xor buffer.get().toInt()) and 0xFF]
+        }
+
+        buffer.order(order)
+
+        return crc.inv()
+    }
+
+    private fun step(crc: Int, low: Int, high: Int): Int
+    {
+        val first = crc xor low
+
+        return TABLES[7][first and 0xFF] xor
+               TABLES[6][(first ushr 8) and 0xFF] xor
+               TABLES[5][(first ushr 16) and 0xFF] xor
+               TABLES[4][first ushr 24] xor
+               TABLES[3][high and 0xFF] xor
+               TABLES[2][(high ushr 8) and 0xFF] xor
+               TABLES[1][(high ushr 16) and 0xFF] xor
+               TABLES[0][high ushr 24]
+    }
+}
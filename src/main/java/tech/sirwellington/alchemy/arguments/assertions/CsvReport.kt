@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import tech.sirwellington.alchemy.annotations.concurrency.Immutable
+
+/**
+ * The results of a [CsvValidator] run over a file.
+ *
+ * Only the first failures, in line order, are kept, up to [CsvValidator.Builder.maxReportedFailures];
+ * [invalidLines] still counts all of them.
+ *
+ * @author SirWellington
+ */
+@Immutable
+class CsvReport internal constructor(val linesChecked: Long,
+                                     val invalidLines: Long,
+                                     val failures: List<Failure>)
+{
+
+    val isValid: Boolean
+        get() = invalidLines == 0L
+
+    /**
+     * A failed check.
+     *
+     * @property line   The line number, starting at 1.
+     * @property column The column index, starting at 0, or `-1` if the line has the wrong number of columns.
+     * @property message Why the check failed.
+     */
+    @Immutable
+    data class Failure(val line: Long, val column: Int, val message: String)
+    {
+        override fun toString(): String
+        {
+            return if (column < 0) "line $line: $message" else "line $line, column $column: $message"
+        }
+    }
+
+    override fun toString(): String
+    {
+        return "CsvReport(linesChecked=$linesChecked, invalidLines=$invalidLines, failures=$failures)"
+    }
+}
@@ -0,0 +1,547 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import tech.sirwellington.alchemy.annotations.arguments.Positive
+import tech.sirwellington.alchemy.annotations.arguments.Required
+import tech.sirwellington.alchemy.annotations.concurrency.Immutable
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe
+import tech.sirwellington.alchemy.annotations.designs.patterns.BuilderPattern
+import tech.sirwellington.alchemy.annotations.designs.patterns.BuilderPattern.Role.BUILDER
+import tech.sirwellington.alchemy.annotations.designs.patterns.BuilderPattern.Role.PRODUCT
+import tech.sirwellington.alchemy.arguments.AlchemyAssertion
+import tech.sirwellington.alchemy.arguments.FailedAssertionException
+import tech.sirwellington.alchemy.arguments.checkNotNull
+import tech.sirwellington.alchemy.arguments.checkThat
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.channels.FileChannel.MapMode.READ_ONLY
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption.READ
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.ForkJoinTask
+import java.util.concurrent.RecursiveTask
+
+/**
+ * Validates the lines of a delimited text file, such as a CSV export, against per-column assertions.
+ *
+ * The file is memory-mapped in chunks that end on line boundaries, and the chunks are validated in
+ * parallel on a [ForkJoinPool]. Each field is passed to its assertions as a [CharSequence] view over
+ * the mapped bytes, so no Strings are created for valid fields:
+ *
+ * ```
+ * val validator = CsvValidator.newBuilder()
+ *         .skipHeader()
+ *         .expectColumns(3)
+ *         .columnAsString(0, validUUID())
+ *         .column(2, validCardNumber())
+ *         .build()
+ *
+ * val report = validator.validate(file)
+ * ```
+ *
+ * Fields may be enclosed in double quotes, to include the delimiter. The quotes are not part of the field,
+ * but doubled quotes (`""`) inside of a field are passed through as-is. A record can't span more than one line.
+ *
+ * Each byte is read as one character (ISO-8859-1), which matches a String for ASCII data. Use
+ * [Builder.columnAsString] for assertions that need the UTF-8 decoded String.
+ *
+ * Views are reused from field to field, so assertions must not hold on to them.
+ *
+ * @author SirWellington
+ */
+@Immutable
+@ThreadSafe
+@BuilderPattern(role = PRODUCT)
+class CsvValidator private constructor(private val delimiter: Byte,
+                                       private val skipHeader: Boolean,
+                                       private val expectedColumns: Int,
+                                       private val assertions: Array<List<AlchemyAssertion<CharSequence>>>,
+                                       private val maxReportedFailures: Int,
+                                       private val chunkSize: Long,
+                                       private val pool: ForkJoinPool)
+{
+
+    /**
+     * Validates every line of a file. Blank lines are skipped, but still counted for line numbers.
+     *
+     * @return A report of the lines that failed. Each invalid line is reported once, at the first column that failed.
+     *
+     * @throws IOException If the file could not be read.
+     */
+    @Throws(IOException::class)
+    fun validate(@Required file: Path): CsvReport
+    {
+        checkNotNull(file, "file cannot be null")
+
+        FileChannel.open(file, READ).use { channel ->
+
+            val boundaries = chunkBoundariesOf(channel)
+            val tasks = (0 until boundaries.size - 1).map { ChunkTask(channel, boundaries[it], boundaries[it + 1], it == 0) }
+
+            val results = pool.invoke(object : RecursiveTask<List<ChunkResult>>()
+            {
+                override fun compute(): List<ChunkResult>
+                {
+                    return ForkJoinTask.invokeAll(tasks).map { it.join() }
+                }
+            })
+
+            return merge(results)
+        }
+    }
+
+    /**
+     * @return An assertion that validates the file at a [Path], and fails if any of its lines are invalid,
+     *         or if it can't be read.
+     */
+    fun toAssertion(): AlchemyAssertion<Path>
+    {
+        return AlchemyAssertion { file ->
+
+            notNull<Any>().check(file)
+
+            val report = try
+            {
+                validate(file)
+            }
+            catch (ex: IOException)
+            {
+                throw FailedAssertionException("Could not read [$file]", ex)
+            }
+
+            if (!report.isValid)
+            {
+                throw FailedAssertionException("[${report.invalidLines}] of [${report.linesChecked}] lines in [$file] are invalid, " +
+                                               "including: " + report.failures.take(MAX_FAILURES_IN_MESSAGE).joinToString("; "))
+            }
+        }
+    }
+
+    private fun chunkBoundariesOf(channel: FileChannel): LongArray
+    {
+        val size = channel.size()
+        val boundaries = arrayListOf(0L)
+        var next = chunkSize
+
+        while (next < size)
+        {
+            val lineStart = nextLineStart(channel, next - 1, size)
+
+            if (lineStart >= size)
+            {
+                break
+            }
+
+            boundaries.add(lineStart)
+            next = lineStart + chunkSize
+        }
+
+        boundaries.add(size)
+
+        return boundaries.toLongArray()
+    }
+
+    /**
+     * @return The position just after the first line break at or after [position], or [size] if there is none.
+     */
+    private fun nextLineStart(channel: FileChannel, position: Long, size: Long): Long
+    {
+        val window = ByteBuffer.allocate(SEARCH_WINDOW)
+        var offset = position
+
+        while (offset < size)
+        {
+            window.clear()
+            val read = channel.read(window, offset)
+
+            if (read <= 0)
+            {
+                break
+            }
+
+            for (i in 0 until read)
+            {
+                if (window.get(i) == NEW_LINE)
+                {
+                    return offset + i + 1
+                }
+            }
+
+            offset += read
+        }
+
+        return size
+    }
+
+    private fun merge(results: List<ChunkResult>): CsvReport
+    {
+        var lines = 0L
+        var invalidLines = 0L
+        val failures = ArrayList<CsvReport.Failure>()
+
+        for (result in results)
+        {
+            for (failure in result.failures)
+            {
+                if (failures.size < maxReportedFailures)
+                {
+                    failures.add(failure.copy(line = failure.line + lines))
+                }
+            }
+
+            lines += result.lines
+            invalidLines += result.invalidLines
+        }
+
+        return CsvReport(lines, invalidLines, failures)
+    }
+
+    private class ChunkResult(val lines: Long, val invalidLines: Long, val failures: List<CsvReport.Failure>)
+
+    private inner class ChunkTask(private val channel: FileChannel,
+                                  private val start: Long,
+                                  private val end: Long,
+                                  private val isFirst: Boolean) : RecursiveTask<ChunkResult>()
+    {
+
+        override fun compute(): ChunkResult
+        {
+            val buffer = channel.map(READ_ONLY, start, end - start)
+            val view = ByteCharSequence(buffer)
+            val limit = buffer.limit()
+            val failures = ArrayList<CsvReport.Failure>()
+
+            var lines = 0L
+            var invalidLines = 0L
+            var lineStart = 0
+
+            while (lineStart < limit)
+            {
+                val newLine = indexOfNewLine(buffer, lineStart, limit)
+                var lineEnd = newLine
+
+                if (lineEnd > lineStart && buffer.get(lineEnd - 1) == CARRIAGE_RETURN)
+                {
+                    lineEnd -= 1
+                }
+
+                lines += 1
+
+                val isHeader = isFirst && skipHeader && lines == 1L
+
+                if (!isHeader && lineEnd > lineStart)
+                {
+                    val failure = checkLine(buffer, view, lineStart, lineEnd, lines)
+
+                    if (failure != null)
+                    {
+                        invalidLines += 1
+
+                        if (failures.size < maxReportedFailures)
+                        {
+                            failures.add(failure)
+                        }
+                    }
+                }
+
+                lineStart = newLine + 1
+            }
+
+            return ChunkResult(lines, invalidLines, failures)
+        }
+    }
+
+    /**
+     * @return The first failure on the line, or `null` if it is valid.
+     */
+    private fun checkLine(buffer: ByteBuffer, view: ByteCharSequence, lineStart: Int, lineEnd: Int, line: Long): CsvReport.Failure?
+    {
+        var column = 0
+        var position = lineStart
+
+        while (true)
+        {
+            val fieldStart: Int
+            val fieldEnd: Int
+
+            if (position < lineEnd && buffer.get(position) == QUOTE)
+            {
+                var i = position + 1
+
+                while (i < lineEnd && !(buffer.get(i) == QUOTE && (i + 1 >= lineEnd || buffer.get(i + 1) != QUOTE)))
+                {
+                    i += if (buffer.get(i) == QUOTE) 2 else 1
+                }
+
+                if (i >= lineEnd)
+                {
+                    return CsvReport.Failure(line, column, "Unterminated quote")
+                }
+
+                fieldStart = position + 1
+                fieldEnd = i
+                position = i + 1
+
+                if (position < lineEnd && buffer.get(position) != delimiter)
+                {
+                    return CsvReport.Failure(line, column, "Unexpected character after a closing quote")
+                }
+            }
+            else
+            {
+                var i = position
+
+                while (i < lineEnd && buffer.get(i) != delimiter)
+                {
+                    i += 1
+                }
+
+                fieldStart = position
+                fieldEnd = i
+                position = i
+            }
+
+            if (column < assertions.size)
+            {
+                for (assertion in assertions[column])
+                {
+                    try
+                    {
+                        assertion.check(view.reset(fieldStart, fieldEnd))
+                    }
+                    catch (ex: FailedAssertionException)
+                    {
+                        return CsvReport.Failure(line, column, ex.message ?: "Invalid value")
+                    }
+                    catch (ex: RuntimeException)
+                    {
+                        //Like any other assertion, one that throws something unexpected fails the argument
+                        return CsvReport.Failure(line, column, "Unexpected exception: $ex")
+                    }
+                }
+            }
+
+            column += 1
+
+            if (position >= lineEnd)
+            {
+                break
+            }
+
+            //Skip the delimiter
+            position += 1
+        }
+
+        if (expectedColumns >= 0 && column != expectedColumns)
+        {
+            return CsvReport.Failure(line, -1, "Expected [$expectedColumns] columns, but found [$column]")
+        }
+
+        for (missing in column until assertions.size)
+        {
+            if (assertions[missing].isNotEmpty())
+            {
+                return CsvReport.Failure(line, missing, "Missing column")
+            }
+        }
+
+        return null
+    }
+
+    /**
+     * Finds the next line break, checking eight bytes at a time.
+     *
+     * @return The index of the line break, or [limit] if there is none.
+     */
+    private fun indexOfNewLine(buffer: ByteBuffer, from: Int, limit: Int): Int
+    {
+        var i = from
+
+        while (limit - i >= 8)
+        {
+            val word = buffer.getLong(i) xor NEW_LINES
+            val hasNewLine = (word - ONES) and word.inv() and HIGH_BITS
+
+            if (hasNewLine != 0L)
+            {
+                break
+            }
+
+            i += 8
+        }
+
+        while (i < limit && buffer.get(i) != NEW_LINE)
+        {
+            i += 1
+        }
+
+        return i
+    }
+
+    /**
+     * Builds a [CsvValidator]. A builder can be reused, but is not thread-safe.
+     */
+    @BuilderPattern(role = BUILDER)
+    class Builder internal constructor()
+    {
+        private var delimiter: Char = ','
+        private var skipHeader = false
+        private var expectedColumns = -1
+        private var maxReportedFailures = 100
+        private var chunkSize = DEFAULT_CHUNK_SIZE
+        private var pool: ForkJoinPool = ForkJoinPool.commonPool()
+        private val assertions = HashMap<Int, MutableList<AlchemyAssertion<CharSequence>>>()
+
+        /**
+         * Sets the character between fields, such as `\t` for tab-separated files. Defaults to `,`.
+         */
+        @Throws(IllegalArgumentException::class)
+        fun delimiter(delimiter: Char): Builder
+        {
+            checkThat(delimiter.toInt() in 1..127, "delimiter must be an ASCII character")
+            checkThat(delimiter != '"' && delimiter != '\n' && delimiter != '\r', "delimiter cannot be a quote or line break")
+
+            this.delimiter = delimiter
+            return this
+        }
+
+        /**
+         * Skips the first line of the file.
+         */
+        fun skipHeader(): Builder
+        {
+            this.skipHeader = true
+            return this
+        }
+
+        /**
+         * Requires every line to have exactly [columns] fields.
+         */
+        @Throws(IllegalArgumentException::class)
+        fun expectColumns(@Positive columns: Int): Builder
+        {
+            checkThat(columns > 0, "columns must be > 0")
+
+            this.expectedColumns = columns
+            return this
+        }
+
+        /**
+         * Adds an assertion for a column. A column can have more than one assertion; they run in the order they
+         * were added. Lines that don't have the column fail.
+         *
+         * @param index The index of the column, starting at 0.
+         */
+        @Throws(IllegalArgumentException::class)
+        fun column(@Positive index: Int, @Required assertion: AlchemyAssertion<CharSequence>): Builder
+        {
+            checkThat(index >= 0, "index must be >= 0")
+            checkNotNull(assertion, "assertion cannot be null")
+
+            assertions.getOrPut(index) { ArrayList() }.add(assertion)
+            return this
+        }
+
+        /**
+         * Adds a String assertion for a column, such as [nonEmptyString] or [stringWithLengthBetween].
+         * Each field is decoded from UTF-8 into a String first, which costs an allocation per field.
+         *
+         * @see column
+         */
+        @Throws(IllegalArgumentException::class)
+        fun columnAsString(@Positive index: Int, @Required assertion: AlchemyAssertion<String>): Builder
+        {
+            checkNotNull(assertion, "assertion cannot be null")
+
+            return column(index, AlchemyAssertion { field ->
+
+                val string = if (field is ByteCharSequence) field.decodeUtf8() else field?.toString()
+                assertion.check(string)
+            })
+        }
+
+        /**
+         * Sets the most failures a [CsvReport] keeps. Defaults to 100.
+         */
+        @Throws(IllegalArgumentException::class)
+        fun maxReportedFailures(@Positive maxReportedFailures: Int): Builder
+        {
+            checkThat(maxReportedFailures >= 0, "maxReportedFailures must be >= 0")
+
+            this.maxReportedFailures = maxReportedFailures
+            return this
+        }
+
+        /**
+         * Sets the size of the chunks that are mapped and validated in parallel. Chunks are extended to the
+         * end of a line. Defaults to 32 MB, and must be at least 4 KB, since each chunk is its own mapping.
+         */
+        @Throws(IllegalArgumentException::class)
+        fun chunkSize(@Positive bytes: Int): Builder
+        {
+            checkThat(bytes >= MIN_CHUNK_SIZE, "chunk size must be >= $MIN_CHUNK_SIZE")
+
+            this.chunkSize = bytes.toLong()
+            return this
+        }
+
+        /**
+         * Sets the pool that chunks are validated on. Defaults to the [common pool][ForkJoinPool.commonPool].
+         */
+        @Throws(IllegalArgumentException::class)
+        fun pool(@Required pool: ForkJoinPool): Builder
+        {
+            checkNotNull(pool, "pool cannot be null")
+
+            this.pool = pool
+            return this
+        }
+
+        fun build(): CsvValidator
+        {
+            val columns = (assertions.keys.max() ?: -1) + 1
+            val byColumn = Array<List<AlchemyAssertion<CharSequence>>>(columns) { assertions[it]?.toList() ?: listOf() }
+
+            checkThat(expectedColumns < 0 || columns <= expectedColumns, "assertions refer to columns past the expected [$expectedColumns]")
+
+            return CsvValidator(delimiter.toByte(), skipHeader, expectedColumns, byColumn, maxReportedFailures, chunkSize, pool)
+        }
+    }
+
+    companion object
+    {
+        private const val NEW_LINE = '\n'.toByte()
+        private const val CARRIAGE_RETURN = '\r'.toByte()
+        private const val QUOTE = '"'.toByte()
+
+        private const val NEW_LINES = 0x0A0A0A0A0A0A0A0AL
+        private const val ONES = 0x0101010101010101L
+        private const val HIGH_BITS = -0x7F7F7F7F7F7F7F80L //0x8080808080808080
+
+        private const val DEFAULT_CHUNK_SIZE = 32L * 1024 * 1024
+        private const val MIN_CHUNK_SIZE = 4 * 1024
+        private const val SEARCH_WINDOW = 8 * 1024
+        private const val MAX_FAILURES_IN_MESSAGE = 10
+
+        @JvmStatic
+        fun newBuilder(): Builder
+        {
+            return Builder()
+        }
+    }
+}
@@ -20,6 +20,7 @@ import tech.sirwellington.alchemy.annotations.arguments.Required
 import tech.sirwellington.alchemy.arguments.AlchemyAssertion
 import tech.sirwellington.alchemy.arguments.FailedAssertionException
 import tech.sirwellington.alchemy.arguments.checkNotNull
+import java.time.Clock
 import java.util.Date
 
 /**
@@ -39,13 +40,21 @@ internal constructor()
     companion object
     {
 
-        fun inThePast(): AlchemyAssertion<Date>
+        /**
+         * Asserts that the [Date] is in the past, according to the [clock].
+         * Use a [CoarseClock] for high-throughput checks.
+         */
+        @JvmOverloads
+        @Throws(IllegalArgumentException::class)
+        fun inThePast(@Required clock: Clock = Clock.systemUTC()): AlchemyAssertion<Date>
         {
+            checkNotNull(clock, "clock cannot be null")
+
             return AlchemyAssertion { date ->
                 //Recalculate now each time we are called
-                val present = Date()
+                val present = clock.millis()
                 //Check that argument is before present
-                if (!date.before(present))
+                if (date.time >= present)
                 {
                     throw FailedAssertionException("Expected Date [$date] to be in the past")
                 }
@@ -69,14 +78,22 @@ internal constructor()
         }
 
 
-        fun inTheFuture(): AlchemyAssertion<Date>
+        /**
+         * Asserts that the [Date] is in the future, according to the [clock].
+         * Use a [CoarseClock] for high-throughput checks.
+         */
+        @JvmOverloads
+        @Throws(IllegalArgumentException::class)
+        fun inTheFuture(@Required clock: Clock = Clock.systemUTC()): AlchemyAssertion<Date>
         {
+            checkNotNull(clock, "clock cannot be null")
+
             return AlchemyAssertion { date ->
                 //Now must stay current
-                val present = Date()
+                val present = clock.millis()
 
                 //Check that argument is after present
-                if (!date.after(present))
+                if (date.time <= present)
                 {
                     throw FailedAssertionException("Expected Date [$date] to be in the future")
                 }
@@ -0,0 +1,265 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty
+import tech.sirwellington.alchemy.annotations.concurrency.Immutable
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe
+import tech.sirwellington.alchemy.arguments.checkNotNull
+import tech.sirwellington.alchemy.arguments.checkThat
+
+/**
+ * A set of polygons that points can be tested against, for use with [withinGeofence].
+ *
+ * The polygons are placed in a uniform grid over their combined bounding box, so a lookup only
+ * runs the point-in-polygon test on the few polygons whose bounding boxes overlap the grid cell
+ * of the point, instead of scanning every polygon.
+ *
+ * Polygons are treated as planar in latitude and longitude, and must not cross the 180th meridian.
+ * Points that lie exactly on an edge may be reported as either inside or outside.
+ *
+ * @author SirWellington
+ */
+@Immutable
+@ThreadSafe
+class Geofence private constructor(private val latitudes: Array<DoubleArray>,
+                                   private val longitudes: Array<DoubleArray>)
+{
+
+    /** The number of polygons in this geofence. */
+    val size: Int
+        get() = latitudes.size
+
+    private val minLatitudes = DoubleArray(size) { latitudes[it].min()!! }
+    private val maxLatitudes = DoubleArray(size) { latitudes[it].max()!! }
+    private val minLongitudes = DoubleArray(size) { longitudes[it].min()!! }
+    private val maxLongitudes = DoubleArray(size) { longitudes[it].max()!! }
+
+    private val gridMinLatitude = minLatitudes.min()!!
+    private val gridMinLongitude = minLongitudes.min()!!
+    private val cellsPerSide = Math.min(MAX_CELLS_PER_SIDE, Math.max(1, Math.ceil(Math.sqrt(size.toDouble())).toInt() * 2))
+    private val cellHeight = cellSize(maxLatitudes.max()!! - gridMinLatitude)
+    private val cellWidth = cellSize(maxLongitudes.max()!! - gridMinLongitude)
+
+    /**
+     * The polygons of cell `c` are `cellPolygons[cellStarts[c] until cellStarts[c + 1]]`.
+     */
+    private val cellStarts = IntArray(cellsPerSide * cellsPerSide + 1)
+    private val cellPolygons: IntArray
+
+    init
+    {
+        //First pass counts the polygons in each cell, second pass fills them in
+        for (polygon in 0 until size)
+        {
+            forEachCell(polygon) { cell -> cellStarts[cell + 1] += 1 }
+        }
+
+        for (cell in 1 until cellStarts.size)
+        {
+            cellStarts[cell] += cellStarts[cell - 1]
+        }
+
+        cellPolygons = IntArray(cellStarts.last())
+        val next = cellStarts.copyOf()
+
+        for (polygon in 0 until size)
+        {
+            forEachCell(polygon) { cell ->
+                cellPolygons[next[cell]] = polygon
+                next[cell] += 1
+            }
+        }
+    }
+
+    /**
+     * @return true if the point is inside at least one polygon of this geofence.
+     */
+    fun contains(latitude: Double, longitude: Double): Boolean
+    {
+        return indexOfPolygonContaining(latitude, longitude) >= 0
+    }
+
+    /**
+     * @return The index of the first polygon, in the order they were supplied, that contains the point;
+     *         or `-1` if none of them do.
+     */
+    fun indexOfPolygonContaining(latitude: Double, longitude: Double): Int
+    {
+        val row = rowOf(latitude)
+        val column = columnOf(longitude)
+
+        if (row < 0 || column < 0)
+        {
+            return -1
+        }
+
+        val cell = row * cellsPerSide + column
+
+        //Polygons are stored in ascending order within a cell, so the first match is the lowest index
+        for (i in cellStarts[cell] until cellStarts[cell + 1])
+        {
+            val polygon = cellPolygons[i]
+
+            if (latitude < minLatitudes[polygon] || latitude > maxLatitudes[polygon] ||
+                longitude < minLongitudes[polygon] || longitude > maxLongitudes[polygon])
+            {
+                continue
+            }
+
+            if (polygonContains(polygon, latitude, longitude))
+            {
+                return polygon
+            }
+        }
+
+        return -1
+    }
+
+    override fun toString(): String
+    {
+        return "Geofence{polygons=$size, grid=${cellsPerSide}x$cellsPerSide}"
+    }
+
+    /**
+     * Even-odd ray casting, with longitude as the x-axis and latitude as the y-axis.
+     */
+    private fun polygonContains(polygon: Int, latitude: Double, longitude: Double): Boolean
+    {
+        val lats = latitudes[polygon]
+        val lons = longitudes[polygon]
+        var inside = false
+        var j = lats.size - 1
+
+        for (i in lats.indices)
+        {
+            if ((lats[i] > latitude) != (lats[j] > latitude))
+            {
+                val crossing = lons[i] + (latitude - lats[i]) / (lats[j] - lats[i]) * (lons[j] - lons[i])
+
+                if (longitude < crossing)
+                {
+                    inside = !inside
+                }
+            }
+
+            j = i
+        }
+
+        return inside
+    }
+
+    private inline fun forEachCell(polygon: Int, action: (Int) -> Unit)
+    {
+        val firstRow = rowOf(minLatitudes[polygon])
+        val lastRow = rowOf(maxLatitudes[polygon])
+        val firstColumn = columnOf(minLongitudes[polygon])
+        val lastColumn = columnOf(maxLongitudes[polygon])
+
+        for (row in firstRow..lastRow)
+        {
+            for (column in firstColumn..lastColumn)
+            {
+                action(row * cellsPerSide + column)
+            }
+        }
+    }
+
+    private fun rowOf(latitude: Double): Int
+    {
+        return cellIndex(latitude - gridMinLatitude, cellHeight)
+    }
+
+    private fun columnOf(longitude: Double): Int
+    {
+        return cellIndex(longitude - gridMinLongitude, cellWidth)
+    }
+
+    /**
+     * @return The cell an offset from the grid origin falls into, or `-1` if it is outside the grid.
+     */
+    private fun cellIndex(offset: Double, cellSize: Double): Int
+    {
+        if (!(offset >= 0.0))
+        {
+            return -1
+        }
+
+        val index = (offset / cellSize).toInt()
+
+        return when
+        {
+            index < cellsPerSide -> index
+            //The far edge of the grid belongs to the last cell
+            offset <= cellSize * cellsPerSide -> cellsPerSide - 1
+            else -> -1
+        }
+    }
+
+    private fun cellSize(span: Double): Double
+    {
+        //Degenerate polygons, such as a single horizontal line, still need a non-zero cell
+        return if (span > 0.0) span / cellsPerSide else 1.0
+    }
+
+    companion object
+    {
+        private const val MAX_CELLS_PER_SIDE = 512
+
+        /**
+         * Creates a [Geofence] from a collection of polygons. Each polygon is a list of at least
+         * 3 vertices; the last vertex is implicitly connected to the first.
+         *
+         * @throws IllegalArgumentException If there are no polygons, or a polygon has invalid vertices.
+         */
+        @JvmStatic
+        @Throws(IllegalArgumentException::class)
+        fun of(@NonEmpty polygons: Collection<List<GeoPoint>>): Geofence
+        {
+            checkNotNull(polygons, "polygons cannot be null")
+            checkThat(polygons.isNotEmpty(), "polygons cannot be empty")
+
+            val latitudes = ArrayList<DoubleArray>(polygons.size)
+            val longitudes = ArrayList<DoubleArray>(polygons.size)
+
+            for (polygon in polygons)
+            {
+                checkNotNull(polygon, "polygon cannot be null")
+                checkThat(polygon.size >= 3, "a polygon needs at least 3 vertices")
+
+                latitudes.add(DoubleArray(polygon.size) { polygon[it].latitude })
+                longitudes.add(DoubleArray(polygon.size) { polygon[it].longitude })
+
+                checkThat(latitudes.last().all { it >= MIN_LATITUDE && it <= MAX_LATITUDE }, "invalid latitude in polygon")
+                checkThat(longitudes.last().all { it >= MIN_LONGITUDE && it <= MAX_LONGITUDE }, "invalid longitude in polygon")
+            }
+
+            return Geofence(latitudes.toTypedArray(), longitudes.toTypedArray())
+        }
+
+        /**
+         * Creates a [Geofence] from polygons.
+         *
+         * @see of
+         */
+        @JvmStatic
+        @Throws(IllegalArgumentException::class)
+        fun of(@NonEmpty first: List<GeoPoint>, vararg others: List<GeoPoint>): Geofence
+        {
+            return of(listOf(first) + others)
+        }
+    }
+}
@@ -18,8 +18,12 @@
 package tech.sirwellington.alchemy.arguments.assertions
 
 
+import tech.sirwellington.alchemy.annotations.arguments.Required
 import tech.sirwellington.alchemy.arguments.AlchemyAssertion
+import tech.sirwellington.alchemy.arguments.FailedAssertionException
+import tech.sirwellington.alchemy.arguments.checkNotNull
 import tech.sirwellington.alchemy.arguments.checkThat
+import java.util.BitSet
 
 /**
  * Assertions for testing Geo-Location data, like latitude and longitude.
@@ -27,6 +31,14 @@ import tech.sirwellington.alchemy.arguments.checkThat
  * @author SirWellington
  */
 
+internal const val MIN_LATITUDE = -90.0
+internal const val MAX_LATITUDE = 90.0
+internal const val MIN_LONGITUDE = -180.0
+internal const val MAX_LONGITUDE = 180.0
+
+/** The mean radius of the Earth, in meters. */
+internal const val EARTH_RADIUS_IN_METERS = 6_371_008.8
+
 /**
  * Checks that a Latitude is in the valid range [-90...90] (inclusive).
  *
@@ -37,10 +49,13 @@ fun validLatitude(): AlchemyAssertion<Double>
 {
     return AlchemyAssertion { lat ->
 
-        checkThat(lat)
-                .usingMessage("Latitude must be between -90 and 90, but was " + lat!!)
-                .isA(lessThanOrEqualTo(90.0))
-                .isA(greaterThanOrEqualTo(-90.0))
+        notNull<Any>().check(lat)
+
+        //Written as a negation so that NaN fails too; the message is only built on failure
+        if (!(lat >= MIN_LATITUDE && lat <= MAX_LATITUDE))
+        {
+            throw FailedAssertionException("Latitude must be between -90 and 90, but was $lat")
+        }
     }
 
 }
@@ -54,9 +69,171 @@ fun validLongitude(): AlchemyAssertion<Double>
 {
     return AlchemyAssertion { lon ->
 
-        checkThat<Double>(lon)
-                .usingMessage("Longitude must be between -180 and 180, but was " + lon!!)
-                .isA(greaterThanOrEqualTo(-180.0))
-                .isA(lessThanOrEqualTo(180.0))
+        notNull<Any>().check(lon)
+
+        if (!(lon >= MIN_LONGITUDE && lon <= MAX_LONGITUDE))
+        {
+            throw FailedAssertionException("Longitude must be between -180 and 180, but was $lon")
+        }
+    }
+}
+
+/**
+ * Checks that a [GeoPoint] falls inside at least one of the polygons of a [Geofence].
+ *
+ * @param geofence The polygons to check against. Lookups go through the spatial index of the
+ *                 [Geofence], so large numbers of polygons remain cheap to check.
+ *
+ * @see Geofence
+ */
+@Throws(IllegalArgumentException::class)
+fun withinGeofence(@Required geofence: Geofence): AlchemyAssertion<GeoPoint>
+{
+    checkNotNull(geofence, "geofence cannot be null")
+
+    return AlchemyAssertion { point ->
+
+        notNull<Any>().check(point)
+
+        if (!geofence.contains(point.latitude, point.longitude))
+        {
+            throw FailedAssertionException("Expected $point to be within the geofence")
+        }
     }
-}
\ No newline at end of file
+}
+
+/**
+ * Batch version of [validLatitude] and [validLongitude], for coordinates stored as parallel columns.
+ * Rather than failing on the first bad coordinate, every coordinate is checked in a single pass.
+ *
+ * @param latitudes  The latitude of each point.
+ * @param longitudes The longitude of each point. Must be the same length as [latitudes].
+ *
+ * @return The indexes of the points with an invalid latitude or longitude (including `NaN`).
+ *         The result is empty when every point is valid.
+ */
+@Throws(IllegalArgumentException::class)
+fun invalidCoordinateIndexes(@Required latitudes: DoubleArray, @Required longitudes: DoubleArray): BitSet
+{
+    checkColumns(latitudes, longitudes)
+
+    val invalid = BitSet(latitudes.size)
+
+    for (i in latitudes.indices)
+    {
+        val lat = latitudes[i]
+        val lon = longitudes[i]
+
+        if (!(lat >= MIN_LATITUDE && lat <= MAX_LATITUDE && lon >= MIN_LONGITUDE && lon <= MAX_LONGITUDE))
+        {
+            invalid.set(i)
+        }
+    }
+
+    return invalid
+}
+
+/**
+ * Checks that each point, stored as parallel columns, is inside a bounding box (inclusive).
+ * The bounding box cannot cross the 180th meridian.
+ *
+ * @return The indexes of the points outside of the bounding box. The result is empty when every point is inside.
+ */
+@Throws(IllegalArgumentException::class)
+fun indexesOutsideBoundingBox(@Required latitudes: DoubleArray,
+                              @Required longitudes: DoubleArray,
+                              minLatitude: Double,
+                              minLongitude: Double,
+                              maxLatitude: Double,
+                              maxLongitude: Double): BitSet
+{
+    checkColumns(latitudes, longitudes)
+    checkThat(minLatitude <= maxLatitude, "minLatitude must be <= maxLatitude")
+    checkThat(minLongitude <= maxLongitude, "minLongitude must be <= maxLongitude")
+
+    val outside = BitSet(latitudes.size)
+
+    for (i in latitudes.indices)
+    {
+        val lat = latitudes[i]
+        val lon = longitudes[i]
+
+        if (!(lat >= minLatitude && lat <= maxLatitude && lon >= minLongitude && lon <= maxLongitude))
+        {
+            outside.set(i)
+        }
+    }
+
+    return outside
+}
+
+/**
+ * Checks a track of points, stored as parallel columns, for jumps that are too large. Each point is
+ * compared to the one right before it, using the haversine (great-circle) distance.
+ *
+ * @param maxDistanceInMeters The maximum distance allowed between two consecutive points.
+ *
+ * @return The indexes of the points that are farther than [maxDistanceInMeters] from the previous point.
+ *         The first point is never included.
+ */
+@Throws(IllegalArgumentException::class)
+fun indexesFartherThanFromPrevious(@Required latitudes: DoubleArray,
+                                   @Required longitudes: DoubleArray,
+                                   maxDistanceInMeters: Double): BitSet
+{
+    checkColumns(latitudes, longitudes)
+    checkThat(maxDistanceInMeters >= 0, "maxDistanceInMeters must be >= 0")
+
+    val tooFar = BitSet(latitudes.size)
+
+    if (latitudes.isEmpty())
+    {
+        return tooFar
+    }
+
+    //The difference in latitude alone is a lower bound on the distance, which spares the trigonometry
+    val maxLatitudeDifference = maxDistanceInMeters / EARTH_RADIUS_IN_METERS
+
+    var previousLatitude = Math.toRadians(latitudes[0])
+    var previousLongitude = Math.toRadians(longitudes[0])
+    var previousCosine = Math.cos(previousLatitude)
+
+    for (i in 1 until latitudes.size)
+    {
+        val latitude = Math.toRadians(latitudes[i])
+        val longitude = Math.toRadians(longitudes[i])
+        val cosine = Math.cos(latitude)
+
+        val latitudeDifference = latitude - previousLatitude
+
+        if (Math.abs(latitudeDifference) > maxLatitudeDifference)
+        {
+            tooFar.set(i)
+        }
+        else
+        {
+            val sinLatitude = Math.sin(latitudeDifference / 2)
+            val sinLongitude = Math.sin((longitude - previousLongitude) / 2)
+            val a = sinLatitude * sinLatitude + previousCosine * cosine * sinLongitude * sinLongitude
+            val distance = 2 * EARTH_RADIUS_IN_METERS * Math.asin(Math.sqrt(Math.min(1.0, a)))
+
+            if (!(distance <= maxDistanceInMeters))
+            {
+                tooFar.set(i)
+            }
+        }
+
+        previousLatitude = latitude
+        previousLongitude = longitude
+        previousCosine = cosine
+    }
+
+    return tooFar
+}
+
+private fun checkColumns(latitudes: DoubleArray?, longitudes: DoubleArray?)
+{
+    checkNotNull(latitudes, "latitudes cannot be null")
+    checkNotNull(longitudes, "longitudes cannot be null")
+    checkThat(latitudes!!.size == longitudes!!.size, "latitudes and longitudes must have the same length")
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import tech.sirwellington.alchemy.annotations.access.Internal
+
+/**
+ * Parses IPv4 and IPv6 addresses without going through [java.net.InetAddress], which may
+ * allocate, cache and even attempt name resolution.
+ *
+ * An IPv4 address is represented as a [Long] in `[0, 2^32)`. An IPv6 address is represented
+ * as its high and low 64 bits.
+ *
+ * @author SirWellington
+ */
+@Internal
+internal object IpAddresses
+{
+
+    const val IPV4_BITS = 32
+    const val IPV6_BITS = 128
+
+    /**
+     * Parses a dotted-quad IPv4 address, such as `192.168.1.1`. Leading zeros are rejected,
+     * since some parsers treat them as octal.
+     *
+     * @return The address, or `-1` if the input is not a valid IPv4 address.
+     */
+    fun parseIPv4(input: CharSequence): Long
+    {
+        return parseIPv4(input, 0, input.length)
+    }
+
+    private fun parseIPv4(input: CharSequence, start: Int, end: Int): Long
+    {
+        var address = 0L
+        var octets = 0
+        var position = start
+
+        while (octets < 4)
+        {
+            var value = 0
+            var digits = 0
+
+            while (position < end && input[position] in '0'..'9')
+            {
+                if (digits == 1 && value == 0)
+                {
+                    return -1
+                }
+
+                value = value * 10 + (input[position] - '0')
+                digits += 1
+                position += 1
+
+                if (value > 255)
+                {
+                    return -1
+                }
+            }
+
+            if (digits == 0)
+            {
+                return -1
+            }
+
+            address = (address shl 8) or value.toLong()
+            octets += 1
+
+            if (octets < 4)
+            {
+                if (position >= end || input[position] != '.')
+                {
+                    return -1
+                }
+
+                position += 1
+            }
+        }
+
+        return if (position == end) address else -1
+    }
+
+    /**
+     * Parses an IPv6 address in any of its text forms: full, compressed with `::`, or with a
+     * trailing IPv4 address such as `::ffff:10.0.0.1`. Zone IDs and brackets are rejected.
+     *
+     * @param out If not null, receives the high 64 bits at index `0` and the low 64 bits at index `1`.
+     *
+     * @return true if the input is a valid IPv6 address.
+     */
+    fun parseIPv6(input: CharSequence, out: LongArray?): Boolean
+    {
+        val length = input.length
+
+        if (length < 2)
+        {
+            return false
+        }
+
+        //Groups before the "::" are accumulated into head, and groups after it into tail
+        var headHigh = 0L
+        var headLow = 0L
+        var headGroups = 0
+        var tailHigh = 0L
+        var tailLow = 0L
+        var tailGroups = 0
+        var compressed = false
+
+        var position = 0
+
+        if (input[0] == ':')
+        {
+            if (input[1] != ':')
+            {
+                return false
+            }
+
+            compressed = true
+            position = 2
+        }
+
+        while (position < length)
+        {
+            var value = 0
+            var digits = 0
+            val groupStart = position
+
+            while (position < length && digits <= 4)
+            {
+                val hex = hexValue(input[position])
+
+                if (hex < 0)
+                {
+                    break
+                }
+
+                value = (value shl 4) or hex
+                digits += 1
+                position += 1
+            }
+
+            if (digits == 0 || digits > 4)
+            {
+                return false
+            }
+
+            var groupsParsed = 1
+            var ipv4 = -1L
+
+            if (position < length && input[position] == '.')
+            {
+                //A trailing IPv4 address takes up the last two groups
+                ipv4 = parseIPv4(input, groupStart, length)
+
+                if (ipv4 < 0)
+                {
+                    return false
+                }
+
+                position = length
+                groupsParsed = 2
+            }
+
+            for (group in 0 until groupsParsed)
+            {
+                val groupValue = when
+                {
+                    groupsParsed == 1 -> value.toLong()
+                    group == 0 -> ipv4 ushr 16
+                    else -> ipv4 and 0xFFFF
+                }
+
+                if (compressed)
+                {
+                    tailHigh = (tailHigh shl 16) or (tailLow ushr 48)
+                    tailLow = (tailLow shl 16) or groupValue
+                    tailGroups += 1
+                }
+                else
+                {
+                    headHigh = (headHigh shl 16) or (headLow ushr 48)
+                    headLow = (headLow shl 16) or groupValue
+                    headGroups += 1
+                }
+            }
+
+            if (headGroups + tailGroups > 8)
+            {
+                return false
+            }
+
+            if (position == length)
+            {
+                break
+            }
+
+            //Expecting a separator
+            if (input[position] != ':' || position + 1 >= length)
+            {
+                return false
+            }
+
+            position += 1
+
+            if (input[position] == ':')
+            {
+                if (compressed)
+                {
+                    return false
+                }
+
+                compressed = true
+                position += 1
+            }
+        }
+
+        if (compressed)
+        {
+            if (headGroups + tailGroups > 7)
+            {
+                return false
+            }
+        }
+        else if (headGroups != 8)
+        {
+            return false
+        }
+
+        if (out != null)
+        {
+            //Move the head groups to the top, leaving room for the compressed zeros and the tail
+            for (shift in 0 until 8 - headGroups)
+            {
+                headHigh = (headHigh shl 16) or (headLow ushr 48)
+                headLow = headLow shl 16
+            }
+
+            out[0] = headHigh or tailHigh
+            out[1] = headLow or tailLow
+        }
+
+        return true
+    }
+
+    /**
+     * @return true if the address is an IPv4-mapped IPv6 address, in `::ffff:0:0/96`.
+     */
+    fun isIPv4Mapped(high: Long, low: Long): Boolean
+    {
+        return high == 0L && (low ushr 32) == 0xFFFFL
+    }
+
+    private fun hexValue(character: Char): Int
+    {
+        return when (character)
+        {
+            in '0'..'9' -> character - '0'
+            in 'a'..'f' -> character - 'a' + 10
+            in 'A'..'F' -> character - 'A' + 10
+            else -> -1
+        }
+    }
+}
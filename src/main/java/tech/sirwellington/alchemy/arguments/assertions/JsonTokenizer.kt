@@ -0,0 +1,305 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import tech.sirwellington.alchemy.annotations.access.Internal
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadUnsafe
+import java.io.IOException
+import java.io.Reader
+
+/**
+ * A pull tokenizer for JSON ([RFC 8259](https://tools.ietf.org/html/rfc8259)) that reads from a [Reader]
+ * through a fixed buffer. Values can be read into a reusable [StringBuilder], or skipped without being kept.
+ *
+ * @author SirWellington
+ */
+@Internal
+@ThreadUnsafe
+internal class JsonTokenizer(private val reader: Reader)
+{
+
+    private val buffer = CharArray(BUFFER_SIZE)
+    private var position = 0
+    private var limit = 0
+    private var consumed = 0L
+
+    /** The number of characters read so far. */
+    val offset: Long
+        get() = consumed + position
+
+    /**
+     * @return The next character that isn't whitespace, without consuming it, or `-1` at the end of the input.
+     */
+    @Throws(IOException::class)
+    fun peek(): Int
+    {
+        while (true)
+        {
+            if (position >= limit && !fill())
+            {
+                return -1
+            }
+
+            val character = buffer[position]
+
+            if (character == ' ' || character == '\n' || character == '\r' || character == '\t')
+            {
+                position += 1
+            }
+            else
+            {
+                return character.toInt()
+            }
+        }
+    }
+
+    /**
+     * Consumes the next character that isn't whitespace, which must be [expected].
+     */
+    @Throws(IOException::class, JsonSyntaxException::class)
+    fun expect(expected: Char)
+    {
+        if (peek() != expected.toInt())
+        {
+            throw syntaxError("Expected '$expected'")
+        }
+
+        position += 1
+    }
+
+    /**
+     * Consumes the next character that isn't whitespace, if it is [expected].
+     */
+    @Throws(IOException::class)
+    fun consumeIf(expected: Char): Boolean
+    {
+        if (peek() == expected.toInt())
+        {
+            position += 1
+            return true
+        }
+
+        return false
+    }
+
+    /**
+     * Reads a string, including its quotes, and appends its unescaped contents to [into], if given.
+     */
+    @Throws(IOException::class, JsonSyntaxException::class)
+    fun readString(into: StringBuilder?)
+    {
+        expect('"')
+
+        while (true)
+        {
+            val character = next()
+
+            when
+            {
+                character == '"' -> return
+                character == '\\' -> readEscape(into)
+                character < ' ' -> throw syntaxError("Unescaped control character in string")
+                else -> into?.append(character)
+            }
+        }
+    }
+
+    /**
+     * Reads a number, and appends it to [into], if given.
+     *
+     * @return true if the number is an integer, without a fraction or exponent.
+     */
+    @Throws(IOException::class, JsonSyntaxException::class)
+    fun readNumber(into: StringBuilder?): Boolean
+    {
+        peek()
+        var isInteger = true
+
+        if (current() == '-')
+        {
+            consume(into)
+        }
+
+        when (current())
+        {
+            '0' -> consume(into)
+            in '1'..'9' -> readDigits(into)
+            else -> throw syntaxError("Invalid number")
+        }
+
+        if (current() == '.')
+        {
+            isInteger = false
+            consume(into)
+
+            if (current() !in '0'..'9')
+            {
+                throw syntaxError("Expected a digit after the decimal point")
+            }
+
+            readDigits(into)
+        }
+
+        if (current() == 'e' || current() == 'E')
+        {
+            isInteger = false
+            consume(into)
+
+            if (current() == '+' || current() == '-')
+            {
+                consume(into)
+            }
+
+            if (current() !in '0'..'9')
+            {
+                throw syntaxError("Expected a digit in the exponent")
+            }
+
+            readDigits(into)
+        }
+
+        return isInteger
+    }
+
+    /**
+     * Reads `true`, `false`, or `null`.
+     */
+    @Throws(IOException::class, JsonSyntaxException::class)
+    fun readLiteral(literal: String)
+    {
+        peek()
+
+        for (expected in literal)
+        {
+            if (current() != expected)
+            {
+                throw syntaxError("Expected '$literal'")
+            }
+
+            position += 1
+        }
+    }
+
+    fun syntaxError(message: String): JsonSyntaxException
+    {
+        return JsonSyntaxException("$message at offset [$offset]")
+    }
+
+    private fun readDigits(into: StringBuilder?)
+    {
+        while (current() in '0'..'9')
+        {
+            consume(into)
+        }
+    }
+
+    /**
+     * Consumes the current character, appending it to [into], if given.
+     */
+    private fun consume(into: StringBuilder?)
+    {
+        val character = next()
+        into?.append(character)
+    }
+
+    private fun readEscape(into: StringBuilder?)
+    {
+        val unescaped = when (val escape = next())
+        {
+            '"', '\\', '/' -> escape
+            'b' -> '\b'
+            'f' -> '\u000C'
+            'n' -> '\n'
+            'r' -> '\r'
+            't' -> '\t'
+            'u' -> readHexCharacter()
+            else -> throw syntaxError("Invalid escape '\\$escape'")
+        }
+
+        into?.append(unescaped)
+    }
+
+    private fun readHexCharacter(): Char
+    {
+        var value = 0
+
+        for (i in 0 until 4)
+        {
+            val digit = Character.digit(next(), 16)
+
+            if (digit < 0)
+            {
+                throw syntaxError("Invalid unicode escape")
+            }
+
+            value = value * 16 + digit
+        }
+
+        return value.toChar()
+    }
+
+    /**
+     * @return The current character without consuming it, or `\u0000` at the end of the input.
+     */
+    private fun current(): Char
+    {
+        if (position >= limit && !fill())
+        {
+            return '\u0000'
+        }
+
+        return buffer[position]
+    }
+
+    private fun next(): Char
+    {
+        if (position >= limit && !fill())
+        {
+            throw syntaxError("Unexpected end of input")
+        }
+
+        val character = buffer[position]
+        position += 1
+        return character
+    }
+
+    private fun fill(): Boolean
+    {
+        consumed += limit
+        position = 0
+        limit = 0
+
+        val read = reader.read(buffer, 0, buffer.size)
+
+        if (read <= 0)
+        {
+            return false
+        }
+
+        limit = read
+        return true
+    }
+
+    private companion object
+    {
+        const val BUFFER_SIZE = 8 * 1024
+    }
+}
+
+/**
+ * Thrown when JSON input is malformed.
+ */
+internal class JsonSyntaxException(message: String) : Exception(message)
@@ -0,0 +1,824 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty
+import tech.sirwellington.alchemy.annotations.arguments.Positive
+import tech.sirwellington.alchemy.annotations.arguments.Required
+import tech.sirwellington.alchemy.annotations.concurrency.Immutable
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe
+import tech.sirwellington.alchemy.annotations.designs.patterns.BuilderPattern
+import tech.sirwellington.alchemy.annotations.designs.patterns.BuilderPattern.Role.BUILDER
+import tech.sirwellington.alchemy.annotations.designs.patterns.BuilderPattern.Role.PRODUCT
+import tech.sirwellington.alchemy.arguments.AlchemyAssertion
+import tech.sirwellington.alchemy.arguments.FailedAssertionException
+import tech.sirwellington.alchemy.arguments.checkNotNull
+import tech.sirwellington.alchemy.arguments.checkThat
+import java.io.IOException
+import java.io.InputStream
+import java.io.InputStreamReader
+import java.io.Reader
+import java.io.StringReader
+
+/**
+ * Validates a JSON document as it is read, against assertions attached to field paths, without
+ * building a tree of the document:
+ *
+ * ```
+ * val validator = JsonValidator.newBuilder()
+ *         .required("user.email")
+ *         .stringAt("user.email", validEmailAddress())
+ *         .intAt("user.age", numberBetween(0, 150))
+ *         .arraySizeAt("items", numberBetween(1, 100))
+ *         .doubleAt("items[*].price", greaterThan(0.0))
+ *         .build()
+ *
+ * val violations = validator.validate(requestBody)
+ * ```
+ *
+ * Paths are field names separated by dots, with `[*]` for every element of an array. They may start with `$`.
+ * Only values at paths in the schema are kept, one at a time; everything else is checked for
+ * syntax and skipped. Malformed JSON is reported as a violation, and ends validation.
+ *
+ * @author SirWellington
+ */
+@Immutable
+@ThreadSafe
+@BuilderPattern(role = PRODUCT)
+class JsonValidator private constructor(private val root: Node,
+                                        private val maxViolations: Int,
+                                        private val maxDepth: Int)
+{
+
+    /**
+     * A value that failed validation.
+     *
+     * @property path The path to the value, with array indexes, such as `$.items[3].price`.
+     */
+    @Immutable
+    data class Violation(val path: String, val message: String)
+    {
+        override fun toString(): String
+        {
+            return "$path: $message"
+        }
+    }
+
+    /**
+     * Validates the document read from a [Reader]. The reader is not closed.
+     *
+     * @return The violations found, in document order. Validation stops once [Builder.maxViolations] are found.
+     *
+     * @throws IOException If the reader fails.
+     */
+    @Throws(IOException::class)
+    fun validate(@Required reader: Reader): List<Violation>
+    {
+        checkNotNull(reader, "reader cannot be null")
+
+        val run = Run(JsonTokenizer(reader))
+        run.validateDocument()
+        return run.violations
+    }
+
+    /**
+     * Validates a UTF-8 encoded document. The stream is not closed.
+     */
+    @Throws(IOException::class)
+    fun validate(@Required input: InputStream): List<Violation>
+    {
+        checkNotNull(input, "input cannot be null")
+
+        return validate(InputStreamReader(input, Charsets.UTF_8))
+    }
+
+    fun validate(@Required json: String): List<Violation>
+    {
+        checkNotNull(json, "json cannot be null")
+
+        return validate(StringReader(json))
+    }
+
+    /**
+     * @return An assertion that fails with the violations of a JSON String, if it has any.
+     */
+    fun toAssertion(): AlchemyAssertion<String>
+    {
+        return AlchemyAssertion { json ->
+
+            notNull<Any>().check(json)
+
+            val violations = validate(json)
+
+            if (violations.isNotEmpty())
+            {
+                throw FailedAssertionException("Invalid JSON: " + violations.joinToString("; "))
+            }
+        }
+    }
+
+    /**
+     * The state of one validation: the tokenizer, the path to the current value, and the violations so far.
+     */
+    private inner class Run(private val tokenizer: JsonTokenizer)
+    {
+        val violations = ArrayList<Violation>()
+
+        private val scratch = StringBuilder()
+
+        /** For each level of the path, the name of the field, or `null` for an array element. */
+        private val names = arrayOfNulls<String>(maxDepth + 1)
+        private val indexes = IntArray(maxDepth + 1)
+        private var depth = 0
+
+        fun validateDocument()
+        {
+            try
+            {
+                validateValue(root)
+
+                if (tokenizer.peek() >= 0)
+                {
+                    throw tokenizer.syntaxError("Unexpected content after the document")
+                }
+            }
+            catch (ex: JsonSyntaxException)
+            {
+                addViolation(pathOf(depth, null), ex.message ?: "Malformed JSON", stop = false)
+            }
+            catch (ex: StopValidation)
+            {
+            }
+        }
+
+        private fun validateValue(node: Node?)
+        {
+            when (tokenizer.peek())
+            {
+                '{'.toInt() -> validateObject(node)
+                '['.toInt() -> validateArray(node)
+                '"'.toInt() -> validateString(node)
+                't'.toInt() -> validateBoolean(node, "true")
+                'f'.toInt() -> validateBoolean(node, "false")
+                'n'.toInt() -> validateNull(node)
+                -1 -> throw tokenizer.syntaxError("Unexpected end of input")
+                else -> validateNumber(node)
+            }
+        }
+
+        private fun validateObject(node: Node?)
+        {
+            push(UNTRACKED_FIELD, 0)
+            tokenizer.expect('{')
+
+            val hasChildren = node != null && node.children.isNotEmpty()
+            var seen = 0L
+
+            if (!tokenizer.consumeIf('}'))
+            {
+                do
+                {
+                    var child: Node? = null
+
+                    if (hasChildren)
+                    {
+                        scratch.setLength(0)
+                        tokenizer.readString(scratch)
+                        child = node!!.childNamed(scratch)
+                    }
+                    else
+                    {
+                        tokenizer.readString(null)
+                    }
+
+                    tokenizer.expect(':')
+
+                    names[depth] = child?.name ?: UNTRACKED_FIELD
+
+                    if (child != null)
+                    {
+                        seen = seen or child.requiredBit
+                    }
+
+                    validateValue(child)
+                }
+                while (tokenizer.consumeIf(','))
+
+                tokenizer.expect('}')
+            }
+
+            pop()
+
+            if (node == null)
+            {
+                return
+            }
+
+            if ((node.requiredBits and seen) != node.requiredBits)
+            {
+                node.children.filter { it.requiredBit != 0L && (it.requiredBit and seen) == 0L }
+                        .forEach { addViolation(pathOf(depth, it.name), "Missing required field") }
+            }
+
+            checkKind(node, "an object")
+            checkNotArray(node, "an object")
+        }
+
+        private fun validateArray(node: Node?)
+        {
+            push(null, 0)
+            tokenizer.expect('[')
+
+            val element = node?.element
+            var count = 0
+
+            if (!tokenizer.consumeIf(']'))
+            {
+                do
+                {
+                    indexes[depth] = count
+                    validateValue(element)
+                    count += 1
+                }
+                while (tokenizer.consumeIf(','))
+
+                tokenizer.expect(']')
+            }
+
+            pop()
+
+            if (node == null)
+            {
+                return
+            }
+
+            for (assertion in node.sizeChecks)
+            {
+                check(assertion, count)
+            }
+
+            checkKind(node, "an array")
+            checkNotObject(node, "an array")
+        }
+
+        private fun validateString(node: Node?)
+        {
+            checkNotArray(node, "a string")
+            checkNotObject(node, "a string")
+
+            if (node == null || node.checks.isEmpty())
+            {
+                tokenizer.readString(null)
+                checkKind(node, "a string")
+                return
+            }
+
+            scratch.setLength(0)
+            tokenizer.readString(scratch)
+
+            for (check in node.checks)
+            {
+                if (check.kind == Kind.STRING)
+                {
+                    @Suppress("UNCHECKED_CAST")
+                    check(check.assertion as AlchemyAssertion<String>, scratch.toString())
+                }
+                else
+                {
+                    addViolation("Expected ${check.kind.description}, but was a string")
+                }
+            }
+        }
+
+        private fun validateNumber(node: Node?)
+        {
+            checkNotArray(node, "a number")
+            checkNotObject(node, "a number")
+
+            if (node == null || node.checks.isEmpty())
+            {
+                tokenizer.readNumber(null)
+                checkKind(node, "a number")
+                return
+            }
+
+            scratch.setLength(0)
+            val isInteger = tokenizer.readNumber(scratch)
+
+            for (check in node.checks)
+            {
+                @Suppress("UNCHECKED_CAST")
+                when (check.kind)
+                {
+                    Kind.DOUBLE -> check(check.assertion as AlchemyAssertion<Double>, scratch.toString().toDouble())
+
+                    Kind.LONG, Kind.INT ->
+                    {
+                        val value = if (isInteger) parseLong(scratch) else null
+
+                        when
+                        {
+                            value == null -> addViolation("Expected ${check.kind.description}, but was [$scratch]")
+                            check.kind == Kind.LONG -> check(check.assertion as AlchemyAssertion<Long>, value)
+                            value < Int.MIN_VALUE || value > Int.MAX_VALUE -> addViolation("Expected ${check.kind.description}, but was [$scratch]")
+                            else -> check(check.assertion as AlchemyAssertion<Int>, value.toInt())
+                        }
+                    }
+
+                    else -> addViolation("Expected ${check.kind.description}, but was a number")
+                }
+            }
+        }
+
+        private fun validateBoolean(node: Node?, literal: String)
+        {
+            tokenizer.readLiteral(literal)
+            checkNotArray(node, "a boolean")
+            checkNotObject(node, "a boolean")
+
+            if (node == null)
+            {
+                return
+            }
+
+            for (check in node.checks)
+            {
+                if (check.kind == Kind.BOOLEAN)
+                {
+                    @Suppress("UNCHECKED_CAST")
+                    check(check.assertion as AlchemyAssertion<Boolean>, literal == "true")
+                }
+                else
+                {
+                    addViolation("Expected ${check.kind.description}, but was a boolean")
+                }
+            }
+        }
+
+        private fun validateNull(node: Node?)
+        {
+            tokenizer.readLiteral("null")
+            checkNotArray(node, "null")
+            checkNotObject(node, "null")
+
+            if (node == null)
+            {
+                return
+            }
+
+            //Assertions decide for themselves whether null is allowed
+            for (check in node.checks)
+            {
+                @Suppress("UNCHECKED_CAST")
+                check(check.assertion as AlchemyAssertion<Any?>, null)
+            }
+        }
+
+        /**
+         * Reports a value of the wrong kind, at a path that expects a primitive value.
+         */
+        private fun checkKind(node: Node?, actual: String)
+        {
+            if (node != null && node.checks.isNotEmpty())
+            {
+                addViolation("Expected ${node.checks[0].kind.description}, but was $actual")
+            }
+        }
+
+        /**
+         * Reports a value that isn't an array, at a path that expects one.
+         */
+        private fun checkNotArray(node: Node?, actual: String)
+        {
+            if (node != null && node.sizeChecks.isNotEmpty())
+            {
+                addViolation("Expected an array, but was $actual")
+            }
+        }
+
+        /**
+         * Reports a value that isn't an object, at a path that must have required fields.
+         */
+        private fun checkNotObject(node: Node?, actual: String)
+        {
+            if (node != null && node.requiredBits != 0L)
+            {
+                addViolation("Expected an object with required fields, but was $actual")
+            }
+        }
+
+        private fun <T> check(assertion: AlchemyAssertion<T>, value: T)
+        {
+            try
+            {
+                assertion.check(value)
+            }
+            catch (ex: FailedAssertionException)
+            {
+                addViolation(ex.message ?: "Invalid value")
+            }
+            catch (ex: RuntimeException)
+            {
+                //Like any other assertion, one that throws something unexpected fails the value
+                addViolation("Unexpected exception: $ex")
+            }
+        }
+
+        private fun addViolation(message: String)
+        {
+            addViolation(pathOf(depth, null), message)
+        }
+
+        private fun addViolation(path: String, message: String, stop: Boolean = true)
+        {
+            violations.add(Violation(path, message))
+
+            if (stop && violations.size >= maxViolations)
+            {
+                throw StopValidation()
+            }
+        }
+
+        private fun push(name: String?, index: Int)
+        {
+            if (depth >= maxDepth)
+            {
+                throw tokenizer.syntaxError("Nesting is deeper than [$maxDepth] levels")
+            }
+
+            depth += 1
+            names[depth] = name
+            indexes[depth] = index
+        }
+
+        private fun pop()
+        {
+            depth -= 1
+        }
+
+        /**
+         * @return The path of the current value, up to [level], with an optional final field name.
+         */
+        private fun pathOf(level: Int, field: String?): String
+        {
+            val path = StringBuilder("$")
+
+            for (i in 1..level)
+            {
+                val name = names[i]
+
+                if (name != null)
+                {
+                    path.append('.').append(name)
+                }
+                else
+                {
+                    path.append('[').append(indexes[i]).append(']')
+                }
+            }
+
+            if (field != null)
+            {
+                path.append('.').append(field)
+            }
+
+            return path.toString()
+        }
+
+        private fun parseLong(digits: CharSequence): Long?
+        {
+            val negative = digits[0] == '-'
+            var value = 0L
+
+            for (i in (if (negative) 1 else 0) until digits.length)
+            {
+                val digit = digits[i] - '0'
+
+                //Accumulate negatively, since Long.MIN_VALUE has no positive counterpart
+                if (value < (Long.MIN_VALUE + digit) / 10)
+                {
+                    return null
+                }
+
+                value = value * 10 - digit
+            }
+
+            if (!negative)
+            {
+                if (value == Long.MIN_VALUE)
+                {
+                    return null
+                }
+
+                value = -value
+            }
+
+            return value
+        }
+    }
+
+    private class StopValidation : RuntimeException(null, null, false, false)
+
+    private enum class Kind(val description: String)
+    {
+        STRING("a string"),
+        INT("an integer"),
+        LONG("an integer"),
+        DOUBLE("a number"),
+        BOOLEAN("a boolean")
+    }
+
+    private class Check(val kind: Kind, val assertion: AlchemyAssertion<*>)
+
+    /**
+     * A node of the schema. Nodes are only changed while a [Builder] builds them.
+     */
+    private class Node(val name: String?)
+    {
+        val children = ArrayList<Node>()
+        var element: Node? = null
+        val checks = ArrayList<Check>()
+        val sizeChecks = ArrayList<AlchemyAssertion<Int>>()
+
+        /** The bit of this node within its parent's required fields, or `0` if it is optional. */
+        var requiredBit = 0L
+        var requiredBits = 0L
+
+        private var childHashes = IntArray(0)
+
+        fun childNamed(key: CharSequence): Node?
+        {
+            //Strings hash the same way as this, so the key doesn't have to be turned into one
+            var hash = 0
+
+            for (i in 0 until key.length)
+            {
+                hash = 31 * hash + key[i].toInt()
+            }
+
+            for (i in childHashes.indices)
+            {
+                if (childHashes[i] == hash && contentEquals(children[i].name!!, key))
+                {
+                    return children[i]
+                }
+            }
+
+            return null
+        }
+
+        fun child(name: String): Node
+        {
+            val existing = children.firstOrNull { it.name == name }
+
+            if (existing != null)
+            {
+                return existing
+            }
+
+            val child = Node(name)
+            children.add(child)
+            childHashes = IntArray(children.size) { children[it].name.hashCode() }
+            return child
+        }
+
+        private fun contentEquals(name: String, key: CharSequence): Boolean
+        {
+            if (name.length != key.length)
+            {
+                return false
+            }
+
+            for (i in name.indices)
+            {
+                if (name[i] != key[i])
+                {
+                    return false
+                }
+            }
+
+            return true
+        }
+    }
+
+    /**
+     * Builds a [JsonValidator]. A builder can be reused, but is not thread-safe.
+     */
+    @BuilderPattern(role = BUILDER)
+    class Builder internal constructor()
+    {
+        private val steps = ArrayList<(Node) -> Unit>()
+        private var maxViolations = 1
+        private var maxDepth = DEFAULT_MAX_DEPTH
+
+        /**
+         * Requires the field at [path] to be present, even if it is `null`. The fields that lead to it are
+         * required too, and must be objects, so `required("user.email")` fails for `{}` and `{"user": null}`.
+         * Fields under `[*]` are required in each element of the array.
+         */
+        @Throws(IllegalArgumentException::class)
+        fun required(@NonEmpty path: String): Builder
+        {
+            val segments = parsePath(path)
+            checkThat(segments.isNotEmpty() && segments.last() != ANY_ELEMENT, "path must end with a field name: [$path]")
+
+            steps.add { root ->
+
+                for (length in 1..segments.size)
+                {
+                    if (segments[length - 1] != ANY_ELEMENT)
+                    {
+                        nodeAt(root, segments.subList(0, length)).requiredBit = -1
+                    }
+                }
+            }
+
+            return this
+        }
+
+        @Throws(IllegalArgumentException::class)
+        fun stringAt(@NonEmpty path: String, @Required assertion: AlchemyAssertion<String>): Builder
+        {
+            return addCheck(path, Kind.STRING, assertion)
+        }
+
+        /**
+         * Adds an assertion for an integer that fits in an [Int], such as a port number.
+         */
+        @Throws(IllegalArgumentException::class)
+        fun intAt(@NonEmpty path: String, @Required assertion: AlchemyAssertion<Int>): Builder
+        {
+            return addCheck(path, Kind.INT, assertion)
+        }
+
+        @Throws(IllegalArgumentException::class)
+        fun longAt(@NonEmpty path: String, @Required assertion: AlchemyAssertion<Long>): Builder
+        {
+            return addCheck(path, Kind.LONG, assertion)
+        }
+
+        /**
+         * Adds an assertion for any number, including integers.
+         */
+        @Throws(IllegalArgumentException::class)
+        fun doubleAt(@NonEmpty path: String, @Required assertion: AlchemyAssertion<Double>): Builder
+        {
+            return addCheck(path, Kind.DOUBLE, assertion)
+        }
+
+        @Throws(IllegalArgumentException::class)
+        fun booleanAt(@NonEmpty path: String, @Required assertion: AlchemyAssertion<Boolean>): Builder
+        {
+            return addCheck(path, Kind.BOOLEAN, assertion)
+        }
+
+        /**
+         * Adds an assertion on the number of elements of the array at [path]. The elements are counted as they
+         * are read.
+         */
+        @Throws(IllegalArgumentException::class)
+        fun arraySizeAt(@NonEmpty path: String, @Required assertion: AlchemyAssertion<Int>): Builder
+        {
+            checkNotNull(assertion, "assertion cannot be null")
+            val segments = parsePath(path)
+
+            steps.add { root -> nodeAt(root, segments).sizeChecks.add(assertion) }
+            return this
+        }
+
+        /**
+         * Sets how many violations to find before stopping. Defaults to 1.
+         */
+        @Throws(IllegalArgumentException::class)
+        fun maxViolations(@Positive maxViolations: Int): Builder
+        {
+            checkThat(maxViolations > 0, "maxViolations must be > 0")
+
+            this.maxViolations = maxViolations
+            return this
+        }
+
+        /**
+         * Sets how deeply objects and arrays may be nested. Deeper documents are rejected. Defaults to 256.
+         */
+        @Throws(IllegalArgumentException::class)
+        fun maxDepth(@Positive maxDepth: Int): Builder
+        {
+            checkThat(maxDepth > 0, "maxDepth must be > 0")
+
+            this.maxDepth = maxDepth
+            return this
+        }
+
+        @Throws(IllegalArgumentException::class)
+        fun build(): JsonValidator
+        {
+            val root = Node(null)
+            steps.forEach { it(root) }
+            assignRequiredBits(root)
+
+            return JsonValidator(root, maxViolations, maxDepth)
+        }
+
+        private fun addCheck(path: String, kind: Kind, assertion: AlchemyAssertion<*>): Builder
+        {
+            checkNotNull(assertion, "assertion cannot be null")
+            val segments = parsePath(path)
+
+            steps.add { root -> nodeAt(root, segments).checks.add(Check(kind, assertion)) }
+            return this
+        }
+
+        private fun nodeAt(root: Node, segments: List<String>): Node
+        {
+            var node = root
+
+            for (segment in segments)
+            {
+                node = if (segment == ANY_ELEMENT)
+                {
+                    node.element ?: Node(null).also { node.element = it }
+                }
+                else
+                {
+                    node.child(segment)
+                }
+            }
+
+            return node
+        }
+
+        private fun assignRequiredBits(node: Node)
+        {
+            val required = node.children.filter { it.requiredBit != 0L }
+            checkThat(required.size <= 64, "An object can have at most 64 required fields")
+
+            node.requiredBits = 0L
+
+            required.forEachIndexed { index, child ->
+
+                child.requiredBit = 1L shl index
+                node.requiredBits = node.requiredBits or child.requiredBit
+            }
+
+            node.children.forEach { assignRequiredBits(it) }
+            node.element?.let { assignRequiredBits(it) }
+        }
+
+        /**
+         * Splits a path like `$.items[*].price` into `items`, `[*]`, `price`.
+         */
+        private fun parsePath(path: String): List<String>
+        {
+            checkNotNull(path, "path cannot be null")
+
+            var remaining = path.removePrefix("$").removePrefix(".")
+            val segments = ArrayList<String>()
+
+            while (remaining.isNotEmpty())
+            {
+                if (remaining.startsWith("[*]") || remaining.startsWith("[]"))
+                {
+                    segments.add(ANY_ELEMENT)
+                    remaining = remaining.substring(remaining.indexOf(']') + 1).removePrefix(".")
+                    continue
+                }
+
+                val end = remaining.indexOfFirst { it == '.' || it == '[' }
+                val name = if (end < 0) remaining else remaining.substring(0, end)
+                checkThat(name.isNotEmpty(), "Invalid path: [$path]")
+
+                segments.add(name)
+                remaining = if (end < 0) "" else remaining.substring(end).removePrefix(".")
+            }
+
+            return segments
+        }
+    }
+
+    companion object
+    {
+        private const val ANY_ELEMENT = "[*]"
+        private const val UNTRACKED_FIELD = "*"
+        private const val DEFAULT_MAX_DEPTH = 256
+
+        @JvmStatic
+        fun newBuilder(): Builder
+        {
+            return Builder()
+        }
+    }
+}
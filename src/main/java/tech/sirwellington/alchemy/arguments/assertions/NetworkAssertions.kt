@@ -17,8 +17,14 @@
 
 package tech.sirwellington.alchemy.arguments.assertions
 
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty
+import tech.sirwellington.alchemy.annotations.arguments.Required
 import tech.sirwellington.alchemy.arguments.AlchemyAssertion
 import tech.sirwellington.alchemy.arguments.FailedAssertionException
+import tech.sirwellington.alchemy.arguments.checkNotNull
+import tech.sirwellington.alchemy.arguments.checkThat
+import tech.sirwellington.alchemy.arguments.assertions.IpAddresses.IPV4_BITS
+import tech.sirwellington.alchemy.arguments.assertions.IpAddresses.IPV6_BITS
 import java.net.URL
 
 /**
@@ -73,4 +79,395 @@ fun validPort(): AlchemyAssertion<Int>
             throw FailedAssertionException("Network port must <" + MAX_PORT)
         }
     }
-}
\ No newline at end of file
+}
+
+/**
+ * Checks that a String is an IPv4 address in dotted-quad form, such as `192.168.1.1`.
+ * Octets with leading zeros are rejected, since some parsers read them as octal.
+ *
+ * The address is parsed directly, without creating an [java.net.InetAddress].
+ */
+fun validIPv4(): AlchemyAssertion<String>
+{
+    return AlchemyAssertion { string ->
+
+        notNull<Any>().check(string)
+
+        if (IpAddresses.parseIPv4(string) < 0)
+        {
+            throw FailedAssertionException("Invalid IPv4 address: [$string]")
+        }
+    }
+}
+
+/**
+ * Checks that a String is an IPv6 address, in any of its text forms, including `::` compression
+ * and a trailing IPv4 address (`::ffff:10.0.0.1`). Zone IDs and brackets are not accepted.
+ *
+ * The address is parsed directly, without creating an [java.net.InetAddress].
+ */
+fun validIPv6(): AlchemyAssertion<String>
+{
+    return AlchemyAssertion { string ->
+
+        notNull<Any>().check(string)
+
+        if (!IpAddresses.parseIPv6(string, null))
+        {
+            throw FailedAssertionException("Invalid IPv6 address: [$string]")
+        }
+    }
+}
+
+/**
+ * Checks that a String is either a valid IPv4 or IPv6 address.
+ *
+ * @see validIPv4
+ * @see validIPv6
+ */
+fun validIPAddress(): AlchemyAssertion<String>
+{
+    return AlchemyAssertion { string ->
+
+        notNull<Any>().check(string)
+
+        if (IpAddresses.parseIPv4(string) < 0 && !IpAddresses.parseIPv6(string, null))
+        {
+            throw FailedAssertionException("Invalid IP address: [$string]")
+        }
+    }
+}
+
+/**
+ * Checks that an IP address falls within at least one of the given CIDR ranges, such as an allowlist.
+ * IPv4 and IPv6 ranges can be mixed, and IPv4-mapped IPv6 addresses (`::ffff:10.0.0.1`) are
+ * checked against the IPv4 ranges.
+ *
+ * The ranges are loaded into a compressed radix trie once, so each check takes at most
+ * 32 (IPv4) or 128 (IPv6) steps, however many ranges there are.
+ *
+ * @param cidrs The ranges, such as `10.0.0.0/8` or `2001:db8::/32`. A plain address is treated as a
+ *              single-address range. Bits past the prefix length are ignored.
+ *
+ * @throws IllegalArgumentException If any of the ranges are invalid.
+ *
+ * @see ipInNoneOf
+ */
+@Throws(IllegalArgumentException::class)
+fun ipInAnyOf(@NonEmpty cidrs: Collection<String>): AlchemyAssertion<String>
+{
+    val ranges = IpRanges.of(cidrs)
+
+    return AlchemyAssertion { ip ->
+
+        notNull<Any>().check(ip)
+
+        if (ranges.find(ip) != IpRanges.IN_RANGE)
+        {
+            throw FailedAssertionException("IP address [$ip] is not in any of the allowed ranges")
+        }
+    }
+}
+
+/**
+ * @see ipInAnyOf
+ */
+@Throws(IllegalArgumentException::class)
+fun ipInAnyOf(@Required first: String, vararg others: String): AlchemyAssertion<String>
+{
+    return ipInAnyOf(listOf(first) + others)
+}
+
+/**
+ * Checks that an IP address is valid, and falls within none of the given CIDR ranges, such as a denylist.
+ *
+ * @param cidrs The ranges, such as `10.0.0.0/8` or `2001:db8::/32`.
+ *
+ * @throws IllegalArgumentException If any of the ranges are invalid.
+ *
+ * @see ipInAnyOf
+ */
+@Throws(IllegalArgumentException::class)
+fun ipInNoneOf(@NonEmpty cidrs: Collection<String>): AlchemyAssertion<String>
+{
+    val ranges = IpRanges.of(cidrs)
+
+    return AlchemyAssertion { ip ->
+
+        notNull<Any>().check(ip)
+
+        val result = ranges.find(ip)
+
+        if (result == IpRanges.INVALID)
+        {
+            throw FailedAssertionException("Invalid IP address: [$ip]")
+        }
+
+        if (result == IpRanges.IN_RANGE)
+        {
+            throw FailedAssertionException("IP address [$ip] is in a denied range")
+        }
+    }
+}
+
+/**
+ * @see ipInNoneOf
+ */
+@Throws(IllegalArgumentException::class)
+fun ipInNoneOf(@Required first: String, vararg others: String): AlchemyAssertion<String>
+{
+    return ipInNoneOf(listOf(first) + others)
+}
+
+/**
+ * Checks that a String is a valid DNS hostname, such as `www.example.com`, as described in RFC 1123.
+ * Each label must be 1-63 letters, digits, or hyphens, and may not start or end with a hyphen.
+ * Internationalized names must be in their ASCII (`xn--`) form. A single trailing dot is allowed.
+ *
+ * @see domainUnderPublicSuffix
+ */
+fun validHostname(): AlchemyAssertion<String>
+{
+    return AlchemyAssertion { hostname ->
+
+        notNull<Any>().check(hostname)
+
+        if (hostnameLength(hostname) < 0)
+        {
+            throw FailedAssertionException("Invalid hostname: [$hostname]")
+        }
+    }
+}
+
+/**
+ * Checks that a hostname is valid, and sits below a public suffix, according to the
+ * [Public Suffix List](https://publicsuffix.org). For example, `example.co.uk` and `www.example.com` pass,
+ * but `co.uk` and `com` do not. This is useful for rejecting cookie domains or tenant hostnames
+ * that would cover an entire registry.
+ *
+ * Hostnames under a suffix that is not on the list are treated as if their last label were a public suffix.
+ *
+ * @see validHostname
+ * @see hostnameWithRegistrableDomain
+ */
+fun domainUnderPublicSuffix(): AlchemyAssertion<String>
+{
+    return AlchemyAssertion { hostname ->
+
+        notNull<Any>().check(hostname)
+
+        val length = hostnameLength(hostname)
+
+        if (length < 0)
+        {
+            throw FailedAssertionException("Invalid hostname: [$hostname]")
+        }
+
+        if (PublicSuffixes.DEFAULT.registrableDomainStart(hostname.subSequence(0, length)) < 0)
+        {
+            throw FailedAssertionException("Hostname [$hostname] is a public suffix")
+        }
+    }
+}
+
+/**
+ * Checks that the registrable domain of a hostname (the public suffix, plus one label) is the
+ * one given. For example, `www.example.co.uk` and `example.co.uk` both have the registrable domain `example.co.uk`,
+ * while `example.co.uk.evil.com` does not.
+ *
+ * @param domain The registrable domain, such as `example.com`. Case is ignored.
+ *
+ * @throws IllegalArgumentException If [domain] is not a valid hostname.
+ *
+ * @see domainUnderPublicSuffix
+ */
+@Throws(IllegalArgumentException::class)
+fun hostnameWithRegistrableDomain(@NonEmpty domain: String): AlchemyAssertion<String>
+{
+    checkNotNull(domain, "domain cannot be null")
+    checkThat(hostnameLength(domain) > 0, "Invalid domain: [$domain]")
+
+    val expected = domain.removeSuffix(".")
+
+    return AlchemyAssertion { hostname ->
+
+        notNull<Any>().check(hostname)
+
+        val length = hostnameLength(hostname)
+
+        if (length < 0)
+        {
+            throw FailedAssertionException("Invalid hostname: [$hostname]")
+        }
+
+        val start = PublicSuffixes.DEFAULT.registrableDomainStart(hostname.subSequence(0, length))
+
+        if (start < 0 || length - start != expected.length || !hostname.regionMatches(start, expected, 0, expected.length, ignoreCase = true))
+        {
+            throw FailedAssertionException("Hostname [$hostname] is not under the domain [$domain]")
+        }
+    }
+}
+
+private const val MAX_HOSTNAME_LENGTH = 253
+private const val MAX_LABEL_LENGTH = 63
+
+/**
+ * Validates a hostname in a single pass.
+ *
+ * @return The length of the hostname without any trailing dot, or `-1` if it is invalid.
+ */
+private fun hostnameLength(hostname: String): Int
+{
+    val length = if (hostname.endsWith(".")) hostname.length - 1 else hostname.length
+
+    if (length <= 0 || length > MAX_HOSTNAME_LENGTH)
+    {
+        return -1
+    }
+
+    var labelStart = 0
+    var allDigits = true
+
+    for (i in 0..length)
+    {
+        val character = if (i < length) hostname[i] else '.'
+
+        if (character == '.')
+        {
+            val labelLength = i - labelStart
+
+            if (labelLength == 0 || labelLength > MAX_LABEL_LENGTH)
+            {
+                return -1
+            }
+
+            if (hostname[labelStart] == '-' || hostname[i - 1] == '-')
+            {
+                return -1
+            }
+
+            //Hyphens in the 3rd and 4th positions are reserved for "xn--" A-labels
+            if (labelLength >= 4 && hostname[labelStart + 2] == '-' && hostname[labelStart + 3] == '-')
+            {
+                val punycode = hostname.regionMatches(labelStart, "xn", 0, 2, ignoreCase = true)
+
+                if (!punycode || labelLength == 4)
+                {
+                    return -1
+                }
+            }
+
+            labelStart = i + 1
+
+            if (i < length)
+            {
+                allDigits = true
+            }
+
+            continue
+        }
+
+        when (character)
+        {
+            in '0'..'9' -> Unit
+            in 'a'..'z', in 'A'..'Z', '-' -> allDigits = false
+            else -> return -1
+        }
+    }
+
+    //The top-level domain is never all-numeric, which also keeps IPv4 addresses out
+    return if (allDigits) -1 else length
+}
+
+/**
+ * A set of IPv4 and IPv6 ranges, each kept in its own [CidrTrie].
+ */
+private class IpRanges(private val ipv4: CidrTrie, private val ipv6: CidrTrie)
+{
+
+    /**
+     * Parses the string only once, so that callers can tell an invalid address apart from one outside of the ranges.
+     *
+     * @return [IN_RANGE], [OUT_OF_RANGE], or [INVALID] if the string is not an IP address.
+     */
+    fun find(ip: String): Int
+    {
+        val ipv4Address = IpAddresses.parseIPv4(ip)
+
+        if (ipv4Address >= 0)
+        {
+            return resultOf(ipv4.containsPrefixOf(ipv4Address shl 32, 0L))
+        }
+
+        val address = SCRATCH.get()
+
+        if (!IpAddresses.parseIPv6(ip, address))
+        {
+            return INVALID
+        }
+
+        if (IpAddresses.isIPv4Mapped(address[0], address[1]))
+        {
+            return resultOf(ipv4.containsPrefixOf(address[1] shl 32, 0L))
+        }
+
+        return resultOf(ipv6.containsPrefixOf(address[0], address[1]))
+    }
+
+    private fun resultOf(found: Boolean): Int
+    {
+        return if (found) IN_RANGE else OUT_OF_RANGE
+    }
+
+    companion object
+    {
+        const val IN_RANGE = 0
+        const val OUT_OF_RANGE = 1
+        const val INVALID = 2
+
+        //Each IPv6 lookup parses into this buffer, instead of allocating a new one
+        private val SCRATCH = object : ThreadLocal<LongArray>()
+        {
+            override fun initialValue(): LongArray
+            {
+                return LongArray(2)
+            }
+        }
+
+        fun of(cidrs: Collection<String>): IpRanges
+        {
+            checkNotNull(cidrs, "cidrs cannot be null")
+            checkThat(cidrs.isNotEmpty(), "cidrs cannot be empty")
+
+            val ipv4 = CidrTrie.Builder(IPV4_BITS)
+            val ipv6 = CidrTrie.Builder(IPV6_BITS)
+            val address = LongArray(2)
+
+            for (cidr in cidrs)
+            {
+                checkNotNull(cidr, "cidr cannot be null")
+
+                val slash = cidr.indexOf('/')
+                val ip = if (slash < 0) cidr else cidr.substring(0, slash)
+                val ipv4Address = IpAddresses.parseIPv4(ip)
+                val maxLength = if (ipv4Address >= 0) IPV4_BITS else IPV6_BITS
+
+                val length = if (slash < 0) maxLength else cidr.substring(slash + 1).toIntOrNull() ?: -1
+                checkThat(length in 0..maxLength, "Invalid prefix length in CIDR: $cidr")
+
+                if (ipv4Address >= 0)
+                {
+                    ipv4.add(ipv4Address shl 32, 0L, length)
+                }
+                else
+                {
+                    checkThat(IpAddresses.parseIPv6(ip, address), "Invalid CIDR: $cidr")
+                    ipv6.add(address[0], address[1], length)
+                }
+            }
+
+            return IpRanges(ipv4.build(), ipv6.build())
+        }
+    }
+}
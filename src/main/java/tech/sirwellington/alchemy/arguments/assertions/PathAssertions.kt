@@ -0,0 +1,218 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+@file:JvmName("PathAssertions")
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import tech.sirwellington.alchemy.annotations.arguments.Positive
+import tech.sirwellington.alchemy.annotations.arguments.Required
+import tech.sirwellington.alchemy.arguments.AlchemyAssertion
+import tech.sirwellington.alchemy.arguments.FailedAssertionException
+import tech.sirwellington.alchemy.arguments.checkNotNull
+import java.nio.file.Path
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Future
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit.SECONDS
+import java.util.concurrent.atomic.AtomicInteger
+
+
+/**
+ * Assertions on filesystem [Paths][Path].
+ *
+ * To combine several checks into a single read of a path's attributes, use a [PathCheck].
+ *
+ * @author SirWellington
+ */
+
+/** The number of paths each task of [allPathsMatching] checks. */
+private const val PATHS_PER_TASK = 64
+
+/** The most failures that [allPathsMatching] describes in its message. */
+private const val MAX_REPORTED_FAILURES = 10
+
+/**
+ * A bounded pool for [allPathsMatching]. Filesystem calls block, so it has more threads than there are CPUs,
+ * but a fixed cap keeps a large batch from flooding the filesystem. Idle threads exit.
+ */
+private val PATH_CHECK_EXECUTOR: ExecutorService by lazy {
+
+    val threads = Math.min(16, Math.max(2, Runtime.getRuntime().availableProcessors() * 2))
+    val count = AtomicInteger()
+
+    val executor = ThreadPoolExecutor(threads, threads, 30, SECONDS, LinkedBlockingQueue<Runnable>()) { task ->
+
+        val thread = Thread(task, "alchemy-path-checks-${count.incrementAndGet()}")
+        thread.isDaemon = true
+        thread
+    }
+
+    executor.allowCoreThreadTimeOut(true)
+    executor
+}
+
+/**
+ * Asserts that a path exists, following symbolic links.
+ */
+fun existingPath(): AlchemyAssertion<Path>
+{
+    return PathCheck.exists().toAssertion()
+}
+
+/**
+ * Asserts that a path exists, and is a regular file.
+ */
+fun regularFile(): AlchemyAssertion<Path>
+{
+    return PathCheck.regularFile().toAssertion()
+}
+
+/**
+ * Asserts that a path exists, and is a directory.
+ */
+fun directory(): AlchemyAssertion<Path>
+{
+    return PathCheck.directory().toAssertion()
+}
+
+/**
+ * Asserts that a path is a regular file that this process can read.
+ */
+fun readableFile(): AlchemyAssertion<Path>
+{
+    return PathCheck.regularFile().readable().toAssertion()
+}
+
+/**
+ * Asserts that a path is a regular file, of between [minSize] and [maxSize] bytes, inclusive.
+ */
+@Throws(IllegalArgumentException::class)
+fun fileWithSizeBetween(@Positive minSize: Long, @Positive maxSize: Long): AlchemyAssertion<Path>
+{
+    return PathCheck.regularFile().withSizeBetween(minSize, maxSize).toAssertion()
+}
+
+/**
+ * Asserts that a path is inside of the [root] directory, once both are made absolute and normalized,
+ * so that paths like `uploads/../../etc/passwd` are rejected. Symbolic links are resolved as well, so that
+ * a link inside of [root] that points outside of it is rejected too. The real path of [root] is resolved
+ * once, when the assertion is created.
+ *
+ * @see PathCheck.under
+ */
+@Throws(IllegalArgumentException::class)
+fun pathUnder(@Required root: Path): AlchemyAssertion<Path>
+{
+    checkNotNull(root, "root cannot be null")
+
+    val normalizedRoot = root.toAbsolutePath().normalize()
+    val realRoot = realPathOf(normalizedRoot)
+
+    return AlchemyAssertion { path ->
+
+        notNull<Any>().check(path)
+
+        if (!path.toAbsolutePath().normalize().startsWith(normalizedRoot))
+        {
+            throw FailedAssertionException("Path [$path] is not under [$normalizedRoot]")
+        }
+
+        if (resolvesOutside(path, normalizedRoot, realRoot))
+        {
+            throw FailedAssertionException("Path [$path] resolves to a location outside of [$normalizedRoot]")
+        }
+    }
+}
+
+/**
+ * Asserts that every path in a collection passes a [PathCheck]. The paths are split into batches,
+ * which are checked in parallel on an [executor], and the calling thread. The failure message
+ * counts every failing path, and describes the first few.
+ *
+ * @param check    The check to run on every path.
+ * @param executor Where to run the batches. Defaults to a shared pool with a bounded number of daemon threads.
+ */
+@JvmOverloads
+@Throws(IllegalArgumentException::class)
+fun <C : Collection<Path?>> allPathsMatching(@Required check: PathCheck,
+                                            @Required executor: ExecutorService = PATH_CHECK_EXECUTOR): AlchemyAssertion<C>
+{
+    checkNotNull(check, "check cannot be null")
+    checkNotNull(executor, "executor cannot be null")
+
+    return AlchemyAssertion { paths ->
+
+        notNull<Any>().check(paths)
+
+        val list = paths.toList()
+        val failureCount = AtomicInteger()
+        val failures = ConcurrentLinkedQueue<String>()
+
+        val checkBatch = { start: Int ->
+
+            for (i in start until Math.min(start + PATHS_PER_TASK, list.size))
+            {
+                val path = list[i]
+                val failure = if (path == null) "Path is null" else check.failureOf(path)
+
+                if (failure != null && failureCount.incrementAndGet() <= MAX_REPORTED_FAILURES)
+                {
+                    failures.add(failure)
+                }
+            }
+        }
+
+        val tasks = ArrayList<Future<*>>()
+
+        for (start in PATHS_PER_TASK until list.size step PATHS_PER_TASK)
+        {
+            tasks.add(executor.submit { checkBatch(start) })
+        }
+
+        checkBatch(0)
+
+        awaitAll(tasks)
+
+        val failed = failureCount.get()
+
+        if (failed > 0)
+        {
+            throw FailedAssertionException("[$failed] of [${list.size}] paths are invalid, including: " + failures.joinToString("; "))
+        }
+    }
+}
+
+private fun awaitAll(tasks: List<Future<*>>)
+{
+    try
+    {
+        tasks.forEach { it.get() }
+    }
+    catch (ex: InterruptedException)
+    {
+        tasks.forEach { it.cancel(true) }
+        Thread.currentThread().interrupt()
+        throw FailedAssertionException("Interrupted while checking paths", ex)
+    }
+    catch (ex: ExecutionException)
+    {
+        tasks.forEach { it.cancel(true) }
+        throw FailedAssertionException("Failed to check paths", ex.cause ?: ex)
+    }
+}
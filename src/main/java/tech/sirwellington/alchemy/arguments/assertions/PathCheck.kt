@@ -0,0 +1,277 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import tech.sirwellington.alchemy.annotations.arguments.Positive
+import tech.sirwellington.alchemy.annotations.arguments.Required
+import tech.sirwellington.alchemy.annotations.concurrency.Immutable
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe
+import tech.sirwellington.alchemy.annotations.designs.FluidAPIDesign
+import tech.sirwellington.alchemy.arguments.AlchemyAssertion
+import tech.sirwellington.alchemy.arguments.FailedAssertionException
+import tech.sirwellington.alchemy.arguments.checkNotNull
+import tech.sirwellington.alchemy.arguments.checkThat
+import java.io.IOException
+import java.nio.file.Files
+import java.nio.file.LinkOption
+import java.nio.file.NoSuchFileException
+import java.nio.file.Path
+import java.nio.file.attribute.BasicFileAttributes
+
+/**
+ * A combination of checks on a [Path], that reads the attributes of the path from the filesystem only once.
+ * Checking that a path exists, is a regular file, and is within a size limit with separate assertions
+ * would stat the file three times; a [PathCheck] does it once. Readability, writability, and resolving
+ * symbolic links for [under] each still take their own filesystem calls:
+ *
+ * ```
+ * val upload = PathCheck.regularFile()
+ *                       .readable()
+ *                       .withSizeBetween(1, 10_000_000)
+ *                       .under(uploadsDirectory)
+ *
+ * checkThat(path).isA(upload.toAssertion())
+ * ```
+ *
+ * Each method returns a new [PathCheck], so they can be shared and extended freely.
+ *
+ * @author SirWellington
+ *
+ * @see allPathsMatching
+ */
+@Immutable
+@ThreadSafe
+@FluidAPIDesign
+class PathCheck private constructor(private val type: Int,
+                                    private val mustBeReadable: Boolean,
+                                    private val mustBeWritable: Boolean,
+                                    private val minSize: Long,
+                                    private val maxSize: Long,
+                                    private val root: Path?,
+                                    private val realRoot: Path?,
+                                    private val followLinks: Boolean)
+{
+
+    /** @return A check that also requires the path to be readable by this process. */
+    fun readable(): PathCheck
+    {
+        return PathCheck(type, true, mustBeWritable, minSize, maxSize, root, realRoot, followLinks)
+    }
+
+    /** @return A check that also requires the path to be writable by this process. */
+    fun writable(): PathCheck
+    {
+        return PathCheck(type, mustBeReadable, true, minSize, maxSize, root, realRoot, followLinks)
+    }
+
+    /**
+     * @return A check that also requires the size of the path to be between [minSize] and [maxSize] bytes, inclusive.
+     */
+    @Throws(IllegalArgumentException::class)
+    fun withSizeBetween(@Positive minSize: Long, @Positive maxSize: Long): PathCheck
+    {
+        checkThat(minSize >= 0, "minSize must be >= 0")
+        checkThat(minSize <= maxSize, "minSize must be <= maxSize")
+
+        return PathCheck(type, mustBeReadable, mustBeWritable, minSize, maxSize, root, realRoot, followLinks)
+    }
+
+    /**
+     * @return A check that also requires the path to be inside of the [root] directory, once both are made
+     *         absolute and normalized, so that `..` segments can't escape it. Unless the check is
+     *         [not following links][notFollowingLinks], symbolic links are resolved too, so that a link inside
+     *         of [root] can't point outside of it. The real path of [root] is resolved once, here.
+     */
+    @Throws(IllegalArgumentException::class)
+    fun under(@Required root: Path): PathCheck
+    {
+        checkNotNull(root, "root cannot be null")
+
+        val normalizedRoot = root.toAbsolutePath().normalize()
+
+        return PathCheck(type, mustBeReadable, mustBeWritable, minSize, maxSize, normalizedRoot, realPathOf(normalizedRoot), followLinks)
+    }
+
+    /**
+     * @return A check that looks at symbolic links themselves, instead of the files they point to.
+     */
+    fun notFollowingLinks(): PathCheck
+    {
+        return PathCheck(type, mustBeReadable, mustBeWritable, minSize, maxSize, root, realRoot, false)
+    }
+
+    fun toAssertion(): AlchemyAssertion<Path>
+    {
+        return AlchemyAssertion { path ->
+
+            notNull<Any>().check(path)
+
+            val failure = failureOf(path)
+
+            if (failure != null)
+            {
+                throw FailedAssertionException(failure)
+            }
+        }
+    }
+
+    /**
+     * @return A description of why the [path] fails this check, or `null` if it passes.
+     */
+    internal fun failureOf(path: Path): String?
+    {
+        //Lexical checks come first, so that paths outside of the root never touch the filesystem
+        if (root != null && !path.toAbsolutePath().normalize().startsWith(root))
+        {
+            return "Path [$path] is not under [$root]"
+        }
+
+        if (root != null && followLinks && resolvesOutside(path, root, realRoot))
+        {
+            return "Path [$path] resolves to a location outside of [$root]"
+        }
+
+        val attributes = try
+        {
+            if (followLinks)
+            {
+                Files.readAttributes(path, BasicFileAttributes::class.java)
+            }
+            else
+            {
+                Files.readAttributes(path, BasicFileAttributes::class.java, LinkOption.NOFOLLOW_LINKS)
+            }
+        }
+        catch (ex: NoSuchFileException)
+        {
+            return "Path [$path] does not exist"
+        }
+        catch (ex: IOException)
+        {
+            return "Could not read the attributes of [$path]: ${ex.message}"
+        }
+
+        if (type == REGULAR_FILE && !attributes.isRegularFile)
+        {
+            return "Path [$path] is not a regular file"
+        }
+
+        if (type == DIRECTORY && !attributes.isDirectory)
+        {
+            return "Path [$path] is not a directory"
+        }
+
+        val size = attributes.size()
+
+        if (size < minSize || size > maxSize)
+        {
+            return "Expected [$path] to have between [$minSize] and [$maxSize] bytes, but it has [$size]"
+        }
+
+        if (mustBeReadable && !Files.isReadable(path))
+        {
+            return "Path [$path] is not readable"
+        }
+
+        if (mustBeWritable && !Files.isWritable(path))
+        {
+            return "Path [$path] is not writable"
+        }
+
+        return null
+    }
+
+    override fun toString(): String
+    {
+        return "PathCheck(type=$type, readable=$mustBeReadable, writable=$mustBeWritable, minSize=$minSize, " +
+               "maxSize=$maxSize, root=$root, followLinks=$followLinks)"
+    }
+
+    companion object
+    {
+        private const val ANY = 0
+        private const val REGULAR_FILE = 1
+        private const val DIRECTORY = 2
+
+        /** @return A check that the path exists, as a file, directory, or anything else. */
+        @JvmStatic
+        fun exists(): PathCheck
+        {
+            return PathCheck(ANY, false, false, 0, Long.MAX_VALUE, null, null, true)
+        }
+
+        /** @return A check that the path exists, and is a regular file. */
+        @JvmStatic
+        fun regularFile(): PathCheck
+        {
+            return PathCheck(REGULAR_FILE, false, false, 0, Long.MAX_VALUE, null, null, true)
+        }
+
+        /** @return A check that the path exists, and is a directory. */
+        @JvmStatic
+        fun directory(): PathCheck
+        {
+            return PathCheck(DIRECTORY, false, false, 0, Long.MAX_VALUE, null, null, true)
+        }
+    }
+}
+
+/**
+ * @return The path with symbolic links resolved, or `null` if it doesn't exist.
+ */
+internal fun realPathOf(path: Path): Path?
+{
+    return try
+    {
+        path.toRealPath()
+    }
+    catch (ex: IOException)
+    {
+        null
+    }
+}
+
+/**
+ * Checks a path that is lexically under [root] against the real path of [root], with symbolic links resolved.
+ * The deepest part of the path that exists is resolved, so a path that doesn't exist yet can't be created
+ * through a link either. Dangling links can't be resolved, so they count as outside.
+ *
+ * @param realRoot The real path of [root], if it was resolved ahead of time. A root that didn't exist then
+ *                 is resolved again.
+ */
+internal fun resolvesOutside(path: Path, root: Path, realRoot: Path?): Boolean
+{
+    //Nothing can exist under a root that doesn't exist
+    val resolvedRoot = realRoot ?: realPathOf(root) ?: return false
+
+    var existing = path.toAbsolutePath().normalize()
+
+    while (!Files.exists(existing, LinkOption.NOFOLLOW_LINKS))
+    {
+        existing = existing.parent ?: return false
+    }
+
+    val realPath = try
+    {
+        existing.toRealPath()
+    }
+    catch (ex: IOException)
+    {
+        return true
+    }
+
+    return !realPath.startsWith(resolvedRoot)
+}
@@ -18,9 +18,13 @@
 package tech.sirwellington.alchemy.arguments.assertions
 
 
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty
 import tech.sirwellington.alchemy.arguments.AlchemyAssertion
 import tech.sirwellington.alchemy.arguments.FailedAssertionException
+import tech.sirwellington.alchemy.arguments.checkNotNull
+import tech.sirwellington.alchemy.arguments.checkThat
 import tech.sirwellington.alchemy.arguments.isNullOrEmpty
+import java.util.Locale
 import java.util.regex.Pattern
 
 
@@ -60,4 +64,66 @@ fun validEmailAddress(): AlchemyAssertion<String>
             throw FailedAssertionException("Invalid Email Address: " + PATTERN)
         }
     }
-}
\ No newline at end of file
+}
+
+/**
+ * Checks that a phone number is in [E.164](https://en.wikipedia.org/wiki/E.164) form, such as `+14155552671`:
+ * a `+`, an assigned country calling code, and a national number of a plausible length for that code,
+ * with no spaces or punctuation.
+ *
+ * The check is a single pass over the number, against a built-in table of calling codes. It does not
+ * know which individual number ranges are in service; that takes a full library such as libphonenumber.
+ *
+ * @see phoneNumberForRegion
+ */
+fun validE164PhoneNumber(): AlchemyAssertion<String>
+{
+    return AlchemyAssertion { number ->
+
+        notNull<Any>().check(number)
+
+        if (CallingCodes.planOfNumber(number) < 0)
+        {
+            throw FailedAssertionException("Invalid E.164 phone number: [$number]")
+        }
+    }
+}
+
+/**
+ * Checks that a phone number is in E.164 form, and belongs to the calling code of a region.
+ *
+ * Regions that share a calling code can't be told apart; for example, `US` and `CA` both accept any
+ * valid `+1` number.
+ *
+ * @param region The ISO 3166 alpha-2 region code, such as `GB`. Case is ignored.
+ *               Use `001` for non-geographic numbers, such as `+800`.
+ *
+ * @throws IllegalArgumentException If the region is not known.
+ *
+ * @see validE164PhoneNumber
+ */
+@Throws(IllegalArgumentException::class)
+fun phoneNumberForRegion(@NonEmpty region: String): AlchemyAssertion<String>
+{
+    checkNotNull(region, "region cannot be null")
+
+    val upperCaseRegion = region.toUpperCase(Locale.ROOT)
+    checkThat(upperCaseRegion in CallingCodes.regions, "Unknown region: [$region]")
+
+    return AlchemyAssertion { number ->
+
+        notNull<Any>().check(number)
+
+        val plan = CallingCodes.planOfNumber(number)
+
+        if (plan < 0)
+        {
+            throw FailedAssertionException("Invalid E.164 phone number: [$number]")
+        }
+
+        if (!CallingCodes.isInRegion(plan, upperCaseRegion))
+        {
+            throw FailedAssertionException("Expected a phone number in region [$region], but was: [$number]")
+        }
+    }
+}
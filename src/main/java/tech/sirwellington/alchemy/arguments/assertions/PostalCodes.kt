@@ -0,0 +1,268 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import tech.sirwellington.alchemy.annotations.access.Internal
+import tech.sirwellington.alchemy.annotations.concurrency.Immutable
+
+/**
+ * The tables and matcher behind [validPostalCode] and [zipCodeInState].
+ *
+ * Each country maps to one or more formats, separated by `|`. Within a format:
+ * <pre>
+ * + `9` matches an ASCII digit
+ * + `A` matches an ASCII letter, in either case
+ * + `?` matches an ASCII digit or letter
+ * + `_` matches an optional single space
+ * + Anything else matches itself
+ * </pre>
+ *
+ * Matching scans the format string and the input side by side, without allocating.
+ *
+ * @author SirWellington
+ */
+@Internal
+@Immutable
+internal object PostalCodes
+{
+
+    const val US_ZIP_CODE = "99999"
+    const val US_ZIP_CODE_OR_ZIP_PLUS_4 = "99999|99999-9999"
+
+    private val FORMATS = mapOf(
+            "AR" to "A9999AAA|9999",
+            "AT" to "9999",
+            "AU" to "9999",
+            "BE" to "9999",
+            "BR" to "99999-999|99999999",
+            "CA" to "A9A_9A9",
+            "CH" to "9999",
+            "CN" to "999999",
+            "CZ" to "999_99",
+            "DE" to "99999",
+            "DK" to "9999",
+            "ES" to "99999",
+            "FI" to "99999",
+            "FR" to "99999",
+            "GB" to "A9_9AA|A99_9AA|AA9_9AA|AA99_9AA|A9A_9AA|AA9A_9AA",
+            "IE" to "A9?_????",
+            "IN" to "999999|999_999",
+            "IT" to "99999",
+            "JP" to "999-9999|9999999",
+            "KR" to "99999",
+            "MX" to "99999",
+            "NL" to "9999_AA",
+            "NO" to "9999",
+            "NZ" to "9999",
+            "PL" to "99-999",
+            "PT" to "9999-999",
+            "RU" to "999999",
+            "SE" to "999_99",
+            "US" to US_ZIP_CODE_OR_ZIP_PLUS_4,
+            "ZA" to "9999")
+
+    /**
+     * The ZIP3 prefix ranges of each US state and territory, as `first-last` pairs.
+     * Not every prefix within a range is in use.
+     */
+    private val US_ZIP3_RANGES = mapOf(
+            "AK" to intArrayOf(995, 999),
+            "AL" to intArrayOf(350, 369),
+            "AR" to intArrayOf(716, 729),
+            "AZ" to intArrayOf(850, 865),
+            "CA" to intArrayOf(900, 961),
+            "CO" to intArrayOf(800, 816),
+            "CT" to intArrayOf(60, 69),
+            "DC" to intArrayOf(200, 200, 202, 205, 569, 569),
+            "DE" to intArrayOf(197, 199),
+            "FL" to intArrayOf(320, 349),
+            "GA" to intArrayOf(300, 319, 398, 399),
+            "HI" to intArrayOf(967, 968),
+            "IA" to intArrayOf(500, 528),
+            "ID" to intArrayOf(832, 838),
+            "IL" to intArrayOf(600, 629),
+            "IN" to intArrayOf(460, 479),
+            "KS" to intArrayOf(660, 679),
+            "KY" to intArrayOf(400, 427),
+            "LA" to intArrayOf(700, 714),
+            "MA" to intArrayOf(10, 27, 55, 55),
+            "MD" to intArrayOf(206, 219),
+            "ME" to intArrayOf(39, 49),
+            "MI" to intArrayOf(480, 499),
+            "MN" to intArrayOf(550, 567),
+            "MO" to intArrayOf(630, 658),
+            "MS" to intArrayOf(386, 397),
+            "MT" to intArrayOf(590, 599),
+            "NC" to intArrayOf(270, 289),
+            "ND" to intArrayOf(580, 588),
+            "NE" to intArrayOf(680, 693),
+            "NH" to intArrayOf(30, 38),
+            "NJ" to intArrayOf(70, 89),
+            "NM" to intArrayOf(870, 884),
+            "NV" to intArrayOf(889, 898),
+            "NY" to intArrayOf(5, 5, 100, 149),
+            "OH" to intArrayOf(430, 459),
+            "OK" to intArrayOf(730, 732, 734, 749),
+            "OR" to intArrayOf(970, 979),
+            "PA" to intArrayOf(150, 196),
+            "PR" to intArrayOf(6, 7, 9, 9),
+            "RI" to intArrayOf(28, 29),
+            "SC" to intArrayOf(290, 299),
+            "SD" to intArrayOf(570, 577),
+            "TN" to intArrayOf(370, 385),
+            "TX" to intArrayOf(733, 733, 750, 799, 885, 885),
+            "UT" to intArrayOf(840, 847),
+            "VA" to intArrayOf(201, 201, 220, 246),
+            "VI" to intArrayOf(8, 8),
+            "VT" to intArrayOf(50, 54, 56, 59),
+            "WA" to intArrayOf(980, 994),
+            "WI" to intArrayOf(530, 549),
+            "WV" to intArrayOf(247, 268),
+            "WY" to intArrayOf(820, 831))
+
+    private val STATES = US_ZIP3_RANGES.keys.toTypedArray()
+
+    /**
+     * Maps each ZIP3 prefix to `1 +` the index of its state in [STATES], or `0` if it is unassigned.
+     */
+    private val STATE_OF_ZIP3 = ByteArray(1000).apply {
+
+        STATES.forEachIndexed { index, state ->
+
+            val ranges = US_ZIP3_RANGES.getValue(state)
+
+            for (range in 0 until ranges.size step 2)
+            {
+                for (prefix in ranges[range]..ranges[range + 1])
+                {
+                    this[prefix] = (index + 1).toByte()
+                }
+            }
+        }
+    }
+
+    val countries: Set<String>
+        get() = FORMATS.keys
+
+    val states: Set<String>
+        get() = US_ZIP3_RANGES.keys
+
+    /**
+     * @param countryCode An upper-case, ISO 3166 alpha-2 country code.
+     *
+     * @return The formats of the country, or `null` if the country is not supported.
+     */
+    fun formatsOf(countryCode: String): String?
+    {
+        return FORMATS[countryCode]
+    }
+
+    /**
+     * @return The index of the state in [states] that the ZIP3 prefix of the zip code belongs to,
+     *         or `-1` if it does not belong to one. The zip code must already be validated.
+     */
+    fun stateIndexOf(zipCode: CharSequence): Int
+    {
+        val prefix = (zipCode[0] - '0') * 100 + (zipCode[1] - '0') * 10 + (zipCode[2] - '0')
+        return STATE_OF_ZIP3[prefix] - 1
+    }
+
+    fun indexOfState(state: String): Int
+    {
+        return STATES.indexOf(state)
+    }
+
+    /**
+     * @return true if the [input] matches any of the `|`-separated [formats].
+     */
+    fun matchesAnyFormat(formats: String, input: CharSequence): Boolean
+    {
+        var start = 0
+
+        while (start <= formats.length)
+        {
+            var end = formats.indexOf('|', start)
+
+            if (end < 0)
+            {
+                end = formats.length
+            }
+
+            if (matchesFormat(formats, start, end, input))
+            {
+                return true
+            }
+
+            start = end + 1
+        }
+
+        return false
+    }
+
+    private fun matchesFormat(formats: String, start: Int, end: Int, input: CharSequence): Boolean
+    {
+        var position = 0
+
+        for (i in start until end)
+        {
+            val token = formats[i]
+
+            if (token == '_')
+            {
+                if (position < input.length && input[position] == ' ')
+                {
+                    position += 1
+                }
+
+                continue
+            }
+
+            if (position >= input.length)
+            {
+                return false
+            }
+
+            val character = input[position]
+
+            val matches = when (token)
+            {
+                '9' -> isAsciiDigit(character)
+                'A' -> isAsciiLetter(character)
+                '?' -> isAsciiDigit(character) || isAsciiLetter(character)
+                else -> character == token
+            }
+
+            if (!matches)
+            {
+                return false
+            }
+
+            position += 1
+        }
+
+        return position == input.length
+    }
+
+    private fun isAsciiDigit(character: Char): Boolean
+    {
+        return character in '0'..'9'
+    }
+
+    private fun isAsciiLetter(character: Char): Boolean
+    {
+        return character in 'A'..'Z' || character in 'a'..'z'
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import tech.sirwellington.alchemy.annotations.access.Internal
+import tech.sirwellington.alchemy.annotations.concurrency.Immutable
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe
+import java.io.InputStream
+import java.net.IDN
+import java.util.Locale
+import java.util.TreeMap
+
+/**
+ * A trie of public suffixes (such as `com` or `co.uk`), keyed by label from right to left.
+ *
+ * The rules are read from a bundled copy of the [Public Suffix List](https://publicsuffix.org),
+ * the first time a lookup is made. The trie is then flattened into arrays, with all of the labels
+ * in one String, so that a lookup walks the hostname once from right to left without allocating.
+ *
+ * @author SirWellington
+ */
+@Internal
+@Immutable
+@ThreadSafe
+internal class PublicSuffixes private constructor(private val labels: String,
+                                                  private val labelStarts: IntArray,
+                                                  private val labelEnds: IntArray,
+                                                  private val flags: ByteArray,
+                                                  private val firstChildren: IntArray,
+                                                  private val childCounts: IntArray)
+{
+
+    /**
+     * Finds where the registrable domain (also known as "eTLD+1") of a hostname starts.
+     * For example, it is `example.co.uk` in `www.example.co.uk`.
+     *
+     * Hostnames that match no rule are treated as having a single-label public suffix.
+     *
+     * @param host A lower or upper-case hostname in ASCII form, without a trailing dot.
+     *
+     * @return The index in [host] where the registrable domain starts, or `-1` if the
+     *         [host] is itself a public suffix.
+     */
+    fun registrableDomainStart(host: CharSequence): Int
+    {
+        var node = ROOT
+        var labelEnd = host.length
+        //Where the public suffix starts; by default it is the last label
+        var suffixStart = -1
+
+        while (labelEnd > 0)
+        {
+            val labelStart = lastIndexOf('.', host, labelEnd - 1) + 1
+            val child = findChild(node, host, labelStart, labelEnd)
+
+            if (child >= 0 && hasFlag(child, EXCEPTION))
+            {
+                //The public suffix is everything to the right of this label
+                suffixStart = labelEnd + 1
+                break
+            }
+
+            if (suffixStart < 0 || hasFlag(node, WILDCARD) || (child >= 0 && hasFlag(child, RULE)))
+            {
+                suffixStart = labelStart
+            }
+
+            if (child < 0)
+            {
+                break
+            }
+
+            node = child
+            labelEnd = labelStart - 1
+        }
+
+        if (suffixStart <= 0)
+        {
+            return -1
+        }
+
+        return lastIndexOf('.', host, suffixStart - 2) + 1
+    }
+
+    private fun findChild(node: Int, host: CharSequence, start: Int, end: Int): Int
+    {
+        var low = firstChildren[node]
+        var high = low + childCounts[node] - 1
+
+        while (low <= high)
+        {
+            val middle = (low + high) ushr 1
+            val comparison = compareLabel(middle, host, start, end)
+
+            when
+            {
+                comparison < 0 -> low = middle + 1
+                comparison > 0 -> high = middle - 1
+                else -> return middle
+            }
+        }
+
+        return -1
+    }
+
+    /**
+     * Compares the label of a node to `host[start, end)`, ignoring the case of the host.
+     */
+    private fun compareLabel(node: Int, host: CharSequence, start: Int, end: Int): Int
+    {
+        val labelStart = labelStarts[node]
+        val labelLength = labelEnds[node] - labelStart
+        val length = end - start
+
+        for (i in 0 until Math.min(labelLength, length))
+        {
+            val expected = labels[labelStart + i]
+            val actual = toLowerAscii(host[start + i])
+
+            if (expected != actual)
+            {
+                return expected - actual
+            }
+        }
+
+        return labelLength - length
+    }
+
+    private fun hasFlag(node: Int, flag: Int): Boolean
+    {
+        return (flags[node].toInt() and flag) != 0
+    }
+
+    companion object
+    {
+        private const val RESOURCE = "public_suffix_list.dat"
+
+        private const val ROOT = 0
+        private const val RULE = 1
+        private const val WILDCARD = 2
+        private const val EXCEPTION = 4
+
+        /**
+         * The bundled list, loaded on first use.
+         */
+        val DEFAULT: PublicSuffixes by lazy {
+
+            val stream = PublicSuffixes::class.java.getResourceAsStream(RESOURCE)
+                    ?: throw IllegalStateException("Missing resource: $RESOURCE")
+
+            stream.use { load(it) }
+        }
+
+        /**
+         * Reads rules in the format of the Public Suffix List.
+         */
+        fun load(input: InputStream): PublicSuffixes
+        {
+            val root = Node()
+
+            input.bufferedReader(Charsets.UTF_8).forEachLine { line ->
+
+                val rule = line.trim().split(' ', '\t').first()
+
+                if (rule.isNotEmpty() && !rule.startsWith("//"))
+                {
+                    add(root, rule)
+                }
+            }
+
+            return flatten(root)
+        }
+
+        private fun add(root: Node, rule: String)
+        {
+            val exception = rule.startsWith("!")
+            val ascii = IDN.toASCII(rule.removePrefix("!")).toLowerCase(Locale.ROOT)
+            val ruleLabels = ascii.split('.').reversed()
+
+            var node = root
+
+            for ((index, label) in ruleLabels.withIndex())
+            {
+                val last = index == ruleLabels.size - 1
+
+                if (label == "*" && last)
+                {
+                    node.flags = node.flags or WILDCARD
+                    return
+                }
+
+                node = node.children.getOrPut(label) { Node() }
+            }
+
+            node.flags = node.flags or (if (exception) EXCEPTION else RULE)
+        }
+
+        /**
+         * Numbers the nodes breadth-first, so that the children of each node are contiguous
+         * and sorted by label.
+         */
+        private fun flatten(root: Node): PublicSuffixes
+        {
+            val nodes = ArrayList<Pair<String, Node>>()
+            nodes.add("" to root)
+
+            var next = 0
+            while (next < nodes.size)
+            {
+                nodes[next].second.children.forEach { (label, child) -> nodes.add(label to child) }
+                next += 1
+            }
+
+            val labels = StringBuilder()
+            val labelStarts = IntArray(nodes.size)
+            val labelEnds = IntArray(nodes.size)
+            val flags = ByteArray(nodes.size)
+            val firstChildren = IntArray(nodes.size)
+            val childCounts = IntArray(nodes.size)
+            var nextChild = 1
+
+            nodes.forEachIndexed { index, (label, node) ->
+
+                labelStarts[index] = labels.length
+                labels.append(label)
+                labelEnds[index] = labels.length
+                flags[index] = node.flags.toByte()
+                firstChildren[index] = nextChild
+                childCounts[index] = node.children.size
+                nextChild += node.children.size
+            }
+
+            return PublicSuffixes(labels.toString(), labelStarts, labelEnds, flags, firstChildren, childCounts)
+        }
+
+        private fun lastIndexOf(character: Char, string: CharSequence, from: Int): Int
+        {
+            var i = from
+
+            while (i >= 0 && string[i] != character)
+            {
+                i -= 1
+            }
+
+            return i
+        }
+
+        private fun toLowerAscii(character: Char): Char
+        {
+            return if (character in 'A'..'Z') character + ('a' - 'A') else character
+        }
+    }
+
+    private class Node
+    {
+        var flags = 0
+        val children = TreeMap<String, Node>()
+    }
+}
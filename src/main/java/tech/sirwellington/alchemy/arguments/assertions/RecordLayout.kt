@@ -0,0 +1,535 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty
+import tech.sirwellington.alchemy.annotations.arguments.Positive
+import tech.sirwellington.alchemy.annotations.arguments.Required
+import tech.sirwellington.alchemy.annotations.concurrency.Immutable
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe
+import tech.sirwellington.alchemy.annotations.designs.patterns.BuilderPattern
+import tech.sirwellington.alchemy.annotations.designs.patterns.BuilderPattern.Role.BUILDER
+import tech.sirwellington.alchemy.annotations.designs.patterns.BuilderPattern.Role.PRODUCT
+import tech.sirwellington.alchemy.arguments.AlchemyAssertion
+import tech.sirwellington.alchemy.arguments.FailedAssertionException
+import tech.sirwellington.alchemy.arguments.checkNotNull
+import tech.sirwellington.alchemy.arguments.checkThat
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
+/**
+ * Validates fixed-size binary records in place, in a [ByteBuffer], without reading them into objects:
+ *
+ * ```
+ * val layout = RecordLayout.newBuilder()
+ *         .recordSize(24)
+ *         .longBetween("timestamp", 0, 1, Long.MAX_VALUE)
+ *         .intBetween("quantity", 8, 1, 1_000_000)
+ *         .doubleBetween("price", 12, 0.0, 1e9)
+ *         .unsignedShortBetween("port", 20, 1, 65535)
+ *         .build()
+ *
+ * layout.checkRecords(buffer)
+ * ```
+ *
+ * Fields are declared by name, offset within the record, and type. Range checks read the
+ * value straight from the buffer and compare it as a primitive, so validating records creates no objects
+ * unless one fails. Fields given an [AlchemyAssertion] instead are boxed before they are checked.
+ *
+ * Buffers are read with absolute gets, and are never changed, so one buffer can be checked from many threads.
+ *
+ * @author SirWellington
+ */
+@Immutable
+@ThreadSafe
+@BuilderPattern(role = PRODUCT)
+class RecordLayout private constructor(@Positive val recordSize: Int,
+                                       private val byteOrder: ByteOrder,
+                                       private val names: Array<String>,
+                                       private val types: Array<FieldType>,
+                                       private val offsets: IntArray,
+                                       private val minimums: LongArray,
+                                       private val maximums: LongArray,
+                                       private val doubleMinimums: DoubleArray,
+                                       private val doubleMaximums: DoubleArray,
+                                       private val assertions: Array<AlchemyAssertion<Any>?>)
+{
+
+    private val codes = IntArray(types.size) { codeOf(types[it]) }
+
+    /**
+     * The primitive type of a field, as it is stored in a record.
+     */
+    enum class FieldType(val size: Int)
+    {
+        BYTE(1),
+        SHORT(2),
+        UNSIGNED_SHORT(2),
+        INT(4),
+        LONG(8),
+        FLOAT(4),
+        DOUBLE(8)
+    }
+
+    /**
+     * Checks the record that starts at [index] of the buffer.
+     *
+     * @throws FailedAssertionException If a field of the record fails.
+     */
+    @Throws(FailedAssertionException::class)
+    fun checkRecord(@Required buffer: ByteBuffer, index: Int)
+    {
+        checkNotNull(buffer, "buffer cannot be null")
+        checkThat(index >= 0 && index + recordSize <= buffer.limit(), "record at [$index] is outside of the buffer")
+
+        val field = firstFailingField(buffer, index)
+
+        if (field >= 0)
+        {
+            throw failureOf(buffer, index, field, "Record at [$index]")
+        }
+    }
+
+    /**
+     * Checks each record between the buffer's position and limit, stopping at the first that fails. The
+     * records must fill that space exactly.
+     *
+     * @throws FailedAssertionException If a record fails, or the space is not a whole number of records.
+     */
+    @Throws(FailedAssertionException::class)
+    fun checkRecords(@Required buffer: ByteBuffer)
+    {
+        checkNotNull(buffer, "buffer cannot be null")
+
+        val remaining = buffer.remaining()
+
+        if (remaining % recordSize != 0)
+        {
+            throw FailedAssertionException("Expected a whole number of $recordSize-byte records, but there are [$remaining] bytes")
+        }
+
+        val record = firstFailingRecord(buffer)
+
+        if (record >= 0)
+        {
+            val index = buffer.position() + record * recordSize
+            throw failureOf(buffer, index, firstFailingField(buffer, index), "Record [$record]")
+        }
+    }
+
+    /**
+     * Finds the first record that fails, between the buffer's position and limit. A partial record at the
+     * end is not checked.
+     *
+     * @return The number of the failing record, counting from the buffer's position, or `-1` if they all pass.
+     */
+    fun firstFailingRecord(@Required buffer: ByteBuffer): Int
+    {
+        checkNotNull(buffer, "buffer cannot be null")
+
+        val start = buffer.position()
+        val count = buffer.remaining() / recordSize
+
+        for (record in 0 until count)
+        {
+            if (firstFailingField(buffer, start + record * recordSize) >= 0)
+            {
+                return record
+            }
+        }
+
+        return -1
+    }
+
+    /**
+     * @return An assertion that checks every record between a buffer's position and limit.
+     *
+     * @see checkRecords
+     */
+    fun toAssertion(): AlchemyAssertion<ByteBuffer>
+    {
+        return AlchemyAssertion { buffer ->
+
+            notNull<Any>().check(buffer)
+            checkRecords(buffer)
+        }
+    }
+
+    /**
+     * @return The index of the first field that fails in the record at [index], or `-1` if none do.
+     */
+    private fun firstFailingField(buffer: ByteBuffer, index: Int): Int
+    {
+        val swap = buffer.order() != byteOrder
+
+        for (field in offsets.indices)
+        {
+            val position = index + offsets[field]
+
+            if (assertions[field] != null)
+            {
+                if (!passes(field, buffer, position, swap))
+                {
+                    return field
+                }
+
+                continue
+            }
+
+            //The codes are constants, so this compiles to a table switch, without the enum's mapping array
+            val passes = when (codes[field])
+            {
+                FLOAT ->
+                {
+                    val value = java.lang.Float.intBitsToFloat(swapped(buffer.getInt(position), swap)).toDouble()
+                    value >= doubleMinimums[field] && value <= doubleMaximums[field]
+                }
+
+                DOUBLE ->
+                {
+                    val value = java.lang.Double.longBitsToDouble(swapped(buffer.getLong(position), swap))
+                    value >= doubleMinimums[field] && value <= doubleMaximums[field]
+                }
+
+                else ->
+                {
+                    val value = readLong(buffer, position, codes[field], swap)
+                    value >= minimums[field] && value <= maximums[field]
+                }
+            }
+
+            if (!passes)
+            {
+                return field
+            }
+        }
+
+        return -1
+    }
+
+    private fun passes(field: Int, buffer: ByteBuffer, position: Int, swap: Boolean): Boolean
+    {
+        return try
+        {
+            assertions[field]!!.check(valueOf(field, buffer, position, swap))
+            true
+        }
+        catch (ex: FailedAssertionException)
+        {
+            false
+        }
+        catch (ex: RuntimeException)
+        {
+            //Like any other assertion, one that throws something unexpected fails the record
+            false
+        }
+    }
+
+    private fun valueOf(field: Int, buffer: ByteBuffer, position: Int, swap: Boolean): Any
+    {
+        val type = types[field]
+
+        return when (type)
+        {
+            FieldType.FLOAT, FieldType.DOUBLE -> readDouble(buffer, position, type, swap)
+            else -> boxed(type, readLong(buffer, position, codes[field], swap))
+        }
+    }
+
+    private fun failureOf(buffer: ByteBuffer, index: Int, field: Int, record: String): FailedAssertionException
+    {
+        val type = types[field]
+        val value = valueOf(field, buffer, index + offsets[field], buffer.order() != byteOrder)
+
+        val prefix = "$record: field [${names[field]}]"
+        val assertion = assertions[field]
+
+        if (assertion == null)
+        {
+            val range = when (type)
+            {
+                FieldType.FLOAT, FieldType.DOUBLE -> "${doubleMinimums[field]} and ${doubleMaximums[field]}"
+                else -> "${minimums[field]} and ${maximums[field]}"
+            }
+
+            return FailedAssertionException("$prefix must be between $range, but was [$value]")
+        }
+
+        return try
+        {
+            assertion.check(value)
+            FailedAssertionException("$prefix is invalid: [$value]")
+        }
+        catch (ex: FailedAssertionException)
+        {
+            FailedAssertionException("$prefix is invalid: ${ex.message}", ex)
+        }
+        catch (ex: RuntimeException)
+        {
+            FailedAssertionException("$prefix is invalid: unexpected exception: $ex", ex)
+        }
+    }
+
+    private fun readLong(buffer: ByteBuffer, position: Int, code: Int, swap: Boolean): Long
+    {
+        return when (code)
+        {
+            BYTE -> buffer.get(position).toLong()
+            SHORT -> swapped(buffer.getShort(position), swap).toLong()
+            UNSIGNED_SHORT -> swapped(buffer.getShort(position), swap).toLong() and 0xFFFF
+            INT -> swapped(buffer.getInt(position), swap).toLong()
+            else -> swapped(buffer.getLong(position), swap)
+        }
+    }
+
+    private fun readDouble(buffer: ByteBuffer, position: Int, type: FieldType, swap: Boolean): Double
+    {
+        //Reading the raw bits lets them be swapped when the buffer's order doesn't match the layout's
+        return when (type)
+        {
+            FieldType.FLOAT -> java.lang.Float.intBitsToFloat(swapped(buffer.getInt(position), swap)).toDouble()
+            else -> java.lang.Double.longBitsToDouble(swapped(buffer.getLong(position), swap))
+        }
+    }
+
+    private fun swapped(value: Short, swap: Boolean) = if (swap) java.lang.Short.reverseBytes(value) else value
+
+    private fun swapped(value: Int, swap: Boolean) = if (swap) Integer.reverseBytes(value) else value
+
+    private fun swapped(value: Long, swap: Boolean) = if (swap) java.lang.Long.reverseBytes(value) else value
+
+    private fun boxed(type: FieldType, value: Long): Any
+    {
+        return when (type)
+        {
+            FieldType.INT, FieldType.UNSIGNED_SHORT -> value.toInt()
+            FieldType.LONG -> value
+            FieldType.SHORT -> value.toShort()
+            else -> value.toByte()
+        }
+    }
+
+    /**
+     * Builds a [RecordLayout]. Fields may be declared in any order, and may overlap.
+     */
+    @BuilderPattern(role = BUILDER)
+    class Builder internal constructor()
+    {
+        private var recordSize = 0
+        private var byteOrder = ByteOrder.BIG_ENDIAN
+        private val fields = ArrayList<Field>()
+
+        @Throws(IllegalArgumentException::class)
+        fun recordSize(@Positive recordSize: Int): Builder
+        {
+            checkThat(recordSize > 0, "recordSize must be > 0")
+
+            this.recordSize = recordSize
+            return this
+        }
+
+        /**
+         * Sets the byte order of the fields. Defaults to [ByteOrder.BIG_ENDIAN]. Buffers in the other order
+         * are read correctly, at the cost of swapping bytes.
+         */
+        fun byteOrder(@Required byteOrder: ByteOrder): Builder
+        {
+            checkNotNull(byteOrder, "byteOrder cannot be null")
+
+            this.byteOrder = byteOrder
+            return this
+        }
+
+        @Throws(IllegalArgumentException::class)
+        fun byteBetween(@NonEmpty name: String, offset: Int, min: Byte, max: Byte): Builder
+        {
+            return addRange(name, offset, FieldType.BYTE, min.toLong(), max.toLong())
+        }
+
+        @Throws(IllegalArgumentException::class)
+        fun shortBetween(@NonEmpty name: String, offset: Int, min: Short, max: Short): Builder
+        {
+            return addRange(name, offset, FieldType.SHORT, min.toLong(), max.toLong())
+        }
+
+        /**
+         * Adds a 2-byte unsigned field, such as a port number, which must be between [min] and [max].
+         */
+        @Throws(IllegalArgumentException::class)
+        fun unsignedShortBetween(@NonEmpty name: String, offset: Int, min: Int, max: Int): Builder
+        {
+            checkThat(min >= 0 && max <= 0xFFFF, "An unsigned short is between 0 and 65535")
+
+            return addRange(name, offset, FieldType.UNSIGNED_SHORT, min.toLong(), max.toLong())
+        }
+
+        @Throws(IllegalArgumentException::class)
+        fun intBetween(@NonEmpty name: String, offset: Int, min: Int, max: Int): Builder
+        {
+            return addRange(name, offset, FieldType.INT, min.toLong(), max.toLong())
+        }
+
+        @Throws(IllegalArgumentException::class)
+        fun longBetween(@NonEmpty name: String, offset: Int, min: Long, max: Long): Builder
+        {
+            return addRange(name, offset, FieldType.LONG, min, max)
+        }
+
+        /**
+         * Adds a 4-byte floating point field. NaN is never between [min] and [max].
+         */
+        @Throws(IllegalArgumentException::class)
+        fun floatBetween(@NonEmpty name: String, offset: Int, min: Float, max: Float): Builder
+        {
+            return addRange(name, offset, FieldType.FLOAT, min.toDouble(), max.toDouble())
+        }
+
+        /**
+         * Adds an 8-byte floating point field. NaN is never between [min] and [max].
+         */
+        @Throws(IllegalArgumentException::class)
+        fun doubleBetween(@NonEmpty name: String, offset: Int, min: Double, max: Double): Builder
+        {
+            return addRange(name, offset, FieldType.DOUBLE, min, max)
+        }
+
+        /**
+         * Adds a 4-byte field checked by an assertion, such as [validPort]. The value is boxed for each check;
+         * prefer [intBetween] for ranges.
+         */
+        @Throws(IllegalArgumentException::class)
+        fun intField(@NonEmpty name: String, offset: Int, @Required assertion: AlchemyAssertion<Int>): Builder
+        {
+            return addAssertion(name, offset, FieldType.INT, assertion)
+        }
+
+        /**
+         * Adds an 8-byte field checked by an assertion. The value is boxed for each check.
+         */
+        @Throws(IllegalArgumentException::class)
+        fun longField(@NonEmpty name: String, offset: Int, @Required assertion: AlchemyAssertion<Long>): Builder
+        {
+            return addAssertion(name, offset, FieldType.LONG, assertion)
+        }
+
+        /**
+         * Adds an 8-byte floating point field checked by an assertion. The value is boxed for each check.
+         */
+        @Throws(IllegalArgumentException::class)
+        fun doubleField(@NonEmpty name: String, offset: Int, @Required assertion: AlchemyAssertion<Double>): Builder
+        {
+            return addAssertion(name, offset, FieldType.DOUBLE, assertion)
+        }
+
+        @Throws(IllegalArgumentException::class)
+        fun build(): RecordLayout
+        {
+            checkThat(recordSize > 0, "recordSize must be set")
+            checkThat(fields.isNotEmpty(), "at least one field is required")
+
+            fields.forEach { field ->
+
+                checkThat(field.offset + field.type.size <= recordSize,
+                          "field [${field.name}] does not fit in a $recordSize-byte record")
+            }
+
+            return RecordLayout(recordSize = recordSize,
+                                byteOrder = byteOrder,
+                                names = fields.map { it.name }.toTypedArray(),
+                                types = fields.map { it.type }.toTypedArray(),
+                                offsets = fields.map { it.offset }.toIntArray(),
+                                minimums = fields.map { it.min }.toLongArray(),
+                                maximums = fields.map { it.max }.toLongArray(),
+                                doubleMinimums = fields.map { it.doubleMin }.toDoubleArray(),
+                                doubleMaximums = fields.map { it.doubleMax }.toDoubleArray(),
+                                assertions = fields.map { it.assertion }.toTypedArray())
+        }
+
+        private fun addRange(name: String, offset: Int, type: FieldType, min: Long, max: Long): Builder
+        {
+            checkField(name, offset)
+            checkThat(min <= max, "min must be <= max")
+
+            fields.add(Field(name, offset, type, min = min, max = max))
+            return this
+        }
+
+        private fun addRange(name: String, offset: Int, type: FieldType, min: Double, max: Double): Builder
+        {
+            checkField(name, offset)
+            checkThat(min <= max, "min must be <= max")
+
+            fields.add(Field(name, offset, type, doubleMin = min, doubleMax = max))
+            return this
+        }
+
+        private fun addAssertion(name: String, offset: Int, type: FieldType, assertion: AlchemyAssertion<*>): Builder
+        {
+            checkField(name, offset)
+            checkNotNull(assertion, "assertion cannot be null")
+
+            @Suppress("UNCHECKED_CAST")
+            fields.add(Field(name, offset, type, assertion = assertion as AlchemyAssertion<Any>))
+            return this
+        }
+
+        private fun checkField(name: String, offset: Int)
+        {
+            checkThat(name.isNotEmpty(), "name cannot be empty")
+            checkThat(offset >= 0, "offset must be >= 0")
+        }
+    }
+
+    private class Field(val name: String,
+                        val offset: Int,
+                        val type: FieldType,
+                        val min: Long = 0,
+                        val max: Long = 0,
+                        val doubleMin: Double = 0.0,
+                        val doubleMax: Double = 0.0,
+                        val assertion: AlchemyAssertion<Any>? = null)
+
+    companion object
+    {
+        private const val BYTE = 0
+        private const val SHORT = 1
+        private const val UNSIGNED_SHORT = 2
+        private const val INT = 3
+        private const val LONG = 4
+        private const val FLOAT = 5
+        private const val DOUBLE = 6
+
+        private fun codeOf(type: FieldType): Int
+        {
+            return when (type)
+            {
+                FieldType.BYTE -> BYTE
+                FieldType.SHORT -> SHORT
+                FieldType.UNSIGNED_SHORT -> UNSIGNED_SHORT
+                FieldType.INT -> INT
+                FieldType.LONG -> LONG
+                FieldType.FLOAT -> FLOAT
+                FieldType.DOUBLE -> DOUBLE
+            }
+        }
+
+        @JvmStatic
+        fun newBuilder(): Builder
+        {
+            return Builder()
+        }
+    }
+}
@@ -22,6 +22,7 @@ import tech.sirwellington.alchemy.arguments.AlchemyAssertion
 import tech.sirwellington.alchemy.arguments.FailedAssertionException
 import tech.sirwellington.alchemy.arguments.checkNotNull
 import tech.sirwellington.alchemy.arguments.checkThat
+import java.time.Clock
 import java.time.Instant
 
 /**
@@ -33,15 +34,20 @@ import java.time.Instant
  * Asserts that the [Instant] is in the past. Note that the present is constantly recalculated in order to
  * stay current.
 
+ * @param clock The [Clock] used to determine the present. Use a [CoarseClock] for high-throughput checks.
+ *
  * @return
  */
-
-fun inThePast(): AlchemyAssertion<Instant>
+@JvmOverloads
+@Throws(IllegalArgumentException::class)
+fun inThePast(@Required clock: Clock = Clock.systemUTC()): AlchemyAssertion<Instant>
 {
+    checkNotNull(clock, "clock cannot be null")
+
     return AlchemyAssertion { argument ->
 
         //Recalculate the present on each call to stay current
-        val present = Instant.now()
+        val present = clock.instant()
         if (!argument.isBefore(present))
         {
             throw FailedAssertionException("Expected Timestamp [$argument] to be in the past. Now: [$present]")
@@ -65,13 +71,22 @@ fun before(@Required expected: Instant): AlchemyAssertion<Instant>
     }
 }
 
-
-fun inTheFuture(): AlchemyAssertion<Instant>
+/**
+ * Asserts that the [Instant] is in the future. Note that the present is constantly recalculated in order to
+ * stay current.
+ *
+ * @param clock The [Clock] used to determine the present. Use a [CoarseClock] for high-throughput checks.
+ */
+@JvmOverloads
+@Throws(IllegalArgumentException::class)
+fun inTheFuture(@Required clock: Clock = Clock.systemUTC()): AlchemyAssertion<Instant>
 {
+    checkNotNull(clock, "clock cannot be null")
+
     return AlchemyAssertion { argument ->
 
         //Recalculate the present on each call to stay current
-        val present = Instant.now()
+        val present = clock.instant()
         if (!argument.isAfter(present))
         {
             throw FailedAssertionException("Expected Timestamp [$argument] to be in the future. Now: [$present]")
@@ -100,14 +115,17 @@ fun after(@Required expected: Instant): AlchemyAssertion<Instant>
  * within a margin-of-error of 5 milliseconds. This should be acceptable for most modern processors.
  * Use [.nowWithinDelta] for more fine-grained deltas.
 
+ * @param clock The [Clock] used to determine the present.
+ *
  * @return
  *
  * @see .nowWithinDelta
  */
-
-fun rightNow(): AlchemyAssertion<Instant>
+@JvmOverloads
+@Throws(IllegalArgumentException::class)
+fun rightNow(@Required clock: Clock = Clock.systemUTC()): AlchemyAssertion<Instant>
 {
-    return nowWithinDelta(5L)
+    return nowWithinDelta(5L, clock)
 }
 
 /**
@@ -115,6 +133,7 @@ fun rightNow(): AlchemyAssertion<Instant>
 
  * @param marginOfErrorInMillis The Acceptable Margin-Of-Error, in Milliseconds. The instant must be within this delta.
  *
+ * @param clock The [Clock] used to determine the present. Use a [CoarseClock] for high-throughput checks.
  *
  * @return
  *
@@ -123,15 +142,16 @@ fun rightNow(): AlchemyAssertion<Instant>
  *
  * @see .rightNow
  */
+@JvmOverloads
 @Throws(IllegalArgumentException::class)
-
-fun nowWithinDelta(marginOfErrorInMillis: Long): AlchemyAssertion<Instant>
+fun nowWithinDelta(marginOfErrorInMillis: Long, @Required clock: Clock = Clock.systemUTC()): AlchemyAssertion<Instant>
 {
     checkThat(marginOfErrorInMillis >= 0, "millis must be non-negative.")
+    checkNotNull(clock, "clock cannot be null")
 
     return AlchemyAssertion { instant ->
 
-        val now = Instant.now().toEpochMilli()
+        val now = clock.millis()
         notNull<Any>().check(instant)
 
         val epoch = instant.toEpochMilli()
@@ -178,12 +198,15 @@ fun equalToInstantWithinDelta(@Required instant: Instant, deltaMillis: Long): Al
 /**
  * Epoch version of [.rightNow].
 
+ * @param clock The [Clock] used to determine the present.
+ *
  * @return
  */
-
-fun epochRightNow(): AlchemyAssertion<Long>
+@JvmOverloads
+@Throws(IllegalArgumentException::class)
+fun epochRightNow(@Required clock: Clock = Clock.systemUTC()): AlchemyAssertion<Long>
 {
-    return epochNowWithinDelta(5L)
+    return epochNowWithinDelta(5L, clock)
 }
 
 /**
@@ -194,17 +217,20 @@ fun epochRightNow(): AlchemyAssertion<Long>
  *
  * @return
  *
+ * @param clock The [Clock] used to determine the present. Use a [CoarseClock] for high-throughput checks.
+ *
  * @throws IllegalArgumentException If the marginOfError is `< 0`.
  */
+@JvmOverloads
 @Throws(IllegalArgumentException::class)
-
-fun epochNowWithinDelta(marginOfErrorInMillis: Long): AlchemyAssertion<Long>
+fun epochNowWithinDelta(marginOfErrorInMillis: Long, @Required clock: Clock = Clock.systemUTC()): AlchemyAssertion<Long>
 {
     checkThat(marginOfErrorInMillis >= 0, "millis must be non-negative.")
+    checkNotNull(clock, "clock cannot be null")
 
     return AlchemyAssertion { epoch ->
 
-        val now = Instant.now().toEpochMilli()
+        val now = clock.millis()
         greaterThan(0L).check(epoch)
 
         val difference = Math.abs(epoch!! - now)
@@ -0,0 +1,204 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import tech.sirwellington.alchemy.annotations.access.Internal
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe
+import java.nio.ByteBuffer
+
+/**
+ * A UTF-8 validator that works directly on bytes, without decoding them into a String.
+ *
+ * Runs of ASCII are skipped eight bytes at a time, by reading them as a `long` and testing the high bit of each
+ * byte at once. Other sequences are checked against the well-formed byte sequences of the Unicode Standard
+ * (Table 3-7), which excludes overlong forms, surrogates, and code points above `U+10FFFF`.
+ *
+ * @author SirWellington
+ */
+@Internal
+@ThreadSafe
+internal object Utf8
+{
+
+    /** Reject C0 and C1 control characters, and `DEL`. */
+    const val REJECT_CONTROLS = 1
+
+    /** Reject anything but ASCII. */
+    const val ASCII_ONLY = 2
+
+    const val MALFORMED = -1
+    const val CONTROL_CHARACTER = -2
+    const val NOT_ASCII = -3
+
+    private const val HIGH_BITS = -0x7F7F7F7F7F7F7F80L //0x8080808080808080
+    private const val ONES = 0x0101010101010101L
+    private const val SPACES = 0x2020202020202020L
+    private const val DELETES = 0x7F7F7F7F7F7F7F7FL
+
+    /**
+     * Validates the bytes between the position and limit of the [buffer], without changing its position.
+     *
+     * @param options          Any of [REJECT_CONTROLS] and [ASCII_ONLY].
+     * @param maxCodePoints    Scanning stops early once more than this many code points have been seen.
+     *
+     * @return The number of code points, or one of [MALFORMED], [CONTROL_CHARACTER], or [NOT_ASCII].
+     *         If scanning stopped early, the count is only known to be more than [maxCodePoints].
+     */
+    fun scan(buffer: ByteBuffer, options: Int, maxCodePoints: Int = Int.MAX_VALUE): Int
+    {
+        val rejectControls = options and REJECT_CONTROLS != 0
+        val asciiOnly = options and ASCII_ONLY != 0
+        val end = buffer.limit()
+
+        var i = buffer.position()
+        var count = 0
+
+        while (i < end)
+        {
+            if (count > maxCodePoints)
+            {
+                return count
+            }
+
+            if (end - i >= 8)
+            {
+                val word = buffer.getLong(i)
+
+                if (word and HIGH_BITS == 0L)
+                {
+                    if (rejectControls && hasControlCharacter(word))
+                    {
+                        return CONTROL_CHARACTER
+                    }
+
+                    i += 8
+                    count += 8
+                    continue
+                }
+            }
+
+            val lead = buffer.get(i).toInt() and 0xFF
+
+            if (lead < 0x80)
+            {
+                if (rejectControls && (lead < 0x20 || lead == 0x7F))
+                {
+                    return CONTROL_CHARACTER
+                }
+
+                i += 1
+                count += 1
+                continue
+            }
+
+            if (asciiOnly)
+            {
+                return NOT_ASCII
+            }
+
+            val length = sequenceLength(buffer, i, end, lead)
+
+            if (length < 0)
+            {
+                return MALFORMED
+            }
+
+            //U+0080 to U+009F are the C1 controls
+            if (rejectControls && lead == 0xC2 && (buffer.get(i + 1).toInt() and 0xFF) < 0xA0)
+            {
+                return CONTROL_CHARACTER
+            }
+
+            i += length
+            count += 1
+        }
+
+        return count
+    }
+
+    /**
+     * @return The length of the well-formed sequence that starts with [lead] at [start], or `-1` if it is malformed.
+     */
+    private fun sequenceLength(buffer: ByteBuffer, start: Int, end: Int, lead: Int): Int
+    {
+        //The range of the second byte, which is narrower than 80..BF for some lead bytes
+        val length: Int
+        var low = 0x80
+        var high = 0xBF
+
+        when (lead)
+        {
+            in 0xC2..0xDF -> length = 2
+            0xE0 ->
+            {
+                length = 3
+                low = 0xA0
+            }
+            0xED ->
+            {
+                length = 3
+                high = 0x9F
+            }
+            in 0xE1..0xEF -> length = 3
+            0xF0 ->
+            {
+                length = 4
+                low = 0x90
+            }
+            0xF4 ->
+            {
+                length = 4
+                high = 0x8F
+            }
+            in 0xF1..0xF3 -> length = 4
+            else -> return -1
+        }
+
+        if (end - start < length)
+        {
+            return -1
+        }
+
+        val second = buffer.get(start + 1).toInt() and 0xFF
+
+        if (second < low || second > high)
+        {
+            return -1
+        }
+
+        for (i in start + 2 until start + length)
+        {
+            if (buffer.get(i).toInt() and 0xC0 != 0x80)
+            {
+                return -1
+            }
+        }
+
+        return length
+    }
+
+    /**
+     * Tests 8 ASCII bytes at once for a byte below `0x20`, or equal to `0x7F`.
+     */
+    private fun hasControlCharacter(word: Long): Boolean
+    {
+        val belowSpace = (word - SPACES) and word.inv() and HIGH_BITS
+        val deletes = word xor DELETES
+        val hasDelete = (deletes - ONES) and deletes.inv() and HIGH_BITS
+
+        return (belowSpace or hasDelete) != 0L
+    }
+}
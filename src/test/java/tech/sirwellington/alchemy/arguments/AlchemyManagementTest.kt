@@ -0,0 +1,168 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import org.hamcrest.Matchers.equalTo
+import org.hamcrest.Matchers.hasItem
+import org.hamcrest.Matchers.sameInstance
+import org.junit.After
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertThat
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.arguments.assertions.nonEmptyString
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+import java.lang.management.ManagementFactory
+import javax.management.Attribute
+import javax.management.ObjectName
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner::class)
+class AlchemyManagementTest
+{
+
+    private val server = ManagementFactory.getPlatformMBeanServer()
+    private val name = ObjectName(AlchemyManagement.OBJECT_NAME)
+
+    private lateinit var bean: AssertionStatisticsMXBean
+
+    @Before
+    fun setUp()
+    {
+        bean = AlchemyManagement.install()
+    }
+
+    @After
+    fun tearDown()
+    {
+        AlchemyManagement.uninstall()
+        AssertionPolicies.reset()
+        AssertionCategory.enableAll()
+    }
+
+    @Test
+    fun testInstall()
+    {
+        assertTrue(AlchemyManagement.isInstalled)
+        assertTrue(server.isRegistered(name))
+        assertTrue(AlchemyMetrics.isRegistered(AlchemyManagement.statistics!!))
+        assertThat(AlchemyManagement.install(), sameInstance(bean))
+    }
+
+    @Test
+    fun testUninstall()
+    {
+        val statistics = AlchemyManagement.statistics!!
+
+        assertTrue(AlchemyManagement.uninstall())
+        assertFalse(AlchemyManagement.isInstalled)
+        assertFalse(server.isRegistered(name))
+        assertFalse(AlchemyMetrics.isRegistered(statistics))
+        assertFalse(AlchemyManagement.uninstall())
+    }
+
+    @Test
+    fun testCountsAssertions()
+    {
+        val assertion = nonEmptyString()
+        val assertionName = AlchemyMetrics.nameOf(assertion)
+
+        Arguments.checkThat("abc").isA(assertion)
+        assertThrows { Arguments.checkThat("").isA(assertion) }.failedAssertion()
+
+        assertThat(bean.evaluationsOf(assertionName), equalTo(2L))
+        assertThat(bean.failuresOf(assertionName), equalTo(1L))
+        assertThat(bean.unexpectedExceptionsOf(assertionName), equalTo(0L))
+        assertThat(bean.assertionNames.toList(), hasItem(assertionName))
+        assertThat(server.getAttribute(name, "TotalEvaluations") as Long, equalTo(2L))
+    }
+
+    @Test
+    fun testCountsUnexpectedExceptions()
+    {
+        val assertion = AlchemyAssertion<String> { throw IllegalStateException() }
+        val assertionName = AlchemyMetrics.nameOf(assertion)
+
+        assertThrows { Arguments.checkThat("abc").isA(assertion) }.failedAssertion()
+
+        assertThat(bean.unexpectedExceptionsOf(assertionName), equalTo(1L))
+        assertThat(bean.failuresOf(assertionName), equalTo(1L))
+        assertThat(bean.totalUnexpectedExceptions, equalTo(1L))
+    }
+
+    @Test
+    fun testResetCounters()
+    {
+        Arguments.checkThat("abc").isA(nonEmptyString())
+
+        server.invoke(name, "resetCounters", null, null)
+
+        assertThat(bean.totalEvaluations, equalTo(0L))
+        assertThat(bean.report().size, equalTo(0))
+    }
+
+    @Test
+    fun testChangePolicies()
+    {
+        server.setAttribute(name, Attribute("LoggingEnabled", false))
+        server.setAttribute(name, Attribute("TimingSampleEvery", 10))
+        server.setAttribute(name, Attribute("StackTracesEnabled", false))
+
+        assertFalse(AssertionPolicies.isLoggingEnabled())
+        assertThat(AssertionPolicies.getTimingSampleEvery(), equalTo(10))
+        assertFalse(AssertionPolicies.isStackTracesEnabled())
+        assertThat(FailedAssertionException().stackTrace.size, equalTo(0))
+
+        assertThrows { bean.timingSampleEvery = 0 }.illegalArgument()
+    }
+
+    @Test
+    fun testSampledTimingStillCountsEveryCheck()
+    {
+        AssertionPolicies.setTimingSampleEvery(1000)
+        val assertion = nonEmptyString()
+
+        repeat(100) { Arguments.checkThat("abc").isA(assertion) }
+
+        val statistics = AlchemyManagement.statistics!!
+        val assertionName = AlchemyMetrics.nameOf(assertion)
+        assertThat(statistics.snapshotOf(assertionName)!!.passes, equalTo(100L))
+        assertTrue(statistics.latenciesOf(assertionName)!!.count() < 100L)
+    }
+
+    @Test
+    fun testDisableCategory()
+    {
+        server.invoke(name, "disableCategory", arrayOf("defensive"), arrayOf(String::class.java.name))
+
+        assertFalse(AssertionCategory.DEFENSIVE.isEnabled)
+        assertThat(bean.disabledCategories.toList(), equalTo(listOf("DEFENSIVE")))
+
+        bean.enableCategory("DEFENSIVE")
+        assertTrue(AssertionCategory.DEFENSIVE.isEnabled)
+
+        assertThrows { bean.disableCategory("unknown") }.illegalArgument()
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import com.nhaarman.mockito_kotlin.any
+import com.nhaarman.mockito_kotlin.doThrow
+import com.nhaarman.mockito_kotlin.eq
+import com.nhaarman.mockito_kotlin.whenever
+import org.hamcrest.Matchers.equalTo
+import org.junit.After
+import org.junit.Assert.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.ArgumentMatchers.anyLong
+import org.mockito.Mock
+import org.mockito.Mockito.verify
+import org.mockito.Mockito.verifyZeroInteractions
+import tech.sirwellington.alchemy.arguments.assertions.nonEmptyString
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.ALPHABETIC
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner::class)
+class AlchemyMetricsTest
+{
+
+    @Mock
+    private lateinit var metrics: AssertionMetrics
+
+    @GenerateString(ALPHABETIC)
+    private lateinit var argument: String
+
+    private lateinit var statistics: AssertionStatistics
+
+    @Before
+    fun setUp()
+    {
+        statistics = AssertionStatistics()
+    }
+
+    @After
+    fun tearDown()
+    {
+        AlchemyMetrics.unregister(metrics)
+        AlchemyMetrics.unregister(statistics)
+    }
+
+    @Test
+    fun testRecordsPasses()
+    {
+        AlchemyMetrics.register(metrics)
+
+        val assertion = nonEmptyString()
+        checkThat(argument).isA(assertion)
+
+        verify(metrics).recordPass(eq(AlchemyMetrics.nameOf(assertion)), anyLong())
+    }
+
+    @Test
+    fun testRecordsFailures()
+    {
+        AlchemyMetrics.register(metrics)
+
+        val assertion = nonEmptyString()
+        assertThrows { checkThat("").isA(assertion) }.failedAssertion()
+
+        verify(metrics).recordFailure(eq(AlchemyMetrics.nameOf(assertion)), anyLong(), eq(""), any(), eq(ExceptionMapper.IDENTITY))
+    }
+
+    @Test
+    fun testRecordsUnexpectedExceptionsAsFailures()
+    {
+        AlchemyMetrics.register(statistics)
+
+        val assertion = AlchemyAssertion<String> { throw IllegalStateException() }
+        assertThrows { checkThat(argument).isA(assertion) }.failedAssertion()
+
+        assertThat(statistics.snapshotOf(AlchemyMetrics.nameOf(assertion))?.failures, equalTo(1L))
+    }
+
+    @Test
+    fun testBrokenMetricsAreIgnored()
+    {
+        doThrow(RuntimeException())
+                .whenever(metrics)
+                .recordPass(any(), anyLong())
+
+        AlchemyMetrics.register(metrics)
+        AlchemyMetrics.register(statistics)
+
+        checkThat(argument).isA(nonEmptyString())
+
+        assertThat(statistics.snapshot().size, equalTo(1))
+    }
+
+    @Test
+    fun testRegisterAndUnregister()
+    {
+        AlchemyMetrics.register(metrics)
+        AlchemyMetrics.register(metrics)
+        assertThat(AlchemyMetrics.isRegistered(metrics), equalTo(true))
+
+        assertThat(AlchemyMetrics.unregister(metrics), equalTo(true))
+        assertThat(AlchemyMetrics.unregister(metrics), equalTo(false))
+        assertThat(AlchemyMetrics.isRegistered(metrics), equalTo(false))
+
+        checkThat(argument).isA(nonEmptyString())
+        verifyZeroInteractions(metrics)
+    }
+
+    @Test
+    fun testNameOfClass()
+    {
+        assertThat(AlchemyMetrics.nameOfClass("tech.sirwellington.alchemy.arguments.assertions.StringAssertions\$nonEmptyString\$1"),
+                   equalTo("StringAssertions.nonEmptyString"))
+
+        assertThat(AlchemyMetrics.nameOfClass("com.example.Validators\$\$Lambda\$12/1234567"), equalTo("Validators"))
+        assertThat(AlchemyMetrics.nameOfClass("com.example.Validators\$1"), equalTo("Validators"))
+        assertThat(AlchemyMetrics.nameOfClass("Validator"), equalTo("Validator"))
+    }
+
+    @Test
+    fun testNameOfWrappers()
+    {
+        val assertion = nonEmptyString()
+        val name = AlchemyMetrics.nameOf(assertion)
+
+        assertThat(AlchemyMetrics.nameOf(AssertionCategory.DEFENSIVE.tag(assertion)), equalTo(name))
+        assertThat(AlchemyMetrics.nameOf(MemoizedAssertion.of(assertion, 10)), equalTo(name))
+        assertThat(AlchemyMetrics.nameOf(SampledAssertion.everyNth(assertion, 2)), equalTo(name))
+        assertThat(AlchemyMetrics.nameOf(MemoizedAssertion.of(SampledAssertion.everyNth(assertion, 2), 10)), equalTo(name))
+        assertThat(AlchemyMetrics.nameOf(ProfiledChain.of(argument, 1, assertion)), equalTo(argument))
+    }
+
+    @Test
+    fun testWithBadArgs()
+    {
+        assertThrows { AlchemyMetrics.register(null) }.illegalArgument()
+        assertThrows { AlchemyMetrics.nameOf(null) }.illegalArgument()
+    }
+
+}
@@ -14,15 +14,19 @@
  */
 package tech.sirwellington.alchemy.arguments
 
+import org.hamcrest.Matchers.equalTo
 import org.hamcrest.Matchers.notNullValue
+import org.junit.After
 import org.junit.Assert.assertThat
 import org.junit.Test
 import org.junit.runner.RunWith
 import tech.sirwellington.alchemy.arguments.Arguments.checkThat
+import tech.sirwellington.alchemy.arguments.AssertionCategory.DEFENSIVE
 import tech.sirwellington.alchemy.arguments.assertions.nonEmptyString
 import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
 import tech.sirwellington.alchemy.test.junit.runners.*
 import tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.ALPHABETIC
+import java.util.function.Supplier
 
 /**
 
@@ -39,6 +43,12 @@ class ArgumentsTest
     @GenerateList(String::class)
     private lateinit var strings: List<String>
 
+    @After
+    fun tearDown()
+    {
+        AssertionCategory.enableAll()
+    }
+
     @DontRepeat
     @Test
     fun testConstructorThrows()
@@ -77,4 +87,32 @@ class ArgumentsTest
         assertThrows { instance.are(nonEmptyString()) }.failedAssertion()
     }
 
+    @Test
+    fun testCheckThatWithCategory()
+    {
+        checkThat(DEFENSIVE, argument).isA(nonEmptyString())
+        assertThrows { checkThat(DEFENSIVE, "").isA(nonEmptyString()) }.failedAssertion()
+
+        DEFENSIVE.disable()
+
+        checkThat(DEFENSIVE, "")
+                .usingMessage(argument)
+                .throwing(IllegalStateException::class.java)
+                .isA(nonEmptyString())
+    }
+
+    @Test
+    fun testCheckThatWithSupplier()
+    {
+        var calls = 0
+
+        checkThat(DEFENSIVE, Supplier { calls++; argument }).isA(nonEmptyString())
+        assertThat(calls, equalTo(1))
+
+        DEFENSIVE.disable()
+
+        checkThat(DEFENSIVE, Supplier { calls++; "" }).isA(nonEmptyString())
+        assertThat(calls, equalTo(1))
+    }
+
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import org.hamcrest.Matchers.sameInstance
+import org.junit.After
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertThat
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.arguments.AssertionCategory.CRITICAL
+import tech.sirwellington.alchemy.arguments.AssertionCategory.DEBUG
+import tech.sirwellington.alchemy.arguments.AssertionCategory.DEFENSIVE
+import tech.sirwellington.alchemy.arguments.AssertionCategory.STANDARD
+import tech.sirwellington.alchemy.arguments.assertions.nonEmptyString
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner::class)
+class AssertionCategoryTest
+{
+
+    @After
+    fun tearDown()
+    {
+        AssertionCategory.enableAll()
+    }
+
+    @Test
+    fun testEnabledByDefault()
+    {
+        AssertionCategory.values().forEach { assertTrue(it.isEnabled) }
+    }
+
+    @Test
+    fun testDisableAndEnable()
+    {
+        DEFENSIVE.disable()
+
+        assertFalse(DEFENSIVE.isEnabled)
+        assertTrue(STANDARD.isEnabled)
+        assertTrue(DEBUG.isEnabled)
+
+        DEFENSIVE.enable()
+        assertTrue(DEFENSIVE.isEnabled)
+    }
+
+    @Test
+    fun testCriticalCannotBeDisabled()
+    {
+        assertThrows { CRITICAL.disable() }.illegalArgument()
+        assertTrue(CRITICAL.isEnabled)
+    }
+
+    @Test
+    fun testTag()
+    {
+        val assertion = DEBUG.tag(nonEmptyString())
+
+        assertThrows { assertion.check("") }.failedAssertion()
+
+        DEBUG.disable()
+        assertion.check("")
+    }
+
+    @Test
+    fun testTagWithCritical()
+    {
+        val assertion = nonEmptyString()
+
+        assertThat(CRITICAL.tag(assertion), sameInstance(assertion))
+    }
+
+}
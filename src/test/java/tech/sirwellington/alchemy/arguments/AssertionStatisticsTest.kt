@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import org.hamcrest.Matchers.equalTo
+import org.hamcrest.Matchers.nullValue
+import org.junit.Assert.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.generator.NumberGenerators
+import tech.sirwellington.alchemy.generator.one
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.ALPHABETIC
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(50)
+@RunWith(AlchemyTestRunner::class)
+class AssertionStatisticsTest
+{
+
+    @GenerateString(ALPHABETIC)
+    private lateinit var name: String
+
+    private lateinit var instance: AssertionStatistics
+
+    @Before
+    fun setUp()
+    {
+        instance = AssertionStatistics()
+    }
+
+    @Test
+    fun testCountsPassesAndFailures()
+    {
+        val passes = one(NumberGenerators.integers(1, 100))
+        val failures = one(NumberGenerators.integers(1, 100))
+
+        repeat(passes) { instance.recordPass(name, 100) }
+        repeat(failures) { instance.recordFailure(name, 300, null, FailedAssertionException(), ExceptionMapper.IDENTITY) }
+
+        val snapshot = instance.snapshotOf(name)!!
+
+        assertThat(snapshot.passes, equalTo(passes.toLong()))
+        assertThat(snapshot.failures, equalTo(failures.toLong()))
+        assertThat(snapshot.checks, equalTo((passes + failures).toLong()))
+        assertThat(snapshot.failureRate, equalTo(failures.toDouble() / (passes + failures)))
+        assertThat(snapshot.maxNanos, equalTo(300L))
+        assertThat(instance.latenciesOf(name)!!.count(), equalTo((passes + failures).toLong()))
+    }
+
+    @Test
+    fun testCountsUnexpectedExceptionsAsFailures()
+    {
+        val failure = FailedAssertionException("wrapping unexpected exception", IllegalStateException())
+        instance.recordUnexpectedException(name, 100, null, failure, ExceptionMapper.IDENTITY)
+        instance.recordFailure(name, 100, null, FailedAssertionException(), ExceptionMapper.IDENTITY)
+
+        val snapshot = instance.snapshotOf(name)!!
+        assertThat(snapshot.failures, equalTo(2L))
+        assertThat(snapshot.unexpectedExceptions, equalTo(1L))
+    }
+
+    @Test
+    fun testChecksThatWereNotTimedAreOnlyCounted()
+    {
+        instance.recordPass(name, AssertionMetrics.NOT_TIMED)
+        instance.recordPass(name, 100)
+
+        assertThat(instance.snapshotOf(name)!!.passes, equalTo(2L))
+        assertThat(instance.latenciesOf(name)!!.count(), equalTo(1L))
+    }
+
+    @Test
+    fun testSnapshotIsOrderedByName()
+    {
+        listOf("b", "c", "a").forEach { instance.recordPass(it, 1) }
+
+        assertThat(instance.snapshot().map { it.assertionName }, equalTo(listOf("a", "b", "c")))
+    }
+
+    @Test
+    fun testUnknownAssertion()
+    {
+        assertThat(instance.snapshotOf(name), nullValue())
+        assertThat(instance.latenciesOf(name), nullValue())
+    }
+
+    @Test
+    fun testReset()
+    {
+        instance.recordPass(name, 1)
+        instance.reset()
+
+        assertThat(instance.snapshot().size, equalTo(0))
+    }
+
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import org.hamcrest.Matchers.equalTo
+import org.hamcrest.Matchers.greaterThanOrEqualTo
+import org.hamcrest.Matchers.lessThanOrEqualTo
+import org.junit.After
+import org.junit.Assert.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.arguments.assertions.nonEmptyString
+import tech.sirwellington.alchemy.generator.NumberGenerators
+import tech.sirwellington.alchemy.generator.one
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.ALPHABETIC
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner::class)
+class FailureHeavyHittersTest
+{
+
+    @GenerateString(ALPHABETIC)
+    private lateinit var assertionName: String
+
+    private lateinit var instance: FailureHeavyHitters
+
+    @Before
+    fun setUp()
+    {
+        instance = FailureHeavyHitters(topK = 3)
+    }
+
+    @After
+    fun tearDown()
+    {
+        AlchemyMetrics.unregister(instance)
+    }
+
+    @Test
+    fun testFindsTheMostFrequentValues()
+    {
+        val noise = one(NumberGenerators.integers(1_000, 5_000))
+
+        repeat(noise) { i ->
+
+            fail("noise-$i")
+
+            if (i % 5 == 0) fail("frequent")
+            if (i % 10 == 0) fail("common")
+        }
+
+        val top = instance.topValuesOf(assertionName)
+
+        assertThat(top[0].value, equalTo("frequent"))
+        assertThat(top[1].value, equalTo("common"))
+        assertThat(top[0].estimatedCount, greaterThanOrEqualTo((noise / 5).toLong()))
+    }
+
+    @Test
+    fun testEstimatesAreNeverLow()
+    {
+        val count = one(NumberGenerators.integers(1, 1_000))
+
+        repeat(count) { fail("value") }
+        repeat(10_000) { fail("other-$it") }
+
+        val estimate = instance.estimatedCountOf(assertionName, "value")
+        assertThat(estimate, greaterThanOrEqualTo(count.toLong()))
+        assertThat(estimate, lessThanOrEqualTo(count + 10_000L / instance.width * 8))
+    }
+
+    @Test
+    fun testTopAssertions()
+    {
+        repeat(3) { fail("a", "first") }
+        repeat(2) { fail("a", "second") }
+        fail("a", "third")
+
+        assertThat(instance.topAssertions(2).map { it.value }, equalTo(listOf("first", "second")))
+        assertThat(instance.topAssertions(2).map { it.estimatedCount }, equalTo(listOf(3L, 2L)))
+    }
+
+    @DontRepeat
+    @Test
+    fun testMemoryIsBounded()
+    {
+        val bounded = FailureHeavyHitters(topK = 2, maxAssertions = 2, maxValueLength = 4)
+
+        listOf("a", "b", "c").forEach { bounded.recordFailure(it, 0, "abcdefgh", FailedAssertionException(), ExceptionMapper.IDENTITY) }
+
+        assertThat(bounded.topValues().keys, equalTo(setOf("a", "b")))
+        assertThat(bounded.topValuesOf("a")[0].value, equalTo("abcd"))
+
+        repeat(100) { bounded.recordFailure("a", 0, it, FailedAssertionException(), ExceptionMapper.IDENTITY) }
+        assertThat(bounded.topValuesOf("a").size, equalTo(2))
+    }
+
+    @DontRepeat
+    @Test
+    fun testLargeValuesAreNotWrittenInFull()
+    {
+        val bounded = FailureHeavyHitters(maxValueLength = 10)
+
+        //Writing this collection out in full would never finish
+        val endless = object : AbstractCollection<Int>()
+        {
+            override val size = Int.MAX_VALUE
+
+            override fun iterator() = generateSequence(1) { it + 1 }.iterator()
+        }
+
+        bounded.recordFailure("a", 0, endless, FailedAssertionException(), ExceptionMapper.IDENTITY)
+        bounded.recordFailure("a", 0, mapOf("key" to listOf("abcdefghijk")), FailedAssertionException(), ExceptionMapper.IDENTITY)
+
+        assertThat(bounded.topValuesOf("a").map { it.value }.toSet(), equalTo(setOf("[1, 2, 3, ", "{key=[abcd")))
+    }
+
+    @DontRepeat
+    @Test
+    fun testValuesWithCollidingHashCodes()
+    {
+        //"Aa" and "BB" have the same String.hashCode()
+        repeat(100) { fail("Aa") }
+        fail("BB")
+
+        assertThat(instance.estimatedCountOf(assertionName, "BB"), equalTo(1L))
+    }
+
+    @DontRepeat
+    @Test
+    fun testConcurrentFailures()
+    {
+        AlchemyMetrics.register(instance)
+
+        val assertion = nonEmptyString()
+        val threads = (1..4).map { Thread { repeat(5_000) { ignoreFailure { checkThat("").isA(assertion) } } } }
+
+        threads.forEach(Thread::start)
+        threads.forEach(Thread::join)
+
+        val name = AlchemyMetrics.nameOf(assertion)
+        assertThat(instance.topAssertions(1)[0].estimatedCount, equalTo(20_000L))
+        assertThat(instance.estimatedCountOf(name, ""), equalTo(20_000L))
+        assertThat(instance.topValuesOf(name)[0].value, equalTo(""))
+    }
+
+    @DontRepeat
+    @Test
+    fun testNullValues()
+    {
+        fail(null)
+
+        assertThat(instance.topValuesOf(assertionName)[0].value, equalTo("null"))
+        assertThat(instance.topValuesOf("unknown"), equalTo(listOf()))
+    }
+
+    @Test
+    fun testReset()
+    {
+        fail("value")
+        instance.reset()
+
+        assertThat(instance.topAssertions(10), equalTo(listOf()))
+    }
+
+    @DontRepeat
+    @Test
+    fun testWithBadArgs()
+    {
+        assertThrows { FailureHeavyHitters(topK = 0) }.illegalArgument()
+        assertThrows { FailureHeavyHitters(width = 0) }.illegalArgument()
+        assertThrows { FailureHeavyHitters(depth = 0) }.illegalArgument()
+        assertThrows { FailureHeavyHitters(depth = 100) }.illegalArgument()
+        assertThrows { FailureHeavyHitters(maxAssertions = 0) }.illegalArgument()
+        assertThrows { instance.topAssertions(0) }.illegalArgument()
+    }
+
+    private fun fail(value: Any?, assertion: String = assertionName)
+    {
+        instance.recordFailure(assertion, 0, value, FailedAssertionException(), ExceptionMapper.IDENTITY)
+    }
+
+    private fun ignoreFailure(block: () -> Unit)
+    {
+        try
+        {
+            block()
+        }
+        catch (ex: FailedAssertionException)
+        {
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import org.hamcrest.Matchers.equalTo
+import org.junit.After
+import org.junit.Assert.assertThat
+import org.junit.Assume.assumeTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.arguments.assertions.nonEmptyString
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import java.sql.SQLException
+import java.time.Duration
+
+/**
+ *
+ * @author SirWellington
+ */
+@RunWith(AlchemyTestRunner::class)
+class FlightRecorderEventsTest
+{
+
+    @After
+    fun tearDown()
+    {
+        FlightRecorderEvents.disable()
+    }
+
+    @Test
+    fun testOnlyRegisteredWhileRecording()
+    {
+        assumeTrue(FlightRecorderEvents.isAvailable)
+
+        assertThat(FlightRecorderEvents.enable(Duration.ZERO), equalTo(true))
+        assertThat(FlightRecorderEvents.isEnabled, equalTo(true))
+        assertThat(AlchemyMetrics.sinks().size, equalTo(0))
+
+        //Recording is used by reflection, so that this compiles without JFR
+        val recording = Class.forName("jdk.jfr.Recording").getDeclaredConstructor().newInstance()
+
+        try
+        {
+            recording.javaClass.getMethod("start").invoke(recording)
+            assertThat(AlchemyMetrics.sinks().size, equalTo(1))
+
+            checkThat("abc").isA(nonEmptyString())
+            assertThrows { checkThat("").isA(nonEmptyString()) }.failedAssertion()
+
+            recording.javaClass.getMethod("stop").invoke(recording)
+            assertThat(AlchemyMetrics.sinks().size, equalTo(0))
+        }
+        finally
+        {
+            recording.javaClass.getMethod("close").invoke(recording)
+        }
+    }
+
+    @Test
+    fun testDisable()
+    {
+        FlightRecorderEvents.enable()
+        FlightRecorderEvents.disable()
+
+        assertThat(FlightRecorderEvents.isEnabled, equalTo(false))
+        assertThat(AlchemyMetrics.sinks().size, equalTo(0))
+    }
+
+    @Test
+    fun testNameOfMapper()
+    {
+        assertThat(FlightRecorderEvents.nameOfMapper(ExceptionMapper.IDENTITY), equalTo("IDENTITY"))
+        assertThat(FlightRecorderEvents.nameOfMapper(DynamicExceptionSupplier(SQLException::class.java, "")), equalTo("java.sql.SQLException"))
+    }
+
+    @Test
+    fun testWithBadArgs()
+    {
+        assertThrows { FlightRecorderEvents.enable(Duration.ofMillis(-1)) }.illegalArgument()
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import org.hamcrest.Matchers.equalTo
+import org.hamcrest.Matchers.greaterThanOrEqualTo
+import org.hamcrest.Matchers.lessThanOrEqualTo
+import org.junit.Assert.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.generator.NumberGenerators
+import tech.sirwellington.alchemy.generator.one
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(100)
+@RunWith(AlchemyTestRunner::class)
+class LatencyHistogramTest
+{
+
+    private lateinit var instance: LatencyHistogram
+
+    @Before
+    fun setUp()
+    {
+        instance = LatencyHistogram()
+    }
+
+    @Test
+    fun testKeepsValuesWithinThreePercent()
+    {
+        val value = one(NumberGenerators.longs(0, LatencyHistogram.MAX_TRACKABLE_NANOS))
+        instance.record(value)
+
+        val recorded = LatencyHistogram.highestValueAt(LatencyHistogram.indexOf(value))
+
+        assertThat(recorded, greaterThanOrEqualTo(value))
+        assertThat(recorded - value, lessThanOrEqualTo(value / 32))
+        assertThat(instance.valueAtPercentile(100.0), equalTo(value))
+    }
+
+    @DontRepeat
+    @Test
+    fun testBucketsAreContiguous()
+    {
+        var previous = -1L
+
+        for (index in 0..LatencyHistogram.indexOf(LatencyHistogram.MAX_TRACKABLE_NANOS))
+        {
+            val highest = LatencyHistogram.highestValueAt(index)
+
+            assertThat(LatencyHistogram.indexOf(previous + 1), equalTo(index))
+            assertThat(LatencyHistogram.indexOf(highest), equalTo(index))
+            previous = highest
+        }
+
+        assertThat(previous, equalTo(LatencyHistogram.MAX_TRACKABLE_NANOS))
+    }
+
+    @DontRepeat
+    @Test
+    fun testPercentiles()
+    {
+        (1L..100_000L).forEach(instance::record)
+
+        assertThat(instance.count(), equalTo(100_000L))
+        assertThat(instance.max(), equalTo(100_000L))
+        assertThat(instance.mean(), equalTo(50_000.5))
+
+        val median = instance.valueAtPercentile(50.0)
+        assertThat(median, greaterThanOrEqualTo(50_000L))
+        assertThat(median, lessThanOrEqualTo(51_600L))
+
+        assertThat(instance.valueAtPercentile(0.0), equalTo(1L))
+        assertThat(instance.valueAtPercentile(100.0), equalTo(100_000L))
+    }
+
+    @DontRepeat
+    @Test
+    fun testOutOfRangeValues()
+    {
+        instance.record(-5)
+        instance.record(Long.MAX_VALUE)
+
+        assertThat(instance.valueAtPercentile(50.0), equalTo(0L))
+        assertThat(instance.max(), equalTo(LatencyHistogram.MAX_TRACKABLE_NANOS))
+    }
+
+    @DontRepeat
+    @Test
+    fun testWhenEmpty()
+    {
+        assertThat(instance.count(), equalTo(0L))
+        assertThat(instance.mean(), equalTo(0.0))
+        assertThat(instance.valueAtPercentile(99.0), equalTo(0L))
+    }
+
+    @Test
+    fun testReset()
+    {
+        instance.record(one(NumberGenerators.longs(0, 1_000_000)))
+        instance.reset()
+
+        assertThat(instance.count(), equalTo(0L))
+        assertThat(instance.max(), equalTo(0L))
+    }
+
+    @DontRepeat
+    @Test
+    fun testConcurrentRecording()
+    {
+        val threads = (1..4).map { Thread { repeat(10_000) { instance.record(it.toLong()) } } }
+
+        threads.forEach(Thread::start)
+        threads.forEach(Thread::join)
+
+        assertThat(instance.count(), equalTo(40_000L))
+    }
+
+    @DontRepeat
+    @Test
+    fun testWithBadArgs()
+    {
+        assertThrows { instance.valueAtPercentile(-1.0) }.illegalArgument()
+        assertThrows { instance.valueAtPercentile(100.1) }.illegalArgument()
+    }
+
+}
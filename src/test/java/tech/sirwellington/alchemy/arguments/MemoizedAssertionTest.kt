@@ -0,0 +1,185 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import org.hamcrest.Matchers.equalTo
+import org.hamcrest.Matchers.lessThanOrEqualTo
+import org.hamcrest.Matchers.notNullValue
+import org.junit.Assert.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.arguments.assertions.memoized
+import tech.sirwellington.alchemy.arguments.assertions.nonEmptyString
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.ALPHABETIC
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(50)
+@RunWith(AlchemyTestRunner::class)
+class MemoizedAssertionTest
+{
+
+    @GenerateString(ALPHABETIC)
+    private lateinit var argument: String
+
+    private var checks = 0
+
+    private val counting = AlchemyAssertion<Any?> { argument ->
+        checks += 1
+
+        if (argument.toString().isEmpty())
+        {
+            throw FailedAssertionException("empty")
+        }
+    }
+
+    @Before
+    fun setUp()
+    {
+        checks = 0
+    }
+
+    @Test
+    fun testRemembersPasses()
+    {
+        val instance = memoized(counting, 10)
+        assertThat(instance, notNullValue())
+
+        repeat(10) { instance.check(argument) }
+
+        assertThat(checks, equalTo(1))
+        assertThat(instance.hitCount, equalTo(9L))
+        assertThat(instance.missCount, equalTo(1L))
+        assertThat(instance.hitRate, equalTo(0.9))
+        assertThat(instance.cachedVerdicts, equalTo(1))
+    }
+
+    @Test
+    fun testRemembersFailures()
+    {
+        val instance = memoized(counting, 10)
+
+        assertThrows { instance.check("") }.failedAssertion()
+        assertThrows { instance.check("") }.failedAssertion()
+
+        assertThat(checks, equalTo(1))
+        assertThat(instance.hitCount, equalTo(1L))
+    }
+
+    @Test
+    fun testCachedFailureHasNoStackTrace()
+    {
+        val instance = memoized(counting, 10)
+
+        assertThrows { instance.check("") }.failedAssertion()
+
+        try
+        {
+            instance.check("")
+        }
+        catch (ex: FailedAssertionException)
+        {
+            assertThat(ex.message, equalTo("empty"))
+            assertThat(ex.stackTrace.size, equalTo(0))
+            assertThat(ex.cause is FailedAssertionException, equalTo(true))
+        }
+    }
+
+    @Test
+    fun testCachedFailureKeepsOriginalMessage()
+    {
+        val instance = memoized(counting, 10)
+
+        assertThrows { checkThat<Any?>("").usingMessage(argument).isA(instance) }.failedAssertion()
+
+        try
+        {
+            instance.check("")
+        }
+        catch (ex: FailedAssertionException)
+        {
+            assertThat(ex.message, equalTo("empty"))
+        }
+    }
+
+    @Test
+    fun testMutableArgumentsAreNotRemembered()
+    {
+        val instance = memoized(counting, 10)
+        val mutable = StringBuilder(argument)
+
+        repeat(5) { instance.check(mutable) }
+        instance.check(null)
+
+        assertThat(checks, equalTo(6))
+        assertThat(instance.cachedVerdicts, equalTo(0))
+        assertThat(instance.hitRate, equalTo(0.0))
+    }
+
+    @Test
+    fun testStaysWithinMaxEntries()
+    {
+        val instance = memoized(counting, 16)
+
+        repeat(1_000) { instance.check(it) }
+
+        assertThat(instance.cachedVerdicts, lessThanOrEqualTo(16))
+    }
+
+    @Test
+    fun testKeepsFrequentlyUsedVerdicts()
+    {
+        val instance = memoized(counting, 32)
+
+        //A few hot arguments, among a stream of arguments seen once
+        repeat(10_000) { i -> instance.check(if (i % 2 == 0) "hot-${(i / 2) % 8}" else "cold-$i") }
+
+        checks = 0
+        repeat(8) { instance.check("hot-$it") }
+        assertThat(checks, equalTo(0))
+    }
+
+    @Test
+    fun testClear()
+    {
+        val instance = memoized(counting, 10)
+        instance.check(argument)
+
+        instance.clear()
+
+        assertThat(instance.cachedVerdicts, equalTo(0))
+        assertThat(instance.hitCount, equalTo(0L))
+
+        instance.check(argument)
+        assertThat(checks, equalTo(2))
+    }
+
+    @DontRepeat
+    @Test
+    fun testWithBadArgs()
+    {
+        assertThrows { memoized(nonEmptyString(), 0) }.illegalArgument()
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import org.hamcrest.Matchers.equalTo
+import org.hamcrest.Matchers.notNullValue
+import org.junit.Assert.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.arguments.assertions.nonEmptyString
+import tech.sirwellington.alchemy.arguments.assertions.stringWithLengthLessThan
+import tech.sirwellington.alchemy.generator.NumberGenerators
+import tech.sirwellington.alchemy.generator.one
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.ALPHABETIC
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner::class)
+class ProfiledChainTest
+{
+
+    @GenerateString(ALPHABETIC)
+    private lateinit var argument: String
+
+    private val slowStep = AlchemyAssertion<String> { Thread.sleep(1) }
+
+    private lateinit var instance: ProfiledChain<String>
+
+    @Before
+    fun setUp()
+    {
+        instance = ProfiledChain.of("chain", 1, nonEmptyString(), slowStep, stringWithLengthLessThan(1_000))
+    }
+
+    @Test
+    fun testRanksStepsByTime()
+    {
+        repeat(5) { instance.check(argument) }
+
+        val report = instance.report()
+
+        assertThat(report.chainName, equalTo("chain"))
+        assertThat(report.sampledChecks, equalTo(5L))
+        assertThat(report.steps[0].position, equalTo(2))
+        assertThat(report.steps.map { it.samples }, equalTo(listOf(5L, 5L, 5L)))
+        assertThat(report.steps.sumByDouble { it.shareOfTime } in 0.99..1.01, equalTo(true))
+        assertThat(report.toString(), notNullValue())
+    }
+
+    @Test
+    fun testSamplesEveryNthCheck()
+    {
+        val sampleEvery = one(NumberGenerators.integers(2, 10))
+        val chain = ProfiledChain.of("chain", listOf(nonEmptyString()), sampleEvery)
+
+        repeat(sampleEvery * 3) { chain.check(argument) }
+
+        assertThat(chain.report().sampledChecks, equalTo(3L))
+    }
+
+    @Test
+    fun testCountsFailures()
+    {
+        assertThrows { instance.check("") }.failedAssertion()
+
+        val steps = instance.report().steps.sortedBy { it.position }
+
+        assertThat(steps.map { it.failures }, equalTo(listOf(1L, 0L, 0L)))
+        //Steps after a failure don't run
+        assertThat(steps.map { it.samples }, equalTo(listOf(1L, 0L, 0L)))
+    }
+
+    @Test
+    fun testFailsLikeCombine()
+    {
+        val chain = ProfiledChain.of("chain", 1_000, nonEmptyString(), stringWithLengthLessThan(2))
+
+        chain.check("a")
+        assertThrows { chain.check("") }.failedAssertion()
+        assertThrows { chain.check("abc") }.failedAssertion()
+        assertThat(chain.report().sampledChecks, equalTo(0L))
+    }
+
+    @Test
+    fun testReset()
+    {
+        instance.check(argument)
+        instance.reset()
+
+        assertThat(instance.report().sampledChecks, equalTo(0L))
+        assertThat(instance.report().steps.map { it.totalNanos }, equalTo(listOf(0L, 0L, 0L)))
+    }
+
+    @DontRepeat
+    @Test
+    fun testWithBadArgs()
+    {
+        assertThrows { ProfiledChain.of("", 1, nonEmptyString()) }.illegalArgument()
+        assertThrows { ProfiledChain.of("chain", 0, nonEmptyString()) }.illegalArgument()
+        assertThrows { ProfiledChain.of("chain", listOf<AlchemyAssertion<String>>()) }.illegalArgument()
+    }
+
+}
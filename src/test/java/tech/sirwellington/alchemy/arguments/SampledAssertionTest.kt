@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import org.hamcrest.Matchers.closeTo
+import org.hamcrest.Matchers.equalTo
+import org.hamcrest.Matchers.greaterThan
+import org.hamcrest.Matchers.lessThan
+import org.junit.Assert.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.arguments.assertions.nonEmptyString
+import tech.sirwellington.alchemy.generator.NumberGenerators
+import tech.sirwellington.alchemy.generator.one
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(50)
+@RunWith(AlchemyTestRunner::class)
+class SampledAssertionTest
+{
+
+    @Test
+    fun testEveryNth()
+    {
+        val n = one(NumberGenerators.integers(1, 20))
+        val instance = SampledAssertion.everyNth(nonEmptyString(), n)
+
+        var failures = 0
+        repeat(n * 10) {
+            try
+            {
+                instance.check("")
+            }
+            catch (ex: FailedAssertionException)
+            {
+                failures += 1
+            }
+        }
+
+        assertThat(failures, equalTo(10))
+        assertThat(instance.totalCalls, equalTo(n * 10L))
+        assertThat(instance.sampledChecks, equalTo(10L))
+        assertThat(instance.sampledFailures, equalTo(10L))
+        assertThat(instance.estimatedFailureRate, equalTo(1.0))
+    }
+
+    @Test
+    fun testEveryNthCountsPerThread()
+    {
+        val instance = SampledAssertion.everyNth(nonEmptyString(), 2)
+
+        val thread = Thread { instance.check("") }
+        thread.start()
+        thread.join()
+
+        //The other thread's call doesn't count towards this thread's
+        instance.check("")
+        assertThat(instance.sampledChecks, equalTo(0L))
+    }
+
+    @Test
+    fun testFraction()
+    {
+        val instance = SampledAssertion.fraction(nonEmptyString(), 0.25)
+
+        repeat(10_000) {
+            try
+            {
+                instance.check(if (it % 2 == 0) "" else "abc")
+            }
+            catch (ex: FailedAssertionException)
+            {
+            }
+        }
+
+        assertThat(instance.sampledChecks, greaterThan(2_000L))
+        assertThat(instance.sampledChecks, lessThan(3_000L))
+        assertThat(instance.estimatedFailureRate, closeTo(0.5, 0.1))
+    }
+
+    @Test
+    fun testFractionOfOneChecksEverything()
+    {
+        val instance = SampledAssertion.fraction(nonEmptyString(), 1.0)
+
+        assertThrows { instance.check("") }.failedAssertion()
+        instance.check("abc")
+
+        assertThat(instance.sampledChecks, equalTo(2L))
+    }
+
+    @Test
+    fun testReset()
+    {
+        val instance = SampledAssertion.everyNth(nonEmptyString(), 1)
+        instance.check("abc")
+
+        instance.reset()
+
+        assertThat(instance.totalCalls, equalTo(0L))
+        assertThat(instance.sampledChecks, equalTo(0L))
+        assertThat(instance.estimatedFailureRate, equalTo(0.0))
+    }
+
+    @DontRepeat
+    @Test
+    fun testWithBadArgs()
+    {
+        assertThrows { SampledAssertion.fraction(nonEmptyString(), 0.0) }.illegalArgument()
+        assertThrows { SampledAssertion.fraction(nonEmptyString(), 1.5) }.illegalArgument()
+        assertThrows { SampledAssertion.everyNth(nonEmptyString(), 0) }.illegalArgument()
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments
+
+import com.nhaarman.mockito_kotlin.any
+import com.nhaarman.mockito_kotlin.eq
+import org.hamcrest.Matchers.equalTo
+import org.junit.After
+import org.junit.Assert.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.ArgumentMatchers.anyString
+import org.mockito.Mock
+import org.mockito.Mockito.never
+import org.mockito.Mockito.times
+import org.mockito.Mockito.verify
+import org.mockito.Mockito.verifyZeroInteractions
+import org.slf4j.Logger
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.ALPHABETIC
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+import java.util.concurrent.TimeUnit
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner::class)
+class ThrottledLogTest
+{
+
+    @Mock
+    private lateinit var logger: Logger
+
+    @GenerateString(ALPHABETIC)
+    private lateinit var assertionName: String
+
+    private val error = IllegalStateException()
+
+    private var now = 0L
+
+    private lateinit var instance: ThrottledLog
+
+    @Before
+    fun setUp()
+    {
+        now = 0L
+        instance = ThrottledLog(logger) { now }
+    }
+
+    @After
+    fun tearDown()
+    {
+        AssertionPolicies.reset()
+    }
+
+    @Test
+    fun testLogsFirstWarning()
+    {
+        instance.warn(MESSAGE, assertionName, error)
+
+        verify(logger).warn(MESSAGE, assertionName, error)
+    }
+
+    @Test
+    fun testSuppressesRepeatsWithinInterval()
+    {
+        repeat(100) { instance.warn(MESSAGE, assertionName, error) }
+
+        verify(logger, times(1)).warn(MESSAGE, assertionName, error)
+    }
+
+    @Test
+    fun testLogsAgainAfterInterval()
+    {
+        instance.warn(MESSAGE, assertionName, error)
+        now += TimeUnit.MILLISECONDS.toNanos(AssertionPolicies.DEFAULT_LOG_INTERVAL_MILLIS)
+        instance.warn(MESSAGE, assertionName, error)
+
+        verify(logger, times(2)).warn(MESSAGE, assertionName, error)
+    }
+
+    @Test
+    fun testThrottlesEachAssertionSeparately()
+    {
+        instance.warn(MESSAGE, assertionName, error)
+        instance.warn(MESSAGE, "$assertionName-other", error)
+
+        verify(logger).warn(MESSAGE, assertionName, error)
+        verify(logger).warn(MESSAGE, "$assertionName-other", error)
+    }
+
+    @Test
+    fun testReportSummarizesSuppressedWarnings()
+    {
+        repeat(1_205) { instance.warn(MESSAGE, assertionName, error) }
+        now += TimeUnit.SECONDS.toNanos(10)
+
+        assertThat(instance.report(), equalTo(1))
+        verify(logger).warn("$MESSAGE: {} suppressed in the last {}", assertionName, "1,204", "10s")
+
+        //Counts are reset after each report
+        assertThat(instance.report(), equalTo(0))
+    }
+
+    @Test
+    fun testWithoutInterval()
+    {
+        AssertionPolicies.setLogIntervalMillis(0)
+
+        repeat(10) { instance.warn(MESSAGE, assertionName, error) }
+
+        verify(logger, times(10)).warn(MESSAGE, assertionName, error)
+        assertThat(instance.report(), equalTo(0))
+    }
+
+    @Test
+    fun testWhenLoggingIsDisabled()
+    {
+        AssertionPolicies.setLoggingEnabled(false)
+
+        instance.warn(MESSAGE, assertionName, error)
+
+        verifyZeroInteractions(logger)
+    }
+
+    @Test
+    fun testReportWithNothingSuppressed()
+    {
+        instance.warn(MESSAGE, assertionName, error)
+
+        assertThat(instance.report(), equalTo(0))
+        verify(logger, never()).warn(anyString(), eq(assertionName), any(), any())
+    }
+
+    private companion object
+    {
+        const val MESSAGE = "Assertion {} threw an unexpected exception"
+    }
+
+}
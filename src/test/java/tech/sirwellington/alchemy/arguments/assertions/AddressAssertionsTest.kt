@@ -21,10 +21,12 @@ import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
 import tech.sirwellington.alchemy.arguments.failedAssertion
+import tech.sirwellington.alchemy.arguments.illegalArgument
 import tech.sirwellington.alchemy.generator.NumberGenerators
 import tech.sirwellington.alchemy.generator.one
 import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
 import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
 import tech.sirwellington.alchemy.test.junit.runners.Repeat
 
 /**
@@ -103,4 +105,91 @@ class AddressAssertionsTest
         assertThrows { assertion.check(badZip) }.failedAssertion()
     }
 
-}
\ No newline at end of file
+    @DontRepeat
+    @Test
+    fun testValidZipCodeStringRequiresFiveDigits()
+    {
+        val assertion = validZipCodeString()
+
+        assertThrows { assertion.check("1234") }.failedAssertion()
+        assertThrows { assertion.check("-1234") }.failedAssertion()
+        assertThrows { assertion.check("9001a") }.failedAssertion()
+    }
+
+    @Test
+    fun testValidPostalCode()
+    {
+        val assertion = validPostalCode("US")
+        assertThat(assertion, notNullValue())
+
+        assertion.check(zip)
+        assertion.check("$zip-1234")
+        assertThrows { assertion.check(badZip) }.failedAssertion()
+        assertThrows { assertion.check("$zip-12") }.failedAssertion()
+        assertThrows { assertion.check(null) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testValidPostalCodeForOtherCountries()
+    {
+        val canada = validPostalCode("CA")
+        canada.check("K1A 0B1")
+        canada.check("k1a0b1")
+        assertThrows { canada.check("K1A-0B1") }.failedAssertion()
+        assertThrows { canada.check("12345") }.failedAssertion()
+
+        val unitedKingdom = validPostalCode("GB")
+        unitedKingdom.check("SW1A 1AA")
+        unitedKingdom.check("M1 1AE")
+        unitedKingdom.check("EC1A1BB")
+        assertThrows { unitedKingdom.check("SW1A 1A") }.failedAssertion()
+
+        //UK is an alias of GB
+        validPostalCode("uk").check("W1A 0AX")
+
+        val germany = validPostalCode("DE")
+        germany.check("10115")
+        assertThrows { germany.check("1011") }.failedAssertion()
+
+        val netherlands = validPostalCode("NL")
+        netherlands.check("1012 AB")
+        assertThrows { netherlands.check("1012 A1") }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testValidPostalCodeWithBadArgs()
+    {
+        assertThrows { validPostalCode("") }.illegalArgument()
+        assertThrows { validPostalCode("XX") }.illegalArgument()
+    }
+
+    @DontRepeat
+    @Test
+    fun testZipCodeInState()
+    {
+        val california = zipCodeInState("CA")
+        assertThat(california, notNullValue())
+
+        california.check("90012")
+        california.check("94105-1234")
+        assertThrows { california.check("10001") }.failedAssertion()
+        assertThrows { california.check("9001") }.failedAssertion()
+        assertThrows { california.check(null) }.failedAssertion()
+
+        zipCodeInState("ny").check("10001")
+        zipCodeInState("MA").check("02139")
+        zipCodeInState("TX").check("73301")
+        assertThrows { zipCodeInState("OK").check("73301") }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testZipCodeInStateWithBadArgs()
+    {
+        assertThrows { zipCodeInState("") }.illegalArgument()
+        assertThrows { zipCodeInState("ZZ") }.illegalArgument()
+    }
+
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import org.hamcrest.Matchers.equalTo
+import org.hamcrest.Matchers.notNullValue
+import org.junit.Assert.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.arguments.failedAssertion
+import tech.sirwellington.alchemy.arguments.illegalArgument
+import tech.sirwellington.alchemy.generator.BinaryGenerators.Companion.binary
+import tech.sirwellington.alchemy.generator.NumberGenerators
+import tech.sirwellington.alchemy.generator.one
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.ALPHABETIC
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(100)
+@RunWith(AlchemyTestRunner::class)
+class ByteAssertionsTest
+{
+
+    private lateinit var payload: ByteArray
+
+    @GenerateString(ALPHABETIC)
+    private lateinit var text: String
+
+    @Before
+    fun setUp()
+    {
+        payload = one(binary(one(NumberGenerators.integers(1, 500))))
+    }
+
+    @Test
+    fun testNonEmptyByteArray()
+    {
+        val instance = nonEmptyByteArray()
+        assertThat(instance, notNullValue())
+
+        instance.check(payload)
+        assertThrows { instance.check(ByteArray(0)) }.failedAssertion()
+        assertThrows { instance.check(null) }.failedAssertion()
+    }
+
+    @Test
+    fun testByteArrayWithSizeAtMost()
+    {
+        byteArrayWithSizeAtMost(payload.size).check(payload)
+        assertThrows { byteArrayWithSizeAtMost(payload.size - 1).check(payload) }.failedAssertion()
+        assertThrows { byteArrayWithSizeAtMost(-1) }.illegalArgument()
+    }
+
+    @Test
+    fun testByteArrayWithSizeBetween()
+    {
+        byteArrayWithSizeBetween(payload.size, payload.size).check(payload)
+        byteArrayWithSizeBetween(0, payload.size + 1).check(payload)
+        assertThrows { byteArrayWithSizeBetween(payload.size + 1, payload.size + 10).check(payload) }.failedAssertion()
+        assertThrows { byteArrayWithSizeBetween(10, 1) }.illegalArgument()
+    }
+
+    @Test
+    fun testByteBufferWithRemainingBetween()
+    {
+        val buffer = ByteBuffer.wrap(payload)
+        val instance = byteBufferWithRemainingBetween(payload.size, payload.size)
+
+        instance.check(buffer)
+
+        buffer.position(1)
+        assertThrows { instance.check(buffer) }.failedAssertion()
+        assertThrows { instance.check(null) }.failedAssertion()
+    }
+
+    @Test
+    fun testByteArrayStartingWith()
+    {
+        val magic = payload.copyOf(Math.min(4, payload.size))
+        val instance = byteArrayStartingWith(magic)
+        assertThat(instance, notNullValue())
+
+        instance.check(payload)
+
+        val other = payload.copyOf()
+        other[0] = (other[0] + 1).toByte()
+        assertThrows { instance.check(other) }.failedAssertion()
+        assertThrows { instance.check(ByteArray(0)) }.failedAssertion()
+
+        //The magic number is copied
+        magic[0] = (magic[0] + 1).toByte()
+        instance.check(payload)
+    }
+
+    @Test
+    fun testByteBufferStartingWith()
+    {
+        val pdf = "%PDF".toByteArray()
+        val buffer = ByteBuffer.allocateDirect(payload.size + 4)
+        buffer.put(payload).put(pdf).flip()
+
+        val instance = byteBufferStartingWith(pdf)
+        assertThrows { instance.check(buffer) }.failedAssertion()
+
+        buffer.position(payload.size)
+        instance.check(buffer)
+        assertThat(buffer.position(), equalTo(payload.size))
+    }
+
+    @DontRepeat
+    @Test
+    fun testStartingWithBadArgs()
+    {
+        assertThrows { byteArrayStartingWith(ByteArray(0)) }.illegalArgument()
+        assertThrows { byteBufferStartingWith(ByteArray(0)) }.illegalArgument()
+    }
+
+    @Test
+    fun testByteArrayWithTrailingChecksum()
+    {
+        ChecksumAlgorithm.values().forEach { algorithm ->
+
+            val instance = byteArrayWithTrailingChecksum(algorithm)
+            val withChecksum = withChecksum(algorithm, ByteOrder.BIG_ENDIAN)
+
+            instance.check(withChecksum)
+
+            withChecksum[0] = (withChecksum[0] + 1).toByte()
+            assertThrows { instance.check(withChecksum) }.failedAssertion()
+            assertThrows { instance.check(ByteArray(3)) }.failedAssertion()
+        }
+    }
+
+    @Test
+    fun testByteArrayWithTrailingChecksumInLittleEndian()
+    {
+        ChecksumAlgorithm.values().forEach { algorithm ->
+
+            val withChecksum = withChecksum(algorithm, ByteOrder.LITTLE_ENDIAN)
+
+            byteArrayWithTrailingChecksum(algorithm, ByteOrder.LITTLE_ENDIAN).check(withChecksum)
+        }
+    }
+
+    @Test
+    fun testByteArraySliceWithTrailingChecksum()
+    {
+        ChecksumAlgorithm.values().forEach { algorithm ->
+
+            val slice = withChecksum(algorithm, ByteOrder.BIG_ENDIAN)
+            val array = ByteArray(7) + slice + ByteArray(3)
+
+            byteArrayWithTrailingChecksum(algorithm, 7, slice.size).check(array)
+
+            assertThrows { byteArrayWithTrailingChecksum(algorithm, 6, slice.size).check(array) }.failedAssertion()
+            assertThrows { byteArrayWithTrailingChecksum(algorithm, 7, slice.size + 4).check(array) }.failedAssertion()
+        }
+    }
+
+    @Test
+    fun testByteBufferWithTrailingChecksum()
+    {
+        ChecksumAlgorithm.values().forEach { algorithm ->
+
+            val withChecksum = withChecksum(algorithm, ByteOrder.BIG_ENDIAN)
+            val buffer = ByteBuffer.allocateDirect(withChecksum.size + 2)
+            buffer.put(ByteArray(2)).put(withChecksum).flip()
+            buffer.position(2)
+
+            byteBufferWithTrailingChecksum(algorithm).check(buffer)
+            assertThat(buffer.position(), equalTo(2))
+
+            byteBufferWithTrailingChecksum(algorithm).check(ByteBuffer.wrap(withChecksum))
+        }
+    }
+
+    @DontRepeat
+    @Test
+    fun testTrailingChecksumWithBadArgs()
+    {
+        assertThrows { byteArrayWithTrailingChecksum(ChecksumAlgorithm.CRC32, -1, 10) }.illegalArgument()
+        assertThrows { byteArrayWithTrailingChecksum(ChecksumAlgorithm.CRC32, 0, 3) }.illegalArgument()
+    }
+
+    @DontRepeat
+    @Test
+    fun testChecksumAlgorithmsWithKnownValues()
+    {
+        val input = "123456789".toByteArray()
+
+        assertThat(ChecksumAlgorithm.CRC32.checksumOf(input, 0, input.size), equalTo(0xCBF43926.toInt()))
+        assertThat(ChecksumAlgorithm.CRC32C.checksumOf(input, 0, input.size), equalTo(0xE3069283.toInt()))
+        assertThat(ChecksumAlgorithm.ADLER32.checksumOf(input, 0, input.size), equalTo(0x091E01DE))
+    }
+
+    @Test
+    fun testByteArrayWithValidUtf8()
+    {
+        val instance = byteArrayWithValidUtf8()
+        assertThat(instance, notNullValue())
+
+        instance.check(text.toByteArray(Charsets.UTF_8))
+        instance.check("naïve café, 東京, 😀".toByteArray(Charsets.UTF_8))
+
+        assertThrows { instance.check(byteArrayOf(0x61, 0xC3.toByte())) }.failedAssertion()
+        assertThrows { instance.check(byteArrayOf(0xC0.toByte(), 0xAF.toByte())) }.failedAssertion()
+        assertThrows { instance.check(null) }.failedAssertion()
+    }
+
+    @Test
+    fun testByteBufferWithValidUtf8()
+    {
+        val bytes = "$text 😀".toByteArray(Charsets.UTF_8)
+        val buffer = ByteBuffer.allocateDirect(bytes.size + 1)
+        buffer.put(0xFF.toByte()).put(bytes).flip()
+
+        val instance = byteBufferWithValidUtf8()
+        assertThrows { instance.check(buffer) }.failedAssertion()
+
+        buffer.position(1)
+        instance.check(buffer)
+        assertThat(buffer.position(), equalTo(1))
+    }
+
+    @Test
+    fun testUtf8LengthBetween()
+    {
+        val bytes = "$text😀".toByteArray(Charsets.UTF_8)
+        val length = text.length + 1
+
+        byteArrayWithUtf8LengthBetween(length, length).check(bytes)
+        byteBufferWithUtf8LengthBetween(0, length).check(ByteBuffer.wrap(bytes))
+
+        assertThrows { byteArrayWithUtf8LengthBetween(0, length - 1).check(bytes) }.failedAssertion()
+        assertThrows { byteArrayWithUtf8LengthBetween(length + 1, length + 10).check(bytes) }.failedAssertion()
+        assertThrows { byteBufferWithUtf8LengthBetween(length + 1, length + 10).check(ByteBuffer.wrap(bytes)) }.failedAssertion()
+        assertThrows { byteArrayWithUtf8LengthBetween(5, 1) }.illegalArgument()
+    }
+
+    @Test
+    fun testNoControlCharacters()
+    {
+        val bytes = text.toByteArray(Charsets.UTF_8)
+
+        byteArrayWithNoControlCharacters().check(bytes)
+        byteBufferWithNoControlCharacters().check(ByteBuffer.wrap(bytes))
+
+        listOf("$text\n", "\u0000$text", "$text\u007F$text", "$text\u0085")
+                .map { it.toByteArray(Charsets.UTF_8) }
+                .forEach { bad -> assertThrows { byteArrayWithNoControlCharacters().check(bad) }.failedAssertion() }
+    }
+
+    @Test
+    fun testOnlyAscii()
+    {
+        val bytes = text.toByteArray(Charsets.US_ASCII)
+
+        byteArrayWithOnlyAscii().check(bytes)
+        byteBufferWithOnlyAscii().check(ByteBuffer.wrap(bytes))
+
+        val withAccent = "${text}é".toByteArray(Charsets.UTF_8)
+        assertThrows { byteArrayWithOnlyAscii().check(withAccent) }.failedAssertion()
+        assertThrows { byteBufferWithOnlyAscii().check(ByteBuffer.wrap(withAccent)) }.failedAssertion()
+    }
+
+    private fun withChecksum(algorithm: ChecksumAlgorithm, byteOrder: ByteOrder): ByteArray
+    {
+        val checksum = algorithm.checksumOf(payload, 0, payload.size)
+
+        return ByteBuffer.allocate(payload.size + 4)
+                .order(byteOrder)
+                .put(payload)
+                .putInt(checksum)
+                .array()
+    }
+}
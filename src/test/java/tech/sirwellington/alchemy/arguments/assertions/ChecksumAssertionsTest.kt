@@ -0,0 +1,189 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import org.hamcrest.Matchers.notNullValue
+import org.junit.Assert.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.arguments.failedAssertion
+import tech.sirwellington.alchemy.arguments.illegalArgument
+import tech.sirwellington.alchemy.generator.NumberGenerators
+import tech.sirwellington.alchemy.generator.one
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.ALPHABETIC
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(100)
+@RunWith(AlchemyTestRunner::class)
+class ChecksumAssertionsTest
+{
+
+    @GenerateString(ALPHABETIC)
+    private lateinit var badString: String
+
+    private lateinit var cardNumber: String
+
+    @Before
+    fun setUp()
+    {
+        val digits = (1..15).joinToString("") { one(NumberGenerators.integers(0, 10)).toString() }
+        cardNumber = "4" + digits.substring(1) + luhnCheckDigitOf("4" + digits.substring(1))
+    }
+
+    @Test
+    fun testValidLuhnNumber()
+    {
+        val instance = validLuhnNumber<String>()
+        assertThat(instance, notNullValue())
+
+        instance.check(cardNumber)
+        instance.check("79927398713")
+
+        assertThrows { instance.check(withWrongLastDigit(cardNumber)) }.failedAssertion()
+        assertThrows { instance.check(badString) }.failedAssertion()
+        assertThrows { instance.check(null) }.failedAssertion()
+    }
+
+    @Test
+    fun testValidCardNumber()
+    {
+        val instance = validCardNumber<String>()
+        assertThat(instance, notNullValue())
+
+        instance.check(cardNumber)
+        validCardNumber<CharSequence>().check(StringBuilder(cardNumber))
+
+        assertThrows { instance.check(withWrongLastDigit(cardNumber)) }.failedAssertion()
+        //Passes the Luhn check, but is too short to be a card number
+        assertThrows { instance.check("79927398713") }.failedAssertion()
+        assertThrows { instance.check("$cardNumber ") }.failedAssertion()
+    }
+
+    @Test
+    fun testCardNumberInBinRanges()
+    {
+        val instance = cardNumberInBinRanges<String>("4", "51-55", "2221-2720")
+        assertThat(instance, notNullValue())
+
+        instance.check(cardNumber)
+        instance.check("5500005555555559")
+        instance.check("2223000048400011")
+
+        assertThrows { instance.check("378282246310005") }.failedAssertion()
+        assertThrows { instance.check("6011111111111117") }.failedAssertion()
+        assertThrows { instance.check(withWrongLastDigit(cardNumber)) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testCardNumberInBinRangesWithBadArgs()
+    {
+        assertThrows { cardNumberInBinRanges<String>(listOf<String>()) }.illegalArgument()
+        assertThrows { cardNumberInBinRanges<String>("") }.illegalArgument()
+        assertThrows { cardNumberInBinRanges<String>("4a") }.illegalArgument()
+        assertThrows { cardNumberInBinRanges<String>("51-5") }.illegalArgument()
+        assertThrows { cardNumberInBinRanges<String>("55-51") }.illegalArgument()
+        assertThrows { cardNumberInBinRanges<String>("123456789") }.illegalArgument()
+    }
+
+    @DontRepeat
+    @Test
+    fun testValidIBAN()
+    {
+        val instance = validIBAN<String>()
+        assertThat(instance, notNullValue())
+
+        listOf("GB82WEST12345698765432", "DE89370400440532013000", "FR1420041010050500013M02606", "NO9386011117947", "BE71096123456769")
+                .forEach { instance.check(it) }
+
+        //A wrong check digit, lower-case letters, spaces, and a length that is wrong for the country
+        listOf("GB82WEST12345698765433", "gb82WEST12345698765432", "GB82 WEST 1234 5698 7654 32", "GB82WEST1234569876543", "")
+                .forEach { bad -> assertThrows { instance.check(bad) }.failedAssertion() }
+
+        assertThrows { instance.check(null) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testValidISBN()
+    {
+        val isbn10 = validISBN10<String>()
+        isbn10.check("0306406152")
+        isbn10.check("080442957X")
+        assertThrows { isbn10.check("0306406153") }.failedAssertion()
+        assertThrows { isbn10.check("8044295X70") }.failedAssertion()
+
+        val isbn13 = validISBN13<String>()
+        isbn13.check("9780306406157")
+        assertThrows { isbn13.check("9780306406158") }.failedAssertion()
+        //A valid EAN-13 outside of the ISBN ranges
+        assertThrows { isbn13.check("4006381333931") }.failedAssertion()
+
+        val isbn = validISBN<String>()
+        isbn.check("0306406152")
+        isbn.check("9780306406157")
+        assertThrows { isbn.check("978030640615") }.failedAssertion()
+        assertThrows { isbn.check(null) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testValidBarcodes()
+    {
+        validEAN13<String>().check("4006381333931")
+        assertThrows { validEAN13<String>().check("4006381333932") }.failedAssertion()
+
+        validEAN8<String>().check("73513537")
+        assertThrows { validEAN8<String>().check("73513538") }.failedAssertion()
+
+        validUPC<String>().check("036000291452")
+        assertThrows { validUPC<String>().check("036000291453") }.failedAssertion()
+        assertThrows { validUPC<String>().check("4006381333931") }.failedAssertion()
+        assertThrows { validUPC<String>().check(null) }.failedAssertion()
+    }
+
+    private fun luhnCheckDigitOf(payload: String): Int
+    {
+        val sum = payload.reversed().mapIndexed { index, character ->
+
+            val digit = character - '0'
+
+            when
+            {
+                index % 2 == 1 -> digit
+                digit * 2 > 9 -> digit * 2 - 9
+                else -> digit * 2
+            }
+        }.sum()
+
+        return (10 - sum % 10) % 10
+    }
+
+    private fun withWrongLastDigit(number: String): String
+    {
+        val last = number.last() - '0'
+        return number.dropLast(1) + ((last + 1) % 10)
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.arguments.illegalArgument
+import tech.sirwellington.alchemy.generator.NumberGenerators.Companion.integers
+import tech.sirwellington.alchemy.generator.NumberGenerators.Companion.longs
+import tech.sirwellington.alchemy.generator.one
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(100)
+@RunWith(AlchemyTestRunner::class)
+class CidrTrieTest
+{
+
+    @DontRepeat
+    @Test
+    fun testEmpty()
+    {
+        val instance = CidrTrie.Builder(32).build()
+
+        assertTrue(instance.isEmpty)
+        assertFalse(instance.containsPrefixOf(0L, 0L))
+    }
+
+    @Test
+    fun testContainsPrefixOf()
+    {
+        val prefix = one(longs(0, 0xFFFFFFFFL)) shl 32
+        val length = one(integers(1, 33))
+
+        val instance = CidrTrie.Builder(32)
+                .add(prefix, 0L, length)
+                .build()
+
+        assertTrue(instance.containsPrefixOf(prefix, 0L))
+
+        //Flip the last bit within the prefix
+        val outside = prefix xor (1L shl (64 - length))
+        assertFalse(instance.containsPrefixOf(outside, 0L))
+
+        if (length < 32)
+        {
+            //Flip the first bit past the prefix
+            val inside = prefix xor (1L shl (63 - length))
+            assertTrue(instance.containsPrefixOf(inside, 0L))
+        }
+    }
+
+    @DontRepeat
+    @Test
+    fun testWithNestedAndSiblingPrefixes()
+    {
+        //10.0.0.0/8, 10.1.0.0/16, 10.1.1.0/24 and 192.168.0.0/16
+        val instance = CidrTrie.Builder(32)
+                .add(0x0A010100L shl 32, 0L, 24)
+                .add(0x0A010000L shl 32, 0L, 16)
+                .add(0xC0A80000L shl 32, 0L, 16)
+                .add(0x0A000000L shl 32, 0L, 8)
+                .build()
+
+        assertTrue(instance.containsPrefixOf(0x0AFFFFFFL shl 32, 0L))
+        assertTrue(instance.containsPrefixOf(0x0A010203L shl 32, 0L))
+        assertTrue(instance.containsPrefixOf(0xC0A8FF01L shl 32, 0L))
+        assertFalse(instance.containsPrefixOf(0x0B000000L shl 32, 0L))
+        assertFalse(instance.containsPrefixOf(0xC0A90000L shl 32, 0L))
+    }
+
+    @DontRepeat
+    @Test
+    fun testWith128BitKeys()
+    {
+        val high = 0x20010DB800000000L
+        val low = 0x0000000000000001L
+
+        val instance = CidrTrie.Builder(128)
+                .add(high, low, 128)
+                .add(high, 0L, 96)
+                .build()
+
+        assertTrue(instance.containsPrefixOf(high, low))
+        assertTrue(instance.containsPrefixOf(high, 0x00000000FFFFFFFFL))
+        assertFalse(instance.containsPrefixOf(high, 0x0000000100000000L))
+        assertFalse(instance.containsPrefixOf(high + 1, low))
+    }
+
+    @DontRepeat
+    @Test
+    fun testWithZeroLengthPrefix()
+    {
+        val instance = CidrTrie.Builder(128)
+                .add(0L, 0L, 0)
+                .build()
+
+        assertTrue(instance.containsPrefixOf(one(longs(Long.MIN_VALUE, Long.MAX_VALUE)), 0L))
+    }
+
+    @DontRepeat
+    @Test
+    fun testWithBadArgs()
+    {
+        assertThrows { CidrTrie.Builder(0) }.illegalArgument()
+        assertThrows { CidrTrie.Builder(129) }.illegalArgument()
+        assertThrows { CidrTrie.Builder(32).add(0L, 0L, 33) }.illegalArgument()
+    }
+
+}
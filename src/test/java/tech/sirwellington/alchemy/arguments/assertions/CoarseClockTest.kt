@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import org.hamcrest.Matchers.equalTo
+import org.hamcrest.Matchers.lessThanOrEqualTo
+import org.hamcrest.Matchers.notNullValue
+import org.hamcrest.Matchers.sameInstance
+import org.junit.Assert.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.annotations.testing.TimeSensitive
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
+import java.time.ZoneId
+import java.time.ZoneOffset
+
+/**
+ *
+ * @author SirWellington
+ */
+@RunWith(AlchemyTestRunner::class)
+class CoarseClockTest
+{
+
+    @Test
+    fun testSystemUTC()
+    {
+        val clock = CoarseClock.systemUTC()
+        assertThat(clock, notNullValue())
+        assertThat(clock.zone, equalTo(ZoneOffset.UTC as ZoneId))
+        assertThat(CoarseClock.systemUTC(), sameInstance(clock))
+    }
+
+    @TimeSensitive
+    @Test
+    fun testMillisStaysCurrent()
+    {
+        val clock = CoarseClock.systemUTC()
+
+        val difference = Math.abs(System.currentTimeMillis() - clock.millis())
+        assertThat(difference, lessThanOrEqualTo(50L))
+
+        val before = clock.millis()
+        Thread.sleep(50)
+        val after = clock.millis()
+        assertThat(before, lessThanOrEqualTo(after - 1))
+    }
+
+    @Test
+    fun testInstantMatchesMillis()
+    {
+        val clock = CoarseClock.systemUTC()
+
+        val instant = clock.instant()
+        assertThat(instant.toEpochMilli(), lessThanOrEqualTo(clock.millis()))
+    }
+
+    @DontRepeat
+    @Test
+    fun testWithZone()
+    {
+        val clock = CoarseClock.systemUTC()
+        val zone = ZoneId.of("America/Los_Angeles")
+
+        val result = clock.withZone(zone)
+        assertThat(result.zone, equalTo(zone))
+        assertThat(result, equalTo(clock.withZone(zone)))
+        assertThat(clock.withZone(ZoneOffset.UTC), sameInstance(clock as java.time.Clock))
+    }
+
+}
@@ -15,6 +15,7 @@
 
 package tech.sirwellington.alchemy.arguments.assertions
 
+import org.hamcrest.Matchers.equalTo
 import org.hamcrest.Matchers.notNullValue
 import org.junit.Assert.assertThat
 import org.junit.Before
@@ -36,6 +37,8 @@ import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
 import tech.sirwellington.alchemy.test.junit.runners.GenerateList
 import tech.sirwellington.alchemy.test.junit.runners.Repeat
 import java.util.Collections
+import java.util.LinkedList
+import java.util.Spliterators
 
 /**
 
@@ -412,4 +415,262 @@ class CollectionAssertionsTest
         assertThrows { instance.check(nonEmptySet) }.failedAssertion()
     }
 
+    @Test
+    fun testIterableWithSizeAtMost()
+    {
+        val size = strings.size
+        val iterable = Iterable { strings.iterator() }
+
+        val instance = iterableWithSizeAtMost<Iterable<String>>(size)
+        assertThat(instance, notNullValue())
+        instance.check(iterable)
+
+        assertThrows { iterableWithSizeAtMost<Iterable<String>>(size - 1).check(iterable) }.failedAssertion()
+        assertThrows { instance.check(null) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testIterableWithSizeAtMostStopsEarly()
+    {
+        val infinite = Iterable { generateSequence(0) { it + 1 }.iterator() }
+
+        val instance = iterableWithSizeAtMost<Iterable<Int>>(100)
+        assertThrows { instance.check(infinite) }.failedAssertion()
+    }
+
+    @Test
+    fun testIterableWithSizeAtLeast()
+    {
+        val size = strings.size
+        val iterable = Iterable { strings.iterator() }
+
+        val instance = iterableWithSizeAtLeast<Iterable<String>>(size)
+        assertThat(instance, notNullValue())
+        instance.check(iterable)
+
+        assertThrows { iterableWithSizeAtLeast<Iterable<String>>(size + 1).check(iterable) }.failedAssertion()
+        assertThrows { instance.check(null) }.failedAssertion()
+
+        //Should stop before exhausting the iterable
+        val infinite = Iterable { generateSequence(0) { it + 1 }.iterator() }
+        iterableWithSizeAtLeast<Iterable<Int>>(size).check(infinite)
+    }
+
+    @Test
+    fun testIterableWithSizeBetween()
+    {
+        val size = strings.size
+        val iterable = Iterable { strings.iterator() }
+
+        val instance = iterableWithSizeBetween<Iterable<String>>(size - 1, size + 1)
+        assertThat(instance, notNullValue())
+        instance.check(iterable)
+
+        assertThrows { iterableWithSizeBetween<Iterable<String>>(size + 1, size + 2).check(iterable) }.failedAssertion()
+        assertThrows { iterableWithSizeBetween<Iterable<String>>(0, size - 1).check(iterable) }.failedAssertion()
+        assertThrows { instance.check(null) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testIterableSizeAssertionsWithBadArgs()
+    {
+        val badSize = one(negativeIntegers())
+
+        assertThrows { iterableWithSizeAtMost<Iterable<Any>>(badSize) }.illegalArgument()
+        assertThrows { iterableWithSizeAtLeast<Iterable<Any>>(badSize) }.illegalArgument()
+        assertThrows { iterableWithSizeBetween<Iterable<Any>>(badSize, 10) }.illegalArgument()
+        assertThrows { iterableWithSizeBetween<Iterable<Any>>(10, 5) }.illegalArgument()
+    }
+
+    @Test
+    fun testSpliteratorWithSizeAtMost()
+    {
+        val size = strings.size
+
+        val instance = spliteratorWithSizeAtMost<String>(size)
+        assertThat(instance, notNullValue())
+        instance.check(strings.spliterator())
+        instance.check(strings.stream().filter { it.isNotEmpty() }.spliterator())
+
+        assertThrows { spliteratorWithSizeAtMost<String>(size - 1).check(strings.spliterator()) }.failedAssertion()
+
+        val infinite = Spliterators.spliteratorUnknownSize(generateSequence(0) { it + 1 }.iterator(), 0)
+        assertThrows { spliteratorWithSizeAtMost<Int>(size).check(infinite) }.failedAssertion()
+    }
+
+    @Test
+    fun testSpliteratorWithSizeAtLeast()
+    {
+        val size = strings.size
+
+        val instance = spliteratorWithSizeAtLeast<String>(size)
+        assertThat(instance, notNullValue())
+        instance.check(strings.spliterator())
+
+        assertThrows { spliteratorWithSizeAtLeast<String>(size + 1).check(strings.spliterator()) }.failedAssertion()
+
+        val infinite = Spliterators.spliteratorUnknownSize(generateSequence(0) { it + 1 }.iterator(), 0)
+        spliteratorWithSizeAtLeast<Int>(size).check(infinite)
+    }
+
+    @Test
+    fun testSpliteratorWithSizeBetween()
+    {
+        val size = strings.size
+
+        val instance = spliteratorWithSizeBetween<String>(size, size)
+        assertThat(instance, notNullValue())
+        instance.check(strings.spliterator())
+        instance.check(strings.stream().filter { true }.spliterator())
+
+        assertThrows { spliteratorWithSizeBetween<String>(0, size - 1).check(strings.spliterator()) }.failedAssertion()
+        assertThrows { instance.check(null) }.failedAssertion()
+    }
+
+    @Test
+    fun testSortedAscending()
+    {
+        val sorted = strings.sorted()
+
+        val instance = sortedAscending<String>()
+        assertThat(instance, notNullValue())
+        instance.check(sorted)
+
+        //Duplicates are allowed
+        instance.check(listOf(sorted.first()) + sorted)
+
+        val unsorted = listOf("b", "a")
+        assertThrows { instance.check(unsorted) }.failedAssertion()
+        assertThrows { instance.check(null) }.failedAssertion()
+
+        //Trivial lists are always sorted
+        instance.check(listOf<String>())
+        instance.check(listOf(one(alphabeticStrings())))
+    }
+
+    @DontRepeat
+    @Test
+    fun testSortedAscendingWithLargeList()
+    {
+        val size = PARALLEL_SORT_CHECK_THRESHOLD * 4
+        val sorted = (0 until size).toList()
+
+        val instance = sortedAscending<Int>()
+        instance.check(sorted)
+
+        //Out of order right at the boundary between two chunks
+        val atBoundary = sorted.toMutableList()
+        atBoundary[PARALLEL_SORT_CHECK_THRESHOLD] = -1
+        assertThrows { instance.check(atBoundary) }.failedAssertion()
+
+        val atEnd = sorted.toMutableList()
+        atEnd[size - 1] = 0
+        assertThrows { instance.check(atEnd) }.failedAssertion()
+
+        //Not RandomAccess, so it is checked sequentially
+        assertThrows { instance.check(LinkedList(atEnd)) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testSortedAscendingWithBadArgs()
+    {
+        assertThrows { sortedAscending<Any>(null!!) }
+    }
+
+    @Test
+    fun testSortedDescending()
+    {
+        val sorted = strings.sortedDescending()
+
+        val instance = sortedDescending<String>()
+        assertThat(instance, notNullValue())
+        instance.check(sorted)
+
+        assertThrows { instance.check(listOf("a", "b")) }.failedAssertion()
+        assertThrows { instance.check(null) }.failedAssertion()
+
+        val byLength = sortedDescending(Comparator<String> { first, second -> first.length - second.length })
+        byLength.check(listOf("ccc", "bb", "aa", "a"))
+        assertThrows { byLength.check(listOf("a", "ccc")) }.failedAssertion()
+    }
+
+    @Test
+    fun testStrictlySorted()
+    {
+        val sorted = strings.toSortedSet().toList()
+
+        val instance = strictlySorted<String>()
+        assertThat(instance, notNullValue())
+        instance.check(sorted)
+
+        val withDuplicate = listOf(sorted.first()) + sorted
+        assertThrows { instance.check(withDuplicate) }.failedAssertion()
+        assertThrows { instance.check(sorted.reversed() + sorted) }.failedAssertion()
+        assertThrows { instance.check(null) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testStrictlySortedWithLargeList()
+    {
+        val size = PARALLEL_SORT_CHECK_THRESHOLD * 4
+        val sorted = (0 until size).toMutableList()
+
+        val instance = strictlySorted<Int>()
+        instance.check(sorted)
+
+        sorted[PARALLEL_SORT_CHECK_THRESHOLD * 2] = PARALLEL_SORT_CHECK_THRESHOLD * 2 - 1
+        sortedAscending<Int>().check(sorted)
+        assertThrows { instance.check(sorted) }.failedAssertion()
+    }
+
+    @Test
+    fun testSampleOfElements()
+    {
+        var checks = 0
+        val positive = AlchemyAssertion<Int> {
+            checks += 1
+            positiveInteger().check(it)
+        }
+
+        val numbers = (1..10_000).toList()
+        val sampleSize = one(NumberGenerators.integers(1, 100))
+
+        val instance = sampleOfElements<Int, Collection<Int>>(sampleSize, positive)
+        assertThat(instance, notNullValue())
+
+        instance.check(numbers)
+        assertThat(checks, equalTo(sampleSize))
+
+        checks = 0
+        instance.check(LinkedList(numbers))
+        assertThat(checks, equalTo(sampleSize))
+
+        checks = 0
+        instance.check(numbers.take(sampleSize).toSet())
+        assertThat(checks, equalTo(sampleSize))
+
+        assertThrows { instance.check(null) }.failedAssertion()
+    }
+
+    @Test
+    fun testSampleOfElementsWithFailures()
+    {
+        val bad = (1..1_000).map { -it }
+        val instance = sampleOfElements<Int, Collection<Int>>(1, positiveInteger())
+
+        assertThrows { instance.check(bad) }.failedAssertion()
+        assertThrows { instance.check(LinkedList(bad)) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testSampleOfElementsWithBadArgs()
+    {
+        assertThrows { sampleOfElements<Int, List<Int>>(0, positiveInteger()) }.illegalArgument()
+    }
+
 }
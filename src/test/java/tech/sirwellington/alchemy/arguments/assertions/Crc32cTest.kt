@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import org.hamcrest.Matchers.equalTo
+import org.junit.Assert.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.generator.BinaryGenerators.Companion.binary
+import tech.sirwellington.alchemy.generator.NumberGenerators
+import tech.sirwellington.alchemy.generator.one
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+import java.nio.ByteBuffer
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(200)
+@RunWith(AlchemyTestRunner::class)
+class Crc32cTest
+{
+
+    private lateinit var data: ByteArray
+
+    @Before
+    fun setUp()
+    {
+        data = one(binary(one(NumberGenerators.integers(1, 300))))
+    }
+
+    @DontRepeat
+    @Test
+    fun testKnownValues()
+    {
+        assertThat(Crc32c.checksumOf(ByteArray(0), 0, 0), equalTo(0))
+        assertThat(Crc32c.checksumOf(ByteArray(32), 0, 32), equalTo(0x8A9136AA.toInt()))
+        assertThat(Crc32c.checksumOf("123456789".toByteArray(), 0, 9), equalTo(0xE3069283.toInt()))
+    }
+
+    @Test
+    fun testSlicesMatchBytewise()
+    {
+        val offset = one(NumberGenerators.integers(0, data.size))
+        val length = data.size - offset
+
+        assertThat(Crc32c.checksumOf(data, offset, length), equalTo(bytewise(data, offset, length)))
+    }
+
+    @Test
+    fun testBuffersMatchArrays()
+    {
+        val expected = Crc32c.checksumOf(data, 0, data.size)
+
+        val direct = ByteBuffer.allocateDirect(data.size)
+        direct.put(data).flip()
+
+        assertThat(Crc32c.checksumOf(direct), equalTo(expected))
+        assertThat(direct.remaining(), equalTo(0))
+
+        assertThat(Crc32c.checksumOf(ByteBuffer.wrap(data)), equalTo(expected))
+    }
+
+    private fun bytewise(data: ByteArray, offset: Int, length: Int): Int
+    {
+        var crc = -1
+
+        for (i in offset until offset + length)
+        {
+            crc = crc xor (data[i].toInt() and 0xFF)
+
+            for (bit in 0 until 8)
+            {
+                crc = if (crc and 1 != 0) (crc ushr 1) xor 0x82F63B78.toInt() else crc ushr 1
+            }
+        }
+
+        return crc.inv()
+    }
+}
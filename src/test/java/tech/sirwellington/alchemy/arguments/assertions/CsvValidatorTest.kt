@@ -0,0 +1,250 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import org.hamcrest.Matchers.equalTo
+import org.hamcrest.Matchers.notNullValue
+import org.junit.After
+import org.junit.Assert.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.arguments.AlchemyAssertion
+import tech.sirwellington.alchemy.arguments.FailedAssertionException
+import tech.sirwellington.alchemy.arguments.failedAssertion
+import tech.sirwellington.alchemy.arguments.illegalArgument
+import tech.sirwellington.alchemy.generator.NumberGenerators
+import tech.sirwellington.alchemy.generator.one
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner::class)
+class CsvValidatorTest
+{
+
+    private lateinit var file: Path
+
+    private val digits = AlchemyAssertion<CharSequence> { field ->
+
+        if (field.isEmpty() || field.any { it !in '0'..'9' })
+        {
+            throw FailedAssertionException("Not a number: $field")
+        }
+    }
+
+    @Before
+    fun setUp()
+    {
+        file = Files.createTempFile("alchemy", ".csv")
+    }
+
+    @After
+    fun tearDown()
+    {
+        Files.deleteIfExists(file)
+    }
+
+    @DontRepeat
+    @Test
+    fun testValidate()
+    {
+        write("id,name,amount",
+              "1,alice,100",
+              "2,\"bob, jr\",200",
+              "x3,carol,300",
+              "",
+              "4,dave,4a0",
+              "5,erin")
+
+        val validator = CsvValidator.newBuilder()
+                .skipHeader()
+                .expectColumns(3)
+                .column(0, digits)
+                .column(2, digits)
+                .build()
+
+        val report = validator.validate(file)
+        assertThat(report, notNullValue())
+
+        assertThat(report.linesChecked, equalTo(7L))
+        assertThat(report.invalidLines, equalTo(3L))
+        assertThat(report.isValid, equalTo(false))
+
+        assertThat(report.failures.map { it.line to it.column }, equalTo(listOf(4L to 0, 6L to 2, 7L to -1)))
+    }
+
+    @DontRepeat
+    @Test
+    fun testQuotesAndLineEndings()
+    {
+        write("\"1\",\"a \"\"quoted\"\" name\"\r", "2,\"\"\r", "\"3,x")
+
+        val report = CsvValidator.newBuilder()
+                .column(0, digits)
+                .column(1, nonEmptyCharSequence())
+                .build()
+                .validate(file)
+
+        assertThat(report.failures.map { it.line to it.column }, equalTo(listOf(2L to 1, 3L to 0)))
+    }
+
+    @Test
+    fun testLineNumbersAcrossChunks()
+    {
+        val lines = one(NumberGenerators.integers(2_000, 5_000))
+        val invalid = (1..lines).filter { it % 97 == 0 }
+
+        write(*(1..lines).map { if (it % 97 == 0) "x$it,row" else "$it,row" }.toTypedArray())
+
+        val report = CsvValidator.newBuilder()
+                .column(0, digits)
+                .chunkSize(4096)
+                .maxReportedFailures(Int.MAX_VALUE)
+                .build()
+                .validate(file)
+
+        assertThat(report.linesChecked, equalTo(lines.toLong()))
+        assertThat(report.invalidLines, equalTo(invalid.size.toLong()))
+        assertThat(report.failures.map { it.line }, equalTo(invalid.map { it.toLong() }))
+    }
+
+    @DontRepeat
+    @Test
+    fun testMaxReportedFailures()
+    {
+        write("a", "b", "c", "d")
+
+        val report = CsvValidator.newBuilder()
+                .column(0, digits)
+                .maxReportedFailures(2)
+                .build()
+                .validate(file)
+
+        assertThat(report.invalidLines, equalTo(4L))
+        assertThat(report.failures.map { it.line }, equalTo(listOf(1L, 2L)))
+    }
+
+    @DontRepeat
+    @Test
+    fun testColumnAsString()
+    {
+        write("1,café", "2,naïveté")
+
+        val report = CsvValidator.newBuilder()
+                .delimiter(',')
+                .columnAsString(1, stringWithLengthLessThan(5))
+                .build()
+                .validate(file)
+
+        assertThat(report.failures.map { it.line }, equalTo(listOf(2L)))
+    }
+
+    @DontRepeat
+    @Test
+    fun testMissingColumns()
+    {
+        write("1", "2,a")
+
+        val report = CsvValidator.newBuilder()
+                .delimiter('\t')
+                .column(1, nonEmptyCharSequence())
+                .build()
+                .validate(file)
+
+        //With a tab delimiter, "2,a" is a single column
+        assertThat(report.failures.map { it.line to it.column }, equalTo(listOf(1L to 1, 2L to 1)))
+    }
+
+    @DontRepeat
+    @Test
+    fun testToAssertion()
+    {
+        write("1", "2")
+
+        val assertion = CsvValidator.newBuilder().column(0, digits).build().toAssertion()
+        assertion.check(file)
+
+        write("1", "two")
+        assertThrows { assertion.check(file) }.failedAssertion()
+        assertThrows { assertion.check(file.resolveSibling("missing.csv")) }.failedAssertion()
+        assertThrows { assertion.check(null) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testWithUnexpectedException()
+    {
+        write("1,a", "2,b")
+
+        val report = CsvValidator.newBuilder()
+                .column(1, AlchemyAssertion { field -> if (field.toString() == "b") throw IllegalStateException("boom") })
+                .build()
+                .validate(file)
+
+        assertThat(report.failures.map { it.line to it.column }, equalTo(listOf(2L to 1)))
+    }
+
+    @DontRepeat
+    @Test
+    fun testWithEmptyFile()
+    {
+        val report = CsvValidator.newBuilder().column(0, digits).build().validate(file)
+
+        assertThat(report.linesChecked, equalTo(0L))
+        assertThat(report.isValid, equalTo(true))
+    }
+
+    @DontRepeat
+    @Test
+    fun testBuilderWithBadArgs()
+    {
+        val builder = CsvValidator.newBuilder()
+
+        assertThrows { builder.delimiter('"') }.illegalArgument()
+        assertThrows { builder.delimiter('\n') }.illegalArgument()
+        assertThrows { builder.delimiter('é') }.illegalArgument()
+        assertThrows { builder.expectColumns(0) }.illegalArgument()
+        assertThrows { builder.column(-1, digits) }.illegalArgument()
+        assertThrows { builder.chunkSize(10) }.illegalArgument()
+        assertThrows { builder.maxReportedFailures(-1) }.illegalArgument()
+        assertThrows { builder.expectColumns(1).column(1, digits).build() }.illegalArgument()
+    }
+
+    private fun write(vararg lines: String)
+    {
+        Files.write(file, lines.joinToString("\n").toByteArray(Charsets.UTF_8))
+    }
+
+    private fun nonEmptyCharSequence(): AlchemyAssertion<CharSequence>
+    {
+        return AlchemyAssertion { field ->
+
+            if (field.isEmpty())
+            {
+                throw FailedAssertionException("Empty field")
+            }
+        }
+    }
+}
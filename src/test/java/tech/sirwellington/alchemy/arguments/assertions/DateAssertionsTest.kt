@@ -28,6 +28,8 @@ import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
 import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
 import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
 import tech.sirwellington.alchemy.test.junit.runners.Repeat
+import java.time.Clock
+import java.time.ZoneOffset
 import java.util.Date
 
 /**
@@ -136,4 +138,32 @@ class DateAssertionsTest
         assertThrows { instance.check(startTime) }.illegalArgument()
     }
 
+    @Test
+    fun testInThePastWithClock()
+    {
+        val now = one(DateGenerators.pastDates())
+        val clock = Clock.fixed(now.toInstant(), ZoneOffset.UTC)
+
+        val instance = DateAssertions.inThePast(clock)
+        assertThat(instance, notNullValue())
+
+        instance.check(Date(now.time - 1))
+        assertThrows { instance.check(now) }.failedAssertion()
+        assertThrows { instance.check(Date(now.time + 1)) }.failedAssertion()
+    }
+
+    @Test
+    fun testInTheFutureWithClock()
+    {
+        val now = one(DateGenerators.pastDates())
+        val clock = Clock.fixed(now.toInstant(), ZoneOffset.UTC)
+
+        val instance = DateAssertions.inTheFuture(clock)
+        assertThat(instance, notNullValue())
+
+        instance.check(Date(now.time + 1))
+        assertThrows { instance.check(now) }.failedAssertion()
+        assertThrows { instance.check(Date(now.time - 1)) }.failedAssertion()
+    }
+
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import org.hamcrest.Matchers.equalTo
+import org.hamcrest.Matchers.notNullValue
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertThat
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.arguments.illegalArgument
+import tech.sirwellington.alchemy.generator.NumberGenerators.Companion.doubles
+import tech.sirwellington.alchemy.generator.one
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(50)
+@RunWith(AlchemyTestRunner::class)
+class GeofenceTest
+{
+
+    private val triangle = listOf(GeoPoint(0.0, 0.0),
+                                  GeoPoint(10.0, 0.0),
+                                  GeoPoint(0.0, 10.0))
+
+    private val square = listOf(GeoPoint(20.0, 20.0),
+                                GeoPoint(20.0, 30.0),
+                                GeoPoint(30.0, 30.0),
+                                GeoPoint(30.0, 20.0))
+
+    @DontRepeat
+    @Test
+    fun testOf()
+    {
+        val instance = Geofence.of(triangle, square)
+        assertThat(instance, notNullValue())
+        assertThat(instance.size, equalTo(2))
+    }
+
+    @DontRepeat
+    @Test
+    fun testOfWithBadArgs()
+    {
+        assertThrows { Geofence.of(kotlin.collections.emptyList<List<GeoPoint>>()) }.illegalArgument()
+        assertThrows { Geofence.of(listOf(GeoPoint(0.0, 0.0), GeoPoint(1.0, 1.0))) }.illegalArgument()
+        assertThrows { Geofence.of(listOf(GeoPoint(0.0, 0.0), GeoPoint(91.0, 1.0), GeoPoint(1.0, 0.0))) }.illegalArgument()
+    }
+
+    @Test
+    fun testContains()
+    {
+        val instance = Geofence.of(triangle, square)
+
+        val latitude = one(doubles(20.1, 29.9))
+        val longitude = one(doubles(20.1, 29.9))
+        assertTrue(instance.contains(latitude, longitude))
+        assertThat(instance.indexOfPolygonContaining(latitude, longitude), equalTo(1))
+
+        assertTrue(instance.contains(1.0, 1.0))
+        assertThat(instance.indexOfPolygonContaining(1.0, 1.0), equalTo(0))
+
+        //Inside the bounding box of the triangle, but outside of it
+        assertFalse(instance.contains(9.0, 9.0))
+        //Outside of the grid altogether
+        assertFalse(instance.contains(-latitude, -longitude))
+        assertThat(instance.indexOfPolygonContaining(-latitude, longitude), equalTo(-1))
+    }
+
+    @DontRepeat
+    @Test
+    fun testContainsWithManyPolygons()
+    {
+        //A 50x50 checkerboard of 1x1 degree squares
+        val polygons = (0 until 2500).filter { (it / 50 + it % 50) % 2 == 0 }
+                .map {
+                    val latitude = (it / 50).toDouble()
+                    val longitude = (it % 50).toDouble()
+
+                    listOf(GeoPoint(latitude, longitude),
+                           GeoPoint(latitude, longitude + 1),
+                           GeoPoint(latitude + 1, longitude + 1),
+                           GeoPoint(latitude + 1, longitude))
+                }
+
+        val instance = Geofence.of(polygons)
+
+        for (row in 0 until 50)
+        {
+            for (column in 0 until 50)
+            {
+                val expected = (row + column) % 2 == 0
+                assertThat(instance.contains(row + 0.5, column + 0.5), equalTo(expected))
+            }
+        }
+    }
+
+}
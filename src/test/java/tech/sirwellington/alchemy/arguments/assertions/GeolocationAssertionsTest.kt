@@ -15,15 +15,22 @@
 
 package tech.sirwellington.alchemy.arguments.assertions
 
+import org.hamcrest.Matchers.equalTo
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertThat
+import org.junit.Assert.assertTrue
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
 import tech.sirwellington.alchemy.arguments.failedAssertion
+import tech.sirwellington.alchemy.arguments.illegalArgument
 import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
 import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
 import tech.sirwellington.alchemy.test.junit.runners.GenerateDouble
 import tech.sirwellington.alchemy.test.junit.runners.GenerateDouble.Type.RANGE
 import tech.sirwellington.alchemy.test.junit.runners.Repeat
+import java.util.BitSet
 
 /**
 
@@ -81,4 +88,129 @@ class GeolocationAssertionsTest
         assertThrows { assertion.check(badLongitude) }.failedAssertion()
     }
 
+    @DontRepeat
+    @Test
+    fun testValidLatitudeWithEdgeCases()
+    {
+        val assertion = validLatitude()
+        assertion.check(90.0)
+        assertion.check(-90.0)
+
+        assertThrows { assertion.check(Double.NaN) }.failedAssertion()
+        assertThrows { assertion.check(null) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testValidLongitudeWithEdgeCases()
+    {
+        val assertion = validLongitude()
+        assertion.check(180.0)
+        assertion.check(-180.0)
+
+        assertThrows { assertion.check(Double.NaN) }.failedAssertion()
+        assertThrows { assertion.check(null) }.failedAssertion()
+    }
+
+    @Test
+    fun testWithinGeofence()
+    {
+        val centerLatitude = Math.max(-80.0, Math.min(80.0, latitude))
+        val centerLongitude = Math.max(-170.0, Math.min(170.0, longitude))
+
+        val square = listOf(GeoPoint(centerLatitude - 1, centerLongitude - 1),
+                            GeoPoint(centerLatitude - 1, centerLongitude + 1),
+                            GeoPoint(centerLatitude + 1, centerLongitude + 1),
+                            GeoPoint(centerLatitude + 1, centerLongitude - 1))
+
+        val assertion = withinGeofence(Geofence.of(square))
+        assertion.check(GeoPoint(centerLatitude, centerLongitude))
+
+        assertThrows { assertion.check(GeoPoint(centerLatitude + 5, centerLongitude)) }.failedAssertion()
+        assertThrows { assertion.check(GeoPoint(centerLatitude, centerLongitude - 5)) }.failedAssertion()
+        assertThrows { assertion.check(null) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testWithinGeofenceWithBadArgs()
+    {
+        assertThrows { withinGeofence(null!!) }
+    }
+
+    @Test
+    fun testInvalidCoordinateIndexes()
+    {
+        val latitudes = doubleArrayOf(latitude, badLatitude, latitude, Double.NaN)
+        val longitudes = doubleArrayOf(longitude, longitude, badLongitude, longitude)
+
+        val result = invalidCoordinateIndexes(latitudes, longitudes)
+        assertThat(result, equalTo(bitSetOf(1, 2, 3)))
+
+        val valid = invalidCoordinateIndexes(doubleArrayOf(latitude), doubleArrayOf(longitude))
+        assertTrue(valid.isEmpty)
+    }
+
+    @DontRepeat
+    @Test
+    fun testInvalidCoordinateIndexesWithBadArgs()
+    {
+        assertThrows { invalidCoordinateIndexes(doubleArrayOf(1.0, 2.0), doubleArrayOf(1.0)) }.illegalArgument()
+    }
+
+    @Test
+    fun testIndexesOutsideBoundingBox()
+    {
+        val latitudes = doubleArrayOf(latitude, 10.0, 10.0, 21.0, -0.5)
+        val longitudes = doubleArrayOf(longitude, 10.0, 20.0, 10.0, 10.0)
+
+        val result = indexesOutsideBoundingBox(latitudes, longitudes, 0.0, 0.0, 20.0, 20.0)
+
+        assertFalse(result[1])
+        assertFalse(result[2])
+        assertTrue(result[3])
+        assertTrue(result[4])
+        assertThat(result[0], equalTo(latitude !in 0.0..20.0 || longitude !in 0.0..20.0))
+    }
+
+    @DontRepeat
+    @Test
+    fun testIndexesOutsideBoundingBoxWithBadArgs()
+    {
+        val latitudes = doubleArrayOf(latitude)
+        val longitudes = doubleArrayOf(longitude)
+
+        assertThrows { indexesOutsideBoundingBox(latitudes, longitudes, 10.0, 0.0, 0.0, 10.0) }.illegalArgument()
+        assertThrows { indexesOutsideBoundingBox(latitudes, longitudes, 0.0, 10.0, 10.0, 0.0) }.illegalArgument()
+    }
+
+    @DontRepeat
+    @Test
+    fun testIndexesFartherThanFromPrevious()
+    {
+        //One degree of longitude along the equator is about 111.2 km
+        val latitudes = doubleArrayOf(0.0, 0.0, 0.0, 0.0)
+        val longitudes = doubleArrayOf(0.0, 1.0, 1.001, 3.0)
+
+        val result = indexesFartherThanFromPrevious(latitudes, longitudes, 112_000.0)
+        assertThat(result, equalTo(bitSetOf(3)))
+
+        val stricter = indexesFartherThanFromPrevious(latitudes, longitudes, 111_000.0)
+        assertThat(stricter, equalTo(bitSetOf(1, 3)))
+
+        //Large jumps in latitude alone
+        val north = indexesFartherThanFromPrevious(doubleArrayOf(0.0, 45.0), doubleArrayOf(0.0, 0.0), 1_000.0)
+        assertThat(north, equalTo(bitSetOf(1)))
+
+        assertTrue(indexesFartherThanFromPrevious(DoubleArray(0), DoubleArray(0), 1.0).isEmpty)
+        assertThrows { indexesFartherThanFromPrevious(latitudes, longitudes, -1.0) }.illegalArgument()
+    }
+
+    private fun bitSetOf(vararg indexes: Int): BitSet
+    {
+        val bitSet = BitSet()
+        indexes.forEach { bitSet.set(it) }
+        return bitSet
+    }
+
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import org.hamcrest.Matchers.equalTo
+import org.junit.Assert.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import java.io.StringReader
+
+/**
+ *
+ * @author SirWellington
+ */
+@RunWith(AlchemyTestRunner::class)
+class JsonTokenizerTest
+{
+
+    @Test
+    fun testReadString()
+    {
+        val tokenizer = tokenizerOf("  \"a\\\"b\\\\c\\/\\n\\u00e9\\uD83D\\uDE00\"  ")
+        val into = StringBuilder()
+
+        tokenizer.readString(into)
+
+        assertThat(into.toString(), equalTo("a\"b\\c/\né😀"))
+        assertThat(tokenizer.peek(), equalTo(-1))
+    }
+
+    @Test
+    fun testReadNumber()
+    {
+        listOf("0", "-0", "123", "-9876543210").forEach { assertThat(readNumber(it), equalTo(true)) }
+        listOf("0.5", "-1.25", "1e10", "1E+2", "2.5e-3").forEach { assertThat(readNumber(it), equalTo(false)) }
+
+        listOf("-", "1.", ".5", "1e", "1e+", "+1").forEach { bad ->
+
+            assertThrows { readNumber(bad) }.isInstanceOf(JsonSyntaxException::class.java)
+        }
+    }
+
+    @Test
+    fun testSkipsWithoutCopying()
+    {
+        val tokenizer = tokenizerOf("\"skipped\" 12.5e3 true")
+
+        tokenizer.readString(null)
+        tokenizer.readNumber(null)
+        tokenizer.readLiteral("true")
+
+        assertThat(tokenizer.peek(), equalTo(-1))
+        assertThat(tokenizer.offset, equalTo(21L))
+    }
+
+    @Test
+    fun testReadsAcrossBufferBoundaries()
+    {
+        val long = "x".repeat(20_000)
+        val tokenizer = tokenizerOf("\"$long\" \"$long\"")
+        val into = StringBuilder()
+
+        tokenizer.readString(into)
+        tokenizer.readString(into)
+
+        assertThat(into.length, equalTo(40_000))
+    }
+
+    @Test
+    fun testRejectsBadStrings()
+    {
+        listOf("\"unterminated", "\"bad \\q escape\"", "\"bad \\u12 escape\"", "\"line\nbreak\"").forEach { bad ->
+
+            assertThrows { tokenizerOf(bad).readString(null) }.isInstanceOf(JsonSyntaxException::class.java)
+        }
+    }
+
+    private fun readNumber(number: String): Boolean
+    {
+        val tokenizer = tokenizerOf(number)
+        val into = StringBuilder()
+        val isInteger = tokenizer.readNumber(into)
+
+        assertThat(into.toString(), equalTo(number))
+        assertThat(tokenizer.peek(), equalTo(-1))
+        return isInteger
+    }
+
+    private fun tokenizerOf(json: String) = JsonTokenizer(StringReader(json))
+
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import org.hamcrest.Matchers.equalTo
+import org.hamcrest.Matchers.notNullValue
+import org.junit.Assert.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.arguments.AlchemyAssertion
+import tech.sirwellington.alchemy.arguments.failedAssertion
+import tech.sirwellington.alchemy.arguments.illegalArgument
+import tech.sirwellington.alchemy.generator.NumberGenerators
+import tech.sirwellington.alchemy.generator.one
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner::class)
+class JsonValidatorTest
+{
+
+    private lateinit var instance: JsonValidator
+
+    @Before
+    fun setUp()
+    {
+        instance = JsonValidator.newBuilder()
+                .required("user.email")
+                .stringAt("user.email", stringContaining("@"))
+                .intAt("user.age", greaterThanOrEqualTo(0))
+                .booleanAt("user.active", trueStatement())
+                .arraySizeAt("items", lessThanOrEqualTo(10_000))
+                .longAt("$.items[*].id", greaterThan(0L))
+                .doubleAt("items[*].price", greaterThan(0.0))
+                .maxViolations(10)
+                .build()
+    }
+
+    @DontRepeat
+    @Test
+    fun testValidDocument()
+    {
+        val json = """
+            {
+                "user": { "email": "someone@example.com", "age": 30, "active": true, "nickname": "\"Q\" \u00e9" },
+                "items": [ { "id": 1, "price": 2.5e1, "extra": { "nested": [ 1, -2.0E-3, null, false, {} ] } } ],
+                "untracked": [ [], {}, "", 0 ]
+            }
+            """
+
+        assertThat(instance.validate(json), equalTo(listOf()))
+    }
+
+    @DontRepeat
+    @Test
+    fun testReportsViolationsWithPaths()
+    {
+        val json = """{"user":{"email":"nope","age":-1,"active":false},"items":[{"id":1,"price":1},{"id":0,"price":0}]}"""
+
+        val violations = instance.validate(json)
+
+        assertThat(violations.map { it.path }, equalTo(listOf("$.user.email",
+                                                              "$.user.age",
+                                                              "$.user.active",
+                                                              "$.items[1].id",
+                                                              "$.items[1].price")))
+    }
+
+    @DontRepeat
+    @Test
+    fun testReportsWrongTypes()
+    {
+        val json = """{"user":{"email":"a@b","age":1.5,"active":"yes"},"items":{"id":1}}"""
+
+        val violations = instance.validate(json)
+
+        assertThat(violations.map { it.path }, equalTo(listOf("$.user.age", "$.user.active", "$.items")))
+    }
+
+    @DontRepeat
+    @Test
+    fun testReportsIntegerOverflow()
+    {
+        val json = """{"user":{"email":"a@b","age":2147483648},"items":[{"id":9223372036854775807},{"id":9223372036854775808}]}"""
+
+        val violations = instance.validate(json)
+
+        assertThat(violations.map { it.path }, equalTo(listOf("$.user.age", "$.items[1].id")))
+    }
+
+    @DontRepeat
+    @Test
+    fun testRequiredFields()
+    {
+        assertThat(instance.validate("""{"user":{}}""").map { it.path }, equalTo(listOf("$.user.email")))
+        //The objects that lead to a required field are required too
+        assertThat(instance.validate("{}").map { it.path }, equalTo(listOf("$.user")))
+        assertThat(instance.validate("""{"user":null}""").map { it.path }, equalTo(listOf("$.user")))
+        assertThat(instance.validate("""{"user":[]}""").map { it.path }, equalTo(listOf("$.user")))
+
+        //A null value is present, and is passed to the assertion
+        val violations = instance.validate("""{"user":{"email":null}}""")
+        assertThat(violations.size, equalTo(1))
+        assertThat(violations[0].message == "Missing required field", equalTo(false))
+    }
+
+    @DontRepeat
+    @Test
+    fun testWithUnexpectedException()
+    {
+        val validator = JsonValidator.newBuilder()
+                .longAt("[*]", AlchemyAssertion { if (it == 2L) throw IllegalStateException("boom") })
+                .maxViolations(10)
+                .build()
+
+        val violations = validator.validate("[1, 2, 3]")
+
+        assertThat(violations.map { it.path }, equalTo(listOf("$[1]")))
+    }
+
+    @DontRepeat
+    @Test
+    fun testStopsAtMaxViolations()
+    {
+        val first = JsonValidator.newBuilder()
+                .longAt("[*]", greaterThan(0L))
+                .build()
+
+        assertThat(first.validate("[-1, -2, -3]").map { it.path }, equalTo(listOf("$[0]")))
+
+        val two = JsonValidator.newBuilder()
+                .longAt("[*]", greaterThan(0L))
+                .maxViolations(2)
+                .build()
+
+        //Validation stops before the malformed end is reached
+        assertThat(two.validate("[-1, 1, -2, -3, ").map { it.path }, equalTo(listOf("$[0]", "$[2]")))
+    }
+
+    @DontRepeat
+    @Test
+    fun testMalformedJson()
+    {
+        listOf("", "{", "{\"user\"}", "{\"user\":{\"email\":\"a@b\",}}", "[1,]", "[01]", "[1.]", "[-]", "[tru]",
+               "[\"\\x\"]", "[\"\n\"]", "{\"user\":{\"email\":\"a@b\"}} {}", "{'a':1}", "[1 2]")
+                .forEach { json ->
+
+                    val violations = instance.validate(json)
+
+                    assertThat(json, violations.size, equalTo(1))
+                    assertThat(json, violations[0].message.contains("offset"), equalTo(true))
+                }
+    }
+
+    @DontRepeat
+    @Test
+    fun testMaxDepth()
+    {
+        val shallow = JsonValidator.newBuilder().maxDepth(3).build()
+
+        assertThat(shallow.validate("[[[1]]]"), equalTo(listOf()))
+        assertThat(shallow.validate("[[[[1]]]]").size, equalTo(1))
+
+        //The default depth protects against deeply nested input
+        val deep = "[".repeat(100_000) + "]".repeat(100_000)
+        assertThat(instance.validate(deep).size, equalTo(1))
+    }
+
+    @Test
+    fun testLargeDocument()
+    {
+        val size = one(NumberGenerators.integers(1_000, 10_000))
+        val badIndex = one(NumberGenerators.integers(0, size))
+
+        val valid = generateItems(size, -1)
+        assertThat(instance.validate(valid), equalTo(listOf()))
+        assertThat(instance.validate(valid.byteInputStream()), equalTo(listOf()))
+
+        val invalid = generateItems(size, badIndex)
+        assertThat(instance.validate(invalid).map { it.path }, equalTo(listOf("$.items[$badIndex].price")))
+    }
+
+    @Test
+    fun testArraySize()
+    {
+        val tooMany = generateItems(10_001, -1)
+
+        assertThat(instance.validate(tooMany).map { it.path }, equalTo(listOf("$.items")))
+    }
+
+    @DontRepeat
+    @Test
+    fun testToAssertion()
+    {
+        val assertion = instance.toAssertion()
+        assertThat(assertion, notNullValue())
+
+        assertion.check("""{"user":{"email":"a@b"}}""")
+
+        assertThrows { assertion.check("""{"user":{"email":"nope"}}""") }.failedAssertion()
+        assertThrows { assertion.check("{") }.failedAssertion()
+        assertThrows { assertion.check(null) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testWithBadArgs()
+    {
+        val builder = JsonValidator.newBuilder()
+
+        assertThrows { builder.stringAt("a..b", stringContaining("@")) }.illegalArgument()
+        assertThrows { builder.stringAt("a[", stringContaining("@")) }.illegalArgument()
+        assertThrows { builder.required("items[*]") }.illegalArgument()
+        assertThrows { builder.maxViolations(0) }.illegalArgument()
+        assertThrows { builder.maxDepth(0) }.illegalArgument()
+    }
+
+    private fun generateItems(size: Int, badIndex: Int): String
+    {
+        val json = StringBuilder("""{"user":{"email":"someone@example.com","age":30},"items":[""")
+
+        for (i in 0 until size)
+        {
+            if (i > 0)
+            {
+                json.append(',')
+            }
+
+            val price = if (i == badIndex) "-1" else "${i % 100 + 1}.99"
+
+            json.append("""{"id":${i + 1},"price":$price,"name":"Item \"$i\"","tags":["a","b"],"details":{"weight":1.5}}""")
+        }
+
+        return json.append("]}").toString()
+    }
+
+}
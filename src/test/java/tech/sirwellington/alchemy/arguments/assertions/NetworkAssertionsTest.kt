@@ -21,11 +21,13 @@ import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
 import tech.sirwellington.alchemy.arguments.failedAssertion
+import tech.sirwellington.alchemy.arguments.illegalArgument
 import tech.sirwellington.alchemy.generator.NumberGenerators
 import tech.sirwellington.alchemy.generator.one
 import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
 import tech.sirwellington.alchemy.test.junit.runners.*
 import tech.sirwellington.alchemy.test.junit.runners.GenerateInteger.Type.RANGE
+import java.net.InetAddress
 import java.net.URL
 
 
@@ -77,6 +79,203 @@ class NetworkAssertionsTest
         assertThrows { assertion.check(tooHigh) }.failedAssertion()
     }
 
+    @Test
+    fun testValidIPv4()
+    {
+        val assertion = validIPv4()
+        assertThat(assertion, notNullValue())
+
+        val ip = randomIPv4()
+        assertion.check(ip)
+
+        assertThrows { assertion.check("$ip.1") }.failedAssertion()
+        assertThrows { assertion.check(badUrl) }.failedAssertion()
+        assertThrows { assertion.check(null) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testValidIPv4WithEdgeCases()
+    {
+        val assertion = validIPv4()
+        assertion.check("0.0.0.0")
+        assertion.check("255.255.255.255")
+
+        listOf("", "256.1.1.1", "1.2.3", "1..2.3", "01.2.3.4", " 1.2.3.4", "1.2.3.4 ", "a.b.c.d", "::1")
+                .forEach { bad -> assertThrows { assertion.check(bad) }.failedAssertion() }
+    }
+
+    @Test
+    fun testValidIPv6()
+    {
+        val assertion = validIPv6()
+        assertThat(assertion, notNullValue())
+
+        val ip = randomIPv6()
+        assertion.check(ip)
+        assertion.check(InetAddress.getByName(ip).hostAddress)
+
+        assertThrows { assertion.check("$ip:1:2:3:4:5:6:7:8") }.failedAssertion()
+        assertThrows { assertion.check(randomIPv4()) }.failedAssertion()
+        assertThrows { assertion.check(null) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testValidIPv6WithEdgeCases()
+    {
+        val assertion = validIPv6()
+
+        listOf("::", "::1", "1::", "2001:db8::1", "::ffff:192.168.1.1", "1:2:3:4:5:6:7:8", "1:2:3:4:5:6:1.2.3.4", "ABCD:ef01::")
+                .forEach { assertion.check(it) }
+
+        listOf("", ":", ":::", "1::2::3", "12345::", "1:2:3:4:5:6:7", "1:2:3:4:5:6:7:8:9", "[::1]", "fe80::1%eth0", "::1.2.3")
+                .forEach { bad -> assertThrows { assertion.check(bad) }.failedAssertion() }
+    }
+
+    @Test
+    fun testValidIPAddress()
+    {
+        val assertion = validIPAddress()
+
+        assertion.check(randomIPv4())
+        assertion.check(randomIPv6())
+        assertThrows { assertion.check(badUrl) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testIpInAnyOf()
+    {
+        val assertion = ipInAnyOf("10.0.0.0/8", "192.168.1.0/24", "2001:db8::/32", "::1")
+        assertThat(assertion, notNullValue())
+
+        assertion.check("10.1.2.3")
+        assertion.check("192.168.1.255")
+        assertion.check("2001:db8:ffff::1")
+        assertion.check("::1")
+        //IPv4-mapped addresses are checked against the IPv4 ranges
+        assertion.check("::ffff:10.1.2.3")
+
+        listOf("11.0.0.0", "192.168.2.1", "2001:db9::", "::2", "not an ip")
+                .forEach { bad -> assertThrows { assertion.check(bad) }.failedAssertion() }
+
+        assertThrows { assertion.check(null) }.failedAssertion()
+    }
+
+    @Test
+    fun testIpInAnyOfWithManyRanges()
+    {
+        val ranges = (0 until 1024).map { "10.${it / 256}.${it % 256}.0/24" }
+        val assertion = ipInAnyOf(ranges)
+
+        val octet = one(NumberGenerators.integers(0, 256))
+        assertion.check("10.0.$octet.1")
+        assertion.check("10.3.$octet.1")
+        assertThrows { assertion.check("10.4.$octet.1") }.failedAssertion()
+        assertThrows { assertion.check("11.0.$octet.1") }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testIpInAnyOfWithBadArgs()
+    {
+        assertThrows { ipInAnyOf(kotlin.collections.emptyList<String>()) }.illegalArgument()
+        assertThrows { ipInAnyOf("10.0.0.0/33") }.illegalArgument()
+        assertThrows { ipInAnyOf("10.0.0/8") }.illegalArgument()
+        assertThrows { ipInAnyOf("2001:db8::/129") }.illegalArgument()
+        assertThrows { ipInAnyOf("10.0.0.0/") }.illegalArgument()
+    }
+
+    @DontRepeat
+    @Test
+    fun testIpInNoneOf()
+    {
+        val assertion = ipInNoneOf("10.0.0.0/8", "fc00::/7")
+        assertThat(assertion, notNullValue())
+
+        assertion.check("8.8.8.8")
+        assertion.check("2001:db8::1")
+
+        assertThrows { assertion.check("10.0.0.1") }.failedAssertion()
+        assertThrows { assertion.check("fd12:3456::1") }.failedAssertion()
+        //Invalid addresses are not allowed through
+        assertThrows { assertion.check("not an ip") }.failedAssertion()
+
+        val everything = ipInNoneOf("0.0.0.0/0", "::/0")
+        assertThrows { everything.check(randomIPv4()) }.failedAssertion()
+        assertThrows { everything.check(randomIPv6()) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testValidHostname()
+    {
+        val assertion = validHostname()
+        assertThat(assertion, notNullValue())
+
+        listOf("localhost", "example.com", "example.com.", "a-b.example.co.uk", "xn--bcher-kva.de", "EXAMPLE.COM", "1password.com")
+                .forEach { assertion.check(it) }
+
+        listOf("", ".", "a..b", "-a.com", "a-.com", "ab--c.com", "xn--.com", "a_b.com", "1.2.3.4", "example.123", "${"a".repeat(64)}.com")
+                .forEach { bad -> assertThrows { assertion.check(bad) }.failedAssertion() }
+
+        assertThrows { assertion.check(null) }.failedAssertion()
+    }
+
+    @Test
+    fun testValidHostnameWithLength()
+    {
+        val assertion = validHostname()
+        val label = "a".repeat(63)
+
+        assertion.check("$label.$label.$label.${"b".repeat(61)}")
+        assertThrows { assertion.check("$label.$label.$label.${"b".repeat(62)}") }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testDomainUnderPublicSuffix()
+    {
+        val assertion = domainUnderPublicSuffix()
+        assertThat(assertion, notNullValue())
+
+        listOf("example.com", "www.example.com", "example.co.uk", "Example.CO.UK.", "myapp.github.io", "www.ck", "foo.bar.ck")
+                .forEach { assertion.check(it) }
+
+        listOf("com", "co.uk", "CO.UK.", "github.io", "bar.ck", "not a host")
+                .forEach { bad -> assertThrows { assertion.check(bad) }.failedAssertion() }
+
+        assertThrows { assertion.check(null) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testHostnameWithRegistrableDomain()
+    {
+        val assertion = hostnameWithRegistrableDomain("example.co.uk")
+        assertThat(assertion, notNullValue())
+
+        assertion.check("example.co.uk")
+        assertion.check("www.EXAMPLE.co.uk.")
+
+        listOf("co.uk", "example.co.uk.evil.com", "xexample.co.uk", "example.com")
+                .forEach { bad -> assertThrows { assertion.check(bad) }.failedAssertion() }
+
+        assertThrows { hostnameWithRegistrableDomain("") }.illegalArgument()
+        assertThrows { hostnameWithRegistrableDomain("-bad-.com") }.illegalArgument()
+    }
+
+    private fun randomIPv4(): String
+    {
+        return (1..4).joinToString(".") { one(NumberGenerators.integers(0, 256)).toString() }
+    }
+
+    private fun randomIPv6(): String
+    {
+        return (1..8).joinToString(":") { Integer.toHexString(one(NumberGenerators.integers(0, 65536))) }
+    }
+
     companion object
     {
         private const val MAX_PORT = 65535
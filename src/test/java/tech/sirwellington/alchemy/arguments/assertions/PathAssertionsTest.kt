@@ -0,0 +1,196 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import org.hamcrest.Matchers.containsString
+import org.hamcrest.Matchers.notNullValue
+import org.junit.After
+import org.junit.Assert.assertThat
+import org.junit.Assert.fail
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.arguments.FailedAssertionException
+import tech.sirwellington.alchemy.arguments.failedAssertion
+import tech.sirwellington.alchemy.arguments.illegalArgument
+import tech.sirwellington.alchemy.generator.NumberGenerators
+import tech.sirwellington.alchemy.generator.one
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.Executors
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(20)
+@RunWith(AlchemyTestRunner::class)
+class PathAssertionsTest
+{
+
+    private lateinit var directory: Path
+
+    private lateinit var file: Path
+
+    private var size: Int = 0
+
+    @Before
+    fun setUp()
+    {
+        size = one(NumberGenerators.integers(1, 1_000))
+        directory = Files.createTempDirectory("alchemy-paths")
+        file = Files.write(directory.resolve("file.txt"), ByteArray(size))
+    }
+
+    @After
+    fun tearDown()
+    {
+        directory.toFile().walkBottomUp().forEach { it.delete() }
+    }
+
+    @Test
+    fun testExistingPath()
+    {
+        val instance = existingPath()
+        assertThat(instance, notNullValue())
+
+        instance.check(file)
+        instance.check(directory)
+        assertThrows { instance.check(directory.resolve("missing")) }.failedAssertion()
+        assertThrows { instance.check(null) }.failedAssertion()
+    }
+
+    @Test
+    fun testRegularFileAndDirectory()
+    {
+        regularFile().check(file)
+        assertThrows { regularFile().check(directory) }.failedAssertion()
+
+        directory().check(directory)
+        assertThrows { directory().check(file) }.failedAssertion()
+    }
+
+    @Test
+    fun testReadableFile()
+    {
+        readableFile().check(file)
+        assertThrows { readableFile().check(directory.resolve("missing")) }.failedAssertion()
+    }
+
+    @Test
+    fun testFileWithSizeBetween()
+    {
+        fileWithSizeBetween(size.toLong(), size.toLong()).check(file)
+        assertThrows { fileWithSizeBetween(0, size - 1L).check(file) }.failedAssertion()
+        assertThrows { fileWithSizeBetween(size + 1L, size + 10L).check(file) }.failedAssertion()
+        assertThrows { fileWithSizeBetween(10, 1) }.illegalArgument()
+    }
+
+    @Test
+    fun testPathUnder()
+    {
+        val instance = pathUnder(directory)
+
+        instance.check(file)
+        instance.check(directory.resolve("a/../b"))
+        assertThrows { instance.check(directory.resolve("a/../../b")) }.failedAssertion()
+        assertThrows { instance.check(directory.parent) }.failedAssertion()
+        assertThrows { instance.check(null) }.failedAssertion()
+    }
+
+    @Test
+    fun testPathUnderWithSymbolicLinks()
+    {
+        val outside = Files.createTempFile("alchemy-outside", ".txt")
+
+        try
+        {
+            val instance = pathUnder(directory)
+
+            instance.check(Files.createSymbolicLink(directory.resolve("inside-link"), file))
+
+            val escape = Files.createSymbolicLink(directory.resolve("escape"), outside)
+            assertThrows { instance.check(escape) }.failedAssertion()
+
+            val dangling = Files.createSymbolicLink(directory.resolve("dangling"), outside.resolveSibling("missing"))
+            assertThrows { instance.check(dangling) }.failedAssertion()
+
+            //Paths that don't exist yet are checked through their nearest existing parent
+            instance.check(directory.resolve("new/file.txt"))
+        }
+        finally
+        {
+            Files.delete(outside)
+        }
+    }
+
+    @Test
+    fun testAllPathsMatching()
+    {
+        val paths = (0 until 300).map { Files.write(directory.resolve("file-$it"), ByteArray(it + 1)) }
+        val check = PathCheck.regularFile().withSizeBetween(1, 300).under(directory)
+
+        val instance = allPathsMatching<List<Path>>(check)
+        assertThat(instance, notNullValue())
+
+        instance.check(paths)
+        instance.check(listOf<Path>())
+
+        val invalid = paths + listOf(directory.resolve("missing"), directory)
+        assertThrows { instance.check(invalid) }.failedAssertion()
+    }
+
+    @Test
+    fun testAllPathsMatchingWithExecutor()
+    {
+        val executor = Executors.newFixedThreadPool(2)
+
+        try
+        {
+            val paths = (0 until 200).map { Files.write(directory.resolve("file-$it"), ByteArray(1)) }
+            val instance = allPathsMatching<List<Path>>(PathCheck.regularFile(), executor)
+
+            instance.check(paths)
+            assertThrows { instance.check(paths + listOf(directory)) }.failedAssertion()
+        }
+        finally
+        {
+            executor.shutdownNow()
+        }
+    }
+
+    @DontRepeat
+    @Test
+    fun testAllPathsMatchingDescribesFailures()
+    {
+        val instance = allPathsMatching<List<Path>>(PathCheck.exists())
+
+        try
+        {
+            instance.check(listOf(file, directory.resolve("missing"), directory))
+            fail("Expected a failed assertion")
+        }
+        catch (ex: FailedAssertionException)
+        {
+            assertThat(ex.message, containsString("[1] of [3]"))
+            assertThat(ex.message, containsString("does not exist"))
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import org.hamcrest.Matchers.containsString
+import org.hamcrest.Matchers.notNullValue
+import org.hamcrest.Matchers.nullValue
+import org.junit.After
+import org.junit.Assert.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.arguments.failedAssertion
+import tech.sirwellington.alchemy.arguments.illegalArgument
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ *
+ * @author SirWellington
+ */
+@RunWith(AlchemyTestRunner::class)
+class PathCheckTest
+{
+
+    private lateinit var directory: Path
+
+    private lateinit var file: Path
+
+    @Before
+    fun setUp()
+    {
+        directory = Files.createTempDirectory("alchemy-paths")
+        file = Files.write(directory.resolve("file.txt"), ByteArray(100))
+    }
+
+    @After
+    fun tearDown()
+    {
+        directory.toFile().walkBottomUp().forEach { it.delete() }
+    }
+
+    @Test
+    fun testCombinedChecks()
+    {
+        val check = PathCheck.regularFile()
+                .readable()
+                .withSizeBetween(1, 100)
+                .under(directory)
+
+        assertThat(check.failureOf(file), nullValue())
+        check.toAssertion().check(file)
+
+        assertThat(check.failureOf(directory), containsString("not a regular file"))
+        assertThat(check.failureOf(directory.resolve("missing")), containsString("does not exist"))
+        assertThat(check.withSizeBetween(1, 99).failureOf(file), containsString("bytes"))
+        assertThat(check.failureOf(directory.resolve("../file.txt")), containsString("not under"))
+    }
+
+    @Test
+    fun testUnderWithSymbolicLinks()
+    {
+        val outside = Files.createTempFile("alchemy-outside", ".txt")
+
+        try
+        {
+            val link = Files.createSymbolicLink(directory.resolve("escape"), outside)
+            val check = PathCheck.regularFile().under(directory)
+
+            assertThat(check.failureOf(link), containsString("outside"))
+            //The link itself is inside of the directory
+            assertThat(check.notFollowingLinks().failureOf(link), containsString("not a regular file"))
+        }
+        finally
+        {
+            Files.delete(outside)
+        }
+    }
+
+    @Test
+    fun testChecksAreImmutable()
+    {
+        val files = PathCheck.regularFile()
+        val smallFiles = files.withSizeBetween(0, 10)
+
+        assertThat(files.failureOf(file), nullValue())
+        assertThat(smallFiles.failureOf(file), notNullValue())
+    }
+
+    @Test
+    fun testDirectory()
+    {
+        assertThat(PathCheck.directory().failureOf(directory), nullValue())
+        assertThat(PathCheck.directory().failureOf(file), notNullValue())
+        assertThat(PathCheck.exists().failureOf(directory), nullValue())
+    }
+
+    @Test
+    fun testToAssertion()
+    {
+        val assertion = PathCheck.exists().toAssertion()
+
+        assertion.check(file)
+        assertThrows { assertion.check(null) }.failedAssertion()
+        assertThrows { assertion.check(directory.resolve("missing")) }.failedAssertion()
+    }
+
+    @Test
+    fun testWithBadArgs()
+    {
+        assertThrows { PathCheck.exists().withSizeBetween(-1, 10) }.illegalArgument()
+        assertThrows { PathCheck.exists().withSizeBetween(10, 1) }.illegalArgument()
+    }
+}
@@ -21,6 +21,8 @@ import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
 import tech.sirwellington.alchemy.arguments.failedAssertion
+import tech.sirwellington.alchemy.arguments.illegalArgument
+import tech.sirwellington.alchemy.generator.NumberGenerators
 import tech.sirwellington.alchemy.generator.PeopleGenerators
 import tech.sirwellington.alchemy.generator.one
 import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
@@ -87,4 +89,62 @@ class PeopleAssertionsTest
         assertThrows { instance.check("") }.failedAssertion()
     }
 
-}
\ No newline at end of file
+    @Test
+    fun testValidE164PhoneNumber()
+    {
+        val instance = validE164PhoneNumber()
+        assertThat(instance, notNullValue())
+
+        val subscriber = one(NumberGenerators.integers(2_000_000, 10_000_000))
+        instance.check("+1415$subscriber")
+        instance.check("+4420$subscriber")
+
+        assertThrows { instance.check("+1415$subscriber" + "1") }.failedAssertion()
+        assertThrows { instance.check("1415$subscriber") }.failedAssertion()
+        assertThrows { instance.check("+1 415 $subscriber") }.failedAssertion()
+        assertThrows { instance.check(badEmail) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testValidE164PhoneNumberWithEdgeCases()
+    {
+        val instance = validE164PhoneNumber()
+
+        listOf("+14155552671", "+442071838750", "+390612345678", "+8613800138000", "+79161234567", "+2474567", "+80012345678")
+                .forEach { instance.check(it) }
+
+        //Unassigned calling codes, trunk prefixes, and numbers longer than 15 digits
+        listOf("", "+", "+1", "+0123456789", "+281234567", "+4407911123456", "+1234567890123456", "+1415555267a")
+                .forEach { bad -> assertThrows { instance.check(bad) }.failedAssertion() }
+
+        assertThrows { instance.check(null) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testPhoneNumberForRegion()
+    {
+        val unitedStates = phoneNumberForRegion("US")
+        assertThat(unitedStates, notNullValue())
+
+        unitedStates.check("+14155552671")
+        assertThrows { unitedStates.check("+442071838750") }.failedAssertion()
+        assertThrows { unitedStates.check("+1415555267") }.failedAssertion()
+        assertThrows { unitedStates.check(null) }.failedAssertion()
+
+        phoneNumberForRegion("gb").check("+442071838750")
+        phoneNumberForRegion("VA").check("+390669812345")
+        phoneNumberForRegion("001").check("+80012345678")
+        assertThrows { phoneNumberForRegion("FR").check("+442071838750") }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testPhoneNumberForRegionWithBadArgs()
+    {
+        assertThrows { phoneNumberForRegion("") }.illegalArgument()
+        assertThrows { phoneNumberForRegion("ZZ") }.illegalArgument()
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import org.hamcrest.Matchers.equalTo
+import org.junit.Assert.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.ALPHABETIC
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(50)
+@RunWith(AlchemyTestRunner::class)
+class PublicSuffixesTest
+{
+
+    @GenerateString(ALPHABETIC)
+    private lateinit var label: String
+
+    private lateinit var instance: PublicSuffixes
+
+    private val rules = """
+        // A comment
+        com
+        uk
+        co.uk
+
+        *.ck
+        !www.ck
+        github.io
+        """.trimIndent()
+
+    @Before
+    fun setUp()
+    {
+        instance = PublicSuffixes.load(rules.byteInputStream())
+    }
+
+    @Test
+    fun testRegistrableDomainStart()
+    {
+        assertThat(instance.registrableDomainStart("$label.com"), equalTo(0))
+        assertThat(instance.registrableDomainStart("www.$label.com"), equalTo(4))
+        assertThat(instance.registrableDomainStart("a.b.$label.co.uk"), equalTo(4))
+        assertThat(instance.registrableDomainStart("$label.github.io"), equalTo(0))
+    }
+
+    @Test
+    fun testWithPublicSuffixes()
+    {
+        listOf("com", "co.uk", "uk", "github.io", "io", "$label.ck", label)
+                .forEach { assertThat(instance.registrableDomainStart(it), equalTo(-1)) }
+    }
+
+    @Test
+    fun testWithWildcardsAndExceptions()
+    {
+        assertThat(instance.registrableDomainStart("www.ck"), equalTo(0))
+        assertThat(instance.registrableDomainStart("a.www.ck"), equalTo(2))
+        assertThat(instance.registrableDomainStart("a.$label.ck"), equalTo(0))
+        assertThat(instance.registrableDomainStart("b.a.$label.ck"), equalTo(2))
+    }
+
+    @Test
+    fun testIgnoresCase()
+    {
+        assertThat(instance.registrableDomainStart("WWW.$label.CO.UK"), equalTo(4))
+        assertThat(instance.registrableDomainStart("CO.UK"), equalTo(-1))
+    }
+
+    @Test
+    fun testDefaultList()
+    {
+        val suffixes = PublicSuffixes.DEFAULT
+
+        assertThat(suffixes.registrableDomainStart("www.$label.com.au"), equalTo(4))
+        assertThat(suffixes.registrableDomainStart("com.au"), equalTo(-1))
+        //Internationalized rules are stored in their ASCII form
+        assertThat(suffixes.registrableDomainStart("xn--fiqs8s"), equalTo(-1))
+        assertThat(suffixes.registrableDomainStart("$label.xn--fiqs8s"), equalTo(0))
+        //Wildcards, exceptions and private domains come from the full list
+        assertThat(suffixes.registrableDomainStart("$label.kawasaki.jp"), equalTo(-1))
+        assertThat(suffixes.registrableDomainStart("www.city.kawasaki.jp"), equalTo(4))
+        assertThat(suffixes.registrableDomainStart("$label.github.io"), equalTo(0))
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import org.hamcrest.Matchers.equalTo
+import org.hamcrest.Matchers.notNullValue
+import org.junit.Assert.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.arguments.AlchemyAssertion
+import tech.sirwellington.alchemy.arguments.failedAssertion
+import tech.sirwellington.alchemy.arguments.illegalArgument
+import tech.sirwellington.alchemy.generator.NumberGenerators
+import tech.sirwellington.alchemy.generator.one
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(50)
+@RunWith(AlchemyTestRunner::class)
+class RecordLayoutTest
+{
+
+    private lateinit var instance: RecordLayout
+
+    private var count = 0
+
+    private lateinit var buffer: ByteBuffer
+
+    @Before
+    fun setUp()
+    {
+        instance = layoutIn(ByteOrder.BIG_ENDIAN)
+        count = one(NumberGenerators.integers(1, 1_000))
+        buffer = recordsIn(ByteBuffer.allocateDirect(count * RECORD_SIZE), count)
+    }
+
+    @Test
+    fun testValidRecords()
+    {
+        instance.checkRecords(buffer)
+        instance.toAssertion().check(buffer)
+        instance.checkRecord(buffer, (count - 1) * RECORD_SIZE)
+
+        assertThat(instance.firstFailingRecord(buffer), equalTo(-1))
+    }
+
+    @Test
+    fun testInvalidRecord()
+    {
+        val bad = one(NumberGenerators.integers(0, count))
+        buffer.putInt(bad * RECORD_SIZE + 8, 0)
+
+        assertThat(instance.firstFailingRecord(buffer), equalTo(bad))
+        assertThrows { instance.checkRecords(buffer) }.failedAssertion()
+        assertThrows { instance.checkRecord(buffer, bad * RECORD_SIZE) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testEachFieldType()
+    {
+        val fields = listOf(0 to { b: ByteBuffer, i: Int -> b.putLong(i, 0) },
+                            8 to { b: ByteBuffer, i: Int -> b.putInt(i, 1_000_001) },
+                            12 to { b: ByteBuffer, i: Int -> b.putDouble(i, Double.NaN) },
+                            20 to { b: ByteBuffer, i: Int -> b.putShort(i, 0) },
+                            22 to { b: ByteBuffer, i: Int -> b.put(i, 2) })
+
+        for ((offset, corrupt) in fields)
+        {
+            val records = recordsIn(ByteBuffer.allocate(RECORD_SIZE * 3), 3)
+            corrupt(records, RECORD_SIZE + offset)
+
+            assertThat(instance.firstFailingRecord(records), equalTo(1))
+        }
+    }
+
+    @DontRepeat
+    @Test
+    fun testUnsignedShorts()
+    {
+        val records = recordsIn(ByteBuffer.allocate(RECORD_SIZE), 1)
+
+        //65535 is negative when read as a signed short
+        records.putShort(20, 65535.toShort())
+        instance.checkRecords(records)
+    }
+
+    @Test
+    fun testByteOrder()
+    {
+        val littleEndian = layoutIn(ByteOrder.LITTLE_ENDIAN)
+        val records = recordsIn(ByteBuffer.allocateDirect(count * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN), count)
+
+        littleEndian.checkRecords(records)
+
+        //The buffer's own order doesn't change how records are read
+        littleEndian.checkRecords(records.order(ByteOrder.BIG_ENDIAN))
+    }
+
+    @Test
+    fun testChecksFromPositionToLimit()
+    {
+        buffer.putInt(8, 0)
+        assertThat(instance.firstFailingRecord(buffer), equalTo(0))
+
+        buffer.position(RECORD_SIZE)
+        assertThat(instance.firstFailingRecord(buffer), equalTo(-1))
+
+        buffer.position(0)
+        buffer.limit(buffer.limit() - 1)
+        assertThrows { instance.checkRecords(buffer) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testFieldWithAssertion()
+    {
+        val layout = RecordLayout.newBuilder()
+                .recordSize(4)
+                .intField("port", 0, validPort())
+                .build()
+
+        val records = ByteBuffer.allocate(8).putInt(0, 80).putInt(4, 70_000)
+
+        assertThat(layout.firstFailingRecord(records), equalTo(1))
+        assertThrows { layout.checkRecords(records) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testFieldWithUnexpectedException()
+    {
+        val layout = RecordLayout.newBuilder()
+                .recordSize(4)
+                .intField("id", 0, AlchemyAssertion { if (it == 2) throw IllegalStateException("boom") })
+                .build()
+
+        val records = ByteBuffer.allocate(8).putInt(0, 1).putInt(4, 2)
+
+        assertThat(layout.firstFailingRecord(records), equalTo(1))
+        assertThrows { layout.checkRecords(records) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testToAssertion()
+    {
+        val assertion = instance.toAssertion()
+        assertThat(assertion, notNullValue())
+
+        assertThrows { assertion.check(null) }.failedAssertion()
+    }
+
+    @DontRepeat
+    @Test
+    fun testWithBadArgs()
+    {
+        assertThrows { RecordLayout.newBuilder().build() }.illegalArgument()
+        assertThrows { RecordLayout.newBuilder().recordSize(4).build() }.illegalArgument()
+        assertThrows { RecordLayout.newBuilder().recordSize(0) }.illegalArgument()
+        assertThrows { RecordLayout.newBuilder().recordSize(4).intBetween("a", 1, 0, 1).build() }.illegalArgument()
+        assertThrows { RecordLayout.newBuilder().intBetween("a", -1, 0, 1) }.illegalArgument()
+        assertThrows { RecordLayout.newBuilder().intBetween("a", 0, 1, 0) }.illegalArgument()
+        assertThrows { RecordLayout.newBuilder().unsignedShortBetween("a", 0, 0, 65536) }.illegalArgument()
+        assertThrows { instance.checkRecord(buffer, buffer.limit()) }.illegalArgument()
+    }
+
+    private fun layoutIn(order: ByteOrder): RecordLayout
+    {
+        return RecordLayout.newBuilder()
+                .recordSize(RECORD_SIZE)
+                .byteOrder(order)
+                .longBetween("timestamp", 0, 1, Long.MAX_VALUE)
+                .intBetween("quantity", 8, 1, 1_000_000)
+                .doubleBetween("price", 12, 0.0, 1e9)
+                .unsignedShortBetween("port", 20, 1, 65535)
+                .byteBetween("side", 22, 0, 1)
+                .build()
+    }
+
+    private fun recordsIn(buffer: ByteBuffer, count: Int): ByteBuffer
+    {
+        for (i in 0 until count)
+        {
+            val index = i * RECORD_SIZE
+
+            buffer.putLong(index, i + 1L)
+            buffer.putInt(index + 8, i % 1_000 + 1)
+            buffer.putDouble(index + 12, i * 0.25)
+            buffer.putShort(index + 20, (i % 65535 + 1).toShort())
+            buffer.put(index + 22, (i % 2).toByte())
+        }
+
+        return buffer
+    }
+
+    companion object
+    {
+        private const val RECORD_SIZE = 24
+    }
+
+}
@@ -33,7 +33,9 @@ import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
 import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
 import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
 import tech.sirwellington.alchemy.test.junit.runners.Repeat
+import java.time.Clock
 import java.time.Instant
+import java.time.ZoneOffset
 
 /**
 
@@ -269,4 +271,84 @@ class TimeAssertionsTest
         assertThrows { epochNowWithinDelta(negative.toLong()) }.illegalArgument()
     }
 
+    @Test
+    fun testInThePastWithClock()
+    {
+        val now = one(anytime())
+        val clock = Clock.fixed(now, ZoneOffset.UTC)
+
+        val instance = inThePast(clock)
+        assertThat(instance, notNullValue())
+
+        instance.check(now.minusMillis(1))
+        assertThrows { instance.check(now) }.failedAssertion()
+        assertThrows { instance.check(now.plusMillis(1)) }.failedAssertion()
+    }
+
+    @Test
+    fun testInTheFutureWithClock()
+    {
+        val now = one(anytime())
+        val clock = Clock.fixed(now, ZoneOffset.UTC)
+
+        val instance = inTheFuture(clock)
+        assertThat(instance, notNullValue())
+
+        instance.check(now.plusMillis(1))
+        assertThrows { instance.check(now) }.failedAssertion()
+        assertThrows { instance.check(now.minusMillis(1)) }.failedAssertion()
+    }
+
+    @Test
+    fun testNowWithinDeltaWithClock()
+    {
+        val now = one(anytime())
+        val clock = Clock.fixed(now, ZoneOffset.UTC)
+        val delta = one(longs(1, 1000))
+
+        val instance = nowWithinDelta(delta, clock)
+        instance.check(now)
+        instance.check(now.plusMillis(delta))
+        instance.check(now.minusMillis(delta))
+        assertThrows { instance.check(now.plusMillis(delta + 1)) }.failedAssertion()
+
+        rightNow(clock).check(now)
+        assertThrows { rightNow(clock).check(now.minusMillis(50)) }.failedAssertion()
+    }
+
+    @Test
+    fun testEpochNowWithinDeltaWithClock()
+    {
+        val now = one(pastInstants())
+        val clock = Clock.fixed(now, ZoneOffset.UTC)
+        val delta = one(longs(1, 1000))
+
+        val instance = epochNowWithinDelta(delta, clock)
+        instance.check(now.toEpochMilli())
+        instance.check(now.toEpochMilli() - delta)
+        assertThrows { instance.check(now.toEpochMilli() + delta + 1) }.failedAssertion()
+
+        epochRightNow(clock).check(now.toEpochMilli())
+        assertThrows { epochRightNow(clock).check(now.toEpochMilli() + 50) }.failedAssertion()
+    }
+
+    @Test
+    fun testTimeAssertionsWithCoarseClock()
+    {
+        val clock = CoarseClock.systemUTC()
+
+        nowWithinDelta(50, clock).check(Instant.now())
+        inThePast(clock).check(one(pastInstants()))
+        inTheFuture(clock).check(one(futureInstants()))
+    }
+
+    @DontRepeat
+    @Test
+    fun testTimeAssertionsWithNullClock()
+    {
+        assertThrows { inThePast(null!!) }.nullPointer()
+        assertThrows { inTheFuture(null!!) }.nullPointer()
+        assertThrows { nowWithinDelta(10, null!!) }.nullPointer()
+    }
+
 }
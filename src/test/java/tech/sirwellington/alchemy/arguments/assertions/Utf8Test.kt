@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2019. Sir Wellington.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.sirwellington.alchemy.arguments.assertions
+
+import org.hamcrest.Matchers.equalTo
+import org.junit.Assert.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import java.nio.ByteBuffer
+
+/**
+ *
+ * @author SirWellington
+ */
+@RunWith(AlchemyTestRunner::class)
+class Utf8Test
+{
+
+    @Test
+    fun testCountsCodePoints()
+    {
+        assertThat(scan(""), equalTo(0))
+        assertThat(scan("abc"), equalTo(3))
+        assertThat(scan("a long run of ascii, to use the fast path"), equalTo(41))
+        assertThat(scan("é€😀"), equalTo(3))
+        assertThat(scan("퟿￿􏿿"), equalTo(4))
+    }
+
+    @Test
+    fun testRejectsMalformedSequences()
+    {
+        listOf(bytes(0x80),                     //A lone continuation byte
+               bytes(0xC0, 0x80),               //An overlong NUL
+               bytes(0xC1, 0xBF),
+               bytes(0xE0, 0x9F, 0xBF),         //An overlong 3-byte form
+               bytes(0xED, 0xA0, 0x80),         //A surrogate
+               bytes(0xF0, 0x8F, 0xBF, 0xBF),   //An overlong 4-byte form
+               bytes(0xF4, 0x90, 0x80, 0x80),   //Above U+10FFFF
+               bytes(0xF5, 0x80, 0x80, 0x80),
+               bytes(0xE2, 0x82),               //Truncated
+               bytes(0xE2, 0x28, 0xA1))
+                .forEach { assertThat(Utf8.scan(ByteBuffer.wrap(it), 0), equalTo(Utf8.MALFORMED)) }
+    }
+
+    @Test
+    fun testRejectsControlCharacters()
+    {
+        listOf("\u0000", "abcdefgh\u001Fijk", "abcdefgh\u007Fijklmnop", "\u0080", "\u009F")
+                .forEach { assertThat(scan(it, Utf8.REJECT_CONTROLS), equalTo(Utf8.CONTROL_CHARACTER)) }
+
+        assertThat(scan("abcdefgh ~ ", Utf8.REJECT_CONTROLS), equalTo(11))
+    }
+
+    @Test
+    fun testAsciiOnly()
+    {
+        assertThat(scan("abcdefghijklmnop", Utf8.ASCII_ONLY), equalTo(16))
+        assertThat(scan("abcdefghijklmnoé", Utf8.ASCII_ONLY), equalTo(Utf8.NOT_ASCII))
+    }
+
+    @Test
+    fun testStopsEarly()
+    {
+        val count = Utf8.scan(ByteBuffer.wrap("abcdefghijklmnopqrstuvwxyz".toByteArray()), 0, 3)
+
+        assertThat(count > 3, equalTo(true))
+    }
+
+    private fun scan(string: String, options: Int = 0): Int
+    {
+        return Utf8.scan(ByteBuffer.wrap(string.toByteArray(Charsets.UTF_8)), options)
+    }
+
+    private fun bytes(vararg values: Int): ByteArray
+    {
+        return ByteArray(values.size) { values[it].toByte() }
+    }
+}